@@ -70,6 +70,7 @@
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.StringCell;
 import org.knime.core.data.meta.TestDataColumnMetaData;
+import org.knime.core.data.sketch.ColumnSketchMetaData;
 
 /**
  * Testcases for {@link DataTableDomainCreator}.
@@ -589,6 +590,42 @@ public void testMergeFailsIfMaxPossibleValuesAreDifferent() {
         domainCreator.merge(new DataTableDomainCreator(tableSpec_2, false));
     }
 
+    /**
+     * Checks that column sketches are only created on request and are merged across domain creators.
+     */
+    @Test
+    public void testColumnSketches() {
+        final DataTableSpec tableSpec = new DataTableSpec(new DataColumnSpecCreator("String col", StringCell.TYPE)
+            .createSpec(), new DataColumnSpecCreator("Double col", DoubleCell.TYPE).createSpec());
+        final DataTableDomainCreator domainCreator1 = new DataTableDomainCreator(tableSpec, false);
+        assertThat(domainCreator1.createSpec().getColumnSpec(0).getMetaDataOfType(ColumnSketchMetaData.class)
+            .isPresent(), is(false));
+
+        domainCreator1.setCreateColumnSketches(true);
+        final DataTableDomainCreator domainCreator2 = new DataTableDomainCreator(domainCreator1);
+        for (int i = 0; i < 1000; i++) {
+            final DataTableDomainCreator domainCreator = i % 2 == 0 ? domainCreator1 : domainCreator2;
+            final DataCell doubleCell = i % 10 == 0 ? DataType.getMissingCell() : new DoubleCell(i);
+            domainCreator.updateDomain(new DefaultRow(RowKey.createRowKey((long)i), new StringCell("S" + (i % 7)),
+                doubleCell));
+        }
+        domainCreator1.merge(domainCreator2);
+
+        final DataTableSpec spec = domainCreator1.createSpec();
+        final ColumnSketchMetaData stringSketch = ColumnSketchMetaData.extractFromSpec(spec.getColumnSpec(0));
+        assertThat(stringSketch.getMissingCount(), is(0L));
+        assertThat(stringSketch.getNonMissingCount(), is(1000L));
+        assertThat(stringSketch.getDistinctCountEstimate(), is(7L));
+        assertThat(stringSketch.hasQuantiles(), is(false));
+
+        final ColumnSketchMetaData doubleSketch = ColumnSketchMetaData.extractFromSpec(spec.getColumnSpec(1));
+        assertThat(doubleSketch.getMissingCount(), is(100L));
+        assertThat(doubleSketch.getNonMissingCount(), is(900L));
+        assertThat(doubleSketch.getQuantile(0), is(1.0));
+        assertThat(doubleSketch.getQuantile(1), is(999.0));
+        assertThat(Math.abs(doubleSketch.getQuantile(0.5) - 500) < 20, is(true));
+    }
+
     /**
      * Tests whether meta data is computed correctly.
      */
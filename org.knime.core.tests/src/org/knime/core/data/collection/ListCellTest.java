@@ -0,0 +1,319 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.container.DCObjectOutputVersion2;
+import org.knime.core.data.container.DataContainer;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests for {@link ListCell}s of primitive elements, which are stored in primitive arrays.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public class ListCellTest {
+
+    /** Output other than a table, keeps nested cells in a list. */
+    private static final class TestDataOutput extends DataOutputStream implements DataCellDataOutput {
+        private final List<DataCell> m_cells = new ArrayList<>();
+
+        TestDataOutput(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void writeDataCell(final DataCell cell) throws IOException {
+            m_cells.add(cell);
+        }
+    }
+
+    /** Returns the given nested cells, fails if there are none left. */
+    private static final class TestDataInput extends DataInputStream implements DataCellDataInput {
+        private final Iterator<DataCell> m_cells;
+
+        TestDataInput(final InputStream in, final List<DataCell> cells) {
+            super(in);
+            m_cells = cells.iterator();
+        }
+
+        @Override
+        public DataCell readDataCell() throws IOException {
+            if (!m_cells.hasNext()) {
+                throw new IOException("Unexpected cell deserialization");
+            }
+            return m_cells.next();
+        }
+    }
+
+    /** Writes the cell to an output that is not a table and reads it back. */
+    private static <T extends DataCell> T roundTrip(final DataCellSerializer<T> serializer, final T cell)
+        throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final List<DataCell> nestedCells;
+        try (TestDataOutput out = new TestDataOutput(bytes)) {
+            serializer.serialize(cell, out);
+            nestedCells = out.m_cells;
+        }
+        try (TestDataInput in = new TestDataInput(new ByteArrayInputStream(bytes.toByteArray()), nestedCells)) {
+            return serializer.deserialize(in);
+        }
+    }
+
+    /** Writes the list cell with the output stream used for tables (without nested cells) and reads it back. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ListCell tableStreamRoundTrip(final ListCell cell) throws IOException {
+        final DataCellSerializer serializer = new ListCell.ListCellSerializer();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DCObjectOutputVersion2 out = new DCObjectOutputVersion2(bytes, null)) {
+            out.writeDataCellPerKNIMESerializer(serializer, cell);
+        }
+        try (TestDataInput in =
+            new TestDataInput(new ByteArrayInputStream(bytes.toByteArray()), new ArrayList<DataCell>())) {
+            return new ListCell.ListCellSerializer().deserialize(in);
+        }
+    }
+
+    /** Writes the cell into a table, which is written to and read from a stream, and returns the read cell. */
+    private static DataCell tableRoundTrip(final DataCell cell) throws Exception {
+        final DataContainer c = new DataContainer(
+            new DataTableSpec(new DataColumnSpecCreator("list", cell.getType()).createSpec()));
+        c.addRowToTable(new DefaultRow("row", cell));
+        c.close();
+        final byte[] bytes;
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            DataContainer.writeToStream(c.getTable(), output, new ExecutionMonitor());
+            bytes = output.toByteArray();
+        }
+        final ContainerTable table;
+        try (ByteArrayInputStream input = new ByteArrayInputStream(bytes)) {
+            table = DataContainer.readFromStream(input);
+        }
+        return table.iterator().next().getCell(0);
+    }
+
+    private static void checkList(final List<DataCell> cells, final DataType elementType) throws IOException {
+        final ListCell list = CollectionCellFactory.createListCell(cells);
+        assertEquals("Wrong element type", elementType, list.getElementType());
+        assertEquals("Wrong size", cells.size(), list.size());
+        for (int i = 0; i < cells.size(); i++) {
+            assertEquals("Wrong element at " + i, cells.get(i), list.get(i));
+        }
+        final List<DataCell> iterated = new ArrayList<>();
+        list.iterator().forEachRemaining(iterated::add);
+        assertEquals("Wrong elements when iterating", cells, iterated);
+        assertEquals("Wrong hash code", cells.hashCode(), list.hashCode());
+
+        final ListCell copy = roundTrip(ListCell.getCellSerializer(), list);
+        assertEquals("Deserialized list differs", list, copy);
+        assertEquals("Wrong element type after deserialization", elementType, copy.getElementType());
+
+        final ListCell tableCopy = tableStreamRoundTrip(list);
+        assertEquals("List deserialized from table stream differs", list, tableCopy);
+        assertEquals("Wrong element type after deserialization from table stream", elementType,
+            tableCopy.getElementType());
+    }
+
+    /**
+     * Checks elements, element type, and serialization of lists of each supported primitive type.
+     *
+     * @throws IOException if serialization fails
+     */
+    @Test
+    public void testPrimitiveLists() throws IOException {
+        checkList(Arrays.asList(new IntCell(1), new IntCell(-5), new IntCell(Integer.MAX_VALUE)), IntCell.TYPE);
+        checkList(Arrays.asList(new LongCell(1), new LongCell(Long.MIN_VALUE)), LongCell.TYPE);
+        checkList(Arrays.asList(new DoubleCell(0.5), new DoubleCell(Double.NaN), new DoubleCell(-0.0)),
+            DoubleCell.TYPE);
+        checkList(Arrays.asList(BooleanCell.TRUE, BooleanCell.FALSE, BooleanCell.TRUE), BooleanCell.TYPE);
+    }
+
+    /**
+     * Checks that lists of primitive elements written anywhere else than into a table use the previous format
+     * (size and nested cells), which can be read by older versions.
+     *
+     * @throws IOException if serialization fails
+     */
+    @Test
+    public void testPreviousFormatOutsideTables() throws IOException {
+        final List<DataCell> cells = Arrays.asList(new IntCell(3), new IntCell(4), new IntCell(5));
+        final ListCell list = CollectionCellFactory.createListCell(new int[]{3, 4, 5});
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TestDataOutput out = new TestDataOutput(bytes)) {
+            ListCell.getCellSerializer().serialize(list, out);
+            assertEquals("Wrong nested cells", cells, out.m_cells);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals("Wrong size", cells.size(), in.readInt());
+        }
+    }
+
+    /**
+     * Checks that sparse lists with primitive and other elements can be written and read, to an arbitrary output and
+     * into a table.
+     *
+     * @throws Exception if serialization fails
+     */
+    @Test
+    public void testSparseLists() throws Exception {
+        final List<SparseListCell> lists = Arrays.asList(
+            CollectionCellFactory.createSparseListCell(
+                Arrays.asList(new IntCell(0), new IntCell(7), new IntCell(0), new IntCell(-1)), new IntCell(0)),
+            CollectionCellFactory.createSparseListCell(
+                Arrays.asList(new DoubleCell(1.5), new DoubleCell(0), new DoubleCell(2.5)), new DoubleCell(0)),
+            CollectionCellFactory.createSparseListCell(
+                Arrays.asList(new IntCell(1), DataType.getMissingCell(), new StringCell("a")), new IntCell(1)));
+        for (SparseListCell list : lists) {
+            assertEquals("Deserialized sparse list differs", list, roundTrip(SparseListCell.getCellSerializer(), list));
+            assertEquals("Sparse list read from table differs", list, tableRoundTrip(list));
+        }
+    }
+
+    /**
+     * Checks that lists of primitive and other elements written into a table are read back.
+     *
+     * @throws Exception if serialization fails
+     */
+    @Test
+    public void testListsInTable() throws Exception {
+        final ListCell primitive = CollectionCellFactory.createListCell(new long[]{1, 2, Long.MAX_VALUE});
+        assertEquals("Primitive list read from table differs", primitive, tableRoundTrip(primitive));
+        final ListCell cells =
+            CollectionCellFactory.createListCell(Arrays.asList(new StringCell("a"), DataType.getMissingCell()));
+        assertEquals("List read from table differs", cells, tableRoundTrip(cells));
+    }
+
+    /**
+     * Checks that list cells can't be modified by their iterator, no matter how the elements are stored.
+     */
+    @Test
+    public void testIteratorIsReadOnly() {
+        final List<ListCell> lists = Arrays.asList(CollectionCellFactory.createListCell(new double[]{1, 2}),
+            CollectionCellFactory.createListCell(Arrays.asList(new StringCell("a"), new StringCell("b"))));
+        for (ListCell list : lists) {
+            final Iterator<DataCell> it = list.iterator();
+            it.next();
+            try {
+                it.remove();
+                fail("Removing an element from " + list + " must fail");
+            } catch (UnsupportedOperationException e) {
+                assertEquals("List must not change", 2, list.size());
+            }
+        }
+    }
+
+    /**
+     * Checks that the array based factory methods create lists equal to those created from cells.
+     */
+    @Test
+    public void testArrayFactories() {
+        assertEquals(CollectionCellFactory.createListCell(Arrays.asList(new IntCell(3), new IntCell(4))),
+            CollectionCellFactory.createListCell(new int[]{3, 4}));
+        assertEquals(CollectionCellFactory.createListCell(Arrays.asList(new LongCell(3), new LongCell(4))),
+            CollectionCellFactory.createListCell(new long[]{3, 4}));
+        assertEquals(CollectionCellFactory.createListCell(Arrays.asList(new DoubleCell(3), new DoubleCell(4))),
+            CollectionCellFactory.createListCell(new double[]{3, 4}));
+        assertEquals(CollectionCellFactory.createListCell(Arrays.asList(BooleanCell.FALSE, BooleanCell.TRUE)),
+            CollectionCellFactory.createListCell(new boolean[]{false, true}));
+
+        final double[] values = {1, 2};
+        final ListCell list = CollectionCellFactory.createListCell(values);
+        values[0] = 42;
+        assertEquals("List must not be backed by the argument", new DoubleCell(1), list.get(0));
+    }
+
+    /**
+     * Checks that lists with missing values or mixed element types are still stored as individual cells.
+     */
+    @Test
+    public void testNonPrimitiveLists() {
+        final ListCell withMissing =
+            CollectionCellFactory.createListCell(Arrays.asList(new IntCell(1), DataType.getMissingCell()));
+        assertEquals(IntCell.TYPE, withMissing.getElementType());
+        assertTrue("Missing cell got lost", withMissing.get(1).isMissing());
+
+        final ListCell mixed =
+            CollectionCellFactory.createListCell(Arrays.asList(new IntCell(1), new DoubleCell(2.5)));
+        assertEquals(new IntCell(1), mixed.get(0));
+        assertEquals(new DoubleCell(2.5), mixed.get(1));
+
+        final ListCell strings = CollectionCellFactory.createListCell(Arrays.asList(new StringCell("a")));
+        assertEquals(StringCell.TYPE, strings.getElementType());
+    }
+}
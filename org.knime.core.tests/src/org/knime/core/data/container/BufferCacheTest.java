@@ -48,6 +48,7 @@
  */
 package org.knime.core.data.container;
 
+import java.lang.management.ManagementFactory;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -56,6 +57,9 @@
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.knime.core.data.DataCell;
@@ -171,6 +175,74 @@ public void testSoftRefCache() throws InterruptedException {
         }
     }
 
+    /**
+     * Tests that the tables in the LRU cache are limited by the byte budget and that the statistics reflect evictions
+     * and hits.
+     */
+    @Test
+    public void testByteBudget() {
+        final List<Pair<Buffer, List<BlobSupportDataRow>>> tables = generateKTables(4, true);
+        final long maxBytes = tables.stream().mapToLong(t -> BufferCache.estimateFootprint(t.getSecond())).max()
+            .getAsLong();
+        Assert.assertTrue("Footprint of table not estimated.", maxBytes > 0);
+
+        // room for two tables
+        final BufferCache cache = new BufferCache();
+        cache.setLRUCacheBytes(2 * maxBytes + maxBytes / 2);
+        addTablesToCache(tables, cache, true);
+        Assert.assertEquals("Wrong number of tables in LRU cache.", 2, cache.getResidentTableCount());
+        Assert.assertEquals("Wrong number of evictions.", 2, cache.getEvictionCount());
+        Assert.assertTrue("Byte budget exceeded.", cache.getResidentBytes() <= cache.getByteBudget());
+        Assert.assertEquals("Tables cleared for garbage collection still hard-referenced.", 0,
+            cache.getHardReferencedBytes());
+        Assert.assertEquals("Footprints of evicted tables not released.", 2, cache.getFootprintCount());
+
+        // the most recently added table is still in the LRU cache, the evicted ones are still weakly referenced
+        Assert.assertTrue(cache.get(tables.get(3).getFirst()).isPresent());
+        Assert.assertEquals("Wrong number of soft hits.", 1, cache.getSoftHitCount());
+        Assert.assertTrue(cache.get(tables.get(0).getFirst()).isPresent());
+        Assert.assertEquals("Wrong number of weak hits.", 1, cache.getWeakHitCount());
+
+        // shrinking the budget evicts all tables
+        cache.setLRUCacheBytes(0);
+        Assert.assertEquals("Tables not evicted.", 0, cache.getResidentTableCount());
+        Assert.assertEquals("Bytes not released.", 0, cache.getResidentBytes());
+        Assert.assertEquals("Footprints of evicted tables not released.", 0, cache.getFootprintCount());
+    }
+
+    /**
+     * Tests that larger tables are estimated to take up more memory.
+     */
+    @Test
+    public void testEstimateFootprint() {
+        final List<BlobSupportDataRow> shortStrings = new ArrayList<>();
+        final List<BlobSupportDataRow> longStrings = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            shortStrings.add(new BlobSupportDataRow(RowKey.createRowKey((long)i),
+                new DataCell[]{new StringCell("a"), new IntCell(i)}));
+            longStrings.add(new BlobSupportDataRow(RowKey.createRowKey((long)i),
+                new DataCell[]{new StringCell(String.join("", Collections.nCopies(100, "a"))), new IntCell(i)}));
+        }
+        final long shortBytes = BufferCache.estimateFootprint(shortStrings);
+        Assert.assertTrue("Longer strings not estimated larger.",
+            BufferCache.estimateFootprint(longStrings) > shortBytes);
+        Assert.assertTrue("More rows not estimated larger.",
+            BufferCache.estimateFootprint(shortStrings.subList(0, 10)) < shortBytes);
+        Assert.assertEquals(0, BufferCache.estimateFootprint(Collections.emptyList()));
+    }
+
+    /**
+     * Tests that the statistics of the global table cache are registered with the platform MBean server.
+     *
+     * @throws JMException not expected
+     */
+    @Test
+    public void testStatisticsRegistered() throws JMException {
+        Assert.assertNotNull(Buffer.getCacheStatistics());
+        Assert.assertTrue("Table cache statistics not registered.", ManagementFactory.getPlatformMBeanServer()
+            .isRegistered(new ObjectName(BufferCacheMXBean.OBJECT_NAME)));
+    }
+
     private static List<Pair<Buffer, List<BlobSupportDataRow>>> generateKTables(final int k,
         final boolean flushToDisk) {
 
@@ -0,0 +1,247 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.container.BufferIOScheduler.Priority;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Test cases for the class <code>BufferIOScheduler</code>.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public class BufferIOSchedulerTest {
+
+    private File m_tempDir;
+
+    /**
+     * Creates the directory the test writes are submitted for.
+     *
+     * @throws IOException if the directory cannot be created
+     */
+    @Before
+    public void createTempDir() throws IOException {
+        m_tempDir = Files.createTempDirectory("BufferIOSchedulerTest").toFile();
+    }
+
+    /**
+     * Deletes the directory the test writes were submitted for.
+     */
+    @After
+    public void deleteTempDir() {
+        FileUtil.deleteRecursively(m_tempDir);
+    }
+
+    /**
+     * Tests that writes triggered by a memory alert overtake queued regular writes, which are run in submission order.
+     *
+     * @throws Exception if waiting for the writes fails
+     */
+    @Test
+    public void testMemoryAlertWritesFirst() throws Exception {
+        final BufferIOScheduler scheduler = new BufferIOScheduler(1, 16);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        scheduler.submit(m_tempDir, blockingWrite(release), Priority.DEFAULT);
+        scheduler.submit(m_tempDir, recordingWrite(order, "default1"), Priority.DEFAULT);
+        scheduler.submit(m_tempDir, recordingWrite(order, "default2"), Priority.DEFAULT);
+        scheduler.submit(m_tempDir, recordingWrite(order, "alert"), Priority.MEMORY_ALERT);
+        scheduler.submit(m_tempDir, recordingWrite(order, "default3"), Priority.DEFAULT);
+        Assert.assertEquals("Number of queued writes", 4, scheduler.getQueueDepth());
+
+        release.countDown();
+        scheduler.awaitPendingWrites();
+        Assert.assertEquals(Arrays.asList("alert", "default1", "default2", "default3"), order);
+        Assert.assertEquals("Number of queued writes", 0, scheduler.getQueueDepth());
+        Assert.assertEquals("Number of memory alert writes", 1, scheduler.getMemoryAlertWriteCount());
+        Assert.assertEquals("Writes to the same directory share a device", 1, scheduler.getDeviceCount());
+    }
+
+    /**
+     * Tests that producers of regular writes are blocked while the queue is full, while memory alert writes are not.
+     *
+     * @throws Exception if waiting for the writes fails
+     */
+    @Test(timeout = 10000)
+    public void testBackPressure() throws Exception {
+        final BufferIOScheduler scheduler = new BufferIOScheduler(1, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch submitted = new CountDownLatch(1);
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        scheduler.submit(m_tempDir, blockingWrite(release), Priority.DEFAULT);
+        final Thread producer = new Thread(() -> {
+            scheduler.submit(m_tempDir, recordingWrite(order, "default"), Priority.DEFAULT);
+            submitted.countDown();
+        });
+        producer.start();
+        while (scheduler.getBlockedSubmitCount() == 0) {
+            Thread.sleep(10);
+        }
+        Assert.assertFalse("Producer not blocked by full queue", submitted.await(100, TimeUnit.MILLISECONDS));
+
+        final Future<Void> alert =
+            scheduler.submit(m_tempDir, recordingWrite(order, "alert"), Priority.MEMORY_ALERT);
+        Assert.assertFalse(alert.isDone());
+
+        release.countDown();
+        submitted.await();
+        producer.join();
+        scheduler.awaitPendingWrites();
+        Assert.assertEquals(Arrays.asList("alert", "default"), order);
+    }
+
+    /**
+     * Tests that {@link BufferIOScheduler#trySubmit(File, Callable)} rejects writes instead of
+     * blocking while the queue is full.
+     *
+     * @throws Exception if waiting for the writes fails
+     */
+    @Test(timeout = 10000)
+    public void testTrySubmitDoesNotBlock() throws Exception {
+        final BufferIOScheduler scheduler = new BufferIOScheduler(1, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        Assert.assertNotNull("Write rejected despite free slot",
+            scheduler.trySubmit(m_tempDir, blockingWrite(release)));
+        Assert.assertNull("Write accepted despite full queue",
+            scheduler.trySubmit(m_tempDir, recordingWrite(order, "rejected")));
+        Assert.assertEquals(1, scheduler.getRejectedSubmitCount());
+        Assert.assertEquals("Producer blocked by trySubmit", 0, scheduler.getBlockedSubmitCount());
+
+        release.countDown();
+        scheduler.awaitPendingWrites();
+        Assert.assertNotNull("Write rejected after slot was freed",
+            scheduler.trySubmit(m_tempDir, recordingWrite(order, "accepted")));
+        scheduler.awaitPendingWrites();
+        Assert.assertEquals(Collections.singletonList("accepted"), order);
+    }
+
+    /**
+     * Tests that cancelling a queued write frees its slot in the queue.
+     *
+     * @throws Exception if waiting for the writes fails
+     */
+    @Test(timeout = 10000)
+    public void testCancelReleasesQueueSlot() throws Exception {
+        final BufferIOScheduler scheduler = new BufferIOScheduler(1, 2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        scheduler.submit(m_tempDir, blockingWrite(release), Priority.DEFAULT);
+        final Future<Void> cancelled =
+            scheduler.submit(m_tempDir, recordingWrite(order, "cancelled"), Priority.DEFAULT);
+        cancelled.cancel(true);
+        // would block forever if the cancelled write still occupied its slot
+        scheduler.submit(m_tempDir, recordingWrite(order, "default"), Priority.DEFAULT);
+        Assert.assertEquals("Producer blocked despite free slot", 0, scheduler.getBlockedSubmitCount());
+
+        release.countDown();
+        scheduler.awaitPendingWrites();
+        Assert.assertEquals(Collections.singletonList("default"), order);
+    }
+
+    /**
+     * Tests the bandwidth and write statistics.
+     */
+    @Test
+    public void testStatistics() {
+        final BufferIOScheduler scheduler = new BufferIOScheduler(2, 8);
+        Assert.assertEquals(2, scheduler.getWriterThreadsPerDevice());
+        Assert.assertEquals(8, scheduler.getQueueCapacityPerDevice());
+        Assert.assertEquals("No bandwidth without writes", 0, scheduler.getWriteBandwidth());
+
+        scheduler.recordWrite(3000, TimeUnit.MILLISECONDS.toNanos(1500));
+        scheduler.recordWrite(1000, TimeUnit.MILLISECONDS.toNanos(500));
+        Assert.assertEquals(2, scheduler.getCompletedWriteCount());
+        Assert.assertEquals(4000, scheduler.getBytesWritten());
+        Assert.assertEquals(2000, scheduler.getWriteTimeMillis());
+        Assert.assertEquals("Bytes per second", 2000, scheduler.getWriteBandwidth());
+    }
+
+    /**
+     * Tests that the scheduler used by buffers is available via {@link Buffer#getIOStatistics()}.
+     */
+    @Test
+    public void testStatisticsAvailable() {
+        Assert.assertTrue(Buffer.getIOStatistics().getWriterThreadsPerDevice() > 0);
+    }
+
+    private static Callable<Void> blockingWrite(final CountDownLatch release) {
+        return () -> {
+            release.await();
+            return null;
+        };
+    }
+
+    private static Callable<Void> recordingWrite(final List<String> order, final String name) {
+        return () -> {
+            order.add(name);
+            return null;
+        };
+    }
+}
@@ -72,6 +72,7 @@ public void testDefault() {
         final DataTableSpec spec = new DataTableSpecCreator().createSpec();
         final BufferSettings settings = BufferSettings.getDefault();
         assertEquals("Wrong default (LRU cache size)", BufferSettings.DEF_LRU_CACHE_SIZE, settings.getLRUCacheSize());
+        assertTrue("Wrong default (LRU cache bytes)", settings.getLRUCacheBytes() > 0);
         assertEquals("Wrong default (enable LRU cache flag)", BufferSettings.DEF_TABLE_CACHE.equals("LRU"),
             settings.useLRU());
         assertEquals("Wrong default (output format)",
@@ -87,15 +88,18 @@ public void testChangedValues() {
         final BufferSettings def = BufferSettings.getDefault();
 
         final int lruCacheSize = def.getLRUCacheSize() * -1;
+        final long lruCacheBytes = def.getLRUCacheBytes() + 1;
         final boolean useLRU = !def.useLRU();
         final TableStoreFormat outputFormat = new DefaultTableStoreFormat();
 
         final BufferSettings settings = BufferSettings.getDefault()//
             .withOutputFormat(outputFormat)//
             .withLRU(useLRU)//
-            .withLRUCacheSize(lruCacheSize);
+            .withLRUCacheSize(lruCacheSize)//
+            .withLRUCacheBytes(lruCacheBytes);
 
         assertEquals("Modified settings created wrong LRU cache size", lruCacheSize, settings.getLRUCacheSize());
+        assertEquals("Modified settings created wrong LRU cache bytes", lruCacheBytes, settings.getLRUCacheBytes());
         assertEquals("Modified settings created wrong enable LRU flag", useLRU, settings.useLRU());
         assertTrue("Modified settings created wrong output format",
             outputFormat == settings.getOutputFormat(new DataTableSpecCreator().createSpec()));
@@ -48,8 +48,6 @@
  */
 package org.knime.core.data.container;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -159,13 +157,7 @@ static Buffer generateMediumSizedTable() {
      * @throws InterruptedException thrown when the thread is unexpectedly interrupted during sleep
      */
     static void waitForBufferToBeFlushed(final Buffer buffer) throws InterruptedException {
-        Future<?> voidTask = Buffer.ASYNC_EXECUTOR.submit(() -> {
-        });
-        try {
-            voidTask.get();
-        } catch (ExecutionException e) {
-            // the void task should not be able to throw an ExecutionExecption
-        }
+        Buffer.IO_SCHEDULER.awaitPendingWrites();
         Assert.assertTrue("Buffer has not been flushed to disk.", buffer.isFlushedToDisk());
     }
 
@@ -0,0 +1,215 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.MissingCell;
+import org.knime.core.data.MissingValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.date.DateAndTimeCell;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests writing and reading tables in the {@link ColumnarTableStoreFormat}.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public class ColumnarTableStoreFormatTest {
+
+    /** More than one batch. */
+    private static final int ROW_COUNT = 20_000;
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("long", LongCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("boolean", BooleanCell.TYPE).createSpec());
+
+    /** Only tables with int, long, double, boolean and string columns are accepted. */
+    @Test
+    public void testAccepts() {
+        final ColumnarTableStoreFormat format = new ColumnarTableStoreFormat();
+        assertThat(format.accepts(SPEC), is(true));
+        assertThat(format.accepts(new DataTableSpec(
+            new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("date", DateAndTimeCell.TYPE).createSpec())), is(false));
+    }
+
+    /** Writes and reads primitive values, missing values, missing values with error and non-ASCII strings. */
+    @Test
+    public void testWriteRead() {
+        final DataRow[] rows = createRows();
+        final Buffer buffer = write(rows);
+        try (CloseableRowIterator it = buffer.iterator()) {
+            for (int i = 0; i < rows.length; i++) {
+                assertThat("Iterator has rows", it.hasNext(), is(true));
+                final DataRow actual = it.next();
+                assertThat("Row key in row " + i, actual.getKey(), equalTo(rows[i].getKey()));
+                for (int c = 0; c < SPEC.getNumColumns(); c++) {
+                    assertCellEquals(rows[i].getCell(c), actual.getCell(c));
+                }
+            }
+            assertThat("Iterator with more than " + rows.length + " rows", it.hasNext(), is(false));
+        }
+    }
+
+    /** Columns that are not materialized are not read. */
+    @Test
+    public void testMaterializeColumns() {
+        final DataRow[] rows = createRows();
+        final Buffer buffer = write(rows);
+        try (CloseableRowIterator it = buffer.iteratorWithFilter(TableFilter.materializeCols(1, 3))) {
+            for (int i = 0; i < rows.length; i++) {
+                final DataRow actual = it.next();
+                assertCellEquals(rows[i].getCell(1), actual.getCell(1));
+                assertCellEquals(rows[i].getCell(3), actual.getCell(3));
+                assertThat(actual, instanceOf(PartlyMaterializedBlobSupportRow.class));
+                assertThat(((PartlyMaterializedBlobSupportRow)actual).getRawCellUnsafe(0),
+                    instanceOf(UnmaterializedCell.class));
+            }
+            assertThat(it.hasNext(), is(false));
+        }
+    }
+
+    /**
+     * Strings are encoded in modified UTF-8, such that unpaired surrogates and null chars survive the round trip, in
+     * row keys as well as in string columns.
+     */
+    @Test
+    public void testUnpairedSurrogates() throws IOException {
+        final String[] strings =
+            {"", "a\u0000b", "\uD800", "x\uDFFFy", "\uD83D\uDE00", "\uDE00\uD83D", "ä€\uFFFF"};
+        for (final String string : strings) {
+            final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(expected)) {
+                out.writeUTF(string);
+            }
+            final byte[] encoded = ColumnarTableStoreFormat.encodeModifiedUTF8(string);
+            // writeUTF prefixes the bytes with their length as unsigned short
+            assertThat(encoded, equalTo(Arrays.copyOfRange(expected.toByteArray(), 2, expected.size())));
+            assertThat(ColumnarTableStoreFormat.decodeModifiedUTF8(encoded, 0, encoded.length), equalTo(string));
+        }
+
+        final DataRow[] rows = new DataRow[strings.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new DefaultRow(new RowKey(strings[i] + i), new IntCell(i), new StringCell(strings[i]),
+                new LongCell(i), new DoubleCell(i), BooleanCell.TRUE);
+        }
+        try (CloseableRowIterator it = write(rows).iterator()) {
+            for (final DataRow row : rows) {
+                final DataRow actual = it.next();
+                assertThat(actual.getKey(), equalTo(row.getKey()));
+                assertThat(actual.getCell(1), equalTo(row.getCell(1)));
+            }
+            assertThat(it.hasNext(), is(false));
+        }
+    }
+
+    private static Buffer write(final DataRow[] rows) {
+        final DataContainerSettings settings = DataContainerSettings.getDefault().withMaxCellsInMemory(0)
+            .withInitializedDomain(false).withBufferSettings(
+                BufferSettings.getDefault().withLRU(false).withOutputFormat(new ColumnarTableStoreFormat()));
+        final DataContainer cont = new DataContainer(SPEC, settings);
+        for (final DataRow r : rows) {
+            cont.addRowToTable(r);
+        }
+        @SuppressWarnings("resource")
+        final Buffer buffer = ((BufferedRowContainer)cont.getRowContainer()).getBuffer();
+        cont.close();
+        assertThat(buffer.getOutputFormat(), instanceOf(ColumnarTableStoreFormat.class));
+        return buffer;
+    }
+
+    private static DataRow[] createRows() {
+        return IntStream.range(0, ROW_COUNT).mapToObj(i -> {
+            if (i % 97 == 0) {
+                return new DefaultRow(RowKey.createRowKey((long)i), DataType.getMissingCell(),
+                    DataType.getMissingCell(), DataType.getMissingCell(), DataType.getMissingCell(),
+                    DataType.getMissingCell());
+            }
+            final DataCell intCell = i == 5 ? new MissingCell("error " + i) : new IntCell(i - ROW_COUNT / 2);
+            return new DefaultRow(RowKey.createRowKey((long)i), intCell, new StringCell("ä€" + i),
+                new LongCell(Long.MAX_VALUE - i), new DoubleCell(i % 3 == 0 ? Double.NaN : -i / 7.0),
+                BooleanCell.get(i % 2 == 1));
+        }).toArray(DataRow[]::new);
+    }
+
+    private static void assertCellEquals(final DataCell expected, final DataCell actual) {
+        if (expected.isMissing()) {
+            assertThat(actual.isMissing(), is(true));
+            assertThat(((MissingValue)actual).getError(), equalTo(((MissingValue)expected).getError()));
+        } else {
+            assertThat(actual, equalTo(expected));
+        }
+    }
+}
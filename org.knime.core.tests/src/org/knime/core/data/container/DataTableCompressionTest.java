@@ -53,11 +53,17 @@
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -65,6 +71,7 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.MissingValue;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.container.BlockCompressionStreams.BlockInputStream;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
 import org.knime.core.data.def.BooleanCell;
@@ -75,15 +82,13 @@
 import org.knime.core.data.def.StringCell;
 import org.knime.core.util.Pair;
 
-import junit.framework.TestCase;
-
 /**
  * Class testing that the different compression formats run properly and that changes in the
  * {@link DataContainerSettings} change the DataContainer writer/reader behavior.
  *
  * @author Mark Ortmann, KNIME GmbH, Berlin, Germany
  */
-public final class DataTableCompressionTest extends TestCase {
+public final class DataTableCompressionTest {
 
     /** Number of generated rows. */
     private static final int ROW_COUNT = 500;
@@ -91,7 +96,7 @@ public final class DataTableCompressionTest extends TestCase {
     /**
      * Ensures that the different compressions run properly, by testing that the table is written/read using the proper
      * compression format. The test include (i) writing, (ii) reading, and (iii) finally checking that the written table
-     * matches the input table.
+     * matches the input table. Compression formats whose libraries are not installed are skipped.
      *
      * @throws NoSuchFieldException
      * @throws SecurityException
@@ -109,6 +114,9 @@ public void testCompressions()
         final Pair<DataTableSpec, DataRow[]> data = createData(ROW_COUNT);
 
         for (final CompressionFormat cFormat : CompressionFormat.values()) {
+            if (!cFormat.isAvailable()) {
+                continue;
+            }
 
             // store the data to a table that writes its content to a compressed file
             DataContainer cont = new DataContainer(data.getFirst(),
@@ -136,6 +144,36 @@ public void testCompressions()
         }
     }
 
+    /**
+     * Ensures that tables compressed with {@link CompressionFormat#ZSTD} using a non-default level and a trained
+     * dictionary can be read, i.e., that the dictionary is saved along with the table.
+     *
+     * @throws IOException if the dictionary can't be trained
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testZstdLevelAndDictionary() throws IOException {
+        Assume.assumeTrue("Zstandard library is not installed", CompressionFormat.ZSTD.isAvailable());
+        final Pair<DataTableSpec, DataRow[]> data = createData(ROW_COUNT);
+        final List<byte[]> samples = IntStream.range(0, 2000)
+            .mapToObj(i -> ("Row" + i + " value " + Integer.toString(i) + " " + (i + .5)).getBytes(StandardCharsets.UTF_8))
+            .collect(Collectors.toList());
+        final byte[] dictionary = DefaultTableStoreFormat.trainZstdDictionary(samples, 1024);
+
+        final DataContainerSettings settings =
+            DataContainerSettings.getDefault().withMaxCellsInMemory(0).withInitializedDomain(false);
+        final DataContainer cont = new DataContainer(data.getFirst(),
+            settings.withBufferSettings(BufferSettings.getDefault().withOutputFormat(
+                new DefaultTableStoreFormat(DefaultTableStoreSettings.getDefault().withCompression(CompressionFormat.ZSTD)
+                    .withCompressionLevel(19).withDictionary(dictionary)))));
+        writeData(data.getSecond(), cont);
+        @SuppressWarnings("resource")
+        final Buffer b = ((BufferedRowContainer)cont.getRowContainer()).getBuffer();
+        cont.close();
+
+        read(b, data.getSecond());
+    }
+
     /**
      * Creates the data.
      *
@@ -172,14 +210,18 @@ private static void writeData(final DataRow[] dataRows, final DataContainer cont
     }
 
     /**
-     * Reads the compressed file and ensures that the proper compressor has been used.
+     * Reads the compressed file and ensures that the proper compressor has been used. Compressed files consist of
+     * independently compressed blocks (see {@link BlockCompressionStreams}), which are decompressed one by one.
      *
      * @param b the Buffer
      * @param cFormat the compression format
      * @throws Error - If the fail does not exists or has been written using the wrong compressor
      */
+    @SuppressWarnings("resource")
     private static void testRead(final Buffer b, final CompressionFormat cFormat) {
-        try (InputStream inStream = cFormat.getInputStream(b.getBinFile())) {
+        try (InputStream inStream = cFormat == CompressionFormat.NONE ? cFormat.getInputStream(b.getBinFile())
+            : new BlockInputStream(new BufferedInputStream(new FileInputStream(b.getBinFile())),
+                DefaultTableStoreSettings.getDefault().withCompression(cFormat))) {
             while (inStream.read() != -1) {
             }
         } catch (IOException e) {
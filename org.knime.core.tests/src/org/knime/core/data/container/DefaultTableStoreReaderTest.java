@@ -0,0 +1,366 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
+import org.knime.core.data.container.BlockCompressionStreams.BlockInputStream;
+import org.knime.core.data.container.BlockCompressionStreams.BlockOutputStream;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.NodeSettings;
+
+/**
+ * Tests that the {@link DefaultTableStoreReader} skips the cells of columns that are not materialized and the rows
+ * before the requested range of rows.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public class DefaultTableStoreReaderTest {
+
+    private static final int COLUMN_COUNT = 300;
+
+    private static final int ROW_COUNT = 500;
+
+    private static final DataTableSpec SPEC = new DataTableSpec(IntStream.range(0, COLUMN_COUNT)
+        .mapToObj(c -> new DataColumnSpecCreator("col" + c, c % 2 == 0 ? IntCell.TYPE : StringCell.TYPE).createSpec())
+        .toArray(DataColumnSpec[]::new));
+
+    /** All columns are read if no columns are filtered. */
+    @Test
+    public void testReadAll() {
+        for (final CompressionFormat compression : availableCompressionFormats()) {
+            final Buffer buffer = write(compression);
+            try (CloseableRowIterator it = buffer.iterator()) {
+                for (int r = 0; r < ROW_COUNT; r++) {
+                    final DataRow row = it.next();
+                    assertThat(row.getKey(), equalTo(RowKey.createRowKey((long)r)));
+                    for (int c = 0; c < COLUMN_COUNT; c++) {
+                        assertThat(row.getCell(c), equalTo(createCell(r, c)));
+                    }
+                }
+                assertThat(it.hasNext(), is(false));
+            }
+        }
+    }
+
+    /** Only the selected columns are read. */
+    @Test
+    public void testReadSelectedColumns() {
+        for (final CompressionFormat compression : availableCompressionFormats()) {
+            final Buffer buffer = write(compression);
+            try (CloseableRowIterator it =
+                buffer.iteratorWithFilter(TableFilter.materializeCols(1, 150, COLUMN_COUNT - 1))) {
+                for (int r = 0; r < ROW_COUNT; r++) {
+                    final DataRow row = it.next();
+                    assertThat(row.getKey(), equalTo(RowKey.createRowKey((long)r)));
+                    assertThat(row.getCell(1), equalTo(createCell(r, 1)));
+                    assertThat(row.getCell(150), equalTo(createCell(r, 150)));
+                    assertThat(row.getCell(COLUMN_COUNT - 1), equalTo(createCell(r, COLUMN_COUNT - 1)));
+                    assertThat(((BlobSupportDataRow)row).getRawCell(0), instanceOf(UnmaterializedCell.class));
+                    assertThat(((BlobSupportDataRow)row).getRawCell(2), instanceOf(UnmaterializedCell.class));
+                }
+                assertThat(it.hasNext(), is(false));
+            }
+        }
+    }
+
+    /** Only the rows of the range are returned, also when reading starts at an indexed row of uncompressed files. */
+    @Test
+    public void testReadRangeOfRows() {
+        final long[][] ranges =
+            {{1, 1}, {63, 65}, {64, 64}, {130, 300}, {200, ROW_COUNT - 1}, {ROW_COUNT - 1, ROW_COUNT - 1}};
+        for (final CompressionFormat compression : availableCompressionFormats()) {
+            final Buffer buffer = write(compression);
+            for (final long[] range : ranges) {
+                final TableFilter filter = new TableFilter.Builder().withFromRowIndex(range[0])
+                    .withToRowIndex(range[1]).withMaterializeColumnIndices(0, 7).build();
+                try (CloseableRowIterator it = buffer.iteratorWithFilter(filter)) {
+                    for (int r = (int)range[0]; r <= range[1]; r++) {
+                        final DataRow row = it.next();
+                        assertThat(row.getKey(), equalTo(RowKey.createRowKey((long)r)));
+                        assertThat(row.getCell(0), equalTo(createCell(r, 0)));
+                        assertThat(row.getCell(7), equalTo(createCell(r, 7)));
+                    }
+                    assertThat(it.hasNext(), is(false));
+                }
+            }
+            try (CloseableRowIterator it = buffer.iteratorWithFilter(TableFilter.filterRowsFromIndex(450))) {
+                for (int r = 450; r < ROW_COUNT; r++) {
+                    assertThat(it.next().getCell(COLUMN_COUNT - 1), equalTo(createCell(r, COLUMN_COUNT - 1)));
+                }
+                assertThat(it.hasNext(), is(false));
+            }
+        }
+    }
+
+    /** The row offset index keeps a bounded number of offsets and finds the closest indexed row. */
+    @Test
+    public void testRowOffsetIndex() {
+        final RowOffsetIndex index = new RowOffsetIndex(RowOffsetIndex.INITIAL_STRIDE);
+        final long rowCount = (long)RowOffsetIndex.MAX_ENTRIES * RowOffsetIndex.INITIAL_STRIDE * 5;
+        for (long r = 0; r < rowCount; r++) {
+            index.add(r, 10 * r);
+        }
+        assertThat(index.getStride(), is(8L * RowOffsetIndex.INITIAL_STRIDE));
+        for (final long r : new long[]{0, 1, 12345, rowCount / 2, rowCount - 1}) {
+            final int entry = index.findEntry(r);
+            final long indexedRow = index.getRow(entry);
+            assertThat(indexedRow <= r && r - indexedRow < index.getStride(), is(true));
+            assertThat(index.getOffset(entry), is(10 * indexedRow));
+        }
+
+        final NodeSettings settings = new NodeSettings("meta");
+        index.saveSettings(settings);
+        final RowOffsetIndex loaded = RowOffsetIndex.loadSettings(settings);
+        assertThat(loaded.getStride(), is(index.getStride()));
+        assertThat(loaded.getRow(loaded.findEntry(rowCount - 1)), is(index.getRow(index.findEntry(rowCount - 1))));
+        assertThat(loaded.getOffset(loaded.findEntry(rowCount - 1)),
+            is(index.getOffset(index.findEntry(rowCount - 1))));
+        assertThat(RowOffsetIndex.loadSettings(new NodeSettings("empty")), is(nullValue()));
+    }
+
+    /**
+     * Compressed blocks can be read starting at any block and decompress to the written bytes.
+     *
+     * @throws IOException not expected
+     */
+    @Test
+    public void testCompressedBlocks() throws IOException {
+        for (final CompressionFormat format : new CompressionFormat[]{CompressionFormat.GZIP,
+            CompressionFormat.SNAPPY}) {
+            final DefaultTableStoreSettings settings = DefaultTableStoreSettings.getDefault().withCompression(format);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final long[] blockStarts = new long[3];
+            try (BlockOutputStream blocks = new BlockOutputStream(bytes, settings);
+                    DataOutputStream out = new DataOutputStream(blocks)) {
+                for (int block = 0; block < blockStarts.length; block++) {
+                    blockStarts[block] = blocks.getPosition();
+                    for (int i = 0; i < 1000; i++) {
+                        out.writeInt(block * 1000 + i);
+                    }
+                    blocks.endBlock();
+                }
+            }
+            final byte[] file = bytes.toByteArray();
+            for (int block = 0; block < blockStarts.length; block++) {
+                final int start = (int)blockStarts[block];
+                try (DataInputStream in = new DataInputStream(new BlockInputStream(
+                    new ByteArrayInputStream(file, start, file.length - start), settings))) {
+                    for (int i = block * 1000; i < blockStarts.length * 1000; i++) {
+                        assertThat(in.readInt(), is(i));
+                    }
+                    assertThat(in.read(), is(-1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Whole blocks are skipped by their row counts without decompressing them, but only before reading a block.
+     *
+     * @throws IOException not expected
+     */
+    @Test
+    public void testSkipCompressedBlocks() throws IOException {
+        final DefaultTableStoreSettings settings =
+            DefaultTableStoreSettings.getDefault().withCompression(CompressionFormat.GZIP);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BlockOutputStream blocks = new BlockOutputStream(bytes, settings);
+                DataOutputStream out = new DataOutputStream(blocks)) {
+            // three blocks of 10 rows, each row is a single int: its index
+            for (int row = 0; row < 30; row++) {
+                blocks.startRow();
+                out.writeInt(row);
+                if (blocks.getRowsInBlock() == 10) {
+                    blocks.endBlock();
+                }
+            }
+        }
+        final byte[] file = bytes.toByteArray();
+        try (BlockInputStream blocks = new BlockInputStream(new ByteArrayInputStream(file), settings);
+                DataInputStream in = new DataInputStream(blocks)) {
+            assertThat(blocks.skipBlocks(9), is(0L));
+            assertThat(blocks.skipBlocks(25), is(20L));
+            assertThat(in.readInt(), is(20));
+            assertThat("Must not skip once a block has been started", blocks.skipBlocks(10), is(0L));
+            assertThat(in.readInt(), is(21));
+        }
+        try (BlockInputStream blocks = new BlockInputStream(new ByteArrayInputStream(file), settings)) {
+            assertThat(blocks.skipBlocks(Long.MAX_VALUE), is(30L));
+            assertThat(blocks.read(), is(-1));
+        }
+    }
+
+    /**
+     * Files written with container version 12 (KNIME 3.8 to 4.2) are compressed as a single stream, without blocks
+     * and row offsets, and are still read completely and partially.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testReadVersion12() throws Exception {
+        // the rows are serialized as before, only the compression of version 13 is different
+        final ByteArrayOutputStream rows = new ByteArrayOutputStream();
+        final NodeSettings meta = new NodeSettings("meta");
+        final DefaultTableStoreWriter writer = new DefaultTableStoreWriter(SPEC, rows, true,
+            DefaultTableStoreSettings.getDefault().withCompression(CompressionFormat.NONE));
+        try {
+            for (int r = 0; r < ROW_COUNT; r++) {
+                writer.writeRow(createRow(r));
+            }
+        } finally {
+            writer.close();
+        }
+        writer.writeMetaInfoAfterWrite(meta);
+        final File file = File.createTempFile("container_12", CompressionFormat.SNAPPY.getFileExtension());
+        file.deleteOnExit();
+        try (OutputStream out = CompressionFormat.SNAPPY.getOutputStream(new FileOutputStream(file))) {
+            rows.writeTo(out);
+        }
+        DefaultTableStoreSettings.getDefault().withCompression(CompressionFormat.SNAPPY).saveSettings(meta);
+
+        final DefaultTableStoreReader reader = new DefaultTableStoreReader(file, SPEC, meta, 12, true);
+        // provides the number of rows
+        reader.setBufferAndDataRepository(write(CompressionFormat.NONE), NotInWorkflowDataRepository.newInstance());
+        try (CloseableRowIterator it = reader.iterator()) {
+            for (int r = 0; r < ROW_COUNT; r++) {
+                final DataRow row = it.next();
+                assertThat(row.getKey(), equalTo(RowKey.createRowKey((long)r)));
+                for (int c = 0; c < COLUMN_COUNT; c++) {
+                    assertThat(row.getCell(c), equalTo(createCell(r, c)));
+                }
+            }
+            assertThat(it.hasNext(), is(false));
+        }
+        final TableFilter filter = new TableFilter.Builder().withFromRowIndex(130).withToRowIndex(300)
+            .withMaterializeColumnIndices(0, 7).build();
+        try (CloseableRowIterator it = reader.iteratorWithFilter(filter)) {
+            for (int r = 130; r <= 300; r++) {
+                final DataRow row = it.next();
+                assertThat(row.getKey(), equalTo(RowKey.createRowKey((long)r)));
+                assertThat(row.getCell(0), equalTo(createCell(r, 0)));
+                assertThat(row.getCell(7), equalTo(createCell(r, 7)));
+            }
+            assertThat(it.hasNext(), is(false));
+        }
+    }
+
+    /** Tables written with an unknown (future) container version are rejected. */
+    @Test
+    public void testValidateVersion() {
+        final DefaultTableStoreFormat format = new DefaultTableStoreFormat();
+        assertThat(format.validateVersion(Buffer.VERSION), is(true));
+        assertThat(format.validateVersion("container_12"), is(true));
+        assertThat(format.validateVersion("container_" + (Buffer.IVERSION + 1)), is(false));
+    }
+
+    /** @return the compression formats whose libraries are installed */
+    private static CompressionFormat[] availableCompressionFormats() {
+        return Arrays.stream(CompressionFormat.values()).filter(CompressionFormat::isAvailable)
+            .toArray(CompressionFormat[]::new);
+    }
+
+    private static DataCell createCell(final int row, final int column) {
+        if ((row + column) % 31 == 0) {
+            return DataType.getMissingCell();
+        }
+        return column % 2 == 0 ? new IntCell(row * column) : new StringCell("r" + row + "c" + column);
+    }
+
+    private static DataRow createRow(final int row) {
+        return new DefaultRow(RowKey.createRowKey((long)row),
+            IntStream.range(0, COLUMN_COUNT).mapToObj(c -> createCell(row, c)).toArray(DataCell[]::new));
+    }
+
+    private static Buffer write(final CompressionFormat compression) {
+        final DataContainerSettings settings = DataContainerSettings.getDefault().withMaxCellsInMemory(0)
+            .withInitializedDomain(false).withBufferSettings(BufferSettings.getDefault().withLRU(false)
+                .withOutputFormat(new DefaultTableStoreFormat(
+                    DefaultTableStoreSettings.getDefault().withCompression(compression))));
+        final DataContainer cont = new DataContainer(SPEC, settings);
+        for (int r = 0; r < ROW_COUNT; r++) {
+            cont.addRowToTable(createRow(r));
+        }
+        @SuppressWarnings("resource")
+        final Buffer buffer = ((BufferedRowContainer)cont.getRowContainer()).getBuffer();
+        cont.close();
+        return buffer;
+    }
+
+}
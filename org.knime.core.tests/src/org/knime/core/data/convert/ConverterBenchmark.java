@@ -0,0 +1,191 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.convert;
+
+import java.lang.reflect.Method;
+import java.util.function.IntFunction;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.convert.datacell.JavaToDataCellConverter;
+import org.knime.core.data.convert.java.DataCellToJavaConverter;
+import org.knime.core.data.convert.util.LambdaUtil;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.BooleanCell.BooleanCellFactory;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.DoubleCell.DoubleCellFactory;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.IntCell.IntCellFactory;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.LongCell.LongCellFactory;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.def.StringCell.StringCellFactory;
+
+/**
+ * Compares the per cell cost of converters calling {@link DataValueAccessMethod} and {@link DataCellFactoryMethod}
+ * methods via reflection (as done before 4.3) to the converters created by {@link LambdaUtil} for the built-in cell
+ * types. Not run as part of the test suite, run it manually and compare the printed numbers.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+@Ignore("Benchmark, run manually")
+public class ConverterBenchmark {
+
+    private static final int NUM_CELLS = 10000;
+
+    private static final int WARMUP_ROUNDS = 200;
+
+    private static final int ROUNDS = 500;
+
+    /**
+     * Benchmarks data cell to Java conversion for int, long, double, boolean and string cells.
+     *
+     * @throws Exception if a conversion fails
+     */
+    @Test
+    public void benchmarkDataCellToJava() throws Exception {
+        benchmarkAccess(IntValue.class, "getIntValue", IntCell::new);
+        benchmarkAccess(LongValue.class, "getLongValue", LongCell::new);
+        benchmarkAccess(DoubleValue.class, "getDoubleValue", DoubleCell::new);
+        benchmarkAccess(BooleanValue.class, "getBooleanValue", i -> BooleanCell.get(i % 2 == 0));
+        benchmarkAccess(StringValue.class, "getStringValue", i -> new StringCell(Integer.toString(i)));
+    }
+
+    /**
+     * Benchmarks Java to data cell conversion for int, long, double, boolean and string cells.
+     *
+     * @throws Exception if a conversion fails
+     */
+    @Test
+    public void benchmarkJavaToDataCell() throws Exception {
+        benchmarkFactory(IntCellFactory.class.getMethod("create", int.class), new IntCellFactory(), i -> i);
+        benchmarkFactory(LongCellFactory.class.getMethod("create", long.class), new LongCellFactory(), i -> (long)i);
+        benchmarkFactory(DoubleCellFactory.class.getMethod("create", double.class), new DoubleCellFactory(),
+            i -> (double)i);
+        benchmarkFactory(BooleanCellFactory.class.getMethod("create", boolean.class), new BooleanCellFactory(),
+            i -> i % 2 == 0);
+        benchmarkFactory(StringCellFactory.class.getMethod("createCell", String.class), new StringCellFactory(),
+            Integer::toString);
+    }
+
+    private static <S extends DataValue> void benchmarkAccess(final Class<S> valueClass, final String methodName,
+        final IntFunction<DataCell> cellCreator) throws Exception {
+        final Method method = valueClass.getMethod(methodName);
+        final DataCell[] cells = new DataCell[NUM_CELLS];
+        for (int i = 0; i < NUM_CELLS; i++) {
+            cells[i] = cellCreator.apply(i);
+        }
+        final DataCellToJavaConverter<S, Object> compiled = LambdaUtil.createAccessMethodConverter(valueClass, method);
+        final DataCellToJavaConverter<S, Object> reflective = value -> method.invoke(value);
+        report(valueClass.getSimpleName() + " -> " + method.getReturnType().getSimpleName(),
+            measure(reflective, cells), measure(compiled, cells));
+    }
+
+    private static double measure(final DataCellToJavaConverter<?, Object> converter, final DataCell[] cells)
+        throws Exception {
+        long start = 0;
+        int hash = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            if (round == WARMUP_ROUNDS) {
+                start = System.nanoTime();
+            }
+            for (final DataCell cell : cells) {
+                hash += converter.convertUnsafe(cell).hashCode();
+            }
+        }
+        return nanosPerCell(start, hash);
+    }
+
+    private static <F, S> void benchmarkFactory(final Method method, final F factory, final IntFunction<S> sources)
+        throws Exception {
+        final Object[] values = new Object[NUM_CELLS];
+        for (int i = 0; i < NUM_CELLS; i++) {
+            values[i] = sources.apply(i);
+        }
+        final JavaToDataCellConverter<S> compiled =
+            LambdaUtil.<F, S> createFactoryMethodConverter(method).apply(factory);
+        final JavaToDataCellConverter<S> reflective = source -> (DataCell)method.invoke(factory, source);
+        report(values[0].getClass().getSimpleName() + " -> "
+            + method.getDeclaringClass().getEnclosingClass().getSimpleName(), measure(reflective, values),
+            measure(compiled, values));
+    }
+
+    private static double measure(final JavaToDataCellConverter<?> converter, final Object[] values)
+        throws Exception {
+        long start = 0;
+        int hash = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            if (round == WARMUP_ROUNDS) {
+                start = System.nanoTime();
+            }
+            for (final Object value : values) {
+                hash += converter.convertUnsafe(value).hashCode();
+            }
+        }
+        return nanosPerCell(start, hash);
+    }
+
+    private static double nanosPerCell(final long start, final int hash) {
+        final double nanos = (System.nanoTime() - start) / ((double)ROUNDS * NUM_CELLS);
+        // use the hash such that the conversions can't be eliminated
+        return hash == 42 ? nanos + Double.MIN_VALUE : nanos;
+    }
+
+    private static void report(final String conversion, final double reflective, final double compiled) {
+        System.out.println(String.format("%-30s reflection: %6.2f ns/cell, compiled: %6.2f ns/cell (%.1fx)",
+            conversion, reflective, compiled, reflective / compiled));
+    }
+}
@@ -50,19 +50,25 @@
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeThat;
+import static org.junit.Assume.assumeTrue;
 
+import org.junit.Test;
 import org.junit.experimental.theories.DataPoints;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
 import org.junit.runner.RunWith;
 import org.knime.core.data.DataRow;
+import org.knime.core.data.join.JoinSpecification.OutputRowOrder;
 import org.knime.core.data.join.results.JoinResult;
 import org.knime.core.data.join.results.JoinResult.OutputCombined;
 import org.knime.core.data.join.results.JoinResult.OutputSplit;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 
 /**
  * Tests all combinations of
@@ -119,6 +125,43 @@ public void testJoinOutputCombined(final JoinTestInput input, final JoinMode joi
 
     }
 
+    /**
+     * Same as {@link #testJoinOutputCombined(JoinTestInput, JoinMode, OutputOrder, Execution)} but with the parallel
+     * probe mode enabled, using a single row per worker to make sure the test inputs are processed in parallel.
+     *
+     * @param input the left and right input table
+     * @param joinMode which results to retain
+     * @param order output row order
+     * @param executionMode
+     * @throws CanceledExecutionException
+     * @throws InvalidSettingsException
+     */
+    @Theory
+    public void testJoinOutputCombinedParallelProbe(final JoinTestInput input, final JoinMode joinMode,
+        final OutputOrder order, final Execution executionMode)
+        throws CanceledExecutionException, InvalidSettingsException {
+
+        // TODO fast sort not yet supported
+        assumeThat(order, is(not(OutputOrder.PROBE_HASH)));
+        // consider in memory and partial in memory (on disk doesn't make a difference compared to partial in memory)
+        assumeThat(executionMode, is(not(Execution.ON_DISK)));
+
+        // create the joiner
+        JoinSpecification joinSpec = input.getJoinSpecification(joinMode, order.m_rowOrder);
+        BlockHashJoin blockHashJoin = new BlockHashJoin(joinSpec, JoinTestInput.EXEC);
+        blockHashJoin.getProgress().m_assumeMemoryLow = executionMode != Execution.IN_MEMORY;
+        blockHashJoin.setNumProbeThreads(4);
+        blockHashJoin.m_minProbeRowsPerThread = 1;
+
+        // do the join
+        JoinResult<OutputCombined> results = blockHashJoin.joinOutputCombined();
+
+        // compare to expected results
+        DataRow[] expected = input.ordered(joinMode, order.m_rowOrder);
+        order.m_validator.accept(results.getResults().getTable(), expected);
+
+    }
+
     /**
      * @param input the left and right input table
      * @param joinMode which results to retain
@@ -170,5 +213,38 @@ public void testJoinOutputSplit(final JoinTestInput input, final JoinMode joinMo
 
     }
 
+    /**
+     * With the default settings, the parallel probe mode is used for probe tables with enough rows for two threads
+     * and gives the same results as a sequential pass.
+     *
+     * @throws CanceledExecutionException
+     * @throws InvalidSettingsException
+     */
+    @Test
+    public void testParallelProbeByDefault() throws CanceledExecutionException, InvalidSettingsException {
+        assumeTrue("The global thread pool has a single thread", KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads() > 1);
+
+        BufferedDataTable left = generate("L", 100, 80);
+        BufferedDataTable right = generate("R", 2 * BlockHashJoin.DEFAULT_MIN_PROBE_ROWS_PER_THREAD, 120);
+
+        for (OutputRowOrder order : new OutputRowOrder[]{OutputRowOrder.ARBITRARY, OutputRowOrder.LEFT_RIGHT}) {
+            JoinSpecification joinSpec = fullOuterJoin(left, right, order);
+
+            BlockHashJoin parallel = new BlockHashJoin(joinSpec, JoinTestInput.EXEC);
+            assertTrue("Parallel probe mode not used by default", parallel.isParallelProbe(right.size()));
+            BufferedDataTable actual = parallel.joinOutputCombined().getResults().getTable();
+
+            BlockHashJoin sequential = new BlockHashJoin(joinSpec, JoinTestInput.EXEC);
+            sequential.setNumProbeThreads(1);
+            assertFalse(sequential.isParallelProbe(right.size()));
+            DataRow[] expected = rows(sequential.joinOutputCombined().getResults().getTable());
+
+            if (order == OutputRowOrder.ARBITRARY) {
+                assertSetEquality(actual, expected);
+            } else {
+                assertOrderedEquality(actual, expected);
+            }
+        }
+    }
 
 }
@@ -0,0 +1,177 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.join;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.join.JoinSpecification.InputTable;
+import org.knime.core.data.join.JoinTableSettings.JoinColumn;
+import org.knime.core.data.join.JoinerFactory.JoinAlgorithm;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.InvalidSettingsException;
+
+/**
+ * Tests the choice of join algorithm in {@link CostModelFactory}.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public class CostModelFactoryTest {
+
+    private static final BufferedDataTable SMALL = generate(100, 5);
+
+    private static final BufferedDataTable LARGE = generate(300, 5);
+
+    /**
+     * @param numRows number of rows
+     * @param valueLength number of characters of the values in the second column
+     * @return a table with a join column and a value column
+     */
+    private static BufferedDataTable generate(final int numRows, final int valueLength) {
+        final StringBuilder value = new StringBuilder();
+        for (int i = 0; i < valueLength; i++) {
+            value.append('v');
+        }
+        DataRow[] rows = new DataRow[numRows];
+        for (int i = 0; i < numRows; i++) {
+            rows[i] = JoinTestInput.defaultRow("Row" + i + ",k" + i + "," + value);
+        }
+        return JoinTestInput.table("Join Column,Value", rows);
+    }
+
+    private static JoinTableSettings settings(final InputTable side, final BufferedDataTable table)
+        throws InvalidSettingsException {
+        return new JoinTableSettings(true, JoinColumn.array("Join Column"), new String[]{"Value"}, side, table);
+    }
+
+    private static JoinSpecification join(final JoinTableSettings left, final JoinTableSettings right,
+        final boolean conjunctive) throws InvalidSettingsException {
+        return new JoinSpecification.Builder(left, right).conjunctive(conjunctive).build();
+    }
+
+    private static JoinSpecification join(final boolean conjunctive) throws InvalidSettingsException {
+        return join(settings(InputTable.LEFT, SMALL), settings(InputTable.RIGHT, LARGE), conjunctive);
+    }
+
+    /**
+     * Disjunctive joins are only supported by the block hash join, no matter how little memory there is.
+     *
+     * @throws InvalidSettingsException
+     */
+    @Test
+    public void testDisjunctive() throws InvalidSettingsException {
+        assertEquals(JoinAlgorithm.NESTED_LOOP, CostModelFactory.choose(join(false), 0));
+    }
+
+    /**
+     * Without tables, the sizes are unknown and the join starts in memory.
+     *
+     * @throws InvalidSettingsException
+     */
+    @Test
+    public void testNoTables() throws InvalidSettingsException {
+        JoinTableSettings left = new JoinTableSettings(true, JoinColumn.array("Join Column"), new String[]{"Value"},
+            InputTable.LEFT, SMALL.getDataTableSpec());
+        JoinTableSettings right = new JoinTableSettings(true, JoinColumn.array("Join Column"), new String[]{"Value"},
+            InputTable.RIGHT, LARGE.getDataTableSpec());
+        assertEquals(JoinAlgorithm.NESTED_LOOP, CostModelFactory.choose(join(left, right, true), 0));
+    }
+
+    /**
+     * The smaller table is indexed, the choice depends on how its estimated index size compares to the headroom.
+     *
+     * @throws InvalidSettingsException
+     */
+    @Test
+    public void testChooseByIndexSize() throws InvalidSettingsException {
+        final JoinSpecification join = join(true);
+        final long indexBytes = CostModelFactory.estimateIndexBytes(settings(InputTable.LEFT, SMALL));
+        assertTrue("Index size of the smaller table must be estimated",
+            indexBytes > 0 && indexBytes < CostModelFactory.estimateIndexBytes(settings(InputTable.RIGHT, LARGE)));
+
+        // fits into memory
+        assertEquals(JoinAlgorithm.NESTED_LOOP, CostModelFactory.choose(join, 4 * indexBytes));
+        // a partition fits into memory
+        assertEquals(JoinAlgorithm.HYBRID_HASH, CostModelFactory.choose(join, indexBytes));
+        // a partition does not fit into memory
+        assertEquals(JoinAlgorithm.SORT_MERGE, CostModelFactory.choose(join,
+            (long)(indexBytes / (HybridHashJoin.DEFAULT_NUM_PARTITIONS * CostModelFactory.HEADROOM_SAFETY_FRACTION))
+                - 1));
+        assertEquals(JoinAlgorithm.SORT_MERGE, CostModelFactory.choose(join, 0));
+    }
+
+    /**
+     * The estimate depends on the contents of the table, not only on its spec.
+     *
+     * @throws InvalidSettingsException
+     */
+    @Test
+    public void testEstimateIndexBytes() throws InvalidSettingsException {
+        final long shortValues = CostModelFactory.estimateIndexBytes(settings(InputTable.LEFT, SMALL));
+        final long longValues = CostModelFactory.estimateIndexBytes(settings(InputTable.LEFT, generate(100, 500)));
+        assertTrue("Longer strings must take more space", longValues > shortValues + 100 * 2 * 495);
+        assertEquals(0, CostModelFactory.estimateIndexBytes(settings(InputTable.LEFT, generate(0, 5))));
+    }
+
+    /**
+     * Only the materialized columns (join and include columns) are kept in the index.
+     *
+     * @throws InvalidSettingsException
+     */
+    @Test
+    public void testEstimateOnlyMaterializedColumns() throws InvalidSettingsException {
+        final BufferedDataTable table = generate(100, 500);
+        final long withValues = CostModelFactory.estimateIndexBytes(settings(InputTable.LEFT, table));
+        final long withoutValues = CostModelFactory.estimateIndexBytes(
+            new JoinTableSettings(true, JoinColumn.array("Join Column"), new String[0], InputTable.LEFT, table));
+        assertTrue("Excluded columns must not be counted", withoutValues < withValues - 100 * 2 * 500);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.join;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.join.JoinSpecification.OutputRowOrder;
+import org.knime.core.data.join.results.JoinResult;
+import org.knime.core.data.join.results.JoinResult.OutputCombined;
+import org.knime.core.data.join.results.JoinResult.OutputSplit;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.InvalidSettingsException;
+
+/**
+ * Tests all combinations of
+ * - join types: inner, outer, anti
+ * - output orders: arbitrary, probe-hash, left-right
+ * - execution modes: in-memory, partially in-memory, on disk
+ *
+ * and the recursive partitioning of buckets on disk with larger inputs.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+@RunWith(Theories.class)
+public class HybridHashJoinTest extends JoinTest {
+
+    /**
+     * Disjunctive joins are delegated to the {@link BlockHashJoin}, see {@link BlockHashJoinTest}.
+     */
+    @DataPoints
+    public static JoinTestInput[] inputs = JoinTestInput.CONJUNCTIVE;
+
+    /**
+     * The hybrid hash join produces deterministic output in left-right order.
+     */
+    private static OutputRowOrder expectedOrder(final OutputOrder order) {
+        return order == OutputOrder.PROBE_HASH ? OutputRowOrder.LEFT_RIGHT : order.m_rowOrder;
+    }
+
+    /**
+     * @param input the left and right input table
+     * @param joinMode which results to retain
+     * @param order output row order
+     * @param executionMode
+     * @throws CanceledExecutionException
+     * @throws InvalidSettingsException
+     */
+    @Theory
+    public void testJoinOutputCombined(final JoinTestInput input, final JoinMode joinMode, final OutputOrder order,
+        final Execution executionMode) throws CanceledExecutionException, InvalidSettingsException {
+
+        // create the joiner
+        JoinSpecification joinSpec = input.getJoinSpecification(joinMode, order.m_rowOrder);
+        HybridHashJoin hybridHashJoin = new HybridHashJoin(joinSpec, JoinTestInput.EXEC);
+        // flush the desired number of partitions to disk (all partitions for on disk execution)
+        hybridHashJoin.getProgress().setDesiredPartitionsOnDisk(executionMode.m_desiredPartitionsOnDisk);
+
+        // do the join
+        JoinResult<OutputCombined> results = hybridHashJoin.joinOutputCombined();
+
+        // compare to expected results
+        DataRow[] expected = input.ordered(joinMode, expectedOrder(order));
+        order.m_validator.accept(results.getResults().getTable(), expected);
+
+    }
+
+    /**
+     * @param input the left and right input table
+     * @param joinMode which results to retain
+     * @param order output row order
+     * @param executionMode
+     * @throws CanceledExecutionException
+     * @throws InvalidSettingsException
+     */
+    @Theory
+    public void testJoinOutputSplit(final JoinTestInput input, final JoinMode joinMode, final OutputOrder order,
+        final Execution executionMode) throws CanceledExecutionException, InvalidSettingsException {
+
+        // create the joiner
+        JoinSpecification joinSpec = input.getJoinSpecification(joinMode, order.m_rowOrder);
+        HybridHashJoin hybridHashJoin = new HybridHashJoin(joinSpec, JoinTestInput.EXEC);
+        // flush the desired number of partitions to disk (all partitions for on disk execution)
+        hybridHashJoin.getProgress().setDesiredPartitionsOnDisk(executionMode.m_desiredPartitionsOnDisk);
+
+        // do the join
+        JoinResult<OutputSplit> results = hybridHashJoin.joinOutputSplit();
+
+        if(joinMode.m_retainMatches) {
+            DataRow[] expectedMatches = input.ordered(JoinMode.INNER, expectedOrder(order));
+            BufferedDataTable actual = results.getResults().getMatches();
+            order.m_validator.accept(actual, expectedMatches);
+        }
+
+        if(joinMode.m_retainLeftUnmatched) {
+            // validate left unmatched rows by comparing the produced left unmatched rows with the expected join result
+            // for a left antijoin (only left unmatched rows)
+            DataRow[] expectedLeft = input.leftOuter(expectedOrder(order));
+            BufferedDataTable actual = results.getResults().getLeftOuter();
+            order.m_validator.accept(actual, expectedLeft);
+        }
+
+        if (joinMode.m_retainRightUnmatched) {
+            // validate right unmatched rows
+            DataRow[] expectedRight = input.rightOuter(expectedOrder(order));
+            BufferedDataTable actual = results.getResults().getRightOuter();
+            order.m_validator.accept(actual, expectedRight);
+        }
+
+    }
+
+    /**
+     * With only two partitions per level, the buckets on disk are still too large to be joined in memory and are
+     * partitioned again until the maximum recursion depth is reached, after which the remaining bucket pairs are
+     * joined in several passes over the probe bucket.
+     *
+     * @throws CanceledExecutionException
+     * @throws InvalidSettingsException
+     */
+    @Test
+    public void testRecursivePartitioning() throws CanceledExecutionException, InvalidSettingsException {
+        // 40 distinct join values in the left table, 55 in the right table
+        BufferedDataTable left = generate("L", 500, 40);
+        BufferedDataTable right = generate("R", 700, 55);
+        compareToBlockHashJoin(left, right, OutputRowOrder.ARBITRARY);
+        compareToBlockHashJoin(left, right, OutputRowOrder.LEFT_RIGHT);
+    }
+
+    /**
+     * All rows have the same join value, so the buckets can't be split by partitioning again and are joined in
+     * several passes over the probe bucket.
+     *
+     * @throws CanceledExecutionException
+     * @throws InvalidSettingsException
+     */
+    @Test
+    public void testSkewedPartitioning() throws CanceledExecutionException, InvalidSettingsException {
+        BufferedDataTable left = generate("L", 50, 1);
+        BufferedDataTable right = generate("R", 60, 1);
+        compareToBlockHashJoin(left, right, OutputRowOrder.ARBITRARY);
+        compareToBlockHashJoin(left, right, OutputRowOrder.LEFT_RIGHT);
+    }
+
+    /**
+     * Full outer join of the given tables, executed entirely on disk with two partitions per level.
+     */
+    private static void compareToBlockHashJoin(final BufferedDataTable left, final BufferedDataTable right,
+        final OutputRowOrder order) throws CanceledExecutionException, InvalidSettingsException {
+
+        JoinSpecification joinSpec = fullOuterJoin(left, right, order);
+
+        HybridHashJoin hybridHashJoin = new HybridHashJoin(joinSpec, JoinTestInput.EXEC);
+        // two partitions per level
+        hybridHashJoin.setMaxOpenFiles(4);
+        hybridHashJoin.getProgress().setDesiredPartitionsOnDisk(Execution.ON_DISK.m_desiredPartitionsOnDisk);
+        BufferedDataTable actual = hybridHashJoin.joinOutputCombined().getResults().getTable();
+        assertTrue("No partitions were flushed to disk", hybridHashJoin.getProgress().getNumPartitionsOnDisk() > 0);
+
+        BufferedDataTable expected =
+            new BlockHashJoin(joinSpec, JoinTestInput.EXEC).joinOutputCombined().getResults().getTable();
+        assertFalse("Empty join results", expected.size() == 0);
+
+        if (order == OutputRowOrder.ARBITRARY) {
+            assertSetEquality(actual, rows(expected));
+        } else {
+            assertOrderedEquality(actual, rows(expected));
+        }
+    }
+
+}
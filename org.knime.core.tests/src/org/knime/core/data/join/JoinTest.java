@@ -51,15 +51,20 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.BiConsumer;
 
 import org.junit.experimental.theories.DataPoints;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.container.BlobSupportDataRow;
 import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.join.JoinSpecification.InputTable;
 import org.knime.core.data.join.JoinSpecification.OutputRowOrder;
+import org.knime.core.data.join.JoinTableSettings.JoinColumn;
 import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.InvalidSettingsException;
 
 import gnu.trove.set.hash.TCustomHashSet;
 import gnu.trove.strategy.HashingStrategy;
@@ -207,4 +212,47 @@ public boolean equals(final DataRow row1, final DataRow row2) {
         }
     };
 
-}
\ No newline at end of file
+    /**
+     * @return a full outer join on the first column that includes the second column of both tables
+     */
+    static JoinSpecification fullOuterJoin(final BufferedDataTable left, final BufferedDataTable right,
+        final OutputRowOrder order) throws InvalidSettingsException {
+        JoinTableSettings leftSettings = new JoinTableSettings(true, JoinColumn.array("Join Column"),
+            new String[]{"Value"}, InputTable.LEFT, left);
+        JoinTableSettings rightSettings = new JoinTableSettings(true, JoinColumn.array("Join Column"),
+            new String[]{"Value"}, InputTable.RIGHT, right);
+        return new JoinSpecification.Builder(leftSettings, rightSettings)
+            .columnNameDisambiguator(name -> name.concat("*")).mergeJoinColumns(false).conjunctive(true)
+            .outputRowOrder(order).rowKeyFactory(JoinSpecification.createConcatRowKeysFactory("+"))
+            .retainMatched(true).build();
+    }
+
+    /**
+     * @param prefix row key prefix
+     * @param numRows number of rows
+     * @param numValues number of distinct join values
+     * @return a table with a join column and a value column
+     */
+    static BufferedDataTable generate(final String prefix, final int numRows, final int numValues) {
+        DataRow[] rows = new DataRow[numRows];
+        for (int i = 0; i < numRows; i++) {
+            rows[i] = JoinTestInput.defaultRow(prefix + i + ",k" + (i % numValues) + "," + prefix + "v" + i);
+        }
+        return JoinTestInput.table("Join Column,Value", rows);
+    }
+
+    /**
+     * @param table a table
+     * @return the rows of the table
+     */
+    static DataRow[] rows(final BufferedDataTable table) {
+        List<DataRow> rows = new ArrayList<>();
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                rows.add(it.next());
+            }
+        }
+        return rows.toArray(new DataRow[0]);
+    }
+
+}
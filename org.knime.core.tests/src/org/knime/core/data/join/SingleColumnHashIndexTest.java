@@ -0,0 +1,241 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.join;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.knime.core.data.join.JoinTestInput.defaultRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.join.JoinSpecification.InputTable;
+import org.knime.core.data.join.JoinSpecification.OutputRowOrder;
+import org.knime.core.data.join.JoinTableSettings.JoinColumn;
+import org.knime.core.data.join.JoinTableSettings.SpecialJoinColumn;
+import org.knime.core.data.join.SingleColumnHashIndex.KeyType;
+import org.knime.core.data.join.results.JoinResult;
+import org.knime.core.data.join.results.JoinResult.OutputCombined;
+import org.knime.core.data.join.results.Unsorted;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.InvalidSettingsException;
+
+/**
+ * Tests the selection of the {@link SingleColumnHashIndex} from the join column types and joins on int and long
+ * columns using it.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+@SuppressWarnings("javadoc")
+public class SingleColumnHashIndexTest {
+
+    @Test
+    public void testKeyTypeSelection() throws InvalidSettingsException {
+        assertEquals(Optional.of(KeyType.INT), keyType(IntCell.TYPE, IntCell.TYPE, true));
+        assertEquals(Optional.of(KeyType.LONG), keyType(LongCell.TYPE, LongCell.TYPE, true));
+        assertEquals(Optional.of(KeyType.STRING), keyType(StringCell.TYPE, StringCell.TYPE, true));
+        // int and long cells are never equal, leave this to the generic index
+        assertFalse(keyType(IntCell.TYPE, LongCell.TYPE, true).isPresent());
+        assertFalse(keyType(IntCell.TYPE, IntCell.TYPE, false).isPresent());
+
+        // row keys are compared as strings
+        JoinTableSettings left = new JoinTableSettings(false, JoinColumn.array(SpecialJoinColumn.ROW_KEY),
+            new String[0], InputTable.LEFT, spec(IntCell.TYPE));
+        JoinTableSettings right = new JoinTableSettings(false, JoinColumn.array("Key"), new String[0],
+            InputTable.RIGHT, spec(StringCell.TYPE));
+        assertEquals(Optional.of(KeyType.STRING),
+            SingleColumnHashIndex.keyType(new JoinSpecification.Builder(left, right).conjunctive(true).build()));
+    }
+
+    /**
+     * Duplicate keys, missing values, and unmatched rows on an int join column.
+     */
+    @Test
+    public void testIntKeys() throws InvalidSettingsException, CanceledExecutionException {
+        BufferedDataTable left = table(new DataCell[]{new IntCell(1), new IntCell(2), new IntCell(1),
+            DataType.getMissingCell()}, "l", "a", "b", "c", "d");
+        BufferedDataTable right = table(
+            new DataCell[]{new IntCell(3), new IntCell(1), new IntCell(2), new IntCell(1)}, "r", "x", "y", "z", "w");
+
+        JoinResult<OutputCombined> results =
+            new BlockHashJoin(join(left, right), JoinTestInput.EXEC).joinOutputCombined();
+
+        JoinTest.assertOrderedEquality(results.getResults().getTable(), defaultRow("l0+r1,a,y"),
+            defaultRow("l0+r3,a,w"), defaultRow("l1+r2,b,z"), defaultRow("l2+r1,c,y"), defaultRow("l2+r3,c,w"),
+            defaultRow("l3+?,d,?"), defaultRow("?+r0,?,x"));
+    }
+
+    /**
+     * Enough distinct long keys to grow the open addressing table a couple of times.
+     */
+    @Test
+    public void testLongKeys() throws InvalidSettingsException, CanceledExecutionException {
+        int numRows = 1000;
+        DataCell[] leftKeys = new DataCell[numRows];
+        DataCell[] rightKeys = new DataCell[numRows];
+        String[] values = new String[numRows];
+        for (int i = 0; i < numRows; i++) {
+            leftKeys[i] = new LongCell(i * (1L << 40));
+            rightKeys[i] = new LongCell(2 * i * (1L << 40));
+            values[i] = Integer.toString(i);
+        }
+
+        JoinResult<OutputCombined> results = new BlockHashJoin(
+            join(table(leftKeys, "l", values), table(rightKeys, "r", values)), JoinTestInput.EXEC).joinOutputCombined();
+
+        // left and right unmatched rows plus one match for every even left key
+        assertEquals(numRows / 2 + numRows / 2 + numRows / 2, results.getResults().getTable().size());
+    }
+
+    /**
+     * The index retains only the row keys and the cells of join and include columns. The rows it hands out have the
+     * layout of the hash table with missing cells in all other columns.
+     */
+    @Test
+    public void testRetainsMaterializedColumnsOnly() throws InvalidSettingsException, CanceledExecutionException {
+        DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("Unused", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Key", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Value", StringCell.TYPE).createSpec());
+        BufferedDataContainer container = JoinTestInput.EXEC.createDataContainer(spec);
+        container.addRowToTable(
+            new DefaultRow(new RowKey("l0"), new StringCell("u0"), new IntCell(1), new StringCell("a")));
+        container.addRowToTable(
+            new DefaultRow(new RowKey("l1"), new StringCell("u1"), new IntCell(2), new StringCell("b")));
+        container.close();
+        BufferedDataTable left = container.getTable();
+        BufferedDataTable right = table(new DataCell[]{new IntCell(2)}, "r", "x");
+
+        JoinSpecification joinSpecification = join(left, right);
+        BlockHashJoin join = new BlockHashJoin(joinSpecification, JoinTestInput.EXEC);
+        HashIndex index = HashIndex.create(joinSpecification, Unsorted.createCombined(join, false, false),
+            InputTable.LEFT, () -> {});
+        assertTrue(index instanceof SingleColumnHashIndex);
+
+        long offset = 0;
+        for (DataRow row : left) {
+            index.addHashRow(row, offset++);
+        }
+        assertEquals(2, index.numAddedRows());
+
+        List<DataRow> retained = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        index.forEachRow((row, rowOffset) -> {
+            retained.add(row);
+            offsets.add(rowOffset);
+        });
+        assertEquals(Arrays.asList(0L, 1L), offsets);
+        for (int i = 0; i < 2; i++) {
+            DataRow row = retained.get(i);
+            assertEquals(new RowKey("l" + i), row.getKey());
+            assertEquals(3, row.getNumCells());
+            assertTrue(row.getCell(0).isMissing());
+            assertEquals(new IntCell(i + 1), row.getCell(1));
+            assertEquals(new StringCell(i == 0 ? "a" : "b"), row.getCell(2));
+        }
+
+        // the projected rows still join like the original rows
+        JoinTest.assertSetEquality(join.joinOutputCombined().getResults().getTable(), defaultRow("l0+?,a,?"),
+            defaultRow("l1+r0,b,x"));
+    }
+
+    private static Optional<KeyType> keyType(final DataType leftType, final DataType rightType,
+        final boolean conjunctive) throws InvalidSettingsException {
+        JoinTableSettings left =
+            new JoinTableSettings(false, JoinColumn.array("Key"), new String[0], InputTable.LEFT, spec(leftType));
+        JoinTableSettings right =
+            new JoinTableSettings(false, JoinColumn.array("Key"), new String[0], InputTable.RIGHT, spec(rightType));
+        return SingleColumnHashIndex
+            .keyType(new JoinSpecification.Builder(left, right).conjunctive(conjunctive).build());
+    }
+
+    private static JoinSpecification join(final BufferedDataTable left, final BufferedDataTable right)
+        throws InvalidSettingsException {
+        JoinTableSettings leftSettings = new JoinTableSettings(true, JoinColumn.array("Key"),
+            new String[]{"Value"}, InputTable.LEFT, left);
+        JoinTableSettings rightSettings = new JoinTableSettings(true, JoinColumn.array("Key"),
+            new String[]{"Value"}, InputTable.RIGHT, right);
+        return new JoinSpecification.Builder(leftSettings, rightSettings)
+            .columnNameDisambiguator(name -> name.concat("*")).mergeJoinColumns(false).conjunctive(true)
+            .outputRowOrder(OutputRowOrder.LEFT_RIGHT).rowKeyFactory(JoinSpecification.createConcatRowKeysFactory("+"))
+            .retainMatched(true).build();
+    }
+
+    private static DataTableSpec spec(final DataType keyType) {
+        return new DataTableSpec(new DataColumnSpecCreator("Key", keyType).createSpec(),
+            new DataColumnSpecCreator("Value", StringCell.TYPE).createSpec());
+    }
+
+    private static BufferedDataTable table(final DataCell[] keys, final String rowKeyPrefix,
+        final String... values) {
+        BufferedDataContainer container = JoinTestInput.EXEC.createDataContainer(spec(keys[0].getType()));
+        for (int i = 0; i < keys.length; i++) {
+            container.addRowToTable(
+                new DefaultRow(new RowKey(rowKeyPrefix + i), keys[i], new StringCell(values[i])));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+}
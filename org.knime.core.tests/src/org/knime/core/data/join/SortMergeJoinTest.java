@@ -0,0 +1,189 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.join;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.join.JoinSpecification.OutputRowOrder;
+import org.knime.core.data.join.results.JoinResult;
+import org.knime.core.data.join.results.JoinResult.OutputCombined;
+import org.knime.core.data.join.results.JoinResult.OutputSplit;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.InvalidSettingsException;
+
+/**
+ * Tests all combinations of
+ * - join types: inner, outer, anti
+ * - output orders: arbitrary, probe-hash, left-right
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+@RunWith(Theories.class)
+public class SortMergeJoinTest extends JoinTest {
+
+    /**
+     * Match any is delegated to the block hash join, see {@link BlockHashJoinTest}.
+     */
+    @DataPoints
+    public static JoinTestInput[] inputs = JoinTestInput.CONJUNCTIVE;
+
+    /**
+     * The sort merge join produces deterministic output in left-right order.
+     */
+    private static OutputRowOrder expectedOrder(final OutputOrder order) {
+        return order == OutputOrder.PROBE_HASH ? OutputRowOrder.LEFT_RIGHT : order.m_rowOrder;
+    }
+
+    /**
+     * @param input the left and right input table
+     * @param joinMode which results to retain
+     * @param order output row order
+     * @throws CanceledExecutionException
+     * @throws InvalidSettingsException
+     */
+    @Theory
+    public void testJoinOutputCombined(final JoinTestInput input, final JoinMode joinMode, final OutputOrder order)
+        throws CanceledExecutionException, InvalidSettingsException {
+
+        // create the joiner
+        JoinSpecification joinSpec = input.getJoinSpecification(joinMode, order.m_rowOrder);
+        SortMergeJoin sortMergeJoin = new SortMergeJoin(joinSpec, JoinTestInput.EXEC);
+
+        // do the join
+        JoinResult<OutputCombined> results = sortMergeJoin.joinOutputCombined();
+
+        // compare to expected results
+        DataRow[] expected = input.ordered(joinMode, expectedOrder(order));
+        order.m_validator.accept(results.getResults().getTable(), expected);
+
+    }
+
+    /**
+     * @param input the left and right input table
+     * @param joinMode which results to retain
+     * @param order output row order
+     * @throws CanceledExecutionException
+     * @throws InvalidSettingsException
+     */
+    @Theory
+    public void testJoinOutputSplit(final JoinTestInput input, final JoinMode joinMode, final OutputOrder order)
+        throws CanceledExecutionException, InvalidSettingsException {
+
+        // create the joiner
+        JoinSpecification joinSpec = input.getJoinSpecification(joinMode, order.m_rowOrder);
+        SortMergeJoin sortMergeJoin = new SortMergeJoin(joinSpec, JoinTestInput.EXEC);
+
+        // do the join
+        JoinResult<OutputSplit> results = sortMergeJoin.joinOutputSplit();
+
+        if(joinMode.m_retainMatches) {
+            DataRow[] expectedMatches = input.ordered(JoinMode.INNER, expectedOrder(order));
+            BufferedDataTable actual = results.getResults().getMatches();
+            order.m_validator.accept(actual, expectedMatches);
+        }
+
+        if(joinMode.m_retainLeftUnmatched) {
+            // validate left unmatched rows by comparing the produced left unmatched rows with the expected join result
+            // for a left antijoin (only left unmatched rows)
+            DataRow[] expectedLeft = input.leftOuter(expectedOrder(order));
+            BufferedDataTable actual = results.getResults().getLeftOuter();
+            order.m_validator.accept(actual, expectedLeft);
+        }
+
+        if (joinMode.m_retainRightUnmatched) {
+            // validate right unmatched rows
+            DataRow[] expectedRight = input.rightOuter(expectedOrder(order));
+            BufferedDataTable actual = results.getResults().getRightOuter();
+            order.m_validator.accept(actual, expectedRight);
+        }
+
+    }
+
+    /**
+     * Joins an input that is already sorted on its join column (and is therefore not sorted again) with an unsorted
+     * input and compares the result to the block hash join.
+     */
+    @Test
+    public void testSortedAndUnsortedInput() throws CanceledExecutionException, InvalidSettingsException {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            keys.add("k" + i);
+        }
+        Collections.sort(keys);
+        List<DataRow> sortedRows = new ArrayList<>();
+        for (String key : keys) {
+            for (int i = 0; i < 3; i++) {
+                int row = sortedRows.size();
+                sortedRows.add(JoinTestInput.defaultRow("R" + row + "," + key + ",Rv" + row));
+            }
+        }
+        BufferedDataTable left = generate("L", 300, 25);
+        BufferedDataTable right = JoinTestInput.table("Join Column,Value", sortedRows.toArray(new DataRow[0]));
+
+        BufferedDataTable actual = new SortMergeJoin(fullOuterJoin(left, right, OutputRowOrder.LEFT_RIGHT),
+            JoinTestInput.EXEC).joinOutputCombined().getResults().getTable();
+        BufferedDataTable expected = new BlockHashJoin(fullOuterJoin(left, right, OutputRowOrder.LEFT_RIGHT),
+            JoinTestInput.EXEC).joinOutputCombined().getResults().getTable();
+
+        assertEquals(expected.size(), actual.size());
+        assertOrderedEquality(actual, rows(expected));
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.sketch;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the accuracy, merging and serialization of {@link HyperLogLog} and {@link QuantileSketch}.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public class SketchTest {
+
+    /** The distinct count estimate is within a few standard errors of the exact count. */
+    @Test
+    public void testHyperLogLogAccuracy() {
+        for (final int distinct : new int[]{0, 1, 100, 10_000, 1_000_000}) {
+            final HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < 2 * distinct; i++) {
+                sketch.add(Integer.hashCode(i % distinct));
+            }
+            assertThat(String.format("estimate %d for %d", sketch.estimate(), distinct),
+                Math.abs(sketch.estimate() - distinct) <= Math.max(1, 0.07 * distinct), is(true));
+        }
+    }
+
+    /** Merging the sketches of partitions yields the sketch of the whole. */
+    @Test
+    public void testHyperLogLogMerge() {
+        final HyperLogLog whole = new HyperLogLog();
+        final HyperLogLog left = new HyperLogLog();
+        final HyperLogLog right = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            whole.add(i);
+            (i % 3 == 0 ? left : right).add(i);
+        }
+        assertThat(left.merge(right), is(whole));
+        assertThat(HyperLogLog.fromByteArray(whole.toByteArray()), is(whole));
+    }
+
+    /** Quantiles and ranks are within the error bound, minimum and maximum are exact. */
+    @Test
+    public void testQuantileAccuracy() {
+        final int count = 1_000_000;
+        final QuantileSketch sketch = new QuantileSketch();
+        final Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            sketch.update(random.nextDouble());
+        }
+        sketch.update(Double.NaN);
+        assertThat(sketch.getCount(), is((long)count));
+        for (final double q : new double[]{0.01, 0.25, 0.5, 0.75, 0.99}) {
+            assertThat("quantile " + q, Math.abs(sketch.getQuantile(q) - q) < 0.02, is(true));
+            assertThat("rank " + q, Math.abs(sketch.getRank(q) - q) < 0.02, is(true));
+        }
+        assertThat(sketch.getQuantile(0), is(sketch.getMin()));
+        assertThat(sketch.getQuantile(1), is(sketch.getMax()));
+        assertThat(sketch.toByteArray().length < 64 * 1024, is(true));
+    }
+
+    /** The merged sketch of partitions answers queries like the sketch of the whole. */
+    @Test
+    public void testQuantileMerge() {
+        final QuantileSketch merged = new QuantileSketch();
+        for (int p = 0; p < 10; p++) {
+            final QuantileSketch partition = new QuantileSketch();
+            for (int i = 0; i < 100_000; i++) {
+                partition.update(p * 100_000 + i);
+            }
+            merged.merge(partition);
+        }
+        assertThat(merged.getCount(), is(1_000_000L));
+        assertThat(merged.getMin(), is(0.0));
+        assertThat(merged.getMax(), is(999_999.0));
+        assertThat(Math.abs(merged.getQuantile(0.5) - 500_000) < 20_000, is(true));
+
+        final QuantileSketch copy = QuantileSketch.fromByteArray(merged.toByteArray());
+        assertThat(copy, is(merged));
+        assertThat(copy.getQuantile(0.3), is(merged.getQuantile(0.3)));
+        assertThat(Double.isNaN(new QuantileSketch().getQuantile(0.5)), is(true));
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.sort;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Checks that sorting by {@link NormalizedSortKey} yields the same order as sorting with the {@link RowComparator}.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public class NormalizedSortKeyTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("long", LongCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("boolean", BooleanCell.TYPE).createSpec());
+
+    private static final double[] DOUBLES = {Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, Double.MIN_VALUE, 2.5,
+        Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN};
+
+    private static final String[] STRINGS =
+        {"", "a", "ab", "a\u0000", "b", "\uFFFD", "\uFFFE", "\uFFFF", "\uFFFFa", "\uD83D\uDE00", "Z"};
+
+    /** Booleans have no normalized key, hence the comparator is used. */
+    @Test
+    public void testFallback() {
+        assertNull(NormalizedSortKey.forComparator(comparator(new int[]{0, 4}, new boolean[]{true, true}, false)));
+        assertNull(NormalizedSortKey.forComparator((r1, r2) -> 0));
+        assertNotNull(NormalizedSortKey.forComparator(comparator(new int[]{-1, 0, 1, 2, 3},
+            new boolean[]{true, true, true, true, true}, false)));
+    }
+
+    /** Sorts random rows by all combinations of sort order and missing value handling. */
+    @Test
+    public void testSameOrderAsComparator() {
+        final Random random = new Random(42);
+        final List<DataRow> rows = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            rows.add(randomRow(random, i));
+        }
+        final int[][] indices = {{0}, {1}, {2}, {3}, {-1}, {3, 0}, {0, 2, 1}, {2, 3, -1}};
+        for (int[] columns : indices) {
+            for (int order = 0; order < (1 << columns.length); order++) {
+                final boolean[] ascending = new boolean[columns.length];
+                for (int c = 0; c < columns.length; c++) {
+                    ascending[c] = (order & (1 << c)) != 0;
+                }
+                assertSameOrder(rows, comparator(columns, ascending, false));
+                assertSameOrder(rows, comparator(columns, ascending, true));
+            }
+        }
+    }
+
+    private static void assertSameOrder(final List<DataRow> rows, final RowComparator comparator) {
+        final List<DataRow> expected = new ArrayList<>(rows);
+        Collections.sort(expected, comparator);
+        final List<DataRow> actual = new ArrayList<>(rows);
+        NormalizedSortKey.sort(actual, comparator);
+        assertArrayEquals(expected.toArray(), actual.toArray());
+    }
+
+    private static RowComparator comparator(final int[] indices, final boolean[] ascending,
+        final boolean missingsToEnd) {
+        return new RowComparator(indices, ascending, missingsToEnd, SPEC);
+    }
+
+    private static DataRow randomRow(final Random random, final int index) {
+        final boolean missing = random.nextInt(10) == 0;
+        final DataCell intCell = missing ? DataType.getMissingCell() : new IntCell(random.nextInt(21) - 10
+            + (random.nextBoolean() ? 0 : (random.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE - 10)));
+        final DataCell longCell = random.nextInt(10) == 0 ? DataType.getMissingCell()
+            : new LongCell(random.nextBoolean() ? random.nextLong() : random.nextInt(5) - 2);
+        final DataCell doubleCell = random.nextInt(10) == 0 ? DataType.getMissingCell()
+            : new DoubleCell(DOUBLES[random.nextInt(DOUBLES.length)]);
+        final DataCell stringCell = random.nextInt(10) == 0 ? DataType.getMissingCell()
+            : new StringCell(STRINGS[random.nextInt(STRINGS.length)] + STRINGS[random.nextInt(STRINGS.length)]);
+        return new DefaultRow(STRINGS[random.nextInt(STRINGS.length)] + index % 7, intCell, longCell, doubleCell,
+            stringCell, BooleanCell.get(random.nextBoolean()));
+    }
+}
@@ -56,6 +56,11 @@
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import org.apache.commons.lang3.mutable.MutableLong;
@@ -166,6 +171,41 @@ private void internalTestManyMessageEvents(final NodeProgressMonitor toMonitor,
         }
     }
 
+    /** Many threads reporting to their own sub progress monitors of the same parent (without locking it). */
+    @Test(timeout = 10000L)
+    public void testConcurrentSubProgress() throws Exception {
+        final DefaultNodeProgressMonitor progMon = new DefaultNodeProgressMonitor();
+        final int nrThreads = 8;
+        final int parts = 100000;
+        final ExecutorService executor = Executors.newFixedThreadPool(nrThreads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < nrThreads; t++) {
+                final SubNodeProgressMonitor subMon = new SubNodeProgressMonitor(progMon, 1.0 / nrThreads);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < parts; i++) {
+                        subMon.setProgress((i + 1) / (double)parts);
+                        subMon.checkCanceled();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(progMon.getProgress(), is(closeTo(1.0, PROG_EPSILON)));
+        progMon.setExecuteCanceled();
+        try {
+            new SubNodeProgressMonitor(progMon, 0.5).checkCanceled();
+            Assert.fail("Sub progress monitor not canceled");
+        } catch (CanceledExecutionException e) {
+            // expected
+        }
+    }
+
     private static NodeProgressListener createListener(final Pointer<NodeProgress> progressPointer,
         final Function<NodeProgress, Boolean> notificationFunction) {
         return new NodeProgressListener() {
@@ -0,0 +1,171 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.node;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+
+import javax.imageio.ImageIO;
+import javax.swing.JComponent;
+
+import org.dmg.pmml.DATATYPE;
+import org.dmg.pmml.DerivedFieldDocument.DerivedField;
+import org.dmg.pmml.OPTYPE;
+import org.dmg.pmml.TransformationDictionaryDocument.TransformationDictionary;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.filestore.FileStorePortObject;
+import org.knime.core.data.image.png.PNGImageCell;
+import org.knime.core.data.image.png.PNGImageContent;
+import org.knime.core.node.port.ImmutablePortObject;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.port.image.ImagePortObject;
+import org.knime.core.node.port.image.ImagePortObjectSpec;
+import org.knime.core.node.port.inactive.InactiveBranchPortObject;
+import org.knime.core.node.port.pmml.PMMLPortObject;
+import org.knime.core.node.port.pmml.PMMLPortObjectSpecCreator;
+
+/**
+ * Tests {@link Node#copyPortObject(org.knime.core.node.port.PortObject, ExecutionContext)}.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public class NodeCopyPortObjectTest {
+
+    /** {@link ImmutablePortObject}s are shared, not copied (no execution context needed). */
+    @Test
+    public void testImmutablePortObjectsAreShared() throws Exception {
+        assertSame(FlowVariablePortObject.INSTANCE, Node.copyPortObject(FlowVariablePortObject.INSTANCE, null));
+        assertSame(InactiveBranchPortObject.INSTANCE, Node.copyPortObject(InactiveBranchPortObject.INSTANCE, null));
+    }
+
+    /**
+     * Images are copied, since their content is provided by extensions and may be mutable, like the byte array of
+     * {@link PNGImageContent#getByteArrayReference()}.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testImagePortObjectsAreCopied() throws Exception {
+        final ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB), "png", png);
+        final PNGImageContent content = new PNGImageContent(png.toByteArray());
+        final ImagePortObject image = new ImagePortObject(content, new ImagePortObjectSpec(PNGImageContent.TYPE));
+
+        final PortObject copy = Node.copyPortObject(image, null);
+        assertNotSame(image, copy);
+        final byte[] copiedBytes =
+            ((PNGImageCell)((ImagePortObject)copy).toDataCell()).getImageContent().getByteArrayReference();
+        assertArrayEquals(png.toByteArray(), copiedBytes);
+        // changes of the original's content don't affect the copy
+        content.getByteArrayReference()[0]++;
+        assertArrayEquals(png.toByteArray(), copiedBytes);
+    }
+
+    /**
+     * PMML documents are shared with the copy until the copy is modified, which doesn't affect the original.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testPMMLPortObjectsAreCopiedOnWrite() throws Exception {
+        final DataTableSpec tableSpec = new DataTableSpec(new DataColumnSpecCreator("x", DoubleCell.TYPE).createSpec());
+        final PMMLPortObject pmml = new PMMLPortObject(new PMMLPortObjectSpecCreator(tableSpec).createSpec());
+
+        final PMMLPortObject copy = (PMMLPortObject)Node.copyPortObject(pmml, null);
+        assertNotSame(pmml, copy);
+        assertEquals(pmml, copy);
+
+        final TransformationDictionary dictionary = TransformationDictionary.Factory.newInstance();
+        final DerivedField field = dictionary.addNewDerivedField();
+        field.setName("x");
+        field.setOptype(OPTYPE.CONTINUOUS);
+        field.setDataType(DATATYPE.DOUBLE);
+        field.addNewFieldRef().setField("x");
+        copy.addGlobalTransformations(dictionary);
+        assertEquals("Derived fields of the copy", 1, copy.getDerivedFields().length);
+        assertEquals("Derived fields of the original", 0, pmml.getDerivedFields().length);
+    }
+
+    /** File store port objects are never shared, even if they are marked immutable. */
+    @Test
+    public void testImmutableFileStorePortObjectsAreNotShared() {
+        assertFalse(Node.isShareable(new ImmutableFileStorePortObject()));
+    }
+
+    private static final class ImmutableFileStorePortObject extends FileStorePortObject
+        implements ImmutablePortObject {
+
+        @Override
+        public String getSummary() {
+            return "immutable file store port object";
+        }
+
+        @Override
+        public PortObjectSpec getSpec() {
+            return null;
+        }
+
+        @Override
+        public JComponent[] getViews() {
+            return new JComponent[0];
+        }
+    }
+
+}
@@ -46,6 +46,7 @@
  */
 package org.knime.core.node.property.hilite;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -53,6 +54,8 @@
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.swing.SwingUtilities;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.knime.core.data.RowKey;
@@ -340,4 +343,42 @@ public void test7() {
         assertFalse(m_hdl.isHiLit(m_c2));
         assertFalse(m_hdl.isHiLit(m_c3));
     }
+
+    /**
+     * Tests the number of hilit keys when hiliting overlapping sets.
+     */
+    @Test
+    public void test8() {
+        assertEquals(0, m_hdl.getNumHiLitKeys());
+        m_hdl.fireHiLiteEvent(m_s12);
+        m_hdl.fireHiLiteEvent(m_s23);
+        assertEquals(3, m_hdl.getNumHiLitKeys());
+        assertEquals(3, m_hdl.getHiLitKeys().size());
+        m_hdl.fireUnHiLiteEvent(m_s12);
+        assertEquals(1, m_hdl.getNumHiLitKeys());
+        m_hdl.fireClearHiLiteEvent();
+        assertEquals(0, m_hdl.getNumHiLitKeys());
+    }
+
+    /**
+     * Tests that listeners, which are notified in the EDT, receive the keys
+     * of the event as they were when it was fired.
+     * @throws Exception If the EDT is interrupted.
+     */
+    @Test
+    public void test9() throws Exception {
+        final Set<RowKey> received = new HashSet<RowKey>();
+        m_hdl.addHiLiteListener(new MyHiLiteListener() {
+            @Override
+            public void hiLite(final KeyEvent event) {
+                received.addAll(event.keys());
+            }
+        });
+        final Set<RowKey> keys = new HashSet<RowKey>(m_s12);
+        m_hdl.fireHiLiteEvent(keys);
+        keys.clear();
+        // wait for the notification queued into the EDT
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(m_s12, received);
+    }
 }   // HiLiteHandlerTest
@@ -0,0 +1,149 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.node.property.hilite;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.RowKey;
+
+/**
+ * Tests the bulk lookups of {@link DefaultHiLiteMapper} against the default implementations in
+ * {@link HiLiteMapper}.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public final class DefaultHiLiteMapperTest {
+
+    private DefaultHiLiteMapper m_mapper;
+
+    /** Mapper without index, using the default implementations. */
+    private HiLiteMapper m_scanMapper;
+
+    /**
+     * Creates a mapping from groups to rows, where row 3 is contained in two groups.
+     */
+    @Before
+    public void setUp() {
+        final Map<RowKey, Set<RowKey>> map = new LinkedHashMap<>();
+        map.put(new RowKey("g1"), keys("r1", "r2", "r3"));
+        map.put(new RowKey("g2"), keys("r3", "r4"));
+        map.put(new RowKey("g3"), keys("r5"));
+        map.put(new RowKey("g4"), Collections.emptySet());
+        m_mapper = new DefaultHiLiteMapper(map);
+        m_scanMapper = new HiLiteMapper() {
+            @Override
+            public Set<RowKey> keySet() {
+                return m_mapper.keySet();
+            }
+
+            @Override
+            public Set<RowKey> getKeys(final RowKey key) {
+                return m_mapper.getKeys(key);
+            }
+        };
+    }
+
+    private static Set<RowKey> keys(final String... keys) {
+        final Set<RowKey> result = new LinkedHashSet<>();
+        Arrays.stream(keys).map(RowKey::new).forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Tests {@link HiLiteMapper#getMappedKeys(java.util.Collection)}.
+     */
+    @Test
+    public void testGetMappedKeys() {
+        assertEquals(keys("r1", "r2", "r3", "r5"), m_mapper.getMappedKeys(keys("g1", "g3", "unknown")));
+        assertEquals(keys(), m_mapper.getMappedKeys(keys("g4")));
+    }
+
+    /**
+     * Tests {@link HiLiteMapper#getSourceKeys(java.util.Collection)} for the indexed and the scanning implementation.
+     */
+    @Test
+    public void testGetSourceKeys() {
+        for (HiLiteMapper mapper : new HiLiteMapper[]{m_mapper, m_scanMapper}) {
+            assertEquals(keys("g1", "g2"), mapper.getSourceKeys(keys("r3")));
+            assertEquals(keys("g1", "g2", "g3"), mapper.getSourceKeys(Arrays.asList(
+                new RowKey("r5"), new RowKey("r4"), new RowKey("r1"), new RowKey("unknown"))));
+            assertEquals(keys(), mapper.getSourceKeys(keys("unknown")));
+            assertEquals(keys(), mapper.getSourceKeys(keys()));
+        }
+    }
+
+    /**
+     * Tests that changes of the map passed to the constructor don't affect the mapper, neither before nor after the
+     * inverse index has been created.
+     */
+    @Test
+    public void testMapIsCopied() {
+        final Map<RowKey, Set<RowKey>> map = new LinkedHashMap<>();
+        map.put(new RowKey("g1"), keys("r1"));
+        final DefaultHiLiteMapper mapper = new DefaultHiLiteMapper(map);
+
+        map.get(new RowKey("g1")).add(new RowKey("r2"));
+        map.put(new RowKey("g2"), keys("r3"));
+        assertEquals(keys("g1"), mapper.keySet());
+        assertEquals(keys("r1"), mapper.getKeys(new RowKey("g1")));
+        assertEquals(keys(), mapper.getSourceKeys(keys("r2", "r3")));
+
+        map.put(new RowKey("g3"), keys("r1"));
+        assertEquals(keys("g1"), mapper.getSourceKeys(keys("r1")));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NoDescriptionProxy;
+import org.knime.core.node.NodeDescription;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.testfactories.EmptyTestNodeFactory;
+
+/**
+ * Tests the graph annotations of workflows whose nodes form a cycle through independent port paths of a metanode,
+ * which is a valid workflow.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public class WorkflowGraphAnnotationTest {
+
+    private static final PortType[] NONE = {};
+
+    private static final PortType[] ONE = {BufferedDataTable.TYPE};
+
+    private static final PortType[] TWO = {BufferedDataTable.TYPE, BufferedDataTable.TYPE};
+
+    private WorkflowManager m_project;
+
+    /** Creates an empty workflow. */
+    @Before
+    public void setUp() {
+        m_project = WorkflowManager.ROOT.createAndAddProject("graph annotations", new WorkflowCreationHelper());
+    }
+
+    /** Removes the workflow. */
+    @After
+    public void tearDown() {
+        WorkflowManager.ROOT.removeProject(m_project.getID());
+    }
+
+    /**
+     * The depth of a node is the length of the longest path to it, also if that path passes a metanode twice (A to
+     * M.in1, M.out1 to B, B to M.in2, M.out2 to J) and the node has been reached by a shorter path before (A to J).
+     */
+    @Test
+    public void testMetanodeWithIndependentPortPaths() {
+        final NodeID a = m_project.createAndAddSubWorkflow(NONE, ONE, "A").getID();
+        // added before the nodes of the cycle, i.e., ranked before them
+        final NodeID j = m_project.createAndAddNode(new TwoInputsNodeFactory());
+        final WorkflowManager metanode = m_project.createAndAddSubWorkflow(TWO, TWO, "M");
+        metanode.addConnection(metanode.getID(), 0, metanode.getID(), 0);
+        metanode.addConnection(metanode.getID(), 1, metanode.getID(), 1);
+        final NodeID m = metanode.getID();
+        final NodeID b = createPassThrough("B");
+        final NodeID d = createPassThrough("D");
+        m_project.addConnection(a, 0, m, 0);
+        m_project.addConnection(m, 0, b, 0);
+        m_project.addConnection(b, 0, m, 1);
+        m_project.addConnection(a, 0, j, 0);
+        m_project.addConnection(m, 1, j, 1);
+        m_project.addConnection(j, 0, d, 0);
+
+        assertThat("Depth of B", depth(b), is(2));
+        assertThat("Depth of J", depth(j), is(4));
+        assertThat("Depth of the successor of J", depth(d), is(5));
+    }
+
+    private NodeID createPassThrough(final String name) {
+        final WorkflowManager metanode = m_project.createAndAddSubWorkflow(ONE, ONE, name);
+        metanode.addConnection(metanode.getID(), 0, metanode.getID(), 0);
+        return metanode.getID();
+    }
+
+    private int depth(final NodeID id) {
+        final Set<NodeGraphAnnotation> annotations = m_project.getNodeGraphAnnotation(id);
+        assertThat("Number of annotations of " + id, annotations.size(), is(1));
+        return annotations.iterator().next().getDepth();
+    }
+
+    /** Creates nodes with two data inputs and one data output, which are never executed. */
+    private static final class TwoInputsNodeFactory extends EmptyTestNodeFactory {
+
+        @Override
+        protected NodeDescription createNodeDescription() {
+            return new NoDescriptionProxy(getClass());
+        }
+
+        @Override
+        public NodeModel createNodeModel() {
+            return new NodeModel(2, 1) {
+
+                @Override
+                protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+                    // no internals
+                }
+
+                @Override
+                protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+                    // no internals
+                }
+
+                @Override
+                protected void saveSettingsTo(final NodeSettingsWO settings) {
+                    // no settings
+                }
+
+                @Override
+                protected void validateSettings(final NodeSettingsRO settings) {
+                    // no settings
+                }
+
+                @Override
+                protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) {
+                    // no settings
+                }
+
+                @Override
+                protected void reset() {
+                    // nothing to reset
+                }
+            };
+        }
+    }
+}
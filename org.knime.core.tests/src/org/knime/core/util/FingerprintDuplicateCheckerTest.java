@@ -0,0 +1,173 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link FingerprintDuplicateChecker}.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+public class FingerprintDuplicateCheckerTest {
+
+    /**
+     * Adds many distinct, similar keys (that grow the tables many times) and checks that no duplicate is reported.
+     */
+    @Test
+    public void testNoDuplicateManyRows() {
+        FingerprintDuplicateChecker dc = new FingerprintDuplicateChecker();
+        for (int i = 0; i < 2000000; i++) {
+            dc.addKey("Row" + i);
+        }
+        dc.checkForDuplicates();
+        assertThat("Number of keys", dc.size(), is(2000000L));
+        dc.clear();
+        assertThat("Number of keys after clear", dc.size(), is(0L));
+        // keys can be added again after clearing
+        dc.addKey("Row0");
+    }
+
+    /**
+     * Tests that a duplicate is detected when it is added, also for the empty string and strings that differ only in
+     * the order of characters.
+     */
+    @Test
+    public void testDuplicate() {
+        FingerprintDuplicateChecker dc = new FingerprintDuplicateChecker();
+        for (String key : new String[]{"", "ab", "ba", "a\u0000", "\u0000a", "Row1", "Row10"}) {
+            dc.addKey(key);
+        }
+        for (String key : new String[]{"", "ba", "\u0000a", "Row10"}) {
+            try {
+                dc.addKey(key);
+                throw new AssertionError("Duplicate key \"" + key + "\" not detected");
+            } catch (DuplicateKeyException e) {
+                assertThat("Duplicate key", e.getKey(), is(key));
+            }
+        }
+    }
+
+    /**
+     * Forces all keys to have the same fingerprint and checks that distinct keys are accepted and duplicates are
+     * detected nonetheless.
+     */
+    @Test
+    public void testFingerprintCollision() {
+        FingerprintDuplicateChecker dc = new FingerprintDuplicateChecker(s -> 42L);
+        for (int i = 0; i < 100; i++) {
+            dc.addKey("Row" + i);
+        }
+        assertThat("Number of keys", dc.size(), is(100L));
+        try {
+            dc.addKey("Row50");
+            throw new AssertionError("Duplicate key \"Row50\" not detected");
+        } catch (DuplicateKeyException e) {
+            assertThat("Duplicate key", e.getKey(), is("Row50"));
+        }
+        // keys are compared, not their identity
+        dc.addKey(new String("Row100"));
+        try {
+            dc.addKey(new String("Row100"));
+            throw new AssertionError("Duplicate key \"Row100\" not detected");
+        } catch (DuplicateKeyException e) {
+            assertThat("Duplicate key", e.getKey(), is("Row100"));
+        }
+    }
+
+    /**
+     * Adds keys from several threads at the same time, with exactly one key added twice.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final FingerprintDuplicateChecker dc = new FingerprintDuplicateChecker();
+        final int threads = 8;
+        final int keysPerThread = 100000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                results.add(executor.submit(() -> {
+                    int duplicates = 0;
+                    for (int i = 0; i < keysPerThread; i++) {
+                        // the last thread adds the first key of the first thread once more
+                        String key = thread == threads - 1 && i == keysPerThread - 1 ? "Row0"
+                            : "Row" + (thread * keysPerThread + i);
+                        try {
+                            dc.addKey(key);
+                        } catch (DuplicateKeyException e) {
+                            duplicates++;
+                        }
+                    }
+                    return duplicates;
+                }));
+            }
+            int duplicates = 0;
+            for (Future<Integer> result : results) {
+                duplicates += result.get();
+            }
+            assertThat("Number of duplicates", duplicates, is(1));
+            assertThat("Number of keys", dc.size(), is((long)threads * keysPerThread - 1));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1585,4 +1585,161 @@ public void testAddWhiteSpaceCharacter() throws TokenizerException {
         token = ft.nextToken();
         assertNull(token);
     }
+
+    /**
+     * Tests that settings with single character patterns only (which are read
+     * in blocks) produce the same tokens as the character by character pattern
+     * matching. The input is longer than one block and has a CR+LF spanning
+     * the block boundary.
+     * @throws TokenizerException if somethings goes wrong.
+     */
+    public void testBlockReading() throws TokenizerException {
+
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; input.length() < 3 * 65536; i++) {
+            input.append(i).append(", \"quoted, ").append(i)
+                .append("\",'esc\\'aped' , \"\\n\" ,,  x  \r\n");
+        }
+        // let a CR+LF span the first block boundary
+        for (int i = input.lastIndexOf("\r\n", 65535); i < 65535; i++) {
+            input.insert(i, 'y');
+        }
+        String inputString = input.toString();
+
+        TokenizerSettings fts = new TokenizerSettings();
+        fts.addDelimiterPattern(",", false, false, false);
+        fts.addDelimiterPattern("\n", false, true, false);
+        fts.addQuotePattern("\"", "\"", '\\');
+        fts.addQuotePattern("'", "'", '\\');
+        fts.addWhiteSpaceCharacter(' ');
+        Tokenizer blockFt = new Tokenizer(new StringReader(inputString));
+        blockFt.setSettings(fts);
+
+        // a multi character delimiter forces pattern matching
+        fts.addDelimiterPattern("#never#", false, false, false);
+        Tokenizer patternFt = new Tokenizer(new StringReader(inputString));
+        patternFt.setSettings(fts);
+
+        String token;
+        int count = 0;
+        do {
+            token = blockFt.nextToken();
+            assertEquals(patternFt.nextToken(), token);
+            assertEquals(patternFt.lastTokenWasQuoted(),
+                    blockFt.lastTokenWasQuoted());
+            assertEquals(patternFt.lastTokenWasDelimiter(),
+                    blockFt.lastTokenWasDelimiter());
+            assertEquals(patternFt.getLineNumber(), blockFt.getLineNumber());
+            count++;
+        } while (token != null);
+        assertTrue(count > 65536 / 8);
+        assertEquals(patternFt.getReadBytes(), blockFt.getReadBytes());
+
+        // check one line explicitly
+        blockFt = new Tokenizer(new StringReader(
+                "1, \"quoted, 1\",'esc\\'aped' , \"\\n\" ,,  x  \r\n"));
+        blockFt.setSettings(fts);
+        assertEquals("1", blockFt.nextToken());
+        assertEquals("quoted, 1", blockFt.nextToken());
+        assertTrue(blockFt.lastTokenWasQuoted());
+        assertEquals("esc'aped", blockFt.nextToken());
+        assertEquals("\n", blockFt.nextToken());
+        assertEquals("", blockFt.nextToken());
+        assertFalse(blockFt.lastTokenWasQuoted());
+        assertEquals("x", blockFt.nextToken());
+        assertEquals("\n", blockFt.nextToken());
+        assertTrue(blockFt.lastTokenWasDelimiter());
+        assertEquals(2, blockFt.getLineNumber());
+        assertNull(blockFt.nextToken());
+    }
+
+    /**
+     * Tests that the token returned as character sequence is reused and
+     * survives a push back.
+     * @throws TokenizerException if somethings goes wrong.
+     */
+    public void testNextTokenAsCharSequence() throws TokenizerException {
+
+        TokenizerSettings fts = new TokenizerSettings();
+        fts.addDelimiterPattern(",", false, false, false);
+        Tokenizer ft = new Tokenizer(new StringReader("foo,bar,baz"));
+        ft.setSettings(fts);
+
+        CharSequence token = ft.nextTokenAsCharSequence();
+        assertEquals("foo", token.toString());
+        CharSequence next = ft.nextTokenAsCharSequence();
+        assertEquals("bar", next.toString());
+        // the sequence is reused for the next token
+        assertEquals("bar", token.toString());
+        ft.pushBack();
+        assertEquals("bar", ft.nextToken());
+        assertEquals("baz", ft.nextTokenAsCharSequence().toString());
+        assertNull(ft.nextTokenAsCharSequence());
+    }
+
+    /**
+     * Tests that parsing in parallel chunks returns the same tokens, line
+     * numbers and read bytes as reading sequentially - also for errors.
+     * @throws TokenizerException if somethings goes wrong.
+     */
+    public void testParallelParsing() throws TokenizerException {
+
+        StringBuilder input = new StringBuilder("header line\n");
+        for (int i = 0; i < 5000; i++) {
+            input.append(i).append(",\"quoted, \\\n").append(i)
+                .append("\", x ,").append(i % 7 == 0 ? "\r\n" : "\n");
+            if (i == 4321) {
+                input.append("\"missing quote\n");
+            }
+        }
+        String inputString = input.toString();
+
+        TokenizerSettings fts = new TokenizerSettings();
+        fts.addDelimiterPattern(",", false, false, false);
+        fts.addDelimiterPattern("\n", false, true, false);
+        fts.addQuotePattern("\"", "\"", '\\');
+        fts.addWhiteSpaceCharacter(' ');
+        fts.setSkipFirstLines(1);
+
+        Tokenizer parallelFt = new Tokenizer(new StringReader(inputString));
+        parallelFt.setSettings(fts);
+        parallelFt.setParallelParsing(true, 1000);
+        Tokenizer ft = new Tokenizer(new StringReader(inputString));
+        ft.setSettings(fts);
+
+        String token;
+        int errors = 0;
+        do {
+            try {
+                token = ft.nextToken();
+            } catch (TokenizerException fte) {
+                try {
+                    parallelFt.nextToken();
+                    fail("Expected exception");
+                } catch (TokenizerException pfte) {
+                    assertEquals(fte.getMessage(), pfte.getMessage());
+                }
+                errors++;
+                token = "";
+                continue;
+            }
+            assertEquals(token, parallelFt.nextToken());
+            assertEquals(ft.lastTokenWasQuoted(),
+                    parallelFt.lastTokenWasQuoted());
+            assertEquals(ft.lastTokenWasDelimiter(),
+                    parallelFt.lastTokenWasDelimiter());
+            assertEquals(ft.getLineNumber(), parallelFt.getLineNumber());
+            assertEquals(ft.getReadBytes(), parallelFt.getReadBytes());
+        } while (token != null);
+        assertEquals(1, errors);
+        assertNull(parallelFt.nextToken());
+
+        // settings that allow tokens spanning lines are read sequentially
+        fts.allowLFinQuotes(true);
+        fts.setSkipFirstLines(0);
+        parallelFt = new Tokenizer(new StringReader("\"a\nb\"\n"));
+        parallelFt.setSettings(fts);
+        parallelFt.setParallelParsing(true, 1);
+        assertEquals("a\nb", parallelFt.nextToken());
+    }
 } // TokenizerTest
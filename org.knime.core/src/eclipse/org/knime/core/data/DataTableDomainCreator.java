@@ -59,6 +59,8 @@
 import org.knime.core.data.DataColumnMetaDataCalculators.MetaDataCalculator;
 import org.knime.core.data.container.BlobWrapperDataCell;
 import org.knime.core.data.container.DataContainerSettings;
+import org.knime.core.data.sketch.ColumnSketchMetaData;
+import org.knime.core.data.sketch.ColumnSketchMetaDataCreator;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
@@ -99,6 +101,9 @@ public class DataTableDomainCreator {
 
     private final MetaDataCalculator[] m_metaDataCalculators;
 
+    /** The sketches of the columns, null if no sketches are created. */
+    private ColumnSketchMetaDataCreator[] m_sketchCreators;
+
     /** The batch id. */
     private long m_batchId;
 
@@ -239,6 +244,8 @@ public DataTableDomainCreator(final DataTableDomainCreator toCopy) {
         m_batchId = toCopy.m_batchId;
         m_metaDataCalculators = Arrays.stream(toCopy.m_metaDataCalculators).map(DataColumnMetaDataCalculators::copy)
             .toArray(MetaDataCalculator[]::new);
+        m_sketchCreators = toCopy.m_sketchCreators == null ? null : Arrays.stream(toCopy.m_sketchCreators)
+            .map(ColumnSketchMetaDataCreator::copy).toArray(ColumnSketchMetaDataCreator[]::new);
     }
 
     /**
@@ -263,6 +270,31 @@ public int getMaxPossibleValues() {
         return m_maxPossibleValues;
     }
 
+    /**
+     * Sets whether {@link ColumnSketchMetaData} (approximate distinct counts, quantiles and missing value counts) is
+     * created for all columns. Any sketches present in the input spec are replaced by the sketches of the processed
+     * data. Must be called before any data is processed.
+     *
+     * @param createSketches whether to create column sketches
+     * @since 4.3
+     */
+    public void setCreateColumnSketches(final boolean createSketches) {
+        if (!createSketches) {
+            m_sketchCreators = null;
+        } else if (m_sketchCreators == null) {
+            m_sketchCreators = new ColumnSketchMetaDataCreator[m_inputSpec.getNumColumns()];
+            Arrays.setAll(m_sketchCreators, i -> new ColumnSketchMetaDataCreator());
+        }
+    }
+
+    /**
+     * @return whether {@link ColumnSketchMetaData} is created, see {@link #setCreateColumnSketches(boolean)}
+     * @since 4.3
+     */
+    public boolean isCreateColumnSketches() {
+        return m_sketchCreators != null;
+    }
+
     /**
      * Sets the batch ID, ensuring that after merging various {@link DataTableDomainCreator} instances the ordering of
      * the domain values coincides with their occurrence in the input table.
@@ -364,6 +396,9 @@ public DataTableSpec createSpec() {
             // existing meta data is overwritten because the respective creator was initialized
             // with the existing meta data if the provided configuration required it
             m_metaDataCalculators[i].createMetaData().forEach(m -> specCreator.addMetaData(m, true));
+            if (m_sketchCreators != null) {
+                specCreator.addMetaData(m_sketchCreators[i].create(), true);
+            }
             outColSpecs[i] = specCreator.createSpec();
         }
 
@@ -394,6 +429,9 @@ public void updateDomain(final DataRow row) {
         for (DataCell c : row) {
             updateMinMax(i, c, m_mins, m_maxs, m_comparators);
             m_metaDataCalculators[i].update(c);
+            if (m_sketchCreators != null) {
+                m_sketchCreators[i].update(c);
+            }
             i++;
         }
     }
@@ -481,6 +519,8 @@ public void merge(final DataTableDomainCreator dataTableDomainCreator) {
             "Cannot merge data table domain creators based on different table specs");
         CheckUtils.checkArgument(m_maxPossibleValues == dataTableDomainCreator.m_maxPossibleValues,
             "Cannot merge data table domain creators using a different number of unique values");
+        CheckUtils.checkArgument(isCreateColumnSketches() == dataTableDomainCreator.isCreateColumnSketches(),
+            "Cannot merge data table domain creators of which only one creates column sketches");
         for (int i = 0; i < m_inputSpec.getNumColumns(); i++) {
             if (m_possVals[i] != null && dataTableDomainCreator.m_possVals[i] != null) {
                 for (final Entry<DataCell, Long> entry : dataTableDomainCreator.m_possVals[i].entrySet()) {
@@ -511,6 +551,9 @@ public void merge(final DataTableDomainCreator dataTableDomainCreator) {
             }
             DataColumnMetaDataCalculators.merge(m_metaDataCalculators[i],
                 dataTableDomainCreator.m_metaDataCalculators[i]);
+            if (m_sketchCreators != null) {
+                m_sketchCreators[i].merge(dataTableDomainCreator.m_sketchCreators[i]);
+            }
         }
     }
 
@@ -48,8 +48,6 @@
  */
 package org.knime.core.data.cache;
 
-import static org.knime.core.data.container.filter.TableFilter.materializeCols;
-
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -108,6 +106,12 @@ public class WindowCacheTable implements DirectAccessTable {
      */
     private long m_rowCountOfInterestInIterator;
 
+    /**
+     * Index of the first row of interest returned by the current iterator, which is greater than 0 if the iterator has
+     * been started at a later row of a {@link BufferedDataTable}. Rows before it are not in the cache.
+     */
+    private long m_firstRowOfInterestInIterator;
+
     /**
      * Number of rows of interest that have been seen so far. If only hilited rows should be shown this field is equal
      * to {@link #m_maxRowCount}.
@@ -358,18 +362,25 @@ public List<DataRow> getRows(final long start, final int length, final Execution
         final int cacheSize = getCacheSize();
         final long oldRowCount = m_rowCountOfInterest;
         final long lastRow = start + length - 1;
+        final long firstCachedRow =
+            Math.max(m_firstRowOfInterestInIterator, m_rowCountOfInterestInIterator - cacheSize);
 
         // the iterator goes further when the last known row is requested
         boolean pushIterator = !hasRowCount() && (lastRow >= oldRowCount - 1);
-        if (start >= (m_rowCountOfInterestInIterator - cacheSize)
-                && (lastRow < m_rowCountOfInterestInIterator) && !pushIterator) {
+        if (start >= firstCachedRow && (lastRow < m_rowCountOfInterestInIterator) && !pushIterator) {
             return getRowsFromCache(start, length, exec);
         }
 
         /* not all rows in cache */
-        // some rows already released from cache
-        if (start < (m_rowCountOfInterestInIterator - cacheSize)) {
-            // clear cache, init new iterator
+        if (canSeek()) {
+            // start a new iterator a bit before the requested rows (to allow scrolling back without starting yet
+            // another iterator) unless the requested rows are reached sooner by the current iterator
+            final long seekRow = Math.max(0, start - (cacheSize - length - m_lookAheadSize) / 2);
+            if (start < firstCachedRow || seekRow > m_rowCountOfInterestInIterator + cacheSize) {
+                clearCacheAndInitIterator(seekRow);
+            }
+        } else if (start < firstCachedRow) {
+            // some rows already released from cache: clear cache, init new iterator
             clearCacheAndInitIterator();
         }
         assert (start + length >= m_rowCountOfInterestInIterator - 1);
@@ -432,17 +443,36 @@ private boolean cacheNextRow() {
         return true;
     }
 
+    /**
+     * Whether a new iterator can start at an arbitrary row, i.e., whether the table is a {@link BufferedDataTable},
+     * which supports row range filters that don't require iterating the rows before the range (e.g., if the table has
+     * been written to disk uncompressed).
+     */
+    private boolean canSeek() {
+        return m_table instanceof BufferedDataTable;
+    }
+
     /**
      * Get new iterator, only to be called when data is set. If predicates are set those are tried to push down to
      * the iterator.
+     *
+     * @param fromRow the index of the first row to return, can only be greater than 0 if {@link #canSeek()}
      */
-    private RowIterator getNewDataIterator() {
+    private RowIterator getNewDataIterator(final long fromRow) {
         assert hasData();
-        if (m_table instanceof BufferedDataTable && m_includedColumnIndices != null) {
+        assert fromRow == 0 || canSeek();
+        if (m_table instanceof BufferedDataTable && (m_includedColumnIndices != null || fromRow > 0)) {
             BufferedDataTable bdt = (BufferedDataTable)m_table;
-            DataTableSpec spec = bdt.getSpec();
-            TableFilter filter = materializeCols(spec, m_includedColumnIndices.stream().toArray(String[]::new));
-            return bdt.filter(filter).iterator();
+            final TableFilter.Builder filter = new TableFilter.Builder();
+            if (m_includedColumnIndices != null) {
+                DataTableSpec spec = bdt.getSpec();
+                filter.withMaterializeColumnIndices(
+                    spec.columnsToIndices(m_includedColumnIndices.stream().toArray(String[]::new)));
+            }
+            if (fromRow > 0) {
+                filter.withFromRowIndex(fromRow);
+            }
+            return bdt.filter(filter.build()).iterator();
         }
         return m_table.iterator();
     }
@@ -451,16 +481,27 @@ private RowIterator getNewDataIterator() {
      * Clears cache, instantiates a new iterator.
      */
     private void clearCacheAndInitIterator() {
+        clearCacheAndInitIterator(0);
+    }
+
+    /**
+     * Clears cache, instantiates a new iterator that starts at the given row.
+     *
+     * @param fromRow the index of the first row of the new iterator, can only be greater than 0 if
+     *            {@link #canSeek()}
+     */
+    private void clearCacheAndInitIterator(final long fromRow) {
         if (!hasData()) {
             return;
         }
         if (m_tableIterator instanceof CloseableRowIterator) {
             ((CloseableRowIterator)m_tableIterator).close();
         }
-        m_tableIterator = getNewDataIterator();
-        m_rowCountInIterator = 0;
+        m_tableIterator = getNewDataIterator(fromRow);
+        m_rowCountInIterator = fromRow;
         // all updated in nextBlock()
-        m_rowCountOfInterestInIterator = 0;
+        m_rowCountOfInterestInIterator = fromRow;
+        m_firstRowOfInterestInIterator = fromRow;
         // clear cache
         Arrays.fill(m_cachedRows, null);
     }
@@ -65,6 +65,7 @@
 import org.knime.core.data.container.BlobDataCell;
 import org.knime.core.data.container.BlobSupportDataRow;
 import org.knime.core.data.container.BlobWrapperDataCell;
+import org.knime.core.data.container.DCObjectOutputVersion2.DCLongUTFDataOutputStream;
 import org.knime.core.node.BufferedDataTable;
 
 /**
@@ -73,6 +74,16 @@
  * {@link BlobWrapperDataCell} in order to allow for a possible garbage
  * collection (and deserializing when a blob is accessed.)
  *
+ * <p>
+ * Lists of non-missing {@link org.knime.core.data.def.IntCell}s,
+ * {@link org.knime.core.data.def.LongCell}s,
+ * {@link org.knime.core.data.def.DoubleCell}s, or
+ * {@link org.knime.core.data.def.BooleanCell}s are transparently stored in a
+ * primitive array; the cells are then created upon access. Such lists are
+ * serialized as raw arrays only into tables (see
+ * {@link #serialize(DataCellDataOutput)}), everywhere else they are written
+ * cell by cell as any other list.
+ *
  * @author Bernd Wiswedel, University of Konstanz
  */
 public class BlobSupportDataCellList
@@ -87,6 +98,12 @@
 
     private DataType m_elementType;
 
+    /** Written instead of the size if the list is stored in a
+     * {@link PrimitiveDataCellList}, which then serializes itself. Versions
+     * prior 4.3 fail to read it (invalid size), see
+     * {@link #serialize(DataCellDataOutput)}. */
+    private static final int PRIMITIVE_LIST_MARKER = -1;
+
     /**
      * Creates new instance based on a collection of data cells.
      *
@@ -100,6 +117,13 @@ protected BlobSupportDataCellList(
     }
 
     private void init(final Collection<? extends DataCell> coll) {
+        PrimitiveDataCellList primitiveList = PrimitiveDataCellList.create(coll);
+        if (primitiveList != null) {
+            m_containsBlobWrapperCells = false;
+            m_elementType = primitiveList.getElementType();
+            m_cellList = primitiveList;
+            return;
+        }
         ArrayList<DataCell> cellList = new ArrayList<DataCell>(coll.size());
         DataType commonType = null;
         for (DataCell c : coll) {
@@ -180,9 +204,6 @@ public DataCell getWithBlobSupport(final int index) {
     /** {@inheritDoc} */
     @Override
     public Iterator<DataCell> iterator() {
-        if (!containsBlobWrapperCells()) {
-            return m_cellList.iterator();
-        }
         return new DefaultBlobSupportDataCellIterator(m_cellList.listIterator());
     }
 
@@ -227,10 +248,22 @@ public int hashCode() {
     /**
      * Write this object to an output.
      *
+     * <p>
+     * Lists stored in primitive arrays are written as such only if the output
+     * is a table (container version 13 or later, which older versions refuse
+     * to read anyway). All other outputs, e.g. cells cloned or written by
+     * other bundles, get the previous format (size and elements).
+     *
      * @param output To write to.
      * @throws IOException If that fails.
      */
     public void serialize(final DataCellDataOutput output) throws IOException {
+        if (m_cellList instanceof PrimitiveDataCellList
+                && output instanceof DCLongUTFDataOutputStream) {
+            output.writeInt(PRIMITIVE_LIST_MARKER);
+            ((PrimitiveDataCellList)m_cellList).serialize(output);
+            return;
+        }
         output.writeInt(size());
         for (DataCell c : m_cellList) {
             output.writeDataCell(c);
@@ -248,6 +281,10 @@ public void serialize(final DataCellDataOutput output) throws IOException {
     public static BlobSupportDataCellList deserialize(
             final DataCellDataInput input) throws IOException {
         int size = input.readInt();
+        if (size == PRIMITIVE_LIST_MARKER) {
+            return new BlobSupportDataCellList(
+                    PrimitiveDataCellList.deserialize(input));
+        }
         if (size < 0) {
             throw new IOException("Invalid size: " + size);
         }
@@ -323,6 +360,8 @@ private void readObject(final ObjectInputStream stream)
     /** Write object method (as described in {@link Serializable} interface). */
     private void writeObject(final ObjectOutputStream stream)
         throws IOException {
-        stream.writeObject(m_cellList);
+        // PrimitiveDataCellList is unknown to older versions
+        stream.writeObject(m_cellList instanceof PrimitiveDataCellList
+            ? new ArrayList<DataCell>(m_cellList) : m_cellList);
     }
 }
@@ -53,6 +53,10 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.container.BlobSupportDataRow;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
 import org.knime.core.node.BufferedDataTable;
 
 import java.util.ArrayList;
@@ -107,6 +111,64 @@ public static ListCell createListCell(final DataRow row, final int[] cols) {
         return new ListCell(l);
     }
 
+    /**
+     * Creates a new {@link ListCell} of {@link IntCell}s. The values are kept
+     * in a primitive array, no cell objects are created for the elements.
+     * Note that lists of non-missing {@link IntCell}s created by any other
+     * factory method are stored the same way.
+     *
+     * @param values The list elements (will be copied).
+     * @return A newly created {@link ListCell}.
+     * @throws NullPointerException If the argument is null.
+     * @since 4.3
+     */
+    public static ListCell createListCell(final int[] values) {
+        return new ListCell(new BlobSupportDataCellList(
+                new PrimitiveDataCellList.IntList(values.clone())));
+    }
+
+    /**
+     * Creates a new {@link ListCell} of {@link LongCell}s, see
+     * {@link #createListCell(int[])}.
+     *
+     * @param values The list elements (will be copied).
+     * @return A newly created {@link ListCell}.
+     * @throws NullPointerException If the argument is null.
+     * @since 4.3
+     */
+    public static ListCell createListCell(final long[] values) {
+        return new ListCell(new BlobSupportDataCellList(
+                new PrimitiveDataCellList.LongList(values.clone())));
+    }
+
+    /**
+     * Creates a new {@link ListCell} of {@link DoubleCell}s, see
+     * {@link #createListCell(int[])}.
+     *
+     * @param values The list elements (will be copied).
+     * @return A newly created {@link ListCell}.
+     * @throws NullPointerException If the argument is null.
+     * @since 4.3
+     */
+    public static ListCell createListCell(final double[] values) {
+        return new ListCell(new BlobSupportDataCellList(
+                new PrimitiveDataCellList.DoubleList(values.clone())));
+    }
+
+    /**
+     * Creates a new {@link ListCell} of {@link BooleanCell}s, see
+     * {@link #createListCell(int[])}.
+     *
+     * @param values The list elements (will be copied).
+     * @return A newly created {@link ListCell}.
+     * @throws NullPointerException If the argument is null.
+     * @since 4.3
+     */
+    public static ListCell createListCell(final boolean[] values) {
+        return new ListCell(new BlobSupportDataCellList(
+                new PrimitiveDataCellList.BooleanList(values.clone())));
+    }
+
     /**
      * Creates a new {@link ListCell} based on selected cells from a
      * {@link DataRow}. This method will check if the row is returned by
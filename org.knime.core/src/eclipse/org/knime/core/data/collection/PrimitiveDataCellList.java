@@ -0,0 +1,340 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.collection;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+
+/**
+ * An immutable list of {@link IntCell}s, {@link LongCell}s, {@link DoubleCell}s, or {@link BooleanCell}s that keeps
+ * the values in a primitive array (similar to {@link org.knime.core.data.vector.doublevector.DenseDoubleVectorCell})
+ * and creates the cells on access. Used as storage of {@link BlobSupportDataCellList}, such that a {@link ListCell}
+ * of, e.g., 10,000 doubles holds a single <code>double[]</code> instead of 10,000 cell objects, and is written to
+ * tables as raw array.
+ *
+ * <p>
+ * Only lists of non-missing cells of exactly one of the above classes can be represented (see
+ * {@link #create(Collection)}). Equality and hash code are the same as for any other list of the same cells.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+abstract class PrimitiveDataCellList extends AbstractList<DataCell> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte INT = 0;
+
+    private static final byte LONG = 1;
+
+    private static final byte DOUBLE = 2;
+
+    private static final byte BOOLEAN = 3;
+
+    /**
+     * @param coll cells to represent
+     * @return a primitive list containing the given cells, or <code>null</code> if the cells can't be represented (for
+     *         instance, because the collection is empty or contains missing cells or cells of different classes)
+     */
+    static PrimitiveDataCellList create(final Collection<? extends DataCell> coll) {
+        if (coll instanceof PrimitiveDataCellList) {
+            return (PrimitiveDataCellList)coll; // immutable, no need to copy
+        }
+        if (coll.isEmpty()) {
+            return null;
+        }
+        final DataCell first = coll.iterator().next();
+        if (first == null) {
+            return null;
+        }
+        final Class<? extends DataCell> cellClass = first.getClass();
+        for (DataCell c : coll) {
+            // also excludes nulls, missing cells, blobs, and subclasses of the supported cell classes
+            if (c == null || c.getClass() != cellClass) {
+                return null;
+            }
+        }
+        int i = 0;
+        if (cellClass == DoubleCell.class) {
+            final double[] values = new double[coll.size()];
+            for (DataCell c : coll) {
+                values[i++] = ((DoubleCell)c).getDoubleValue();
+            }
+            return new DoubleList(values);
+        } else if (cellClass == IntCell.class) {
+            final int[] values = new int[coll.size()];
+            for (DataCell c : coll) {
+                values[i++] = ((IntCell)c).getIntValue();
+            }
+            return new IntList(values);
+        } else if (cellClass == LongCell.class) {
+            final long[] values = new long[coll.size()];
+            for (DataCell c : coll) {
+                values[i++] = ((LongCell)c).getLongValue();
+            }
+            return new LongList(values);
+        } else if (cellClass == BooleanCell.class) {
+            final boolean[] values = new boolean[coll.size()];
+            for (DataCell c : coll) {
+                values[i++] = ((BooleanCell)c).getBooleanValue();
+            }
+            return new BooleanList(values);
+        }
+        return null;
+    }
+
+    /** @return the type of all elements */
+    abstract DataType getElementType();
+
+    /**
+     * Writes the element type and the values.
+     *
+     * @param output to write to
+     * @throws IOException if that fails
+     */
+    abstract void serialize(DataCellDataOutput output) throws IOException;
+
+    /**
+     * Reads a list written by {@link #serialize(DataCellDataOutput)}.
+     *
+     * @param input to read from
+     * @return the list
+     * @throws IOException if that fails or the content is invalid
+     */
+    static PrimitiveDataCellList deserialize(final DataCellDataInput input) throws IOException {
+        final byte type = input.readByte();
+        final int size = input.readInt();
+        if (size < 0) {
+            throw new IOException("Invalid size: " + size);
+        }
+        switch (type) {
+            case INT:
+                final int[] ints = new int[size];
+                for (int i = 0; i < size; i++) {
+                    ints[i] = input.readInt();
+                }
+                return new IntList(ints);
+            case LONG:
+                final long[] longs = new long[size];
+                for (int i = 0; i < size; i++) {
+                    longs[i] = input.readLong();
+                }
+                return new LongList(longs);
+            case DOUBLE:
+                final double[] doubles = new double[size];
+                for (int i = 0; i < size; i++) {
+                    doubles[i] = input.readDouble();
+                }
+                return new DoubleList(doubles);
+            case BOOLEAN:
+                final boolean[] booleans = new boolean[size];
+                for (int i = 0; i < size; i++) {
+                    booleans[i] = input.readBoolean();
+                }
+                return new BooleanList(booleans);
+            default:
+                throw new IOException("Invalid element type of primitive list: " + type);
+        }
+    }
+
+    /** List of {@link IntCell}s. */
+    static final class IntList extends PrimitiveDataCellList {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] m_values;
+
+        IntList(final int[] values) {
+            m_values = values;
+        }
+
+        @Override
+        public DataCell get(final int index) {
+            return new IntCell(m_values[index]);
+        }
+
+        @Override
+        public int size() {
+            return m_values.length;
+        }
+
+        @Override
+        DataType getElementType() {
+            return IntCell.TYPE;
+        }
+
+        @Override
+        void serialize(final DataCellDataOutput output) throws IOException {
+            output.writeByte(INT);
+            output.writeInt(m_values.length);
+            for (int v : m_values) {
+                output.writeInt(v);
+            }
+        }
+    }
+
+    /** List of {@link LongCell}s. */
+    static final class LongList extends PrimitiveDataCellList {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] m_values;
+
+        LongList(final long[] values) {
+            m_values = values;
+        }
+
+        @Override
+        public DataCell get(final int index) {
+            return new LongCell(m_values[index]);
+        }
+
+        @Override
+        public int size() {
+            return m_values.length;
+        }
+
+        @Override
+        DataType getElementType() {
+            return LongCell.TYPE;
+        }
+
+        @Override
+        void serialize(final DataCellDataOutput output) throws IOException {
+            output.writeByte(LONG);
+            output.writeInt(m_values.length);
+            for (long v : m_values) {
+                output.writeLong(v);
+            }
+        }
+    }
+
+    /** List of {@link DoubleCell}s. */
+    static final class DoubleList extends PrimitiveDataCellList {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] m_values;
+
+        DoubleList(final double[] values) {
+            m_values = values;
+        }
+
+        @Override
+        public DataCell get(final int index) {
+            return new DoubleCell(m_values[index]);
+        }
+
+        @Override
+        public int size() {
+            return m_values.length;
+        }
+
+        @Override
+        DataType getElementType() {
+            return DoubleCell.TYPE;
+        }
+
+        @Override
+        void serialize(final DataCellDataOutput output) throws IOException {
+            output.writeByte(DOUBLE);
+            output.writeInt(m_values.length);
+            for (double v : m_values) {
+                output.writeDouble(v);
+            }
+        }
+    }
+
+    /** List of {@link BooleanCell}s. */
+    static final class BooleanList extends PrimitiveDataCellList {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean[] m_values;
+
+        BooleanList(final boolean[] values) {
+            m_values = values;
+        }
+
+        @Override
+        public DataCell get(final int index) {
+            return BooleanCell.get(m_values[index]);
+        }
+
+        @Override
+        public int size() {
+            return m_values.length;
+        }
+
+        @Override
+        DataType getElementType() {
+            return BooleanCell.TYPE;
+        }
+
+        @Override
+        void serialize(final DataCellDataOutput output) throws IOException {
+            output.writeByte(BOOLEAN);
+            output.writeInt(m_values.length);
+            for (boolean v : m_values) {
+                output.writeBoolean(v);
+            }
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+
+import com.google.common.io.CountingOutputStream;
+
+/**
+ * Streams for files that consist of independently compressed blocks. Each block is preceded by its compressed length
+ * and the number of rows that it contains (two four byte ints) and is compressed with the {@link CompressionFormat} of
+ * the table store settings. Since no block depends on the blocks before it, reading can start at any block, e.g., at
+ * an offset from the {@link RowOffsetIndex}, and whole blocks can be skipped without decompressing them.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+final class BlockCompressionStreams {
+
+    private BlockCompressionStreams() {
+        // utility class
+    }
+
+    /** Compresses the bytes written to it block by block; blocks are ended by {@link #endBlock()}. */
+    static final class BlockOutputStream extends OutputStream {
+
+        private final CountingOutputStream m_countingOut;
+
+        private final DataOutputStream m_out;
+
+        private final DefaultTableStoreSettings m_settings;
+
+        /** The compressed bytes of the current block. */
+        private final ByteArrayOutputStream m_block = new ByteArrayOutputStream(1 << 16);
+
+        /** Compresses into {@link #m_block}, null if no block has been started. */
+        private OutputStream m_compressor;
+
+        private long m_uncompressedBlockSize;
+
+        private int m_rowsInBlock;
+
+        /**
+         * @param out to write the blocks to
+         * @param settings the settings providing the compression format, which must not be
+         *            {@link CompressionFormat#NONE}
+         */
+        BlockOutputStream(final OutputStream out, final DefaultTableStoreSettings settings) {
+            assert settings.getCompressionFormat() != CompressionFormat.NONE;
+            m_countingOut = new CountingOutputStream(out);
+            m_out = new DataOutputStream(m_countingOut);
+            m_settings = settings;
+        }
+
+        /** @return the offset of the next block in the file, i.e., the number of bytes of the ended blocks */
+        long getPosition() {
+            return m_countingOut.getCount();
+        }
+
+        /** @return the number of (uncompressed) bytes written to the current block */
+        long getUncompressedBlockSize() {
+            return m_uncompressedBlockSize;
+        }
+
+        /** @return the number of rows started in the current block */
+        int getRowsInBlock() {
+            return m_rowsInBlock;
+        }
+
+        /** Counts a row for the current block, to be called before the bytes of the row are written. */
+        void startRow() {
+            m_rowsInBlock++;
+        }
+
+        private OutputStream getCompressor() throws IOException {
+            if (m_compressor == null) {
+                m_compressor = m_settings.getCompressionFormat().getOutputStream(m_block, m_settings);
+            }
+            return m_compressor;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            getCompressor().write(b);
+            m_uncompressedBlockSize++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            getCompressor().write(b, off, len);
+            m_uncompressedBlockSize += len;
+        }
+
+        /**
+         * Compresses the remaining bytes of the current block and writes the block. Does nothing if no bytes have
+         * been written since the last block ended.
+         *
+         * @throws IOException if compressing or writing fails
+         */
+        void endBlock() throws IOException {
+            if (m_compressor == null) {
+                return;
+            }
+            m_compressor.close();
+            m_compressor = null;
+            m_out.writeInt(m_block.size());
+            m_out.writeInt(m_rowsInBlock);
+            m_block.writeTo(m_out);
+            m_block.reset();
+            m_uncompressedBlockSize = 0;
+            m_rowsInBlock = 0;
+        }
+
+        /** Flushes the ended blocks, the current block is only written once it ends. */
+        @Override
+        public void flush() throws IOException {
+            m_out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                endBlock();
+            } finally {
+                m_out.close();
+            }
+        }
+    }
+
+    /** Decompresses the blocks written by a {@link BlockOutputStream}, starting at the block it is positioned at. */
+    static final class BlockInputStream extends InputStream {
+
+        private final DataInputStream m_in;
+
+        private final DefaultTableStoreSettings m_settings;
+
+        /** The compressed bytes of the current block. */
+        private byte[] m_block = new byte[1 << 16];
+
+        /** Decompresses the current block, null if the next block has to be read first. */
+        private InputStream m_decompressor;
+
+        /** The compressed length of the next block if its header has been read, otherwise -1. */
+        private int m_nextLength = -1;
+
+        /** The number of rows of the next block if its header has been read. */
+        private int m_nextRows;
+
+        /**
+         * @param in the file stream, positioned at the start of a block
+         * @param settings the settings providing the compression format the blocks have been written with
+         */
+        BlockInputStream(final InputStream in, final DefaultTableStoreSettings settings) {
+            m_in = new DataInputStream(in);
+            m_settings = settings;
+        }
+
+        /**
+         * Reads the header of the next block unless it has been read already.
+         *
+         * @return false if there are no more blocks
+         */
+        private boolean readHeader() throws IOException {
+            if (m_nextLength >= 0) {
+                return true;
+            }
+            final int firstByte = m_in.read();
+            if (firstByte < 0) {
+                return false;
+            }
+            final int length = (firstByte << 24) | (m_in.readUnsignedByte() << 16) | (m_in.readUnsignedByte() << 8)
+                | m_in.readUnsignedByte();
+            if (length < 0) {
+                throw new IOException("Invalid length of compressed block: " + length);
+            }
+            final int rows = m_in.readInt();
+            if (rows < 0) {
+                throw new IOException("Invalid number of rows of compressed block: " + rows);
+            }
+            m_nextLength = length;
+            m_nextRows = rows;
+            return true;
+        }
+
+        /**
+         * Skips whole blocks without decompressing them, as long as the skipped blocks contain at most the given
+         * number of rows in total. Does nothing if the current block has been started to be read, i.e., this is
+         * meant to be called on a stream positioned at the start of a block before reading from it.
+         *
+         * @param maxRows the maximum number of rows to skip
+         * @return the number of rows in the skipped blocks
+         * @throws IOException if reading fails or a block is truncated
+         */
+        long skipBlocks(final long maxRows) throws IOException {
+            if (m_decompressor != null) {
+                return 0;
+            }
+            long skipped = 0;
+            while (readHeader() && skipped + m_nextRows <= maxRows) {
+                if (m_in.skipBytes(m_nextLength) != m_nextLength) {
+                    throw new IOException("Truncated compressed block");
+                }
+                skipped += m_nextRows;
+                m_nextLength = -1;
+            }
+            return skipped;
+        }
+
+        /**
+         * Reads the next block if the current one has been read completely.
+         *
+         * @return false if there are no more blocks
+         */
+        private boolean nextBlock() throws IOException {
+            if (m_decompressor != null) {
+                m_decompressor.close();
+                m_decompressor = null;
+            }
+            if (!readHeader()) {
+                return false;
+            }
+            final int length = m_nextLength;
+            m_nextLength = -1;
+            if (m_block.length < length) {
+                m_block = new byte[Math.max(length, 2 * m_block.length)];
+            }
+            try {
+                m_in.readFully(m_block, 0, length);
+            } catch (EOFException e) {
+                throw new IOException("Truncated compressed block", e);
+            }
+            final InputStream block = new ByteArrayInputStream(m_block, 0, length);
+            m_decompressor = m_settings.getCompressionFormat().getInputStream(block, m_settings);
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (m_decompressor != null || nextBlock()) {
+                final int b = m_decompressor.read();
+                if (b >= 0) {
+                    return b;
+                }
+                m_decompressor.close();
+                m_decompressor = null;
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (m_decompressor != null || nextBlock()) {
+                final int n = m_decompressor.read(b, off, len);
+                if (n > 0) {
+                    return n;
+                }
+                if (n == 0) {
+                    // a decompressor that reads no byte violates the contract of InputStream, don't ask it again
+                    // for the same bytes but read a single byte, which either succeeds or ends the block
+                    final int single = m_decompressor.read();
+                    if (single >= 0) {
+                        b[off] = (byte)single;
+                        return 1;
+                    }
+                }
+                m_decompressor.close();
+                m_decompressor = null;
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (m_decompressor != null) {
+                m_decompressor.close();
+                m_decompressor = null;
+            }
+            m_in.close();
+        }
+    }
+}
@@ -78,11 +78,9 @@
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
@@ -271,11 +269,16 @@ public class Buffer implements KNIMEStreamConstants {
      */
     private static final String CFG_SIZE_L = "table.size.long";
 
-    /** Current version string. */
-    public static final String VERSION = "container_12";
+    /**
+     * Current version string. Version 13 (KNIME 4.3, workflow version 4.3.0) covers all format changes of 4.3:
+     * compressed files consist of independently compressed blocks with row counts, the meta information contains a
+     * row offset index, LZ4 and Zstandard are available as compression formats, and list cells of primitive elements
+     * are serialized as raw arrays.
+     */
+    public static final String VERSION = "container_13";
 
     /** The version number corresponding to {@link #VERSION}. */
-    public static final int IVERSION = 12;
+    public static final int IVERSION = 13;
 
     private static final HashMap<String, Integer> COMPATIBILITY_MAP;
 
@@ -292,7 +295,8 @@ public class Buffer implements KNIMEStreamConstants {
         COMPATIBILITY_MAP.put("container_9", 9); // never released - some workflow tests contain it (BW used a nightly)
         COMPATIBILITY_MAP.put("container_10", 10); // version 3.6 (multiple table formats)
         COMPATIBILITY_MAP.put("container_11", 11); // version 3.7 - add FileStoreCell support for multiple FileStores
-        COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 3.8 - changed default compression to Snappy
+        COMPATIBILITY_MAP.put("container_12", 12); // version 3.8 - changed default compression to Snappy
+        COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 4.3 - compressed blocks, row offsets, LZ4/Zstd, lists
         // NOTE consider to also
         // - increment the workflow.knime version number when updating this list
         // - update list in NoKeyBuffer
@@ -400,16 +404,16 @@ public class Buffer implements KNIMEStreamConstants {
     /** A cache for holding tables in memory. */
     private static final BufferCache CACHE = new BufferCache();
 
-    /** A single-threaded executor for asynchronous disk I/O threads. */
-    static final ExecutorService ASYNC_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
-        private final AtomicInteger m_threadCount = new AtomicInteger();
+    static {
+        CACHE.registerMBean();
+    }
 
-        /** {@inheritDoc} */
-        @Override
-        public Thread newThread(final Runnable r) {
-            return new Thread(r, "KNIME-BackgroundTableWriter-" + m_threadCount.incrementAndGet());
-        }
-    });
+    /** The scheduler for asynchronously writing tables held in memory to disk. */
+    static final BufferIOScheduler IO_SCHEDULER = new BufferIOScheduler();
+
+    static {
+        IO_SCHEDULER.registerMBean();
+    }
 
     /**
      * Hash used to reduce the overhead of reading a blob cell over and over again. Useful in cases where a blob is
@@ -418,6 +422,28 @@ public Thread newThread(final Runnable r) {
      */
     private final BlobLRUCache m_blobLRUCache = new BlobLRUCache();
 
+    /**
+     * Returns the statistics of the cache that keeps tables in memory. The statistics are also available via JMX, see
+     * {@link BufferCacheMXBean#OBJECT_NAME}.
+     *
+     * @return statistics of the table cache
+     * @since 4.3
+     */
+    public static BufferCacheMXBean getCacheStatistics() {
+        return CACHE;
+    }
+
+    /**
+     * Returns the statistics of the scheduler that asynchronously writes tables held in memory to disk. The statistics
+     * are also available via JMX, see {@link BufferIOSchedulerMXBean#OBJECT_NAME}.
+     *
+     * @return statistics of the table write scheduler
+     * @since 4.3
+     */
+    public static BufferIOSchedulerMXBean getIOStatistics() {
+        return IO_SCHEDULER;
+    }
+
     static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         @SuppressWarnings("unchecked")
         Class<? extends BlobDataCell> cl = (Class<? extends BlobDataCell>)cellClassInfo.getCellClass();
@@ -637,6 +663,7 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         m_maxRowsInMem = maxRowsInMemory;
         m_lifecycle = m_bufferSettings.useLRU() ? new SoftRefLRULifecycle() : new MemorizeIfSmallLifecycle();
         CACHE.setLRUCacheSize(m_bufferSettings.getLRUCacheSize());
+        CACHE.setLRUCacheBytes(m_bufferSettings.getLRUCacheBytes());
         /**
          * independent of the lifecycle, if maxRowsInMemory is zero, the buffer is expected to flush to disk (e.g, see
          * {@link org.knime.core.data.sort.DataTableSorter#createDataContainer(DataTableSpec, boolean)}).
@@ -712,6 +739,7 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         m_maxRowsInMem = 0;
         m_lifecycle = m_bufferSettings.useLRU() ? new SoftRefLRULifecycle() : new MemorizeIfSmallLifecycle();
         CACHE.setLRUCacheSize(m_bufferSettings.getLRUCacheSize());
+        CACHE.setLRUCacheBytes(m_bufferSettings.getLRUCacheBytes());
         try {
             readMetaFromFile(metaIn, fileStoreDir);
         } catch (InvalidSettingsException ise) {
@@ -735,6 +763,14 @@ public String getVersion() {
         return VERSION;
     }
 
+    /**
+     * @param version a version string as written to the meta file
+     * @return whether tables written with this version can be read
+     */
+    static boolean isKnownVersion(final String version) {
+        return COMPATIBILITY_MAP.containsKey(version);
+    }
+
     /**
      * Get underlying stream version. Important for file iterators.
      *
@@ -755,18 +791,19 @@ final TableStoreFormat getOutputFormat() {
     }
 
     /**
-     * Validate the version as read from the file if it can be parsed by this implementation. If unknown, uses latest
-     * known version (good luck).
+     * Validate the version as read from the file if it can be parsed by this implementation.
      *
      * @param version As read from file.
      * @return The version ID for internal use.
+     * @throws IOException If the version is unknown, e.g., because the table has been written by a future version
+     *             whose file layout this implementation can't read.
      */
-    int validateVersion(final String version) {
+    int validateVersion(final String version) throws IOException {
         Integer iVersion = COMPATIBILITY_MAP.get(version);
         if (iVersion == null) {
-            LOGGER.warn("Unknown version string in persisted table file (\"" + version
-                + "\") - was table created with a future version of KNIME? Using \"" + VERSION + "\" modus.");
-            iVersion = IVERSION;
+            throw new IOException("Unknown version string in persisted table file (\"" + version
+                + "\") - was table created with a future version of KNIME? Can only read up to \"" + VERSION
+                + "\".");
         }
         if (iVersion < IVERSION) {
             LOGGER.debug("Table has been written with a previous version of KNIME (\"" + version
@@ -2610,7 +2647,8 @@ private static final class BufferFlusher extends BufferMemoryAlertListener {
         protected boolean memoryAlert(final MemoryAlert alert) {
             final Buffer buffer = m_bufferRef.get();
             if (buffer != null) {
-                ASYNC_EXECUTOR.submit(new ASyncWriteCallable(buffer));
+                final ASyncWriteCallable write = new ASyncWriteCallable(buffer);
+                IO_SCHEDULER.submit(write.getTempDir(), write, BufferIOScheduler.Priority.MEMORY_ALERT);
                 LOGGER.debugWithFormat("Writing %d rows in order to free memory.", buffer.size());
             }
             return true;
@@ -2810,7 +2848,18 @@ public void onCloseIfCached() {
                  * node generating this table. In this implementation, we flush as soon as possible once the buffer has been
                  * closed (and the node likely has terminated).
                  */
-                m_asyncAddFuture = ASYNC_EXECUTOR.submit(new ASyncWriteCallable(Buffer.this));
+                final ASyncWriteCallable write = new ASyncWriteCallable(Buffer.this);
+                m_asyncAddFuture = IO_SCHEDULER.trySubmit(write.getTempDir(), write);
+                if (m_asyncAddFuture == null) {
+                    /**
+                     * The write queue is full. Blocking until a slot frees up would hold the lock on this buffer and
+                     * stall its readers and memory alert flushes, so we write the table on this thread instead. The
+                     * future keeps any exception for onSave(), just like an asynchronous write would.
+                     */
+                    final FutureTask<Void> syncWrite = new FutureTask<>(write);
+                    syncWrite.run();
+                    m_asyncAddFuture = syncWrite;
+                }
             }
         }
 
@@ -2904,11 +2953,21 @@ private static final class ASyncWriteCallable implements Callable<Void> {
 
         private final NodeContext m_nodeContext;
 
+        /** The directory the table is written to, which determines the device whose writer threads do the work. */
+        private final File m_tempDir;
+
         ASyncWriteCallable(final Buffer buffer) {
             m_bufferRef = new WeakReference<>(buffer);
             /** The node context may be null if the Buffer has been created outside of a node's context (e.g., in unit
              * tests). This is also the reason why this class does not extend the CallableWithContect class. */
             m_nodeContext = NodeContext.getContext();
+            /** The directory in which ensureTempFileExists() creates the file, as it runs in the same context. */
+            final File binFile = buffer.m_binFile;
+            m_tempDir = binFile != null ? binFile.getParentFile() : FileUtil.getWorkflowTempDir();
+        }
+
+        File getTempDir() {
+            return m_tempDir;
         }
 
         @Override
@@ -2948,6 +3007,7 @@ public final Void call() throws Exception {
                 }
                 // END debug AP-13181 buffers not being cleared when workflow is closed and cleaned up
 
+                final long start = System.nanoTime();
                 buffer.ensureWriterIsOpen();
                 final List<BlobSupportDataRow> list = CACHE.getSilent(buffer).get();
                 final AbstractTableStoreWriter outputWriter = buffer.m_outputWriter;
@@ -2974,6 +3034,8 @@ public final Void call() throws Exception {
                     buffer.closeWriterAndWriteMeta();
                     buffer.m_lifecycle.onWriteSuccessful();
                 }
+                final File binFile = buffer.m_binFile;
+                IO_SCHEDULER.recordWrite(binFile != null ? binFile.length() : 0, System.nanoTime() - start);
                 buffer = null;
 
             } catch (Throwable t) {
@@ -48,22 +48,30 @@
  */
 package org.knime.core.data.container;
 
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.RandomAccess;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.knime.core.data.util.memory.MemoryAlert;
 import org.knime.core.data.util.memory.MemoryAlertListener;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.RowFootprint;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
-import org.knime.core.util.LRUCache;
 
 /**
  * A data structure that manages which tables (i.e., {@link List} of {@link BlobSupportDataRow}) to keep in memory. The
@@ -73,10 +81,15 @@
  * not take care of when and how tables are flushed to disk and cleared for garbage collection, but makes sure that no
  * tables are cleared for garbage collection before they have been flushed to disk. How this cache is used by the
  * {@link Buffer} class is specified by means of a Lifecycle.
+ * <p>
+ * The soft-references LRU cache is limited both by the number of tables and by the number of bytes the tables take up
+ * in memory, as estimated from a sample of their rows. If either limit is exceeded, tables are evicted from the cache,
+ * preferring large tables among the least recently used ones. On memory alerts, half of the cached bytes are evicted in
+ * the same manner instead of clearing the cache altogether.
  *
  * @author Marc Bux, KNIME GmbH, Berlin, Germany
  */
-final class BufferCache {
+final class BufferCache implements BufferCacheMXBean {
 
     /**
      * The node logger for this class.
@@ -88,6 +101,12 @@ final class BufferCache {
      */
     private static final int STATISTICS_OUTPUT_INTERVAL = 300;
 
+    /**
+     * The number of least-recently used tables among which the victim is chosen when evicting tables from the LRU
+     * cache. The i-th least-recently used table is weighted with (candidates - i) times its size.
+     */
+    private static final int EVICTION_CANDIDATES = 8;
+
     /**
      * A map of hard references to tables held in this cache. Caution: the garbage collector will not clear these
      * automatically. We use the buffer itself as key, since multiple buffers can have the same id. The Map has to have
@@ -95,18 +114,31 @@ final class BufferCache {
      */
     private final Map<Long, List<BlobSupportDataRow>> m_hardMap = new HashMap<>();
 
+    /** The estimated size in bytes of the tables held in the hard map or the LRU cache. */
+    private final Map<Long, Long> m_footprints = new HashMap<>();
+
     /**
      * A number that determines how many tables are kept in the soft-references LRU cache before being weak-referenced.
      */
     private int m_LRUCacheSize = BufferSettings.getDefault().getLRUCacheSize();
 
     /**
-     * An LRU-cache of soft references to tables held in this cache. Note that soft references also keep track of when
-     * they were last accessed. When memory becomes scarce, the garbage collector should clear weak-referenced tables
-     * first and then proceed with soft-referenced tables in the order in which they were least recently used.
+     * The number of bytes the tables in the soft-references LRU cache may take up before being weak-referenced.
      */
-    private LRUCache<Long, SoftReference<List<BlobSupportDataRow>>> m_LRUCache =
-        new LRUCache<>(m_LRUCacheSize, m_LRUCacheSize);
+    private long m_LRUCacheBytes = BufferSettings.getDefault().getLRUCacheBytes();
+
+    /**
+     * An LRU-cache of soft references to tables held in this cache, in access order. Note that soft references also
+     * keep track of when they were last accessed. When memory becomes scarce, the garbage collector should clear
+     * weak-referenced tables first and then proceed with soft-referenced tables in the order in which they were least
+     * recently used.
+     */
+    private final LinkedHashMap<Long, LRUCacheEntry> m_LRUCache = new LinkedHashMap<>(16, .75f, true);
+
+    /**
+     * A reference queue that holds any soft references that were cleared by the garbage collector.
+     */
+    private final ReferenceQueue<List<BlobSupportDataRow>> m_LRUCacheRefQueue = new ReferenceQueue<>();
 
     /**
      * A map of weak references to tables evicted from the LRU cache.
@@ -121,13 +153,15 @@ final class BufferCache {
     /**
      * We should remove soft-referenced tables from the LRU cache on memory alert. Otherwise, the LRU cache would block
      * memory despite memory alerts. This could lead to a scenario where new buffers are always flushed to disk and old
-     * buffers are kept in the LRU cache indefinitely.
+     * buffers are kept in the LRU cache indefinitely. Rather than clearing the whole cache, we evict half of its bytes,
+     * preferring large and cold tables; repeated alerts will continue to shrink the cache.
      */
     private final MemoryAlertListener m_memoryAlertListener = new MemoryAlertListener() {
         @Override
         protected boolean memoryAlert(final MemoryAlert alert) {
             synchronized (BufferCache.this) {
-                m_LRUCache.clear();
+                pollClearedLRUCacheEntries();
+                evict(m_residentBytes / 2, m_LRUCacheSize);
             }
             return false;
         }
@@ -150,12 +184,54 @@ protected boolean memoryAlert(final MemoryAlert alert) {
 
     private long m_nMisses = 0;
 
+    private long m_nEvictions = 0;
+
+    /** The estimated bytes of the tables in the LRU cache. */
+    private long m_residentBytes = 0;
+
+    /** The estimated bytes of the tables in the hard map. */
+    private long m_hardBytes = 0;
+
     private long m_timeOfLastLog = System.currentTimeMillis();
 
+    /**
+     * A soft reference to a table in the LRU cache that remembers the table's id and estimated size, such that it
+     * can be removed from the cache when it is cleared by the garbage collector.
+     */
+    private static final class LRUCacheEntry extends SoftReference<List<BlobSupportDataRow>> {
+
+        private final Long m_id;
+
+        private final long m_bytes;
+
+        LRUCacheEntry(final Long id, final List<BlobSupportDataRow> list, final long bytes,
+            final ReferenceQueue<List<BlobSupportDataRow>> queue) {
+            super(list, queue);
+            m_id = id;
+            m_bytes = bytes;
+        }
+    }
+
     BufferCache() {
         MemoryAlertSystem.getInstanceUncollected().addListener(m_memoryAlertListener);
     }
 
+    /**
+     * Registers this cache with the platform MBean server under {@link BufferCacheMXBean#OBJECT_NAME}, unless another
+     * cache has already been registered.
+     */
+    void registerMBean() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException | SecurityException e) {
+            LOGGER.debug("Could not register table cache statistics: " + e.getMessage(), e);
+        }
+    }
+
     private void logStatistics() {
         while (m_weakCacheRefQueue.poll() != null) {
             m_nGCedTables++;
@@ -176,6 +252,9 @@ private void logStatistics() {
             LOGGER.debugWithFormat("\t%d distinct tables cached", m_nTables);
             LOGGER.debugWithFormat("\t%d tables invalidated successfully", m_nInvalidatedTables);
             LOGGER.debugWithFormat("\t%d tables dropped by garbage collector", m_nGCedTables);
+            LOGGER.debugWithFormat("\t%d tables evicted from LRU cache", m_nEvictions);
+            LOGGER.debugWithFormat("\t%d bytes held in LRU cache (estimated, budget %d)", m_residentBytes,
+                m_LRUCacheBytes);
             LOGGER.debugWithFormat("\t%d cache hits (hard-referenced)", m_nHardHits);
             LOGGER.debugWithFormat("\t%d cache hits (softly referenced)", m_nSoftHits);
             LOGGER.debugWithFormat("\t%d cache hits (weakly referenced)", m_nWeakHits);
@@ -200,7 +279,10 @@ synchronized void put(final Buffer buffer, final List<BlobSupportDataRow> list)
 
         /** disallow modification */
         final List<BlobSupportDataRow> unmodifiableList = Collections.unmodifiableList(list);
+        removeFromHardMap(uniqueId);
+        m_footprints.put(uniqueId, estimateFootprint(list));
         m_hardMap.put(uniqueId, unmodifiableList);
+        m_hardBytes += getFootprint(uniqueId);
 
         /** We already fill the soft cache here to keep track of how recently the table has been used. Note that soft
          * and weak references won't be cleared while there is still a hard reference on the object. */
@@ -213,12 +295,121 @@ synchronized void put(final Buffer buffer, final List<BlobSupportDataRow> list)
         }
     }
 
-    private void putIntoLRUCache(final long uniqueId, final List<BlobSupportDataRow> list) {
+    private void putIntoLRUCache(final Long uniqueId, final List<BlobSupportDataRow> list) {
+        pollClearedLRUCacheEntries();
         if (!MemoryAlertSystem.getInstanceUncollected().isMemoryLow()) {
-            m_LRUCache.put(uniqueId, new SoftReference<List<BlobSupportDataRow>>(list));
+            // the footprint has been released if the table was evicted before and is now put back
+            final long bytes = m_footprints.computeIfAbsent(uniqueId, id -> estimateFootprint(list));
+            final LRUCacheEntry previous =
+                m_LRUCache.put(uniqueId, new LRUCacheEntry(uniqueId, list, bytes, m_LRUCacheRefQueue));
+            if (previous != null) {
+                m_residentBytes -= previous.m_bytes;
+            }
+            m_residentBytes += bytes;
+            evict(m_LRUCacheBytes, m_LRUCacheSize);
+        }
+    }
+
+    private void removeFromLRUCache(final Long uniqueId) {
+        final LRUCacheEntry entry = m_LRUCache.remove(uniqueId);
+        if (entry != null) {
+            m_residentBytes -= entry.m_bytes;
+            releaseFootprint(uniqueId);
+        }
+    }
+
+    private void removeFromHardMap(final Long uniqueId) {
+        if (m_hardMap.remove(uniqueId) != null) {
+            m_hardBytes -= getFootprint(uniqueId);
+            releaseFootprint(uniqueId);
+        }
+    }
+
+    /**
+     * Forgets the footprint of a table once it is neither in the hard map nor in the LRU cache, i.e., once it is at
+     * most weakly referenced.
+     */
+    private void releaseFootprint(final Long uniqueId) {
+        if (!m_hardMap.containsKey(uniqueId) && !m_LRUCache.containsKey(uniqueId)) {
+            m_footprints.remove(uniqueId);
+        }
+    }
+
+    private long getFootprint(final Long uniqueId) {
+        final Long bytes = m_footprints.get(uniqueId);
+        return bytes == null ? 0 : bytes;
+    }
+
+    /**
+     * Removes the entries whose soft references have been cleared by the garbage collector from the LRU cache.
+     */
+    private void pollClearedLRUCacheEntries() {
+        Reference<? extends List<BlobSupportDataRow>> ref;
+        while ((ref = m_LRUCacheRefQueue.poll()) != null) {
+            final LRUCacheEntry entry = (LRUCacheEntry)ref;
+            // the table might have been put into the cache again in the meantime; remove does not change access order
+            if (m_LRUCache.remove(entry.m_id, entry)) {
+                m_residentBytes -= entry.m_bytes;
+                releaseFootprint(entry.m_id);
+            }
+        }
+    }
+
+    /**
+     * Evicts tables from the LRU cache until it holds at most the given number of tables and bytes. Each victim is
+     * the table with the largest weighted size among the {@link #EVICTION_CANDIDATES} least-recently used tables,
+     * where less recently used tables are weighted higher.
+     *
+     * @param maxBytes the number of bytes to retain at most
+     * @param maxTables the number of tables to retain at most
+     */
+    private void evict(final long maxBytes, final int maxTables) {
+        while (!m_LRUCache.isEmpty() && (m_LRUCache.size() > maxTables || m_residentBytes > maxBytes)) {
+            // iteration starts with the least recently used entry and does not change the access order
+            final Iterator<LRUCacheEntry> candidates = m_LRUCache.values().iterator();
+            LRUCacheEntry victim = null;
+            double victimScore = -1;
+            for (int i = 0; i < EVICTION_CANDIDATES && candidates.hasNext(); i++) {
+                final LRUCacheEntry candidate = candidates.next();
+                final double score = (candidate.m_bytes + 1.0) * (EVICTION_CANDIDATES - i);
+                if (score > victimScore) {
+                    victim = candidate;
+                    victimScore = score;
+                }
+            }
+            removeFromLRUCache(victim.m_id);
+            m_nEvictions++;
         }
     }
 
+    /**
+     * Estimates the number of bytes a table takes up in memory by extrapolating the estimated size of a sample of its
+     * rows. Cells that are shared between rows or tables are counted for each occurrence.
+     *
+     * @param list a table
+     * @return the estimated size of the table in bytes
+     */
+    static long estimateFootprint(final List<BlobSupportDataRow> list) {
+        final int size = list.size();
+        if (size == 0) {
+            return 0;
+        }
+        final int sampleSize = Math.min(size, RowFootprint.SAMPLE_ROWS);
+        long sampleBytes = 0;
+        if (list instanceof RandomAccess) {
+            // rows spread evenly across the table
+            for (int i = 0; i < sampleSize; i++) {
+                sampleBytes += RowFootprint.estimate(list.get((int)((long)i * size / sampleSize)));
+            }
+        } else {
+            final Iterator<BlobSupportDataRow> it = list.iterator();
+            for (int i = 0; i < sampleSize; i++) {
+                sampleBytes += RowFootprint.estimate(it.next());
+            }
+        }
+        return sampleBytes * size / sampleSize;
+    }
+
     /**
      * Clear the table associated with a buffer for garbage collection. From this point onward, the garbage collector
      * may at any time discard the in-memory representation of the table. Therefore, this method should only ever be
@@ -233,7 +424,7 @@ synchronized void clearForGarbageCollection(final Buffer buffer) {
             throw new IllegalStateException("Unflushed buffer illegally cleared for garbage collection.");
         }
 
-        m_hardMap.remove(buffer.getUniqueID());
+        removeFromHardMap(buffer.getUniqueID());
     }
 
     /**
@@ -323,7 +514,7 @@ private Optional<List<BlobSupportDataRow>> getInternal(final Buffer buffer, fina
         } else {
             /** Table has been garbage collected; it should be removed from the LRU cache to make room for other
              * tables. */
-            m_LRUCache.remove(uniqueId);
+            removeFromLRUCache(uniqueId);
         }
 
         if (!hit) {
@@ -342,8 +533,9 @@ private Optional<List<BlobSupportDataRow>> getInternal(final Buffer buffer, fina
     synchronized void invalidate(final Buffer buffer) {
         final Long uniqueId = buffer.getUniqueID();
 
-        m_hardMap.remove(uniqueId);
-        m_LRUCache.remove(uniqueId);
+        removeFromHardMap(uniqueId);
+        removeFromLRUCache(uniqueId);
+        m_footprints.remove(uniqueId);
         final WeakReference<List<BlobSupportDataRow>> previousValue = m_weakCache.remove(uniqueId);
 
         if (previousValue != null && previousValue.get() != null) {
@@ -360,18 +552,90 @@ synchronized void setLRUCacheSize(final int newSize) {
         if (newSize == m_LRUCacheSize) {
             return;
         }
+        /** If the new cache is smaller than the old one, tables are evicted right away. */
+        m_LRUCacheSize = newSize;
+        evict(m_LRUCacheBytes, m_LRUCacheSize);
+    }
+
+    /**
+     * Can be used to adjust the number of bytes that tables in the LRU cache may take up at runtime.
+     *
+     * @param newBytes the new size of the LRU cache in bytes
+     */
+    synchronized void setLRUCacheBytes(final long newBytes) {
+        if (newBytes == m_LRUCacheBytes) {
+            return;
+        }
+        m_LRUCacheBytes = newBytes;
+        evict(m_LRUCacheBytes, m_LRUCacheSize);
+    }
 
-        /** Since there is no way of adjusting the cache size of an LRUCache, we have to create a new cache. */
-        final LRUCache<Long, SoftReference<List<BlobSupportDataRow>>> cache = new LRUCache<>(newSize, newSize);
+    @Override
+    public synchronized long getTableCount() {
+        return m_nTables;
+    }
+
+    @Override
+    public synchronized long getHardHitCount() {
+        return m_nHardHits;
+    }
+
+    @Override
+    public synchronized long getSoftHitCount() {
+        return m_nSoftHits;
+    }
+
+    @Override
+    public synchronized long getWeakHitCount() {
+        return m_nWeakHits;
+    }
 
-        /** If the new cache is smaller than the old one, the least-recently-accessed entries will be entered first
-         * and then also evicted first when the new cache size is reached. */
-        for (Entry<Long, SoftReference<List<BlobSupportDataRow>>> entry : m_LRUCache.entrySet()) {
-            cache.put(entry.getKey(), entry.getValue());
+    @Override
+    public synchronized long getMissCount() {
+        return m_nMisses;
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        return m_nEvictions;
+    }
+
+    @Override
+    public synchronized long getGarbageCollectedCount() {
+        while (m_weakCacheRefQueue.poll() != null) {
+            m_nGCedTables++;
         }
+        return m_nGCedTables;
+    }
 
-        m_LRUCacheSize = newSize;
-        m_LRUCache = cache;
+    @Override
+    public synchronized int getResidentTableCount() {
+        pollClearedLRUCacheEntries();
+        return m_LRUCache.size();
+    }
+
+    /**
+     * @return the number of tables whose footprint is retained, used by tests
+     */
+    synchronized int getFootprintCount() {
+        pollClearedLRUCacheEntries();
+        return m_footprints.size();
+    }
+
+    @Override
+    public synchronized long getResidentBytes() {
+        pollClearedLRUCacheEntries();
+        return m_residentBytes;
+    }
+
+    @Override
+    public synchronized long getHardReferencedBytes() {
+        return m_hardBytes;
+    }
+
+    @Override
+    public synchronized long getByteBudget() {
+        return m_LRUCacheBytes;
     }
 
 }
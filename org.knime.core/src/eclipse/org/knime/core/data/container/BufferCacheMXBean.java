@@ -0,0 +1,121 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+/**
+ * Statistics of the cache that keeps tables in memory, see
+ * {@link org.knime.core.node.KNIMEConstants#PROPERTY_TABLE_CACHE}. The cache of the running KNIME instance is
+ * registered with the platform MBean server under the name {@value #OBJECT_NAME} and can be obtained via
+ * {@link Buffer#getCacheStatistics()}. Sizes are estimates derived from the contents of the tables.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface BufferCacheMXBean {
+
+    /** The object name under which the table cache is registered with the platform MBean server. */
+    String OBJECT_NAME = "org.knime.core:type=BufferCache";
+
+    /**
+     * @return the number of distinct tables that have been put into the cache
+     */
+    long getTableCount();
+
+    /**
+     * @return the number of requests for a table that was held in memory, because it has not been written to disk yet
+     */
+    long getHardHitCount();
+
+    /**
+     * @return the number of requests for a table that was held in memory by the LRU cache
+     */
+    long getSoftHitCount();
+
+    /**
+     * @return the number of requests for a table that had been evicted from the LRU cache, but was still in memory
+     */
+    long getWeakHitCount();
+
+    /**
+     * @return the number of requests for a table that had been dropped from memory and has to be read from disk
+     */
+    long getMissCount();
+
+    /**
+     * @return the number of tables evicted from the LRU cache, due to the table or byte limit or low memory
+     */
+    long getEvictionCount();
+
+    /**
+     * @return the number of tables dropped from memory by the garbage collector
+     */
+    long getGarbageCollectedCount();
+
+    /**
+     * @return the number of tables currently held by the LRU cache
+     */
+    int getResidentTableCount();
+
+    /**
+     * @return the estimated number of bytes of the tables currently held by the LRU cache
+     */
+    long getResidentBytes();
+
+    /**
+     * @return the estimated number of bytes of the tables held in memory because they have not been written to disk
+     *         yet; these are not subject to the byte budget
+     */
+    long getHardReferencedBytes();
+
+    /**
+     * @return the maximum number of bytes that tables in the LRU cache may take up
+     */
+    long getByteBudget();
+}
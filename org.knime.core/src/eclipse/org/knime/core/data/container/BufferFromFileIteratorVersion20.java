@@ -60,6 +60,7 @@
 import org.knime.core.data.DataCellSerializer;
 import org.knime.core.data.DataType;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
 import org.knime.core.data.container.BlobDataCell.BlobAddress;
 import org.knime.core.data.container.DCObjectInputVersion2.BlockableDCObjectInputVersion2;
 import org.knime.core.data.container.DefaultTableStoreReader.FromFileIterator;
@@ -70,7 +71,8 @@
 import org.knime.core.node.NodeLogger;
 
 /**
- * File iterator to read stream written by a {@link Buffer}.
+ * File iterator to read stream written by a {@link Buffer}. Cells of columns that are not materialized are skipped
+ * without being deserialized (by reading up to the end of their blocks) and returned as {@link UnmaterializedCell}s.
  * @author Bernd Wiswedel, University of Konstanz
  * @since 3.7
  */
@@ -83,7 +85,10 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
     private final DefaultTableStoreReader m_tableFormatReader;
 
     /** Row pointer. */
-    private int m_pointer;
+    private long m_pointer;
+
+    /** Which columns to deserialize, null to deserialize all columns. */
+    private final boolean[] m_materialize;
 
     /** Content of the rows that get returned in {@link #next()} when the
      * table is {@link #close()}'d. Will be instantiated lazy. */
@@ -106,11 +111,32 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
      * @throws IOException If stream reading fails.
      */
     BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader) throws IOException {
+        this(tableFormatReader, null, null, 0);
+    }
+
+    /**
+     * Inits iterator on an input stream that starts with the given row, e.g., a stream that has been opened at an
+     * offset from the {@link RowOffsetIndex}.
+     *
+     * @param tableFormatReader The associated buffer.
+     * @param materialize which columns to deserialize, null to deserialize all columns
+     * @param in the (decompressed) file stream positioned at the start of the given row, null to open the file from
+     *            its start, in which case the row must be 0
+     * @param row the index of the row at which the stream is positioned
+     * @throws IOException If stream reading fails.
+     */
+    BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader, final boolean[] materialize,
+        final InputStream in, final long row) throws IOException {
+        assert in != null || row == 0;
         // init the pointer
-        m_pointer = 0;
+        m_pointer = row;
+        m_materialize = materialize;
 
         // check for file existence
         if (tableFormatReader.getBinFile() == null) {
+            if (in != null) {
+                in.close();
+            }
             throw new IOException("Unable to read table from file, table has been cleared.");
         }
 
@@ -121,7 +147,29 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
 
         // open the input stream
         m_dataCellStreamReader = new DataCellStreamReader(tableFormatReader);
-        m_inStream = new BlockableDCObjectInputVersion2(getInputStream(tableFormatReader), m_dataCellStreamReader);
+        m_inStream = new BlockableDCObjectInputVersion2(in != null ? in : getInputStream(tableFormatReader),
+            m_dataCellStreamReader);
+    }
+
+    /**
+     * Advances the iterator by the given number of rows without deserializing their cells.
+     *
+     * @param count the number of rows to skip
+     * @throws IOException If stream reading fails.
+     */
+    synchronized void skipRows(final long count) throws IOException {
+        final BlockableDCObjectInputVersion2 inStream = m_inStream;
+        final int colCount = m_tableFormatReader.getTableSpec().getNumColumns();
+        for (long r = 0; r < count && inStream != null && m_pointer < m_tableFormatReader.size(); r++) {
+            if (m_tableFormatReader.isReadRowKey()) {
+                inStream.endBlock();
+            }
+            for (int i = 0; i < colCount; i++) {
+                inStream.endBlock();
+            }
+            readEndOfRow(inStream);
+            m_pointer++;
+        }
     }
 
 
@@ -165,7 +213,18 @@ public synchronized BlobSupportDataRow next() {
             key = new RowKey(keyS);
         }
         DataCell[] cells = new DataCell[colCount];
+        boolean isPartlyMaterialized = false;
         for (int i = 0; i < colCount; i++) {
+            if (m_materialize != null && !m_materialize[i]) {
+                try {
+                    m_inStream.endBlock();
+                } catch (IOException ioe) {
+                    handleReadThrowable(ioe);
+                }
+                cells[i] = UnmaterializedCell.getInstance();
+                isPartlyMaterialized = true;
+                continue;
+            }
             DataCell nextCell;
             try {
                 try {
@@ -180,16 +239,21 @@ public synchronized BlobSupportDataRow next() {
             cells[i] = nextCell;
         }
         try {
-            byte eoRow = inStream.readControlByte();
-            if (eoRow != BYTE_ROW_SEPARATOR) {
-                throw new IOException("Expected end of row byte, got '" + eoRow + "', (byte " + (int)eoRow + ")");
-            }
+            readEndOfRow(inStream);
         } catch (IOException ioe) {
             handleReadThrowable(ioe);
         } finally {
             m_pointer++;
         }
-        return new BlobSupportDataRow(key, cells);
+        return isPartlyMaterialized ? new PartlyMaterializedBlobSupportRow(key, cells)
+            : new BlobSupportDataRow(key, cells);
+    }
+
+    private static void readEndOfRow(final BlockableDCObjectInputVersion2 inStream) throws IOException {
+        byte eoRow = inStream.readControlByte();
+        if (eoRow != BYTE_ROW_SEPARATOR) {
+            throw new IOException("Expected end of row byte, got '" + eoRow + "', (byte " + (int)eoRow + ")");
+        }
     }
 
     /** Reads a row key from the stream and ends the block. In case of buffers
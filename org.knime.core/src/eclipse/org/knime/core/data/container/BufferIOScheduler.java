@@ -0,0 +1,425 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Schedules the asynchronous writing of tables held in memory to disk. Writes are grouped by the device (i.e., the
+ * file system) of the temp directory they go to, and each device gets a configurable number of writer threads (see
+ * {@link KNIMEConstants#PROPERTY_TABLE_WRITER_THREADS}), such that nodes running in parallel do not serialize their
+ * disk flushes behind a single thread, while a single slow disk does not hold up the writes to other disks.
+ *
+ * <p>
+ * The queue of each device is bounded: once the number of pending regular writes reaches its capacity, producers
+ * submitting a further regular write are blocked until one of the pending writes has completed or has been
+ * cancelled, unless they use {@link #trySubmit(File, Callable)}, which rejects the write instead. Writes triggered by
+ * low memory (see {@link Priority#MEMORY_ALERT}) are never blocked and are taken from
+ * the queue before any regular write, since they are what allows the memory held by the table to be freed.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+final class BufferIOScheduler implements BufferIOSchedulerMXBean {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(BufferIOScheduler.class);
+
+    /** Regular writes that may be pending per writer thread before producers are blocked. */
+    private static final int QUEUED_WRITES_PER_THREAD = 32;
+
+    /** The time after which idle writer threads terminate. */
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /** The priority of a table write. Writes with a lower ordinal are taken from the queue first. */
+    enum Priority {
+            /** The write has been triggered by a memory alert and frees memory once completed. */
+            MEMORY_ALERT,
+            /** The write has been triggered by closing a table that is too large to be kept in memory for long. */
+            DEFAULT
+    }
+
+    private final int m_threadsPerDevice;
+
+    private final int m_queueCapacity;
+
+    /** Maps temp directories to the key of the device they reside on (see {@link #getDeviceKey(File)}). */
+    private final Map<File, Object> m_deviceKeys = new ConcurrentHashMap<>();
+
+    private final Map<Object, DeviceQueue> m_devices = new ConcurrentHashMap<>();
+
+    private final AtomicInteger m_threadCount = new AtomicInteger();
+
+    /** Number of submitted writes that have neither completed nor been cancelled. Waiters use it as monitor. */
+    private final AtomicInteger m_pendingWrites = new AtomicInteger();
+
+    private final AtomicLong m_submitCount = new AtomicLong();
+
+    private final AtomicLong m_completedWrites = new AtomicLong();
+
+    private final AtomicLong m_memoryAlertWrites = new AtomicLong();
+
+    private final AtomicLong m_blockedSubmits = new AtomicLong();
+
+    private final AtomicLong m_rejectedSubmits = new AtomicLong();
+
+    private final AtomicLong m_bytesWritten = new AtomicLong();
+
+    private final AtomicLong m_writeNanos = new AtomicLong();
+
+    /** Creates a new scheduler with the number of writer threads specified by the corresponding system property. */
+    BufferIOScheduler() {
+        this(initWriterThreads());
+    }
+
+    private BufferIOScheduler(final int threadsPerDevice) {
+        this(threadsPerDevice, threadsPerDevice * QUEUED_WRITES_PER_THREAD);
+    }
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param threadsPerDevice the maximum number of threads writing concurrently to the same device, at least 1
+     * @param queueCapacity the number of regular writes that may be queued per device before producers are blocked,
+     *            at least 1
+     */
+    BufferIOScheduler(final int threadsPerDevice, final int queueCapacity) {
+        if (threadsPerDevice < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Number of writer threads and queue capacity must be positive.");
+        }
+        m_threadsPerDevice = threadsPerDevice;
+        m_queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Initializes the number of writer threads per device w.r.t. the defined properties. The default is one thread per
+     * eight available processors, but at least one and at most four threads.
+     *
+     * @return the number of writer threads per device
+     */
+    private static int initWriterThreads() {
+        final int def = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 8));
+        final String valThreads = System.getProperty(KNIMEConstants.PROPERTY_TABLE_WRITER_THREADS);
+        if (valThreads != null) {
+            int threads = -1;
+            try {
+                threads = Integer.parseInt(valThreads.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+            if (threads > 0) {
+                return threads;
+            }
+            LOGGER.warn("Invalid setting for number of table writer threads: " + valThreads + ". Using default: "
+                + def + ".");
+        }
+        return def;
+    }
+
+    /**
+     * Submits a table write. Regular writes block the calling thread while the queue of the target device is full.
+     *
+     * @param tempDir the directory the table is written to, used to determine the target device
+     * @param write the write task
+     * @param priority the priority of the write
+     * @return a future representing the pending write, which can be cancelled and waited for
+     */
+    Future<Void> submit(final File tempDir, final Callable<Void> write, final Priority priority) {
+        final DeviceQueue device = getDevice(tempDir);
+        final boolean hasPermit = priority != Priority.MEMORY_ALERT && device.acquire();
+        return execute(device, write, priority, hasPermit);
+    }
+
+    /**
+     * Submits a regular table write unless the queue of the target device is full. In contrast to
+     * {@link #submit(File, Callable, Priority)}, this method never blocks and can therefore be called while holding
+     * locks that writer threads or other producers may need.
+     *
+     * @param tempDir the directory the table is written to, used to determine the target device
+     * @param write the write task
+     * @return a future representing the pending write, or <code>null</code> if the queue is full and the write has not
+     *         been submitted
+     */
+    Future<Void> trySubmit(final File tempDir, final Callable<Void> write) {
+        final DeviceQueue device = getDevice(tempDir);
+        if (!device.m_permits.tryAcquire()) {
+            m_rejectedSubmits.incrementAndGet();
+            return null;
+        }
+        return execute(device, write, Priority.DEFAULT, true);
+    }
+
+    private DeviceQueue getDevice(final File tempDir) {
+        return m_devices.computeIfAbsent(getDeviceKey(tempDir), DeviceQueue::new);
+    }
+
+    private Future<Void> execute(final DeviceQueue device, final Callable<Void> write, final Priority priority,
+        final boolean hasPermit) {
+        final PrioritizedWrite task = new PrioritizedWrite(write, priority, m_submitCount.getAndIncrement(),
+            hasPermit ? device.m_permits : null);
+        if (priority == Priority.MEMORY_ALERT) {
+            m_memoryAlertWrites.incrementAndGet();
+        }
+        m_pendingWrites.incrementAndGet();
+        device.m_executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Records a completed table write.
+     *
+     * @param bytes the number of bytes written
+     * @param nanos the time taken for the write in nanoseconds
+     */
+    void recordWrite(final long bytes, final long nanos) {
+        m_completedWrites.incrementAndGet();
+        m_bytesWritten.addAndGet(bytes);
+        m_writeNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Waits until all writes submitted so far have completed or have been cancelled.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    void awaitPendingWrites() throws InterruptedException {
+        synchronized (m_pendingWrites) {
+            while (m_pendingWrites.get() > 0) {
+                m_pendingWrites.wait();
+            }
+        }
+    }
+
+    /** Registers this scheduler with the platform MBean server, unless a scheduler has already been registered. */
+    void registerMBean() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException | SecurityException e) {
+            LOGGER.debug("Could not register table writer statistics: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Determines the device of a directory. Directories on the same file system share writer threads. If the file
+     * system cannot be determined, the directory itself is used as key.
+     */
+    private Object getDeviceKey(final File tempDir) {
+        return m_deviceKeys.computeIfAbsent(tempDir, dir -> {
+            try {
+                return Files.getFileStore(dir.toPath());
+            } catch (IOException | SecurityException e) {
+                LOGGER.debug("Could not determine file system of " + dir + ": " + e.getMessage(), e);
+                return dir;
+            }
+        });
+    }
+
+    private void onWriteDone() {
+        if (m_pendingWrites.decrementAndGet() == 0) {
+            synchronized (m_pendingWrites) {
+                m_pendingWrites.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public int getDeviceCount() {
+        return m_devices.size();
+    }
+
+    @Override
+    public int getWriterThreadsPerDevice() {
+        return m_threadsPerDevice;
+    }
+
+    @Override
+    public int getQueueCapacityPerDevice() {
+        return m_queueCapacity;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return m_devices.values().stream().mapToInt(d -> d.m_executor.getQueue().size()).sum();
+    }
+
+    @Override
+    public int getActiveWriteCount() {
+        return m_devices.values().stream().mapToInt(d -> d.m_executor.getActiveCount()).sum();
+    }
+
+    @Override
+    public long getCompletedWriteCount() {
+        return m_completedWrites.get();
+    }
+
+    @Override
+    public long getMemoryAlertWriteCount() {
+        return m_memoryAlertWrites.get();
+    }
+
+    @Override
+    public long getBlockedSubmitCount() {
+        return m_blockedSubmits.get();
+    }
+
+    @Override
+    public long getRejectedSubmitCount() {
+        return m_rejectedSubmits.get();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return m_bytesWritten.get();
+    }
+
+    @Override
+    public long getWriteTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(m_writeNanos.get());
+    }
+
+    @Override
+    public long getWriteBandwidth() {
+        final long nanos = m_writeNanos.get();
+        return nanos == 0 ? 0 : (long)(m_bytesWritten.get() / (nanos / 1e9));
+    }
+
+    /** The writer threads and bounded priority queue of one device. */
+    private final class DeviceQueue {
+
+        private final Semaphore m_permits = new Semaphore(m_queueCapacity);
+
+        private final ThreadPoolExecutor m_executor;
+
+        DeviceQueue(final Object key) {
+            m_executor = new ThreadPoolExecutor(m_threadsPerDevice, m_threadsPerDevice, KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new PriorityBlockingQueue<>(),
+                r -> new Thread(r, "KNIME-BackgroundTableWriter-" + m_threadCount.incrementAndGet()));
+            m_executor.allowCoreThreadTimeOut(true);
+            LOGGER.debugWithFormat("Writing tables to %s with up to %d threads.", key, m_threadsPerDevice);
+        }
+
+        /**
+         * Acquires a queue slot, blocking while the queue is full. If the calling thread is interrupted while
+         * waiting, the write is queued anyway (rather than lost) and the interrupt flag is restored.
+         *
+         * @return whether a slot has been acquired and needs to be released once the write is done
+         */
+        boolean acquire() {
+            if (m_permits.tryAcquire()) {
+                return true;
+            }
+            m_blockedSubmits.incrementAndGet();
+            try {
+                m_permits.acquire();
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * A write that is ordered by priority first and submission order second. It releases its queue slot and counts
+     * as no longer pending as soon as it has completed or has been cancelled.
+     */
+    private final class PrioritizedWrite extends FutureTask<Void> implements Comparable<PrioritizedWrite> {
+
+        private final Priority m_priority;
+
+        private final long m_sequence;
+
+        private final Semaphore m_permits;
+
+        PrioritizedWrite(final Callable<Void> write, final Priority priority, final long sequence,
+            final Semaphore permits) {
+            super(write);
+            m_priority = priority;
+            m_sequence = sequence;
+            m_permits = permits;
+        }
+
+        @Override
+        protected void done() {
+            if (m_permits != null) {
+                m_permits.release();
+            }
+            onWriteDone();
+        }
+
+        @Override
+        public int compareTo(final PrioritizedWrite o) {
+            final int byPriority = m_priority.compareTo(o.m_priority);
+            return byPriority != 0 ? byPriority : Long.compare(m_sequence, o.m_sequence);
+        }
+    }
+}
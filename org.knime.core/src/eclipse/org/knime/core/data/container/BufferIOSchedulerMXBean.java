@@ -0,0 +1,126 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+/**
+ * Statistics of the scheduler that asynchronously writes tables held in memory to disk, see
+ * {@link org.knime.core.node.KNIMEConstants#PROPERTY_TABLE_WRITER_THREADS}. The scheduler of the running KNIME instance
+ * is registered with the platform MBean server under the name {@value #OBJECT_NAME} and can be obtained via
+ * {@link Buffer#getIOStatistics()}.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface BufferIOSchedulerMXBean {
+
+    /** The object name under which the table write scheduler is registered with the platform MBean server. */
+    String OBJECT_NAME = "org.knime.core:type=BufferIOScheduler";
+
+    /**
+     * @return the number of devices (file systems holding temp directories) that have their own writer threads
+     */
+    int getDeviceCount();
+
+    /**
+     * @return the maximum number of threads that concurrently write tables to the same device
+     */
+    int getWriterThreadsPerDevice();
+
+    /**
+     * @return the number of regular table writes that may be pending per device before producers are blocked
+     */
+    int getQueueCapacityPerDevice();
+
+    /**
+     * @return the number of table writes waiting for a writer thread, summed over all devices
+     */
+    int getQueueDepth();
+
+    /**
+     * @return the number of table writes currently in progress, summed over all devices
+     */
+    int getActiveWriteCount();
+
+    /**
+     * @return the number of table writes that completed successfully
+     */
+    long getCompletedWriteCount();
+
+    /**
+     * @return the number of table writes that were triggered by low memory
+     */
+    long getMemoryAlertWriteCount();
+
+    /**
+     * @return the number of times a producer had to wait because the queue of its device was full
+     */
+    long getBlockedSubmitCount();
+
+    /**
+     * @return the number of table writes that were done by the producer itself because the queue of its device was
+     *         full
+     */
+    long getRejectedSubmitCount();
+
+    /**
+     * @return the number of bytes written to disk by completed table writes
+     */
+    long getBytesWritten();
+
+    /**
+     * @return the accumulated time in milliseconds that writer threads spent writing tables
+     */
+    long getWriteTimeMillis();
+
+    /**
+     * @return the average number of bytes per second written by a writer thread, or 0 if nothing has been written
+     */
+    long getWriteBandwidth();
+}
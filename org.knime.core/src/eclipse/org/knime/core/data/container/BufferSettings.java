@@ -77,12 +77,18 @@ public final class BufferSettings {
     /** The default number of tables that can be kept in the soft-references LRU cache before being weak-referenced. */
     static final int DEF_LRU_CACHE_SIZE = 32;
 
+    /** The default fraction of the maximum heap size that tables in the soft-references LRU cache may take up. */
+    static final double DEF_LRU_CACHE_HEAP_FRACTION = .25;
+
     /** The enable LRU caching flag. */
     private final boolean m_enableLRU;
 
     /** The LRU cache size. */
     private final int m_lruCacheSize;
 
+    /** The LRU cache size in (estimated) bytes. */
+    private final long m_lruCacheBytes;
+
     /** The output table store format. */
     private final TableStoreFormat m_outputFormat;
 
@@ -92,6 +98,7 @@ public final class BufferSettings {
     BufferSettings() {
         m_enableLRU = initLRU();
         m_lruCacheSize = DEF_LRU_CACHE_SIZE;
+        m_lruCacheBytes = initLRUCacheBytes();
         m_outputFormat = TableStoreFormatRegistry.getInstance().getInstanceTableStoreFormat();
     }
 
@@ -100,12 +107,15 @@ public final class BufferSettings {
      *
      * @param enableLRU the enable LRU flag
      * @param lruCacheSize the LRU cache size
+     * @param lruCacheBytes the LRU cache size in bytes
      * @param outputFormat the output format
      * @noreference This constructor is not intended to be referenced by clients.
      */
-    private BufferSettings(final boolean enableLRU, final int lruCacheSize, final TableStoreFormat outputFormat) {
+    private BufferSettings(final boolean enableLRU, final int lruCacheSize, final long lruCacheBytes,
+        final TableStoreFormat outputFormat) {
         m_enableLRU = enableLRU;
         m_lruCacheSize = lruCacheSize;
+        m_lruCacheBytes = lruCacheBytes;
         m_outputFormat = outputFormat;
     }
 
@@ -130,6 +140,30 @@ private static boolean initLRU() {
         return DEF_TABLE_CACHE.equals("LRU");
     }
 
+    /**
+     * Initializes the LRU cache size in bytes w.r.t. the defined properties.
+     *
+     * @return the LRU cache size in bytes
+     */
+    private static long initLRUCacheBytes() {
+        final long def = (long)(Runtime.getRuntime().maxMemory() * DEF_LRU_CACHE_HEAP_FRACTION);
+        final String valCacheBytes = System.getProperty(KNIMEConstants.PROPERTY_TABLE_CACHE_BYTES);
+        if (valCacheBytes != null) {
+            long bytes = -1;
+            try {
+                bytes = Long.parseLong(valCacheBytes.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+            if (bytes >= 0) {
+                return bytes;
+            }
+            LOGGER.warn("Invalid setting for table cache size in bytes: " + valCacheBytes + ". Using default: " + def
+                + ".");
+        }
+        return def;
+    }
+
     /**
      * Returns whether to use LRU caching or not.
      *
@@ -148,6 +182,25 @@ int getLRUCacheSize() {
         return m_lruCacheSize;
     }
 
+    /**
+     * Returns the number of bytes that the tables in the LRU cache may take up, as estimated from their contents.
+     *
+     * @return the LRU cache size in bytes
+     */
+    long getLRUCacheBytes() {
+        return m_lruCacheBytes;
+    }
+
+    /**
+     * Returns the {@link TableStoreFormat} used to read and write the {@link Buffer Buffer's} content if it accepts
+     * the table.
+     *
+     * @return the {@code TableStoreFormat}
+     */
+    TableStoreFormat getOutputFormat() {
+        return m_outputFormat;
+    }
+
     /**
      * Returns the {@link TableStoreFormat} used to read and write the {@link Buffer Buffer's} content.
      *
@@ -183,7 +236,7 @@ public static BufferSettings getDefault() {
      * @return a new instance of {@code BufferSettings}
      */
     public BufferSettings withLRU(final boolean enableLRU) {
-        return new BufferSettings(enableLRU, m_lruCacheSize, m_outputFormat);
+        return new BufferSettings(enableLRU, m_lruCacheSize, m_lruCacheBytes, m_outputFormat);
     }
 
     /**
@@ -194,7 +247,19 @@ public BufferSettings withLRU(final boolean enableLRU) {
      * @return a new instance of {@code BufferSettings}
      */
     public BufferSettings withLRUCacheSize(final int lruCacheSize) {
-        return new BufferSettings(m_enableLRU, lruCacheSize, m_outputFormat);
+        return new BufferSettings(m_enableLRU, lruCacheSize, m_lruCacheBytes, m_outputFormat);
+    }
+
+    /**
+     * Creates a new <code>BufferSettings</code> object by replicating the current <code>BufferSettings</code> instance
+     * and solely changes the LRU cache size in bytes.
+     *
+     * @param lruCacheBytes the new LRU cache size in bytes
+     * @return a new instance of {@code BufferSettings}
+     * @since 4.3
+     */
+    public BufferSettings withLRUCacheBytes(final long lruCacheBytes) {
+        return new BufferSettings(m_enableLRU, m_lruCacheSize, lruCacheBytes, m_outputFormat);
     }
 
     /**
@@ -205,7 +270,7 @@ public BufferSettings withLRUCacheSize(final int lruCacheSize) {
      * @return a new instance of {@code BufferSettings}
      */
     public BufferSettings withOutputFormat(final TableStoreFormat outputFormat) {
-        return new BufferSettings(m_enableLRU, m_lruCacheSize, outputFormat);
+        return new BufferSettings(m_enableLRU, m_lruCacheSize, m_lruCacheBytes, outputFormat);
     }
 
 }
@@ -79,7 +79,7 @@ public RowContainer create(final DataTableSpec spec, final DataContainerSettings
             initFileStoreHandler(fileStoreHandler, repository));
     }
 
-    private static IWriteFileStoreHandler initFileStoreHandler(final IWriteFileStoreHandler fileStoreHandler,
+    static IWriteFileStoreHandler initFileStoreHandler(final IWriteFileStoreHandler fileStoreHandler,
         final IDataRepository repository) {
         IWriteFileStoreHandler nonNull = fileStoreHandler;
         if (nonNull == null) {
@@ -0,0 +1,265 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.IDataRepository;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.container.storage.TableStoreFormat;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+
+/**
+ * A table store format that writes tables in batches of rows and stores each column of a batch separately. Columns of
+ * type {@link IntCell}, {@link LongCell}, {@link DoubleCell}, {@link BooleanCell} and {@link StringCell} are stored as
+ * primitive arrays together with a bitmap of missing values, each column chunk is compressed on its own. This keeps
+ * the files small for numeric tables, avoids deserializing every cell through the generic cell serializers, and
+ * allows readers to skip the columns that are not materialized (see
+ * {@link org.knime.core.data.container.filter.TableFilter#materializeCols(int...)}).
+ *
+ * <p>
+ * The format only accepts tables whose columns are all of one of these types. Cells that are not exactly of the
+ * column's type (e.g. a {@link BooleanCell} in an int column or a missing cell with an error message) are supported;
+ * a column chunk that contains such a cell is written with the generic cell serialization instead.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ * @noextend This class is not intended to be subclassed by clients.
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class ColumnarTableStoreFormat implements TableStoreFormat {
+
+    /** The version of the file layout, see {@link #getVersion()}. */
+    static final String VERSION = "1";
+
+    /** The column types that are stored as primitive arrays. */
+    enum ColumnType {
+            /** {@link IntCell} stored as int. */
+            INT(IntCell.TYPE, IntCell.class),
+            /** {@link LongCell} stored as long. */
+            LONG(LongCell.TYPE, LongCell.class),
+            /** {@link DoubleCell} stored as the long bits of the double. */
+            DOUBLE(DoubleCell.TYPE, DoubleCell.class),
+            /** {@link BooleanCell} stored as bit set. */
+            BOOLEAN(BooleanCell.TYPE, BooleanCell.class),
+            /** {@link StringCell} stored as modified UTF-8 bytes and offsets. */
+            STRING(StringCell.TYPE, StringCell.class);
+
+        private final DataType m_type;
+
+        private final Class<? extends DataCell> m_cellClass;
+
+        private ColumnType(final DataType type, final Class<? extends DataCell> cellClass) {
+            m_type = type;
+            m_cellClass = cellClass;
+        }
+
+        /**
+         * @param cell a non-null cell
+         * @return whether the cell can be stored in the primitive representation of this type
+         */
+        boolean isPrimitive(final DataCell cell) {
+            return cell.getClass() == m_cellClass;
+        }
+
+        /**
+         * @param type a column type
+         * @return the column type that corresponds to the data type if there is one
+         */
+        static Optional<ColumnType> of(final DataType type) {
+            return Arrays.stream(values()).filter(c -> c.m_type.equals(type)).findFirst();
+        }
+
+        /**
+         * @param spec a table spec
+         * @return the column types, or an empty optional if at least one column is not supported
+         */
+        static Optional<ColumnType[]> of(final DataTableSpec spec) {
+            final ColumnType[] types = new ColumnType[spec.getNumColumns()];
+            for (int i = 0; i < types.length; i++) {
+                final Optional<ColumnType> type = of(spec.getColumnSpec(i).getType());
+                if (!type.isPresent()) {
+                    return Optional.empty();
+                }
+                types[i] = type.get();
+            }
+            return Optional.of(types);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Columnar (primitive types)";
+    }
+
+    @Override
+    public String getFilenameSuffix() {
+        return ".col.snappy";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean accepts(final DataTableSpec spec) {
+        return ColumnType.of(spec).isPresent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreWriter createWriter(final File binFile, final DataTableSpec spec,
+        final boolean writeRowKey) throws IOException {
+        return createWriter(new FileOutputStream(binFile), spec, writeRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreWriter createWriter(final OutputStream output, final DataTableSpec spec,
+        final boolean writeRowKey) throws IOException {
+        return new ColumnarTableStoreWriter(spec, output, writeRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreReader createReader(final File binFile, final DataTableSpec spec,
+        final IDataRepository dataRepository, final NodeSettingsRO settings, final int version,
+        final boolean isReadRowKey) throws IOException, InvalidSettingsException {
+        return new ColumnarTableStoreReader(binFile, spec, settings, version, isReadRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean validateVersion(final String versionString) {
+        return VERSION.equals(versionString);
+    }
+
+    /**
+     * Encodes a string in modified UTF-8 like {@link java.io.DataOutput#writeUTF(String)}, but without the length
+     * prefix and its limit of 65535 bytes. Each char is encoded separately, hence strings with unpaired surrogates
+     * survive the round trip, while {@link String#getBytes(java.nio.charset.Charset)} would replace them.
+     *
+     * @param string the string to encode
+     * @return the encoded string, see {@link #decodeModifiedUTF8(byte[], int, int)}
+     */
+    static byte[] encodeModifiedUTF8(final String string) {
+        final int length = string.length();
+        int numBytes = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            numBytes += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        final byte[] bytes = new byte[numBytes];
+        int b = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                bytes[b++] = (byte)c;
+            } else if (c <= 0x07FF) {
+                bytes[b++] = (byte)(0xC0 | (c >> 6));
+                bytes[b++] = (byte)(0x80 | (c & 0x3F));
+            } else {
+                bytes[b++] = (byte)(0xE0 | (c >> 12));
+                bytes[b++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+                bytes[b++] = (byte)(0x80 | (c & 0x3F));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @param bytes holds the output of {@link #encodeModifiedUTF8(String)}
+     * @param start the position of the first byte of the string
+     * @param length the number of bytes of the string
+     * @return the decoded string
+     * @throws IllegalArgumentException if the bytes are not valid modified UTF-8
+     */
+    static String decodeModifiedUTF8(final byte[] bytes, final int start, final int length) {
+        final char[] chars = new char[length];
+        final int end = start + length;
+        int numChars = 0;
+        int b = start;
+        while (b < end) {
+            final int first = bytes[b] & 0xFF;
+            if (first < 0x80) {
+                chars[numChars++] = (char)first;
+                b++;
+            } else if ((first & 0xE0) == 0xC0 && b + 1 < end) {
+                chars[numChars++] = (char)(((first & 0x1F) << 6) | (bytes[b + 1] & 0x3F));
+                b += 2;
+            } else if ((first & 0xF0) == 0xE0 && b + 2 < end) {
+                chars[numChars++] =
+                    (char)(((first & 0x0F) << 12) | ((bytes[b + 1] & 0x3F) << 6) | (bytes[b + 2] & 0x3F));
+                b += 3;
+            } else {
+                throw new IllegalArgumentException("Malformed string at byte " + (b - start));
+            }
+        }
+        return new String(chars, 0, numChars);
+    }
+
+}
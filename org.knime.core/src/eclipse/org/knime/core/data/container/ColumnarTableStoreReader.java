@@ -0,0 +1,412 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import static org.knime.core.data.container.ColumnarTableStoreWriter.bitSetLength;
+import static org.knime.core.data.container.ColumnarTableStoreWriter.isSet;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
+import org.knime.core.data.container.BufferFromFileIteratorVersion20.DataCellStreamReader;
+import org.knime.core.data.container.ColumnarTableStoreFormat.ColumnType;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettingsRO;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Reads tables written by the {@link ColumnarTableStoreWriter}. Column chunks of columns that are not materialized (see
+ * {@link #iteratorMaterializing(TableFilter)}) are skipped without being read or decompressed.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+final class ColumnarTableStoreReader extends AbstractTableStoreReader {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ColumnarTableStoreReader.class);
+
+    private final ColumnType[] m_types;
+
+    private final boolean m_isReadRowKey;
+
+    /**
+     * @param binFile the local file from which to read
+     * @param spec the specification of the data table
+     * @param settings the settings written by {@link ColumnarTableStoreWriter#writeMetaInfoAfterWrite}
+     * @param version the version as defined in the {@link Buffer} class
+     * @param isReadRowKey whether row keys are stored in the file
+     * @throws IOException any type of I/O problem
+     * @throws InvalidSettingsException if the settings are invalid or written by a newer version of the format
+     */
+    ColumnarTableStoreReader(final File binFile, final DataTableSpec spec, final NodeSettingsRO settings,
+        final int version, final boolean isReadRowKey) throws IOException, InvalidSettingsException {
+        super(binFile, spec, settings, version);
+        final String columnarVersion = settings.getString(ColumnarTableStoreWriter.CFG_COLUMNAR_VERSION);
+        if (!ColumnarTableStoreFormat.VERSION.equals(columnarVersion)) {
+            throw new InvalidSettingsException("Unsupported version of columnar table format: " + columnarVersion);
+        }
+        readCellClassInfoArrayFromMetaVersion2(settings);
+        m_types = ColumnType.of(spec)
+            .orElseThrow(() -> new InvalidSettingsException("Table spec not supported by columnar format: " + spec));
+        m_isReadRowKey = isReadRowKey;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TableStoreCloseableRowIterator iterator() {
+        return createIterator(null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected TableStoreCloseableRowIterator iteratorMaterializing(final TableFilter filter) {
+        return createIterator(filter.getMaterializeColumnIndices().orElse(null));
+    }
+
+    private TableStoreCloseableRowIterator createIterator(final Set<Integer> materializeColumns) {
+        final boolean[] materialize = new boolean[m_types.length];
+        for (int c = 0; c < materialize.length; c++) {
+            materialize[c] = materializeColumns == null || materializeColumns.contains(c);
+        }
+        try {
+            return new ColumnarRowIterator(materialize);
+        } catch (IOException ioe) {
+            checkAndReportOpenFiles(ioe);
+            throw new RuntimeException("Cannot read file \"" + getFile().getName() + "\"", ioe);
+        }
+    }
+
+    /** Iterates the batches of the file and returns the rows of the current batch. */
+    private final class ColumnarRowIterator extends TableStoreCloseableRowIterator {
+
+        private final boolean[] m_materialize;
+
+        private final boolean m_isPartlyMaterialized;
+
+        private final DataCellStreamReader m_cellReader = new DataCellStreamReader(ColumnarTableStoreReader.this);
+
+        /** The chunks of the current batch, null for columns that are not materialized. */
+        private final ColumnChunk[] m_chunks;
+
+        private ColumnChunk m_keys;
+
+        private DataInputStream m_in;
+
+        private long m_pointer;
+
+        private int m_rowsInBatch;
+
+        private int m_indexInBatch;
+
+        private boolean m_hasThrownReadException;
+
+        ColumnarRowIterator(final boolean[] materialize) throws IOException {
+            if (getFile() == null) {
+                throw new IOException("Unable to read table from file, table has been cleared.");
+            }
+            m_materialize = materialize;
+            boolean isPartlyMaterialized = false;
+            for (boolean m : materialize) {
+                isPartlyMaterialized |= !m;
+            }
+            m_isPartlyMaterialized = isPartlyMaterialized;
+            m_chunks = new ColumnChunk[materialize.length];
+            m_in = new DataInputStream(new BufferedInputStream(new FileInputStream(getFile())));
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            final boolean hasNext = m_pointer < getBuffer().size();
+            if (!hasNext && (m_in != null)) {
+                close();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public synchronized BlobSupportDataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator at end");
+            }
+            final DataCell[] cells = new DataCell[m_types.length];
+            if (m_in == null) { // iterator was closed
+                Arrays.fill(cells, DataType.getMissingCell());
+                LOGGER.warn("Invalid access on table, iterator has been closed");
+                final RowKey key = new RowKey("INVALID_ROW (table is closed) - (Row " + m_pointer + ")");
+                m_pointer++;
+                return new BlobSupportDataRow(key, cells);
+            }
+            if (m_indexInBatch == m_rowsInBatch) {
+                try {
+                    readBatch();
+                } catch (IOException ioe) {
+                    throw new RuntimeException("Unable to read rows from file \"" + getFile().getName() + "\" at row "
+                        + (m_pointer + 1) + ": " + ioe.getMessage(), ioe);
+                }
+            }
+            final int i = m_indexInBatch;
+            for (int c = 0; c < cells.length; c++) {
+                cells[c] = m_chunks[c] == null ? UnmaterializedCell.getInstance() : m_chunks[c].getCell(i);
+            }
+            final RowKey key = m_keys == null ? DUMMY_ROW_KEY : new RowKey(((StringChunk)m_keys).getString(i));
+            m_indexInBatch++;
+            m_pointer++;
+            return m_isPartlyMaterialized ? new PartlyMaterializedBlobSupportRow(key, cells)
+                : new BlobSupportDataRow(key, cells);
+        }
+
+        private void readBatch() throws IOException {
+            m_rowsInBatch = m_in.readInt();
+            m_indexInBatch = 0;
+            if (m_isReadRowKey) {
+                m_keys = decode(ColumnType.STRING, readChunk(), m_rowsInBatch);
+            }
+            for (int c = 0; c < m_chunks.length; c++) {
+                if (m_materialize[c]) {
+                    m_chunks[c] = decode(m_types[c], readChunk(), m_rowsInBatch);
+                } else {
+                    skipChunk();
+                }
+            }
+        }
+
+        private byte[] readChunk() throws IOException {
+            final byte[] compressed = new byte[m_in.readInt()];
+            m_in.readFully(compressed);
+            return Snappy.uncompress(compressed);
+        }
+
+        private void skipChunk() throws IOException {
+            int remaining = m_in.readInt();
+            while (remaining > 0) {
+                final int skipped = m_in.skipBytes(remaining);
+                if (skipped <= 0) {
+                    throw new EOFException();
+                }
+                remaining -= skipped;
+            }
+        }
+
+        private ColumnChunk decode(final ColumnType type, final byte[] chunk, final int n) {
+            final ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            if (buffer.get() == ColumnarTableStoreWriter.CHUNK_CELLS) {
+                final int[] offsets = readInts(buffer, n + 1);
+                return new CellsChunk(offsets, chunk, buffer.position());
+            }
+            final long[] missing = buffer.get() == 0 ? null : readLongs(buffer, bitSetLength(n));
+            switch (type) {
+                case INT:
+                    final int[] ints = readInts(buffer, n);
+                    return new ColumnChunk(missing) {
+                        @Override
+                        DataCell getValue(final int i) {
+                            return new IntCell(ints[i]);
+                        }
+                    };
+                case LONG:
+                    final long[] longs = readLongs(buffer, n);
+                    return new ColumnChunk(missing) {
+                        @Override
+                        DataCell getValue(final int i) {
+                            return new LongCell(longs[i]);
+                        }
+                    };
+                case DOUBLE:
+                    final long[] bits = readLongs(buffer, n);
+                    return new ColumnChunk(missing) {
+                        @Override
+                        DataCell getValue(final int i) {
+                            return new DoubleCell(Double.longBitsToDouble(bits[i]));
+                        }
+                    };
+                case BOOLEAN:
+                    final long[] values = readLongs(buffer, bitSetLength(n));
+                    return new ColumnChunk(missing) {
+                        @Override
+                        DataCell getValue(final int i) {
+                            return BooleanCell.get(isSet(values, i));
+                        }
+                    };
+                default:
+                    final int[] offsets = readInts(buffer, n + 1);
+                    return new StringChunk(missing, offsets, chunk, buffer.position());
+            }
+        }
+
+        /** A chunk written with the generic cell serialization. */
+        private final class CellsChunk extends ColumnChunk {
+
+            private final int[] m_offsets;
+
+            private final byte[] m_bytes;
+
+            private final int m_start;
+
+            CellsChunk(final int[] offsets, final byte[] bytes, final int start) {
+                super(null);
+                m_offsets = offsets;
+                m_bytes = bytes;
+                m_start = start;
+            }
+
+            @Override
+            DataCell getValue(final int i) {
+                final ByteArrayInputStream in =
+                    new ByteArrayInputStream(m_bytes, m_start + m_offsets[i], m_offsets[i + 1] - m_offsets[i]);
+                try {
+                    return m_cellReader.readDataCell(new DCObjectInputVersion2(in, m_cellReader));
+                } catch (final Exception e) {
+                    handleReadThrowable(e);
+                    return DataType.getMissingCell();
+                }
+            }
+        }
+
+        private void handleReadThrowable(final Throwable throwable) {
+            String warnMessage = "Errors while reading row " + (m_pointer + 1) + " from file \""
+                + getFile().getName() + "\": " + throwable.getMessage();
+            if (!m_hasThrownReadException) {
+                LOGGER.error(warnMessage.concat("; Suppressing further warnings."), throwable);
+            } else {
+                LOGGER.debug(warnMessage, throwable);
+            }
+            m_hasThrownReadException = true;
+        }
+
+        @Override
+        public synchronized boolean performClose() throws IOException {
+            if (m_in == null) {
+                return false;
+            }
+            final DataInputStream in = m_in;
+            m_in = null;
+            Arrays.fill(m_chunks, null);
+            m_keys = null;
+            in.close();
+            return true;
+        }
+    }
+
+    /** The values of a column in the current batch, decoded lazily into cells. */
+    private abstract static class ColumnChunk {
+
+        private final long[] m_missing;
+
+        ColumnChunk(final long[] missing) {
+            m_missing = missing;
+        }
+
+        final DataCell getCell(final int i) {
+            return isSet(m_missing, i) ? DataType.getMissingCell() : getValue(i);
+        }
+
+        abstract DataCell getValue(int i);
+    }
+
+    private static final class StringChunk extends ColumnChunk {
+
+        private final int[] m_offsets;
+
+        private final byte[] m_bytes;
+
+        private final int m_start;
+
+        StringChunk(final long[] missing, final int[] offsets, final byte[] bytes, final int start) {
+            super(missing);
+            m_offsets = offsets;
+            m_bytes = bytes;
+            m_start = start;
+        }
+
+        String getString(final int i) {
+            return ColumnarTableStoreFormat.decodeModifiedUTF8(m_bytes, m_start + m_offsets[i],
+                m_offsets[i + 1] - m_offsets[i]);
+        }
+
+        @Override
+        DataCell getValue(final int i) {
+            return new StringCell(getString(i));
+        }
+    }
+
+    private static int[] readInts(final ByteBuffer buffer, final int n) {
+        final int[] values = new int[n];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + n * Integer.BYTES);
+        return values;
+    }
+
+    private static long[] readLongs(final ByteBuffer buffer, final int n) {
+        final long[] values = new long[n];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + n * Long.BYTES);
+        return values;
+    }
+}
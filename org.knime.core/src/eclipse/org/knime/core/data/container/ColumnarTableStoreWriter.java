@@ -0,0 +1,313 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.container.ColumnarTableStoreFormat.ColumnType;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.node.NodeSettingsWO;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Writes tables in the {@link ColumnarTableStoreFormat}. Rows are collected into batches; each batch is written as
+ *
+ * <pre>
+ * int number of rows
+ * [chunk with the row keys, if row keys are written]
+ * chunk of column 0
+ * ...
+ * chunk of column n-1
+ * </pre>
+ *
+ * where each chunk is written as its compressed length (int) followed by the snappy compressed bytes. Uncompressed, a
+ * chunk starts with {@link #CHUNK_PRIMITIVE} or {@link #CHUNK_CELLS}. A primitive chunk continues with a flag whether
+ * there are missing values, the bitmap of missing values (if any) and the values. A cells chunk continues with the
+ * offsets of the serialized cells and their bytes.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+final class ColumnarTableStoreWriter extends AbstractTableStoreWriter {
+
+    /** Marks a chunk whose values are stored as primitive arrays. */
+    static final byte CHUNK_PRIMITIVE = 0;
+
+    /** Marks a chunk whose cells are stored with the generic cell serialization. */
+    static final byte CHUNK_CELLS = 1;
+
+    /** Config key for the version of the file layout. */
+    static final String CFG_COLUMNAR_VERSION = "columnar.version";
+
+    /** The number of rows per batch is chosen such that a batch holds about this many cells. */
+    private static final int CELLS_PER_BATCH = 1 << 20;
+
+    private static final int MIN_ROWS_PER_BATCH = 64;
+
+    private static final int MAX_ROWS_PER_BATCH = 8192;
+
+    private final DataOutputStream m_out;
+
+    private final ColumnType[] m_types;
+
+    /** The cells of the current batch, indexed by column and row. */
+    private final DataCell[][] m_columns;
+
+    private final String[] m_keys;
+
+    private final int m_rowsPerBatch;
+
+    private int m_rowsInBatch;
+
+    /**
+     * @param spec the spec of the table, all columns must be supported by the format
+     * @param outputStream where to write to
+     * @param writeRowKey whether to write the row keys
+     */
+    ColumnarTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey) {
+        super(spec, writeRowKey);
+        m_types = ColumnType.of(spec)
+            .orElseThrow(() -> new IllegalArgumentException("Table spec not supported by columnar format: " + spec));
+        m_rowsPerBatch = Math.max(MIN_ROWS_PER_BATCH,
+            Math.min(MAX_ROWS_PER_BATCH, CELLS_PER_BATCH / Math.max(1, m_types.length)));
+        m_columns = new DataCell[m_types.length][m_rowsPerBatch];
+        m_keys = writeRowKey ? new String[m_rowsPerBatch] : null;
+        m_out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeRow(final DataRow row) throws IOException {
+        if (m_keys != null) {
+            m_keys[m_rowsInBatch] = row.getKey().getString();
+        }
+        for (int c = 0; c < m_columns.length; c++) {
+            m_columns[c][m_rowsInBatch] =
+                row instanceof BlobSupportDataRow ? ((BlobSupportDataRow)row).getRawCell(c) : row.getCell(c);
+        }
+        m_rowsInBatch++;
+        if (m_rowsInBatch == m_rowsPerBatch) {
+            writeBatch();
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        final int n = m_rowsInBatch;
+        m_out.writeInt(n);
+        if (m_keys != null) {
+            writeChunk(encodeStrings(m_keys, n, null));
+            Arrays.fill(m_keys, 0, n, null);
+        }
+        for (int c = 0; c < m_columns.length; c++) {
+            writeChunk(encodeColumn(m_types[c], m_columns[c], n));
+            // release the cells
+            Arrays.fill(m_columns[c], 0, n, null);
+        }
+        m_rowsInBatch = 0;
+    }
+
+    private void writeChunk(final byte[] chunk) throws IOException {
+        final byte[] compressed = Snappy.compress(chunk);
+        m_out.writeInt(compressed.length);
+        m_out.write(compressed);
+    }
+
+    private byte[] encodeColumn(final ColumnType type, final DataCell[] cells, final int n) throws IOException {
+        long[] missing = null;
+        for (int i = 0; i < n; i++) {
+            final DataCell cell = cells[i];
+            if (cell == DataType.getMissingCell()) {
+                if (missing == null) {
+                    missing = new long[bitSetLength(n)];
+                }
+                setBit(missing, i);
+            } else if (!type.isPrimitive(cell)) {
+                // blob wrappers, missing cells with error message, sub types, ...
+                return encodeCells(cells, n);
+            }
+        }
+        final ByteBuffer buffer;
+        switch (type) {
+            case INT:
+                buffer = primitiveChunk(missing, n * Integer.BYTES);
+                for (int i = 0; i < n; i++) {
+                    buffer.putInt(isSet(missing, i) ? 0 : ((IntValue)cells[i]).getIntValue());
+                }
+                return buffer.array();
+            case LONG:
+                buffer = primitiveChunk(missing, n * Long.BYTES);
+                for (int i = 0; i < n; i++) {
+                    buffer.putLong(isSet(missing, i) ? 0 : ((LongValue)cells[i]).getLongValue());
+                }
+                return buffer.array();
+            case DOUBLE:
+                buffer = primitiveChunk(missing, n * Long.BYTES);
+                for (int i = 0; i < n; i++) {
+                    buffer.putLong(
+                        isSet(missing, i) ? 0 : Double.doubleToRawLongBits(((DoubleValue)cells[i]).getDoubleValue()));
+                }
+                return buffer.array();
+            case BOOLEAN:
+                final long[] values = new long[bitSetLength(n)];
+                for (int i = 0; i < n; i++) {
+                    if (!isSet(missing, i) && ((BooleanValue)cells[i]).getBooleanValue()) {
+                        setBit(values, i);
+                    }
+                }
+                buffer = primitiveChunk(missing, values.length * Long.BYTES);
+                buffer.asLongBuffer().put(values);
+                return buffer.array();
+            default:
+                final String[] strings = new String[n];
+                for (int i = 0; i < n; i++) {
+                    strings[i] = isSet(missing, i) ? "" : ((StringValue)cells[i]).getStringValue();
+                }
+                return encodeStrings(strings, n, missing);
+        }
+    }
+
+    private static byte[] encodeStrings(final String[] strings, final int n, final long[] missing) {
+        final byte[][] bytes = new byte[n][];
+        final int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            bytes[i] = ColumnarTableStoreFormat.encodeModifiedUTF8(strings[i]);
+            offsets[i + 1] = offsets[i] + bytes[i].length;
+        }
+        final ByteBuffer buffer = primitiveChunk(missing, offsets.length * Integer.BYTES + offsets[n]);
+        buffer.asIntBuffer().put(offsets);
+        buffer.position(buffer.position() + offsets.length * Integer.BYTES);
+        for (int i = 0; i < n; i++) {
+            buffer.put(bytes[i]);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Allocates a primitive chunk of the given payload size and writes its header.
+     *
+     * @return a buffer positioned at the start of the payload
+     */
+    private static ByteBuffer primitiveChunk(final long[] missing, final int payloadBytes) {
+        final int missingBytes = missing == null ? 0 : missing.length * Long.BYTES;
+        final ByteBuffer buffer = ByteBuffer.allocate(2 + missingBytes + payloadBytes);
+        buffer.put(CHUNK_PRIMITIVE);
+        buffer.put((byte)(missing == null ? 0 : 1));
+        if (missing != null) {
+            buffer.asLongBuffer().put(missing);
+            buffer.position(buffer.position() + missingBytes);
+        }
+        return buffer;
+    }
+
+    /** Writes the cells with {@link #writeDataCell(DataCell, DCObjectOutputVersion2)}, each one separately. */
+    private byte[] encodeCells(final DataCell[] cells, final int n) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final int[] offsets = new int[n + 1];
+        try (DCObjectOutputVersion2 out = new DCObjectOutputVersion2(bytes, this)) {
+            for (int i = 0; i < n; i++) {
+                writeDataCell(cells[i], out);
+                out.flush();
+                offsets[i + 1] = bytes.size();
+            }
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + offsets.length * Integer.BYTES + bytes.size());
+        buffer.put(CHUNK_CELLS);
+        buffer.asIntBuffer().put(offsets);
+        buffer.position(buffer.position() + offsets.length * Integer.BYTES);
+        buffer.put(bytes.toByteArray());
+        return buffer.array();
+    }
+
+    static int bitSetLength(final int n) {
+        return (n + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private static void setBit(final long[] bits, final int i) {
+        bits[i / Long.SIZE] |= 1L << i;
+    }
+
+    /** @return whether bit i is set, false if the bit set is <code>null</code> */
+    static boolean isSet(final long[] bits, final int i) {
+        return bits != null && (bits[i / Long.SIZE] & (1L << i)) != 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
+        settings.addString(CFG_COLUMNAR_VERSION, ColumnarTableStoreFormat.VERSION);
+        super.writeMetaInfoAfterWrite(settings);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (m_rowsInBatch > 0) {
+                writeBatch();
+            }
+        } finally {
+            m_out.close();
+        }
+    }
+
+}
@@ -0,0 +1,301 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Creates the streams of the compression formats that are provided by optional libraries (LZ4 and Zstandard). The
+ * libraries are not a hard dependency of this bundle: their packages are imported optionally and their classes are
+ * only accessed reflectively, such that the compression formats are merely unavailable if the libraries are not
+ * installed. In that case, {@link #isLz4Available()} and {@link #isZstdAvailable()} return false and the methods
+ * creating the streams throw an {@link IOException}.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+final class CompressionStreams {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CompressionStreams.class);
+
+    /** Block size of the LZ4 block stream. */
+    private static final int LZ4_BLOCK_SIZE = 1 << 16;
+
+    private CompressionStreams() {
+        // utility class
+    }
+
+    /** @return whether the lz4-java library is installed */
+    static boolean isLz4Available() {
+        return Lz4.INSTANCE != null;
+    }
+
+    /** @return whether the zstd-jni library and its native library are installed */
+    static boolean isZstdAvailable() {
+        return Zstd.INSTANCE != null;
+    }
+
+    /**
+     * @param out to write the compressed bytes to
+     * @param level values greater than zero select the high compression mode with that level, otherwise the fast mode
+     *            is used
+     * @return compressing stream
+     * @throws IOException if the library is not installed
+     */
+    static OutputStream lz4Output(final OutputStream out, final int level) throws IOException {
+        final Lz4 lz4 = Lz4.get();
+        final Object compressor = level > 0 ? invoke(lz4.m_highCompressor, lz4.m_factory, level)
+            : invoke(lz4.m_fastCompressor, lz4.m_factory);
+        return (OutputStream)newInstance(lz4.m_output, out, LZ4_BLOCK_SIZE, compressor);
+    }
+
+    /**
+     * @param in to read the compressed bytes from
+     * @return decompressing stream
+     * @throws IOException if the library is not installed
+     */
+    static InputStream lz4Input(final InputStream in) throws IOException {
+        return (InputStream)newInstance(Lz4.get().m_input, in);
+    }
+
+    /**
+     * @param out to write the compressed bytes to
+     * @param level the compression level, zero for the library default
+     * @param dictionary the dictionary to compress with, null for none
+     * @return compressing stream
+     * @throws IOException if the stream can't be initialized or the library is not installed
+     */
+    static OutputStream zstdOutput(final OutputStream out, final int level, final byte[] dictionary)
+        throws IOException {
+        final Zstd zstd = Zstd.get();
+        final OutputStream stream = (OutputStream)newInstance(zstd.m_output, out, level);
+        if (dictionary != null) {
+            invoke(zstd.m_outputSetDict, stream, (Object)dictionary);
+        }
+        return stream;
+    }
+
+    /**
+     * @param in to read the compressed bytes from
+     * @param dictionary the dictionary the stream has been compressed with, null for none
+     * @return decompressing stream
+     * @throws IOException if the stream can't be initialized or the library is not installed
+     */
+    static InputStream zstdInput(final InputStream in, final byte[] dictionary) throws IOException {
+        final Zstd zstd = Zstd.get();
+        final InputStream stream = (InputStream)newInstance(zstd.m_input, in);
+        if (dictionary != null) {
+            invoke(zstd.m_inputSetDict, stream, (Object)dictionary);
+        }
+        return stream;
+    }
+
+    /**
+     * @param samples the samples to train the dictionary on, e.g., the serialized bytes of typical rows
+     * @param maxDictionarySize the maximum size of the dictionary in bytes
+     * @return the trained dictionary
+     * @throws IOException if the library is not installed
+     */
+    static byte[] trainZstdDictionary(final List<byte[]> samples, final int maxDictionarySize) throws IOException {
+        final Zstd zstd = Zstd.get();
+        final int samplesSize = samples.stream().mapToInt(s -> s.length).sum();
+        final Object trainer = newInstance(zstd.m_trainer, samplesSize, maxDictionarySize);
+        for (final byte[] sample : samples) {
+            invoke(zstd.m_addSample, trainer, (Object)sample);
+        }
+        return (byte[])invoke(zstd.m_trainSamples, trainer);
+    }
+
+    private static Class<?> loadClass(final String name, final boolean initialize) throws ClassNotFoundException {
+        return Class.forName(name, initialize, CompressionStreams.class.getClassLoader());
+    }
+
+    private static Object newInstance(final Constructor<?> constructor, final Object... args) throws IOException {
+        try {
+            return constructor.newInstance(args);
+        } catch (final InvocationTargetException e) {
+            throw unwrap(e);
+        } catch (final ReflectiveOperationException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static Object invoke(final Method method, final Object target, final Object... args) throws IOException {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw unwrap(e);
+        } catch (final ReflectiveOperationException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /** Rethrows unchecked exceptions of the library and wraps checked ones (i.e., IOExceptions) for the caller. */
+    private static IOException unwrap(final InvocationTargetException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+            return (IOException)cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException)cause;
+        } else if (cause instanceof Error) {
+            throw (Error)cause;
+        }
+        return new IOException(cause);
+    }
+
+    /** The reflectively resolved entry points of lz4-java, loaded on first use. */
+    private static final class Lz4 {
+
+        private static final String PACKAGE = "net.jpountz.lz4.";
+
+        /** The library, null if it is not installed. */
+        static final Lz4 INSTANCE = load();
+
+        /** The fastest available {@code LZ4Factory}. */
+        private final Object m_factory;
+
+        private final Method m_highCompressor;
+
+        private final Method m_fastCompressor;
+
+        private final Constructor<?> m_output;
+
+        private final Constructor<?> m_input;
+
+        private Lz4() throws ReflectiveOperationException {
+            final Class<?> factory = loadClass(PACKAGE + "LZ4Factory", true);
+            final Class<?> compressor = loadClass(PACKAGE + "LZ4Compressor", false);
+            m_factory = factory.getMethod("fastestInstance").invoke(null);
+            m_highCompressor = factory.getMethod("highCompressor", int.class);
+            m_fastCompressor = factory.getMethod("fastCompressor");
+            m_output = loadClass(PACKAGE + "LZ4BlockOutputStream", false)
+                .getConstructor(OutputStream.class, int.class, compressor);
+            m_input = loadClass(PACKAGE + "LZ4BlockInputStream", false).getConstructor(InputStream.class);
+        }
+
+        private static Lz4 load() {
+            try {
+                return new Lz4();
+            } catch (final ReflectiveOperationException | LinkageError e) {
+                LOGGER.debug("LZ4 compression is not available: " + e.getMessage(), e);
+                return null;
+            }
+        }
+
+        static Lz4 get() throws IOException {
+            if (INSTANCE == null) {
+                throw new IOException("LZ4 compression is not available, the lz4-java library is not installed");
+            }
+            return INSTANCE;
+        }
+    }
+
+    /** The reflectively resolved entry points of zstd-jni, loaded on first use. */
+    private static final class Zstd {
+
+        private static final String PACKAGE = "com.github.luben.zstd.";
+
+        /** The library, null if it or its native library is not installed. */
+        static final Zstd INSTANCE = load();
+
+        private final Constructor<?> m_output;
+
+        private final Method m_outputSetDict;
+
+        private final Constructor<?> m_input;
+
+        private final Method m_inputSetDict;
+
+        private final Constructor<?> m_trainer;
+
+        private final Method m_addSample;
+
+        private final Method m_trainSamples;
+
+        private Zstd() throws ReflectiveOperationException {
+            // initializing the Zstd class loads the native library and fails if it is missing for this platform
+            loadClass(PACKAGE + "Zstd", true);
+            final Class<?> output = loadClass(PACKAGE + "ZstdOutputStream", false);
+            m_output = output.getConstructor(OutputStream.class, int.class);
+            m_outputSetDict = output.getMethod("setDict", byte[].class);
+            final Class<?> input = loadClass(PACKAGE + "ZstdInputStream", false);
+            m_input = input.getConstructor(InputStream.class);
+            m_inputSetDict = input.getMethod("setDict", byte[].class);
+            final Class<?> trainer = loadClass(PACKAGE + "ZstdDictTrainer", false);
+            m_trainer = trainer.getConstructor(int.class, int.class);
+            m_addSample = trainer.getMethod("addSample", byte[].class);
+            m_trainSamples = trainer.getMethod("trainSamples");
+        }
+
+        private static Zstd load() {
+            try {
+                return new Zstd();
+            } catch (final ReflectiveOperationException | LinkageError e) {
+                LOGGER.debug("Zstandard compression is not available: " + e.getMessage(), e);
+                return null;
+            }
+        }
+
+        static Zstd get() throws IOException {
+            if (INSTANCE == null) {
+                throw new IOException(
+                    "Zstandard compression is not available, the zstd-jni library is not installed");
+            }
+            return INSTANCE;
+        }
+    }
+
+}
@@ -49,19 +49,27 @@
 package org.knime.core.data.container;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
 import org.knime.core.data.DataTableDomainCreator;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.storage.TableStoreFormat;
 import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.workflow.ConfigurableWorkflowContext;
+import org.knime.core.node.workflow.NodeContainer;
 import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.SingleNodeContainer;
 import org.knime.core.node.workflow.WorkflowContext;
 import org.knime.core.node.workflow.WorkflowManager;
 import org.knime.core.util.DuplicateChecker;
+import org.knime.core.util.FingerprintDuplicateChecker;
 
 /**
  * The data container settings. Solely used for benchmarking.
@@ -75,6 +83,9 @@ public final class DataContainerSettings {
     /** The node logger for this class. */
     private static final NodeLogger LOGGER = NodeLogger.getLogger(DataContainerSettings.class);
 
+    /** The unavailable compression formats selected by nodes, for which a warning has been logged. */
+    private static final Set<CompressionFormat> UNAVAILABLE_NODE_COMPRESSION_FORMATS = ConcurrentHashMap.newKeySet();
+
     /** The default number of cells to be held in memory. */
     private static final int DEF_MAX_CELLS_IN_MEMORY = 5000;
 
@@ -126,6 +137,9 @@ private static class Builder {
         /** The maximum number of domain values used by {@link DuplicateChecker}. */
         private int m_maxDomainValues;
 
+        /** The flag whether the {@link DataTableDomainCreator} creates column sketches. */
+        private boolean m_createColumnSketches;
+
         /** The force copy of blobs flag **/
         private boolean m_forceCopyOfBlobs;
 
@@ -135,6 +149,8 @@ private static class Builder {
         /** The {@link BufferSettings}. */
         private BufferSettings m_bufferSettings;
 
+        /** The function creating new instances of {@link DuplicateChecker}. */
+        private Supplier<DuplicateChecker> m_duplicateCheckerCreator;
 
         /**
          * Constructor.
@@ -149,9 +165,11 @@ private static class Builder {
             m_rowBatchSize = settings.m_rowBatchSize;
             m_initDomain = settings.m_initDomain;
             m_maxDomainValues = settings.m_maxDomainValues;
+            m_createColumnSketches = settings.m_createColumnSketches;
             m_bufferSettings = settings.m_bufferSettings;
             m_enableRowKeys = settings.m_enableRowKeys;
             m_forceCopyOfBlobs = settings.m_forceCopyOfBlobs;
+            m_duplicateCheckerCreator = settings.m_duplicateCheckerCreator;
         }
 
         Builder setMaxCellsInMemory(final int maxCellsInMemory) {
@@ -189,6 +207,11 @@ Builder setMaxDomainValues(final int maxDomainValues) {
             return this;
         }
 
+        Builder setCreateColumnSketches(final boolean createColumnSketches) {
+            m_createColumnSketches = createColumnSketches;
+            return this;
+        }
+
         Builder setForceCopyOfBlobs(final boolean forceCopyOfBlobs) {
             m_forceCopyOfBlobs = forceCopyOfBlobs;
             return this;
@@ -204,6 +227,11 @@ Builder setBufferSettings(final BufferSettings bufferSettings) {
             return this;
         }
 
+        Builder setDuplicateCheckerCreator(final Supplier<DuplicateChecker> duplicateCheckerCreator) {
+            m_duplicateCheckerCreator = duplicateCheckerCreator;
+            return this;
+        }
+
         /**
          * Creates the {@link DataContainerSettings}.
          *
@@ -242,6 +270,9 @@ DataContainerSettings build() {
     /** The maximum number of domain values used by {@link DuplicateChecker}. */
     private final int m_maxDomainValues;
 
+    /** The flag whether the {@link DataTableDomainCreator} creates column sketches. */
+    private final boolean m_createColumnSketches;
+
     /** The force copy of blobs flag **/
     private final boolean m_forceCopyOfBlobs;
 
@@ -255,7 +286,7 @@ DataContainerSettings build() {
      * Default constructor.
      */
     private DataContainerSettings() {
-        m_duplicateCheckerCreator = () -> new DuplicateChecker(Integer.MAX_VALUE);
+        m_duplicateCheckerCreator = FingerprintDuplicateChecker::new;
         m_tableDomainCreatorFunction = (spec, initDomain) -> new DataTableDomainCreator(spec, initDomain);
         m_maxCellsInMemory = initMaxCellsInMemory();
         m_sequentialIO = initSequentialIO();
@@ -271,6 +302,7 @@ private DataContainerSettings() {
         m_rowBatchSize = initRowBatchSize();
         m_initDomain = initDomain();
         m_maxDomainValues = initMaxDomainValues();
+        m_createColumnSketches = Boolean.getBoolean(KNIMEConstants.PROPERTY_DOMAIN_COLUMN_SKETCHES);
         m_forceCopyOfBlobs = initForceCopyOfBlobs();
         m_enableRowKeys = initEnableRowKeys();
         m_bufferSettings = new BufferSettings();
@@ -283,7 +315,7 @@ private DataContainerSettings() {
      * @param builder the builder holding the settings
      */
     private DataContainerSettings(final Builder builder) {
-        m_duplicateCheckerCreator = () -> new DuplicateChecker(Integer.MAX_VALUE);
+        m_duplicateCheckerCreator = builder.m_duplicateCheckerCreator;
         m_tableDomainCreatorFunction = (spec, initDomain) -> new DataTableDomainCreator(spec, initDomain);
         m_maxCellsInMemory = builder.m_maxCellsInMemory;
         m_sequentialIO = builder.m_sequentialIO;
@@ -292,6 +324,7 @@ private DataContainerSettings(final Builder builder) {
         m_rowBatchSize = builder.m_rowBatchSize;
         m_initDomain = builder.m_initDomain;
         m_maxDomainValues = builder.m_maxDomainValues;
+        m_createColumnSketches = builder.m_createColumnSketches;
         m_bufferSettings = builder.m_bufferSettings;
         m_forceCopyOfBlobs = builder.m_forceCopyOfBlobs;
         m_enableRowKeys = builder.m_enableRowKeys;
@@ -303,16 +336,56 @@ private DataContainerSettings(final Builder builder) {
      * @return the default {@code DataContainerSettings}
      */
     public static DataContainerSettings getDefault() {
-        Optional<WorkflowContext> optContext = Optional.ofNullable(NodeContext.getContext())//
+        final NodeContext nodeContext = NodeContext.getContext();
+        Optional<WorkflowContext> optContext = Optional.ofNullable(nodeContext)//
             .map(NodeContext::getWorkflowManager)//
             .map(WorkflowManager::getContext);
+        final DataContainerSettings settings;
         if (optContext.isPresent() && optContext.get() instanceof ConfigurableWorkflowContext) {
-            return ((ConfigurableWorkflowContext)optContext.get()).getContainerSettings();
+            settings = ((ConfigurableWorkflowContext)optContext.get()).getContainerSettings();
+        } else {
+            // While it would be tempting to always return the same instance here, it does not make sense, since the
+            // default settings can change while KAP is running (e.g., when the user changes which data storage format
+            // to use)
+            settings = new DataContainerSettings();
         }
-        // While it would be tempting to always return the same instance here, it does not make sense, since the
-        // default settings can change while KAP is running (e.g., when the user changes which data storage format to
-        // use)
-        return new DataContainerSettings();
+        return withNodeCompressionFormat(settings, nodeContext);
+    }
+
+    /**
+     * Applies the compression format selected in the settings of the node that is currently executing, if any, and if
+     * the tables are written in the {@link DefaultTableStoreFormat}. If the selected compression format is not
+     * available in this installation, the format of the given settings is kept.
+     *
+     * @see SingleNodeContainer#getOutDataCompressionFormat()
+     */
+    private static DataContainerSettings withNodeCompressionFormat(final DataContainerSettings settings,
+        final NodeContext nodeContext) {
+        final NodeContainer nc = nodeContext == null ? null : nodeContext.getNodeContainer();
+        if (!(nc instanceof SingleNodeContainer)) {
+            return settings;
+        }
+        final CompressionFormat compression = ((SingleNodeContainer)nc).getOutDataCompressionFormat();
+        final TableStoreFormat format = settings.getBufferSettings().getOutputFormat();
+        if (compression == null || !(format instanceof DefaultTableStoreFormat)
+            || ((DefaultTableStoreFormat)format).getCompressionFormat() == compression) {
+            return settings;
+        }
+        if (!compression.isAvailable()) {
+            final String message = "Table compression " + compression + " selected for node \""
+                + nc.getNameWithID() + "\" is not available; defaulting to "
+                + ((DefaultTableStoreFormat)format).getCompressionFormat();
+            // every table written by the node ends up here, warn only once per format
+            if (UNAVAILABLE_NODE_COMPRESSION_FORMATS.add(compression)) {
+                LOGGER.warn(message);
+            } else {
+                LOGGER.debug(message);
+            }
+            return settings;
+        }
+        final DefaultTableStoreFormat nodeFormat = new DefaultTableStoreFormat(
+            ((DefaultTableStoreFormat)format).getTableStoreSettings().withCompression(compression));
+        return settings.withBufferSettings(settings.getBufferSettings().withOutputFormat(nodeFormat));
     }
 
     /**
@@ -399,9 +472,21 @@ DuplicateChecker createDuplicateChecker() {
     DataTableDomainCreator createDomainCreator(final DataTableSpec spec) {
         final DataTableDomainCreator creator = m_tableDomainCreatorFunction.apply(spec, m_initDomain);
         creator.setMaxPossibleValues(m_maxDomainValues);
+        creator.setCreateColumnSketches(m_createColumnSketches);
         return creator;
     }
 
+    /**
+     * Returns whether approximate column statistics are computed and stored with the table spec, see
+     * {@link DataTableDomainCreator#setCreateColumnSketches(boolean)}.
+     *
+     * @return the create column sketches flag
+     * @since 4.3
+     */
+    public boolean isCreateColumnSketches() {
+        return m_createColumnSketches;
+    }
+
     /**
      * @return <source>true</source> if blobs should be copied by this {@link DataContainer}.
      */
@@ -525,6 +610,22 @@ public DataContainerSettings withMaxDomainValues(final int maxDomainValues) {
         return b.build();
     }
 
+    /**
+     * Creates a new <code>DataContainerSetting</code> object by replicating the current
+     * <code>DataContainerSetting</code> instance and solely changes whether the {@link DataTableDomainCreator}
+     * computes approximate column statistics. Defaults to the value of the system property
+     * {@link KNIMEConstants#PROPERTY_DOMAIN_COLUMN_SKETCHES}.
+     *
+     * @param createColumnSketches the new create column sketches flag
+     * @return a new instance of {@code DataContainerSettings}
+     * @since 4.3
+     */
+    public DataContainerSettings withColumnSketches(final boolean createColumnSketches) {
+        final Builder b = new Builder(this);
+        b.setCreateColumnSketches(createColumnSketches);
+        return b.build();
+    }
+
     /**
      * Creates a new <code>DataContainerSetting</code> object by replicating the current
      * <code>DataContainerSetting</code> instance and solely changes the {@link BufferSettings}.
@@ -562,6 +663,22 @@ public DataContainerSettings withRowKeysEnabled(final boolean enableRowKeys) {
         return b.build();
     }
 
+    /**
+     * Creates a new <code>DataContainerSetting</code> object by replicating the current
+     * <code>DataContainerSetting</code> instance and solely changes the function creating the {@link DuplicateChecker}
+     * that ensures unique row keys. Defaults to a {@link FingerprintDuplicateChecker}. The created checkers must allow
+     * concurrent calls to {@link DuplicateChecker#addKey(String)}.
+     *
+     * @param duplicateCheckerCreator the function creating new instances of {@link DuplicateChecker}
+     * @return a new instance of {@code DataContainerSettings}
+     * @since 4.3
+     */
+    public DataContainerSettings withDuplicateCheckerCreator(final Supplier<DuplicateChecker> duplicateCheckerCreator) {
+        final Builder b = new Builder(this);
+        b.setDuplicateCheckerCreator(CheckUtils.checkArgumentNotNull(duplicateCheckerCreator));
+        return b.build();
+    }
+
     /**
      * @return default value for force copy of blobs
      */
@@ -56,7 +56,9 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.function.BooleanSupplier;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -94,6 +96,12 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
     /** Compression format. */
     private static final String CFG_COMPRESSION = "container.compression";
 
+    /** Compression level, only saved if not the default. */
+    private static final String CFG_COMPRESSION_LEVEL = "container.compression.level";
+
+    /** Compression dictionary, only saved if present. */
+    private static final String CFG_COMPRESSION_DICTIONARY = "container.compression.dictionary";
+
     /**
      * Checked function interface throwing an IOException.
      *
@@ -114,6 +122,23 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
         R apply(T t) throws IOException;
     }
 
+    /**
+     * Checked function interface with two arguments throwing an IOException.
+     */
+    @FunctionalInterface
+    private static interface CheckedIOBiFunction<T, U, R> {
+
+        /**
+         * Applies an I/O function to the given arguments.
+         *
+         * @param t the first argument
+         * @param u the second argument
+         * @return the function result
+         * @throws IOException - If the I/O function fails
+         */
+        R apply(T t, U u) throws IOException;
+    }
+
     /**
      * Various compression formats for KNIME datatables.
      *
@@ -135,16 +160,39 @@ public static enum CompressionFormat {
             /** Snappy compression. */
             SNAPPY(".bin.snappy", //
                 i -> new BufferedInputStream(new SnappyInputStream(i)), //
-                o -> new BufferedOutputStream(new SnappyOutputStream(o)));
+                o -> new BufferedOutputStream(new SnappyOutputStream(o))),
+
+            /**
+             * LZ4 compression. Uses the fast mode unless a compression level greater than zero is set.
+             *
+             * @since 4.3
+             */
+            LZ4(".bin.lz4", CompressionStreams::isLz4Available, //
+                (i, s) -> new BufferedInputStream(CompressionStreams.lz4Input(i)), //
+                (o, s) -> new BufferedOutputStream(CompressionStreams.lz4Output(o, s.getCompressionLevel()))),
+
+            /**
+             * Zstandard compression with the compression level and the optional dictionary of the table store
+             * settings.
+             *
+             * @since 4.3
+             */
+            ZSTD(".bin.zst", CompressionStreams::isZstdAvailable, //
+                (i, s) -> new BufferedInputStream(CompressionStreams.zstdInput(i, s.getDictionary())), //
+                (o, s) -> new BufferedOutputStream(
+                    CompressionStreams.zstdOutput(o, s.getCompressionLevel(), s.getDictionary())));
 
         /** The file name extension. */
         private final String m_fileNameExtension;
 
+        /** Whether the library providing the compression is installed. */
+        private final BooleanSupplier m_isAvailable;
+
         /** The input stream create function. */
-        private final CheckedIOFunction<InputStream, InputStream> m_inFunc;
+        private final CheckedIOBiFunction<InputStream, DefaultTableStoreSettings, InputStream> m_inFunc;
 
         /** The output stream create function. */
-        private final CheckedIOFunction<OutputStream, OutputStream> m_outFunc;
+        private final CheckedIOBiFunction<OutputStream, DefaultTableStoreSettings, OutputStream> m_outFunc;
 
         /**
          * Constructor.
@@ -154,11 +202,35 @@ public static enum CompressionFormat {
         private CompressionFormat(final String fileNameExtension,
             final CheckedIOFunction<InputStream, InputStream> inFunc,
             final CheckedIOFunction<OutputStream, OutputStream> outFunc) {
+            this(fileNameExtension, () -> true, (i, s) -> inFunc.apply(i), (o, s) -> outFunc.apply(o));
+        }
+
+        /**
+         * Constructor for compression formats that are provided by (optional) libraries and depend on the settings.
+         *
+         * @param fileNameExtension the file name extension
+         * @param isAvailable tests whether the library is installed
+         */
+        private CompressionFormat(final String fileNameExtension, final BooleanSupplier isAvailable,
+            final CheckedIOBiFunction<InputStream, DefaultTableStoreSettings, InputStream> inFunc,
+            final CheckedIOBiFunction<OutputStream, DefaultTableStoreSettings, OutputStream> outFunc) {
             m_fileNameExtension = fileNameExtension;
+            m_isAvailable = isAvailable;
             m_inFunc = inFunc;
             m_outFunc = outFunc;
         }
 
+        /**
+         * Returns whether the compression format can be used, i.e., whether the library that provides it is
+         * installed.
+         *
+         * @return true if tables can be written and read in this format
+         * @since 4.3
+         */
+        public boolean isAvailable() {
+            return m_isAvailable.getAsBoolean();
+        }
+
         /**
          * Returns the file name extension.
          *
@@ -187,11 +259,27 @@ void saveSettings(final NodeSettingsWO settings) {
          * @throws IOException - If GZip compression fails
          */
         OutputStream getOutputStream(final OutputStream out) throws IOException {
+            return getOutputStream(out, DefaultTableStoreSettings.getDefault());
+        }
+
+        /**
+         * Returns the compressed output stream.
+         *
+         * @param out the output stream
+         * @param settings provides the compression level and dictionary
+         * @return the compressed output stream
+         * @throws IOException - If compression fails or the compression library is not installed
+         */
+        OutputStream getOutputStream(final OutputStream out, final DefaultTableStoreSettings settings)
+            throws IOException {
             try {
-                return m_outFunc.apply(out);
+                return m_outFunc.apply(out, settings);
             } catch (final IOException e) {
                 out.close();
                 throw e;
+            } catch (final LinkageError e) {
+                out.close();
+                throw new IOException(notAvailableMessage(), e);
             }
         }
 
@@ -202,17 +290,49 @@ OutputStream getOutputStream(final OutputStream out) throws IOException {
          * @return the compressed input stream
          * @throws IOException - If the input file does not exist or GZip compression fails
          */
-        @SuppressWarnings("resource")
         InputStream getInputStream(final File file) throws IOException {
-            final FileInputStream fis = new FileInputStream(file);
+            return getInputStream(file, DefaultTableStoreSettings.getDefault());
+        }
+
+        /**
+         * Returns the uncompressed input stream.
+         *
+         * @param file the file to be read from
+         * @param settings provides the dictionary the file has been compressed with
+         * @return the compressed input stream
+         * @throws IOException - If the input file does not exist, decompression fails or the compression library is
+         *             not installed
+         */
+        @SuppressWarnings("resource")
+        InputStream getInputStream(final File file, final DefaultTableStoreSettings settings) throws IOException {
+            return getInputStream(new FileInputStream(file), settings);
+        }
+
+        /**
+         * Returns the uncompressed input stream.
+         *
+         * @param in the stream of compressed bytes, closed if creating the uncompressed stream fails
+         * @param settings provides the dictionary the bytes have been compressed with
+         * @return the uncompressed input stream
+         * @throws IOException - If decompression fails or the compression library is not installed
+         */
+        InputStream getInputStream(final InputStream in, final DefaultTableStoreSettings settings)
+            throws IOException {
             try {
-                return m_inFunc.apply(fis);
+                return m_inFunc.apply(in, settings);
             } catch (final IOException e) {
-                fis.close();
+                in.close();
                 throw e;
+            } catch (final LinkageError e) {
+                in.close();
+                throw new IOException(notAvailableMessage(), e);
             }
         }
 
+        private String notAvailableMessage() {
+            return "Compression format " + name() + " is not available, the library providing it is not installed";
+        }
+
         /**
          * Retrieves the compression format from the {@link NodeSettingsRO}.
          *
@@ -305,7 +425,7 @@ public AbstractTableStoreWriter createWriter(final File binFile, final DataTable
     @Override
     public AbstractTableStoreWriter createWriter(final OutputStream output, final DataTableSpec spec,
         final boolean writeRowKey) throws IOException {
-        return new DefaultTableStoreWriter(spec, output, writeRowKey, m_tableStoreSettings.getCompressionFormat());
+        return new DefaultTableStoreWriter(spec, output, writeRowKey, m_tableStoreSettings);
     }
 
     @Override
@@ -333,12 +453,23 @@ public CompressionFormat getCompressionFormat() {
         return m_tableStoreSettings.getCompressionFormat();
     }
 
+    /**
+     * The settings used to write the format.
+     *
+     * @return the table store settings
+     * @since 4.3
+     */
+    public DefaultTableStoreSettings getTableStoreSettings() {
+        return m_tableStoreSettings;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean validateVersion(final String versionString) {
-        return true; // this method is really only called for 3rd party types. Actual validation happens in class Buffer
+        // the detailed validation happens in class Buffer, which also knows the versions of tables without row keys
+        return Buffer.isKnownVersion(versionString);
     }
 
     /**
@@ -348,11 +479,31 @@ public boolean validateVersion(final String versionString) {
      * @return true if the compression format is 'known' and readable, false otherwise
      */
     public static boolean validateCompressionFormat(final String compressionFormatString) {
-        return Arrays.stream(CompressionFormat.values()).anyMatch((c) -> c.name().equals(compressionFormatString));
+        return Arrays.stream(CompressionFormat.values())
+            .anyMatch((c) -> c.name().equals(compressionFormatString) && c.isAvailable());
+    }
+
+    /**
+     * Trains a dictionary for the {@link CompressionFormat#ZSTD} compression format, to be used with
+     * {@link DefaultTableStoreSettings#withDictionary(byte[])}. Dictionaries improve the compression ratio of small
+     * and similar data, e.g., tables with many short strings.
+     *
+     * @param samples the samples to train the dictionary on, e.g., serialized rows of a typical table
+     * @param maxDictionarySize the maximum size of the dictionary in bytes
+     * @return the dictionary
+     * @throws IOException if the Zstandard library is not installed
+     * @since 4.3
+     */
+    public static byte[] trainZstdDictionary(final List<byte[]> samples, final int maxDictionarySize)
+        throws IOException {
+        if (!CompressionFormat.ZSTD.isAvailable()) {
+            throw new IOException(CompressionFormat.ZSTD.notAvailableMessage());
+        }
+        return CompressionStreams.trainZstdDictionary(samples, maxDictionarySize);
     }
 
     /**
-     * The table store settings. Solely used for benchmarking.
+     * The table store settings, i.e., the compression format and its parameters.
      *
      * @author Mark Ortmann, KNIME GmbH, Berlin, Germany
      * @noreference This class is not intended to be referenced by clients.
@@ -363,6 +514,12 @@ public static final class DefaultTableStoreSettings {
         /** The compression format. */
         private final CompressionFormat m_compType;
 
+        /** The compression level, 0 for the default of the compression format. */
+        private final int m_compLevel;
+
+        /** The compression dictionary or null. */
+        private final byte[] m_dictionary;
+
         /** The default instance. */
         private static final DefaultTableStoreSettings DEFAULT_INSTANCE = new DefaultTableStoreSettings();
 
@@ -380,9 +537,15 @@ private DefaultTableStoreSettings() {
                     LOGGER.warn("Unable to read property " + KNIMEConstants.PROPERTY_TABLE_COMPRESSION + " (\""
                         + compName + "\"); defaulting to " + DefaultTableStoreFormat.DEF_COMPRESSION);
                 }
+                if (!compFormat.isAvailable()) {
+                    LOGGER.warn("Table stream compression " + compFormat + " is not available; defaulting to "
+                        + DefaultTableStoreFormat.DEF_COMPRESSION);
+                    compFormat = DefaultTableStoreFormat.DEF_COMPRESSION;
+                }
                 m_compType = compFormat;
             }
-
+            m_compLevel = Integer.getInteger(KNIMEConstants.PROPERTY_TABLE_COMPRESSION_LEVEL, 0);
+            m_dictionary = null;
         }
 
         /**
@@ -398,9 +561,14 @@ public static DefaultTableStoreSettings getDefault() {
          * Constructor.
          *
          * @param compFormat the compression format
+         * @param compLevel the compression level
+         * @param dictionary the compression dictionary or null
          */
-        private DefaultTableStoreSettings(final CompressionFormat compFormat) {
+        private DefaultTableStoreSettings(final CompressionFormat compFormat, final int compLevel,
+            final byte[] dictionary) {
             m_compType = compFormat;
+            m_compLevel = compLevel;
+            m_dictionary = dictionary;
         }
 
         /**
@@ -412,15 +580,89 @@ CompressionFormat getCompressionFormat() {
             return m_compType;
         }
 
+        /**
+         * Returns the compression level, 0 for the default level of the compression format.
+         *
+         * @return the compression level
+         */
+        int getCompressionLevel() {
+            return m_compLevel;
+        }
+
+        /**
+         * Returns the compression dictionary.
+         *
+         * @return the dictionary or null
+         */
+        byte[] getDictionary() {
+            return m_dictionary;
+        }
+
         /**
          * Returns a copy using the new compression format.
          *
          * @param compFormat the compression format to be used
          * @return a copy using the new compression format
          */
-        @SuppressWarnings("static-method")
         public DefaultTableStoreSettings withCompression(final CompressionFormat compFormat) {
-            return new DefaultTableStoreSettings(compFormat);
+            return new DefaultTableStoreSettings(compFormat, m_compLevel, m_dictionary);
+        }
+
+        /**
+         * Returns a copy using the new compression level. The level is used by {@link CompressionFormat#ZSTD} and
+         * {@link CompressionFormat#LZ4} and ignored by the other formats.
+         *
+         * @param compLevel the compression level, 0 for the default level of the compression format
+         * @return a copy using the new compression level
+         * @since 4.3
+         */
+        public DefaultTableStoreSettings withCompressionLevel(final int compLevel) {
+            return new DefaultTableStoreSettings(m_compType, compLevel, m_dictionary);
+        }
+
+        /**
+         * Returns a copy using the new compression dictionary. The dictionary is used by {@link CompressionFormat#ZSTD}
+         * and ignored by the other formats. It is saved along with each table, see
+         * {@link DefaultTableStoreFormat#trainZstdDictionary(List, int)}.
+         *
+         * @param dictionary the dictionary, null for none
+         * @return a copy using the new dictionary
+         * @since 4.3
+         */
+        public DefaultTableStoreSettings withDictionary(final byte[] dictionary) {
+            return new DefaultTableStoreSettings(m_compType, m_compLevel,
+                dictionary == null ? null : dictionary.clone());
+        }
+
+        /**
+         * Saves the settings that are needed to read a table written with these settings.
+         *
+         * @param settings to save to
+         */
+        void saveSettings(final NodeSettingsWO settings) {
+            m_compType.saveSettings(settings);
+            if (m_compLevel != 0) {
+                settings.addInt(CFG_COMPRESSION_LEVEL, m_compLevel);
+            }
+            if (m_dictionary != null && m_compType == CompressionFormat.ZSTD) {
+                settings.addByteArray(CFG_COMPRESSION_DICTIONARY, m_dictionary);
+            }
+        }
+
+        /**
+         * Loads the settings saved by {@link #saveSettings(NodeSettingsWO)}.
+         *
+         * @param settings to load from
+         * @param version the version as defined in the {@code Buffer}
+         * @return the settings
+         * @throws InvalidSettingsException if the compression format can't be parsed
+         */
+        static DefaultTableStoreSettings loadSettings(final NodeSettingsRO settings, final int version)
+            throws InvalidSettingsException {
+            final CompressionFormat compFormat = CompressionFormat.loadSettings(settings, version);
+            final int compLevel = settings.getInt(CFG_COMPRESSION_LEVEL, 0);
+            final byte[] dictionary = settings.getByteArray(CFG_COMPRESSION_DICTIONARY, null);
+            return new DefaultTableStoreSettings(compFormat, compLevel, dictionary);
         }
     }
 
@@ -50,9 +50,13 @@
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Set;
 
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.BlockCompressionStreams.BlockInputStream;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
 import org.knime.core.node.InvalidSettingsException;
@@ -64,7 +68,7 @@
  */
 final class DefaultTableStoreReader extends AbstractTableStoreReader {
 
-    private CompressionFormat m_compressionFormat;
+    private final DefaultTableStoreSettings m_tableStoreSettings;
 
     private final File m_binFile;
 
@@ -72,6 +76,15 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
 
     private final boolean m_isReadRowKey;
 
+    /** Whether the file consists of independently compressed blocks (see {@link BlockCompressionStreams}). */
+    private final boolean m_hasCompressedBlocks;
+
+    /**
+     * The offsets of the rows in the uncompressed file or of the blocks in the compressed file, null if the file has
+     * been written without them.
+     */
+    private final RowOffsetIndex m_rowOffsets;
+
     /**
      * Constructs a reader for materializing serialized KNIME tables.
      *
@@ -98,25 +111,108 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
         m_spec = spec;
         m_isReadRowKey = isReadRowKey;
 
-        final CompressionFormat cF;
+        final DefaultTableStoreSettings tableStoreSettings;
         if (version < 3) { // stream was not zipped in KNIME 1.1.x
-            cF = CompressionFormat.NONE;
+            tableStoreSettings = DefaultTableStoreSettings.getDefault().withCompression(CompressionFormat.NONE);
         } else if (version >= 8) { // added sometime between format 8 and 9 - no increment of version number
-            cF = CompressionFormat.loadSettings(settings, version);
+            tableStoreSettings = DefaultTableStoreSettings.loadSettings(settings, version);
         } else {
             // use gzip compression
-            cF = CompressionFormat.GZIP;
+            tableStoreSettings = DefaultTableStoreSettings.getDefault().withCompression(CompressionFormat.GZIP);
         }
-        m_compressionFormat = cF;
+        m_tableStoreSettings = tableStoreSettings;
+        // compressed blocks and row offsets added with version 13 (4.3)
+        m_hasCompressedBlocks = version >= 13 && tableStoreSettings.getCompressionFormat() != CompressionFormat.NONE;
+        m_rowOffsets = version >= 13 ? RowOffsetIndex.loadSettings(settings) : null;
     }
 
     @Override
     public TableStoreCloseableRowIterator iterator() {
+        return createIterator(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Skips the cells of the columns that are not materialized without deserializing them, except for files written
+     * by KNIME 2.0 tech preview and before, of which all columns are materialized.
+     */
+    @Override
+    protected TableStoreCloseableRowIterator iteratorMaterializing(final TableFilter filter) {
+        if (getReadVersion() <= 5) {
+            return iterator();
+        }
+        final boolean[] materialize = getMaterializeColumns(filter);
+        if (materialize == null) {
+            return iterator();
+        }
+        return createIterator(materialize);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Files that have been written with a {@link RowOffsetIndex} are opened at the closest indexed row before the
+     * given row. Compressed files are opened at the start of an indexed block, from where whole blocks before the
+     * one containing the row are skipped without decompressing them (the index may not hold every block). The
+     * remaining rows are skipped without deserializing them.
+     */
+    @SuppressWarnings("resource")
+    @Override
+    protected TableStoreCloseableRowIterator iteratorMaterializingFrom(final TableFilter filter,
+        final long fromIndex) {
+        if (m_rowOffsets == null || m_binFile == null) {
+            return null;
+        }
+        final int entry = m_rowOffsets.findEntry(fromIndex);
+        InputStream in = null;
+        BufferFromFileIteratorVersion20 iterator = null;
+        try {
+            in = openBinFile(m_rowOffsets.getOffset(entry));
+            long row = m_rowOffsets.getRow(entry);
+            if (in instanceof BlockInputStream) {
+                row += ((BlockInputStream)in).skipBlocks(fromIndex - row);
+            }
+            iterator = new BufferFromFileIteratorVersion20(this, getMaterializeColumns(filter), in, row);
+            iterator.skipRows(fromIndex - row);
+            return iterator;
+        } catch (IOException ioe) {
+            try {
+                if (iterator != null) {
+                    iterator.performClose();
+                } else if (in != null) {
+                    in.close();
+                }
+            } catch (IOException closeException) {
+                ioe.addSuppressed(closeException);
+            }
+            StringBuilder b = new StringBuilder("Cannot read file \"");
+            b.append(m_binFile.getName());
+            b.append("\"");
+            checkAndReportOpenFiles(ioe);
+            throw new RuntimeException(b.toString(), ioe);
+        }
+    }
+
+    /** @return which columns the filter selects for materialization, null to materialize all columns */
+    private boolean[] getMaterializeColumns(final TableFilter filter) {
+        final Set<Integer> materializeColumns = filter.getMaterializeColumnIndices().orElse(null);
+        if (materializeColumns == null) {
+            return null;
+        }
+        final boolean[] materialize = new boolean[m_spec.getNumColumns()];
+        for (final int c : materializeColumns) {
+            materialize[c] = true;
+        }
+        return materialize;
+    }
+
+    private TableStoreCloseableRowIterator createIterator(final boolean[] materialize) {
         try {
             if (getReadVersion() <= 5) { // 2.0 tech preview and before
                 return new BufferFromFileIteratorVersion1x(this);
             } else {
-                return new BufferFromFileIteratorVersion20(this);
+                return new BufferFromFileIteratorVersion20(this, materialize, null, 0);
             }
         } catch (IOException ioe) {
             StringBuilder b = new StringBuilder("Cannot read file \"");
@@ -127,9 +223,31 @@ public TableStoreCloseableRowIterator iterator() {
         }
     }
 
+    /**
+     * Opens the (decompressed) input stream of the file at the given position.
+     *
+     * @param offset the position in the file, either 0 or an offset taken from the {@link RowOffsetIndex}
+     * @return the (decompressed) input stream
+     * @throws IOException if the file could not be opened or the (decompressed) stream could not be created
+     */
+    InputStream openBinFile(final long offset) throws IOException {
+        if (m_hasCompressedBlocks) {
+            return new BlockInputStream(MappedFileInputStream.open(m_binFile, offset), m_tableStoreSettings);
+        } else if (offset == 0) {
+            return m_tableStoreSettings.getCompressionFormat().getInputStream(m_binFile, m_tableStoreSettings);
+        } else {
+            return MappedFileInputStream.open(m_binFile, offset);
+        }
+    }
+
     /** @return Whether stream is zipped. */
     CompressionFormat getBinFileCompressionFormat() {
-        return m_compressionFormat;
+        return m_tableStoreSettings.getCompressionFormat();
+    }
+
+    /** @return The settings the stream has been written with, e.g., the compression dictionary. */
+    DefaultTableStoreSettings getBinFileTableStoreSettings() {
+        return m_tableStoreSettings;
     }
 
     /** @return Underlying binary file. */
@@ -180,10 +298,7 @@ abstract static class FromFileIterator extends TableStoreCloseableRowIterator im
          */
         static final InputStream getInputStream(final DefaultTableStoreReader tableFormatReader)
             throws IOException {
-            // get the decompression format
-            final CompressionFormat cType = tableFormatReader.getBinFileCompressionFormat();
-            // return the (decompressed) stream
-            return cType.getInputStream(tableFormatReader.getBinFile());
+            return tableFormatReader.openBinFile(0);
         }
 
     }
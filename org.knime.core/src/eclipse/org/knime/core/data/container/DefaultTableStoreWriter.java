@@ -55,25 +55,57 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.container.BlockCompressionStreams.BlockOutputStream;
 import org.knime.core.data.container.DCObjectOutputVersion2.BlockableDCObjectOutputVersion2;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
 import org.knime.core.node.NodeSettingsWO;
 
+import com.google.common.io.CountingOutputStream;
+
 /**
  * The default table store writer used to write tables to disc.
+ *
+ * <p>
+ * Since {@link Buffer#VERSION container_13}, compressed files consist of independently compressed blocks of rows
+ * (see {@link BlockCompressionStreams}); older files are compressed as a single stream. Files of this version are
+ * accompanied by a {@link RowOffsetIndex} of (the blocks of) their rows, which is stored in the meta information and
+ * allows readers to start reading at a given row.
+ *
  * @author wiswedel
  */
 final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements KNIMEStreamConstants {
 
+    /** The maximum number of rows in a compressed block. */
+    static final int BLOCK_ROWS = 1 << 16;
+
+    /**
+     * The number of uncompressed bytes after which a compressed block is ended (after the current row), which limits
+     * the memory needed to buffer a block.
+     */
+    static final int BLOCK_BYTES = 1 << 22;
+
     /**
      * the stream that writes to the file, it's a special object output stream, in which we can mark the end of an entry
      * (to figure out when a cell implementation reads too many or too few bytes).
      */
     private final BlockableDCObjectOutputVersion2 m_outStream;
 
-    /** The compression format. */
-    private final CompressionFormat m_compFormat;
+    /** The table store settings providing the compression format. */
+    private final DefaultTableStoreSettings m_tableStoreSettings;
+
+    /** Counts the bytes written to the file, null if the file is compressed. */
+    private final CountingOutputStream m_countingOutStream;
+
+    /** Writes the compressed blocks to the file, null if the file is not compressed. */
+    private final BlockOutputStream m_blockOutStream;
+
+    /** The offsets of the rows in the file, or of the first rows of the blocks if the file is compressed. */
+    private final RowOffsetIndex m_rowOffsets;
+
+    /** The number of rows written so far. */
+    private long m_rowCount;
 
     /**
      * Constructs a writer for writing KNIME tables to disk using the given compression format.
@@ -81,14 +113,25 @@ final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements
      * @param spec the specification of the KNIME table to write to disk
      * @param outputStream
      * @param writeRowKey a flag that determines whether to store the row keys in the Parquet file
-     * @param compFormat the compression format
+     * @param tableStoreSettings the table store settings providing the compression format
      * @throws IOException any type of I/O problem
      */
     public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey,
-        final CompressionFormat compFormat) throws IOException {
+        final DefaultTableStoreSettings tableStoreSettings) throws IOException {
         super(spec, writeRowKey);
-        m_compFormat = compFormat;
-        m_outStream = initOutFile(new BufferedOutputStream(outputStream));
+        m_tableStoreSettings = tableStoreSettings;
+        if (tableStoreSettings.getCompressionFormat() == CompressionFormat.NONE) {
+            m_countingOutStream = new CountingOutputStream(initOutStream(new BufferedOutputStream(outputStream)));
+            m_blockOutStream = null;
+            m_rowOffsets = new RowOffsetIndex(RowOffsetIndex.INITIAL_STRIDE);
+            m_outStream = new BlockableDCObjectOutputVersion2(m_countingOutStream, this);
+        } else {
+            m_countingOutStream = null;
+            m_blockOutStream = new BlockOutputStream(new BufferedOutputStream(outputStream), tableStoreSettings);
+            // index every block as long as the index isn't full
+            m_rowOffsets = new RowOffsetIndex(1);
+            m_outStream = new BlockableDCObjectOutputVersion2(m_blockOutStream, this);
+        }
     }
 
     /**
@@ -98,6 +141,20 @@ public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outp
      */
     @Override
     public void writeRow(final DataRow row) throws IOException {
+        // the out stream does not buffer, hence the positions of the underlying streams are the row start
+        if (m_blockOutStream != null) {
+            if (m_blockOutStream.getRowsInBlock() >= BLOCK_ROWS
+                || m_blockOutStream.getUncompressedBlockSize() >= BLOCK_BYTES) {
+                m_blockOutStream.endBlock();
+            }
+            if (m_blockOutStream.getRowsInBlock() == 0) {
+                m_rowOffsets.add(m_rowCount, m_blockOutStream.getPosition());
+            }
+            m_blockOutStream.startRow();
+        } else {
+            m_rowOffsets.add(m_rowCount, m_countingOutStream.getCount());
+        }
+        m_rowCount++;
         RowKey id = row.getKey();
         writeRowKey(id, m_outStream);
         for (int i = 0; i < row.getNumCells(); i++) {
@@ -125,18 +182,19 @@ void writeRowKey(final RowKey key, final BlockableDCObjectOutputVersion2 outStre
     }
 
     /**
-     * Creates short cut array and wraps the argument stream in a {@link DCObjectOutputVersion2}.
+     * Wraps the argument stream in the compression stream.
      */
-    @SuppressWarnings("resource")
-    private BlockableDCObjectOutputVersion2 initOutFile(final OutputStream outStream) throws IOException {
-        final OutputStream out = m_compFormat.getOutputStream(outStream);
-        return new BlockableDCObjectOutputVersion2(out, this);
+    private OutputStream initOutStream(final OutputStream outStream) throws IOException {
+        return m_tableStoreSettings.getCompressionFormat().getOutputStream(outStream, m_tableStoreSettings);
     }
 
     /** {@inheritDoc} */
     @Override
     public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
-        m_compFormat.saveSettings(settings);
+        m_tableStoreSettings.saveSettings(settings);
+        if (m_rowCount > 0) {
+            m_rowOffsets.saveSettings(settings);
+        }
         super.writeMetaInfoAfterWrite(settings);
     }
 
@@ -0,0 +1,184 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Input stream that reads a file via memory-mapped windows of the file, starting at an arbitrary position. Skipping
+ * bytes is a mere change of the position, which makes it cheap to skip cells that are not materialized. Used by the
+ * {@link DefaultTableStoreReader} to start reading uncompressed table files at a given row.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+final class MappedFileInputStream extends InputStream {
+
+    /**
+     * Files of a mapped region can't be deleted on Windows until the region has been garbage collected, which would
+     * prevent tables from being cleared. On Windows, files are therefore read via a channel positioned at the start.
+     */
+    private static final boolean USE_MAPPING = !Platform.OS_WIN32.equals(Platform.getOS());
+
+    /** The maximum number of bytes mapped at once; a single mapping can't exceed 2GB. */
+    private static final long WINDOW_SIZE = 1L << 28;
+
+    private final FileChannel m_channel;
+
+    private final long m_size;
+
+    /** The currently mapped region, null if no region is mapped. */
+    private MappedByteBuffer m_window;
+
+    /** The position in the file of the start of {@link #m_window}, or of the next byte if no region is mapped. */
+    private long m_windowStart;
+
+    private MappedFileInputStream(final FileChannel channel, final long position) throws IOException {
+        m_channel = channel;
+        m_size = channel.size();
+        m_windowStart = position;
+    }
+
+    /**
+     * Opens a stream to read a file from a given position.
+     *
+     * @param file the file to read
+     * @param position the byte offset in the file at which to start reading
+     * @return a stream reading the file from the given position
+     * @throws IOException if the file can't be opened
+     */
+    @SuppressWarnings("resource")
+    static InputStream open(final File file, final long position) throws IOException {
+        final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            if (USE_MAPPING) {
+                return new MappedFileInputStream(channel, position);
+            }
+            return new BufferedInputStream(Channels.newInputStream(channel.position(position)));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private long position() {
+        return m_window == null ? m_windowStart : (m_windowStart + m_window.position());
+    }
+
+    /** Maps the next region of the file if the current one has been read completely. */
+    private boolean ensureRemaining() throws IOException {
+        if (m_window != null && m_window.hasRemaining()) {
+            return true;
+        }
+        final long position = position();
+        if (position >= m_size) {
+            return false;
+        }
+        m_window = m_channel.map(MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, m_size - position));
+        m_windowStart = position;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        return m_window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        final int n = Math.min(len, m_window.remaining());
+        m_window.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        final long position = position();
+        final long target = Math.min(m_size, position + n);
+        if (m_window != null && target < m_windowStart + m_window.limit()) {
+            m_window.position((int)(target - m_windowStart));
+        } else {
+            m_window = null;
+            m_windowStart = target;
+        }
+        return target - position;
+    }
+
+    @Override
+    public int available() {
+        return (int)Math.min(Integer.MAX_VALUE, m_size - position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        m_window = null;
+        m_channel.close();
+    }
+}
@@ -72,10 +72,10 @@ class NoKeyBuffer extends Buffer {
         NodeLogger.getLogger(NoKeyBuffer.class);
 
     /** Current version string. */
-    private static final String VERSION = "noRowKeyContainer_12";
+    private static final String VERSION = "noRowKeyContainer_13";
 
     /** The version number corresponding to VERSION. */
-    private static final int IVERSION = 12;
+    private static final int IVERSION = 13;
 
     private static final HashMap<String, Integer> COMPATIBILITY_MAP;
 
@@ -93,6 +93,7 @@ class NoKeyBuffer extends Buffer {
         COMPATIBILITY_MAP.put("noRowKeyContainer_9", 9);
         COMPATIBILITY_MAP.put("noRowKeyContainer_10", 10);
         COMPATIBILITY_MAP.put("noRowKeyContainer_11", 11);
+        COMPATIBILITY_MAP.put("noRowKeyContainer_12", 12);
         COMPATIBILITY_MAP.put(VERSION, IVERSION);
     }
 
@@ -135,12 +136,12 @@ public String getVersion() {
 
     /** {@inheritDoc} */
     @Override
-    int validateVersion(final String version) {
+    int validateVersion(final String version) throws IOException {
         Integer iVersion = COMPATIBILITY_MAP.get(version);
         if (iVersion == null) {
-            LOGGER.warn("Unknown version string in persisted table file (\"" + version
-                + "\") - was table created with a future version of KNIME? Using \"" + VERSION + "\" modus.");
-            iVersion = IVERSION;
+            throw new IOException("Unknown version string in persisted table file (\"" + version
+                + "\") - was table created with a future version of KNIME? Can only read up to \"" + VERSION
+                + "\".");
         }
         if (iVersion < IVERSION) {
             LOGGER.debug("Table has been written with a previous version of KNIME (\""
@@ -106,9 +106,9 @@ private static RowContainerFactoryRegistry createInstance() {
                 // sort formats so that the "KNIME standard" format comes first.
                 if (Objects.equals(a, b)) {
                     return 0;
-                } else if (BufferedRowContainerFactory.class.getName().equals(a)) {
+                } else if (BufferedRowContainerFactory.class.getSimpleName().equals(a)) {
                     return -1;
-                } else if (BufferedRowContainerFactory.class.getName().equals(b)) {
+                } else if (BufferedRowContainerFactory.class.getSimpleName().equals(b)) {
                     return +1;
                 } else {
                     return a.compareTo(b);
@@ -0,0 +1,193 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.container;
+
+import java.util.Arrays;
+
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+
+/**
+ * Sparse index of the byte offsets of rows in a table file, written by the {@link DefaultTableStoreWriter} and used by
+ * the {@link DefaultTableStoreReader} to start reading at a given row without reading all rows before it. In
+ * uncompressed files, the offset of every {@link #getStride() stride}-th row is stored; in files that consist of
+ * independently compressed blocks (see {@link BlockCompressionStreams}), the offset of the first row of each block is
+ * stored. Whenever the index is full, every other entry is dropped and the stride is doubled, such that the index never
+ * holds more than {@link #MAX_ENTRIES} offsets, no matter how many rows the table has.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+final class RowOffsetIndex {
+
+    /** Config key for the indices of the indexed rows. */
+    static final String CFG_ROW_OFFSETS_ROWS = "container.rowOffsets.rows";
+
+    /** Config key for the byte offsets of the indexed rows. */
+    static final String CFG_ROW_OFFSETS = "container.rowOffsets";
+
+    /** The number of rows between two indexed rows of uncompressed files, as long as the table is small. */
+    static final int INITIAL_STRIDE = 64;
+
+    /** The maximum number of offsets in the index. */
+    static final int MAX_ENTRIES = 2048;
+
+    private long m_stride;
+
+    private long[] m_rows;
+
+    private long[] m_offsets;
+
+    private int m_size;
+
+    /**
+     * Creates an empty index for a table that is about to be written.
+     *
+     * @param stride the minimum number of rows between two indexed rows, at least 1
+     */
+    RowOffsetIndex(final long stride) {
+        this(stride, new long[16], new long[16], 0);
+    }
+
+    private RowOffsetIndex(final long stride, final long[] rows, final long[] offsets, final int size) {
+        m_stride = stride;
+        m_rows = rows;
+        m_offsets = offsets;
+        m_size = size;
+    }
+
+    /**
+     * Offers a row to the index, which is indexed if it is at least {@link #getStride()} rows after the last indexed
+     * row. Rows must be offered in ascending order, starting with row 0.
+     *
+     * @param rowIndex the index of the row
+     * @param offset the byte offset in the file at which the row starts
+     */
+    void add(final long rowIndex, final long offset) {
+        if (m_size > 0 && rowIndex - m_rows[m_size - 1] < m_stride) {
+            return;
+        }
+        if (m_size == MAX_ENTRIES) {
+            // keep every other entry and double the stride
+            for (int i = 0; i < m_size / 2; i++) {
+                m_rows[i] = m_rows[2 * i];
+                m_offsets[i] = m_offsets[2 * i];
+            }
+            m_size /= 2;
+            m_stride *= 2;
+            if (rowIndex - m_rows[m_size - 1] < m_stride) {
+                return;
+            }
+        }
+        if (m_size == m_offsets.length) {
+            final int capacity = Math.min(MAX_ENTRIES, 2 * m_offsets.length);
+            m_rows = Arrays.copyOf(m_rows, capacity);
+            m_offsets = Arrays.copyOf(m_offsets, capacity);
+        }
+        m_rows[m_size] = rowIndex;
+        m_offsets[m_size] = offset;
+        m_size++;
+    }
+
+    /** @return the minimum number of rows between two indexed rows */
+    long getStride() {
+        return m_stride;
+    }
+
+    /**
+     * @param rowIndex the index of a row in the table
+     * @return the entry of the closest indexed row at or before the given row
+     */
+    int findEntry(final long rowIndex) {
+        final int pos = Arrays.binarySearch(m_rows, 0, m_size, rowIndex);
+        // the first entry is row 0, so there always is an indexed row at or before the given row
+        return pos >= 0 ? pos : (-pos - 2);
+    }
+
+    /**
+     * @param entry an entry returned by {@link #findEntry(long)}
+     * @return the index of the row of the entry
+     */
+    long getRow(final int entry) {
+        return m_rows[entry];
+    }
+
+    /**
+     * @param entry an entry returned by {@link #findEntry(long)}
+     * @return the byte offset in the file at which the row of the entry starts
+     */
+    long getOffset(final int entry) {
+        return m_offsets[entry];
+    }
+
+    /**
+     * Saves the index to the meta information of the table.
+     *
+     * @param settings to save to
+     */
+    void saveSettings(final NodeSettingsWO settings) {
+        settings.addLongArray(CFG_ROW_OFFSETS_ROWS, Arrays.copyOf(m_rows, m_size));
+        settings.addLongArray(CFG_ROW_OFFSETS, Arrays.copyOf(m_offsets, m_size));
+    }
+
+    /**
+     * Loads an index saved by {@link #saveSettings(NodeSettingsWO)}.
+     *
+     * @param settings to load from
+     * @return the index or null if the table has been written without an index (e.g., by an earlier version) or the
+     *         table is empty
+     */
+    static RowOffsetIndex loadSettings(final NodeSettingsRO settings) {
+        final long[] rows = settings.getLongArray(CFG_ROW_OFFSETS_ROWS, (long[])null);
+        final long[] offsets = settings.getLongArray(CFG_ROW_OFFSETS, (long[])null);
+        if (rows == null || offsets == null || rows.length == 0 || rows.length != offsets.length || rows[0] != 0) {
+            return null;
+        }
+        return new RowOffsetIndex(1, rows, offsets, rows.length);
+    }
+}
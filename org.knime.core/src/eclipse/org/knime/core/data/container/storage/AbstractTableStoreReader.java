@@ -210,9 +210,22 @@ public TableStoreCloseableRowIterator iteratorWithFilter(final TableFilter filte
      */
     @SuppressWarnings("resource")
     public TableStoreCloseableRowIterator iteratorWithFilter(final TableFilter filter, final ExecutionMonitor exec) {
-        final TableStoreCloseableRowIterator delegate = iterator();
         final long size = getBuffer() == null ? Long.MAX_VALUE : getBuffer().size();
-        final FilterDelegateRowIterator filterDelegate = new FilterDelegateRowIterator(delegate, filter, size, exec);
+        final long fromIndex = filter.getFromRowIndex().orElse(0L);
+        final TableStoreCloseableRowIterator seekingDelegate =
+            fromIndex > 0 && fromIndex < size ? iteratorMaterializingFrom(filter, fromIndex) : null;
+        final TableStoreCloseableRowIterator delegate;
+        final FilterDelegateRowIterator filterDelegate;
+        if (seekingDelegate != null) {
+            // the delegate starts at the first row of the range, so the range has to be shifted accordingly
+            final TableFilter.Builder offsetFilter = new TableFilter.Builder(filter).withFromRowIndex(0);
+            filter.getToRowIndex().ifPresent(toIndex -> offsetFilter.withToRowIndex(toIndex - fromIndex));
+            delegate = seekingDelegate;
+            filterDelegate = new FilterDelegateRowIterator(delegate, offsetFilter.build(), size - fromIndex, exec);
+        } else {
+            delegate = iteratorMaterializing(filter);
+            filterDelegate = new FilterDelegateRowIterator(delegate, filter, size, exec);
+        }
 
         return new TableStoreCloseableRowIterator() {
             @Override
@@ -239,6 +252,37 @@ public boolean performClose() throws IOException {
         };
     }
 
+    /**
+     * Returns a row iterator over all rows of the table that only needs to materialize the columns selected by the
+     * argument filter. Cells of other columns may be {@link org.knime.core.data.UnmaterializedCell}s. The row range of
+     * the filter is applied by {@link #iteratorWithFilter(TableFilter, ExecutionMonitor)}. The default implementation
+     * returns {@link #iterator()}, i.e., it materializes all columns. Formats that store columns separately can
+     * override it to skip reading the unneeded columns.
+     *
+     * @param filter the filter, not null
+     * @return row iterator
+     * @since 4.3
+     */
+    protected TableStoreCloseableRowIterator iteratorMaterializing(final TableFilter filter) {
+        return iterator();
+    }
+
+    /**
+     * Returns a row iterator like {@link #iteratorMaterializing(TableFilter)} whose first row is the row with the given
+     * index, or null if the format can't start reading at an arbitrary row. In the latter case (the default), the rows
+     * before the given index are read and discarded by {@link #iteratorWithFilter(TableFilter, ExecutionMonitor)}.
+     * Formats that can locate rows in their files without reading the preceding rows should override this method.
+     *
+     * @param filter the filter, not null
+     * @param fromIndex the index of the first row to return, positive and less than the number of rows in the table
+     * @return row iterator starting at the given row or null
+     * @since 4.3
+     */
+    protected TableStoreCloseableRowIterator iteratorMaterializingFrom(final TableFilter filter,
+        final long fromIndex) {
+        return null;
+    }
+
     /**
      * Reads the cell class info shortcuts array from the node settings for container versions 6 and lower.
      *
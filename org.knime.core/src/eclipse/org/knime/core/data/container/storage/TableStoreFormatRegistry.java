@@ -107,9 +107,9 @@ private static TableStoreFormatRegistry createInstance() {
                     // sort formats so that the "KNIME standard" format comes first.
                     if (Objects.equals(a, b)) {
                         return 0;
-                    } else if (DefaultTableStoreFormat.class.getName().equals(a)) {
+                    } else if (DefaultTableStoreFormat.class.getSimpleName().equals(a)) {
                         return -1;
-                    } else if (DefaultTableStoreFormat.class.getName().equals(b)) {
+                    } else if (DefaultTableStoreFormat.class.getSimpleName().equals(b)) {
                         return +1;
                     } else {
                         return a.compareTo(b);
@@ -48,12 +48,14 @@
 package org.knime.core.data.convert.datacell;
 
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellFactory;
 import org.knime.core.data.DataType;
 import org.knime.core.data.MissingCell;
 import org.knime.core.data.convert.DataCellFactoryMethod;
+import org.knime.core.data.convert.util.LambdaUtil;
 import org.knime.core.data.filestore.FileStoreFactory;
 
 /**
@@ -72,6 +74,9 @@
 
     private final Method m_method;
 
+    /** Creates converters calling {@link #m_method} directly on a given factory instance. */
+    private final Function<F, JavaToDataCellConverter<S>> m_converterCreator;
+
     private final Class<S> m_srcType;
 
     private final DataType m_destDataType;
@@ -103,6 +108,7 @@
         assert DataCell.class.isAssignableFrom(method.getReturnType());
 
         m_method = method;
+        m_converterCreator = LambdaUtil.createFactoryMethodConverter(method);
         m_srcType = sourceType;
         m_destDataType = destDataType;
         m_metaType = type;
@@ -119,25 +125,9 @@ public JavaToDataCellConverter<S> create(final FileStoreFactory fileStoreFactory
         final F finalFactory = (F)m_destDataType.getCellFactoryFor(fileStoreFactory).orElseThrow(
             () -> new RuntimeException("No DataCellFactory found for DataType: " + m_destDataType.getName()));
 
-        return new JavaToDataCellConverter<S>() {
-            @Override
-            public DataCell convert(final S source) throws Exception {
-                if (source == null) {
-                    return MISSING;
-                }
-
-                /*
-                 * After about default 15 of these calls (can be set by
-                 * sun.reflect.inflationThreshold), this should be optimized via
-                 * "reflection inflation" which is enabled by default (ensure
-                 * sun.reflect.noInflation is false)
-                 *
-                 * The following is equivalent to
-                 * m_factory.factoryMethod(source)
-                 */
-                return (DataCell)m_method.invoke(finalFactory, source);
-            }
-        };
+        // equivalent to source -> finalFactory.factoryMethod(source), but without reflection
+        final JavaToDataCellConverter<S> converter = m_converterCreator.apply(finalFactory);
+        return source -> source == null ? MISSING : converter.convert(source);
     }
 
     @Override
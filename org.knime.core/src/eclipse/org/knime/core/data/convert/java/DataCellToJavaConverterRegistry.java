@@ -74,6 +74,7 @@
 import org.knime.core.data.convert.DataValueAccessMethod;
 import org.knime.core.data.convert.datacell.JavaToDataCellConverterRegistry;
 import org.knime.core.data.convert.util.ClassUtil;
+import org.knime.core.data.convert.util.LambdaUtil;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.util.Pair;
 
@@ -505,14 +506,15 @@ private void parseAnnotations() {
         }
     }
 
-    private <T> void parseAnnotation(final Class<? extends DataValue> valueClass, final Method method,
+    private <S extends DataValue, T> void parseAnnotation(final Class<S> valueClass, final Method method,
         final DataValueAccessMethod annotation) {
 
         try {
             final Class<T> javaType = (Class<T>)ClassUtil.ensureObjectType(method.getReturnType());
             final String name = annotation.name();
+            // calls the method directly instead of via reflection, equivalent to (value) -> value.method()
             final DataCellToJavaConverterFactory<?, ?> factory = new SimpleDataCellToJavaConverterFactory<>(valueClass,
-                javaType, (value) -> (T)method.invoke(value), name);
+                javaType, LambdaUtil.<S, T> createAccessMethodConverter(valueClass, method), name);
 
             // Check name of factory
             if (!validateFactoryName(factory)) {
@@ -0,0 +1,241 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.convert.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.convert.datacell.JavaToDataCellConverter;
+import org.knime.core.data.convert.java.DataCellToJavaConverter;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Utility methods to turn methods found via annotations into converters that call the method directly instead of via
+ * {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * Where possible, the converters are generated with the {@link LambdaMetafactory}, i.e., they are implementations of
+ * the functional interface just like a lambda expression calling the method, which the JIT can inline. This requires
+ * that all involved types are visible to the class loader of this class, otherwise an (unfolded)
+ * {@link MethodHandle} is used and if the method cannot be accessed that way either, the converters fall back to
+ * reflection.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class LambdaUtil {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(LambdaUtil.class);
+
+    /** Needs private access to this class to define lambda classes. */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private LambdaUtil() {
+        // no instantiation
+    }
+
+    /**
+     * Creates a converter which calls the given method without arguments on the data value to convert, e.g.,
+     * <code>(IntValue value) -> value.getIntValue()</code>. Primitive return values are boxed.
+     *
+     * @param valueClass the data value type declaring or inheriting the method
+     * @param method a public, non-static method without parameters, such as one annotated with
+     *            {@link org.knime.core.data.convert.DataValueAccessMethod}
+     * @return a converter calling the method
+     * @param <S> the data value type
+     * @param <D> the boxed return type of the method
+     */
+    @SuppressWarnings("unchecked")
+    public static <S extends DataValue, D> DataCellToJavaConverter<S, D>
+        createAccessMethodConverter(final Class<S> valueClass, final Method method) {
+        final Class<?> returnType = ClassUtil.ensureObjectType(method.getReturnType());
+        if (isVisible(valueClass, method.getDeclaringClass(), method.getReturnType())) {
+            try {
+                final MethodHandle impl = LOOKUP.unreflect(method);
+                final CallSite site = LambdaMetafactory.metafactory(LOOKUP, "convert",
+                    MethodType.methodType(DataCellToJavaConverter.class),
+                    MethodType.methodType(Object.class, DataValue.class), impl,
+                    MethodType.methodType(returnType, valueClass));
+                return (DataCellToJavaConverter<S, D>)site.getTarget().invoke();
+            } catch (Throwable t) {
+                LOGGER.debug("Could not create lambda for " + method + ", using method handle: " + t.getMessage(), t);
+            }
+        }
+        try {
+            final MethodHandle handle =
+                LOOKUP.unreflect(method).asType(MethodType.methodType(Object.class, DataValue.class));
+            return value -> {
+                try {
+                    return (D)handle.invokeExact((DataValue)value);
+                } catch (Throwable t) {
+                    throw propagate(t);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            LOGGER.debug("Could not access " + method + " via method handle, using reflection: " + e.getMessage(), e);
+        }
+        return value -> {
+            try {
+                return (D)method.invoke(value);
+            } catch (InvocationTargetException e) {
+                throw propagate(e.getCause());
+            }
+        };
+    }
+
+    /**
+     * Creates a function that, given an instance of the class declaring the method, returns a converter which calls
+     * the method on that instance with the object to convert as argument, e.g.,
+     * <code>factory -> (Integer source) -> factory.createCell(source)</code>. Primitive parameters are unboxed. If
+     * the method is static, the instance is ignored and the same converter is returned for all instances.
+     *
+     * @param method a public method with one parameter returning a {@link DataCell}, such as one annotated with
+     *            {@link org.knime.core.data.convert.DataCellFactoryMethod}
+     * @return a function creating converters bound to a receiver
+     * @param <F> the type of the receiver
+     * @param <S> the boxed parameter type of the method
+     */
+    @SuppressWarnings("unchecked")
+    public static <F, S> Function<F, JavaToDataCellConverter<S>> createFactoryMethodConverter(final Method method) {
+        final Class<?> receiverType = method.getDeclaringClass();
+        final Class<?> parameterType = method.getParameterTypes()[0];
+        final boolean isStatic = Modifier.isStatic(method.getModifiers());
+        if (isVisible(receiverType, parameterType, method.getReturnType())) {
+            try {
+                final MethodHandle impl = LOOKUP.unreflect(method);
+                final CallSite site = LambdaMetafactory.metafactory(LOOKUP, "convert",
+                    isStatic ? MethodType.methodType(JavaToDataCellConverter.class)
+                        : MethodType.methodType(JavaToDataCellConverter.class, receiverType),
+                    MethodType.methodType(DataCell.class, Object.class), impl,
+                    MethodType.methodType(method.getReturnType(), ClassUtil.ensureObjectType(parameterType)));
+                if (isStatic) {
+                    final JavaToDataCellConverter<S> converter = (JavaToDataCellConverter<S>)site.getTarget().invoke();
+                    return receiver -> converter;
+                }
+                // the factory handle creates a new converter instance for each receiver
+                final MethodHandle factory =
+                    site.getTarget().asType(MethodType.methodType(JavaToDataCellConverter.class, Object.class));
+                return receiver -> {
+                    try {
+                        return (JavaToDataCellConverter<S>)factory.invokeExact((Object)receiver);
+                    } catch (Throwable t) {
+                        throw new IllegalStateException("Could not create converter for " + method, t);
+                    }
+                };
+            } catch (Throwable t) {
+                LOGGER.debug("Could not create lambda for " + method + ", using method handle: " + t.getMessage(), t);
+            }
+        }
+        try {
+            final MethodHandle impl = LOOKUP.unreflect(method);
+            final MethodHandle handle = (isStatic ? MethodHandles.dropArguments(impl, 0, Object.class) : impl)
+                .asType(MethodType.methodType(DataCell.class, Object.class, Object.class));
+            return receiver -> source -> {
+                try {
+                    return (DataCell)handle.invokeExact((Object)receiver, (Object)source);
+                } catch (Throwable t) {
+                    throw propagate(t);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            LOGGER.debug("Could not access " + method + " via method handle, using reflection: " + e.getMessage(), e);
+        }
+        return receiver -> source -> {
+            try {
+                return (DataCell)method.invoke(receiver, source);
+            } catch (InvocationTargetException e) {
+                throw propagate(e.getCause());
+            }
+        };
+    }
+
+    /**
+     * Rethrows errors and returns exceptions as they are, such that all variants of the converters throw the same
+     * exceptions as the called method.
+     */
+    private static Exception propagate(final Throwable t) {
+        if (t instanceof Error) {
+            throw (Error)t;
+        }
+        return t instanceof Exception ? (Exception)t : new IllegalStateException(t);
+    }
+
+    /**
+     * Lambda classes are defined in this class's class loader, which needs to resolve all types referenced by the
+     * generated code to the same classes, e.g., types from other bundles may not be visible.
+     */
+    private static boolean isVisible(final Class<?>... types) {
+        final ClassLoader loader = LambdaUtil.class.getClassLoader();
+        for (final Class<?> type : types) {
+            if (type.isPrimitive()) {
+                continue;
+            }
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+            try {
+                if (Class.forName(type.getName(), false, loader) != type) {
+                    return false;
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -48,12 +48,21 @@
  */
 package org.knime.core.data.join;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
-import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.join.JoinSpecification.InputTable;
 import org.knime.core.data.join.JoinSpecification.OutputRowOrder;
 import org.knime.core.data.join.results.JoinResult;
@@ -68,6 +77,10 @@
 import org.knime.core.node.CanceledExecutionException.CancelChecker;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+import gnu.trove.list.array.TLongArrayList;
 
 /**
  * Implements a nested loop join that can have extremely small memory footprint, at the cost of additional iterations
@@ -101,8 +114,20 @@
 @SuppressWarnings("javadoc")
 class BlockHashJoin extends JoinImplementation {
 
+    /** The number of join results a probe worker collects before handing them over to the join results. */
+    static final int PROBE_BATCH_SIZE = 1024;
+
+    /** The default for {@link #m_minProbeRowsPerThread}. */
+    static final int DEFAULT_MIN_PROBE_ROWS_PER_THREAD = 10_000;
+
     final boolean m_extractRowOffsets;
 
+    /**
+     * In the parallel probe mode, each worker processes at least this many rows of the probe input. Parallelization
+     * doesn't pay off for small tables.
+     */
+    int m_minProbeRowsPerThread = DEFAULT_MIN_PROBE_ROWS_PER_THREAD;
+
     /**
      * @param joinSpecification
      * @param exec
@@ -170,7 +195,7 @@ <T extends Output> JoinResult<T> join(final JoinResult<T> results) throws Cancel
 
         // this is an incomplete index, as it represents only the hash rows indexed in one pass over the probe input
         final Supplier<HashIndex> newHashIndex =
-            () -> new HashIndex(m_joinSpecification, results, hashSide, m_progress::isCanceled);
+            () -> HashIndex.create(m_joinSpecification, results, hashSide, m_progress::isCanceled);
 
         // this may be a partial index (if memory runs low) and thus may be replaced with an index covering the next
         // rows of the hash input
@@ -189,9 +214,7 @@ <T extends Output> JoinResult<T> join(final JoinResult<T> results) throws Cancel
                     rowOffset = OrderedRow.getOffset(hashRow);
                 }
 
-                DataCell[] joinAttributeValues = JoinTuple.get(hashSettings, hashRow);
-
-                index.addHashRow(joinAttributeValues, hashRow, rowOffset);
+                index.addHashRow(hashRow, rowOffset);
 
                 // if memory is running low, do a pass over the probe input to be able to clear the hash index
                 boolean memoryLow = m_progress.isMemoryLow(100);
@@ -203,7 +226,7 @@ <T extends Output> JoinResult<T> join(final JoinResult<T> results) throws Cancel
                     results.lowMemory();
 
                     // process probe input once to be able to clear out the current hash index
-                    singlePass(probe, index, unmatchedHashRows);
+                    singlePass(probe, index, results, unmatchedHashRows);
                     index = newHashIndex.get();
                 }
 
@@ -216,23 +239,202 @@ <T extends Output> JoinResult<T> join(final JoinResult<T> results) throws Cancel
         } // close hash input row iterator
 
         // process pending hash index contents
-        singlePass(probe, index, unmatchedHashRows);
+        singlePass(probe, index, results, unmatchedHashRows);
 
         return results;
 
     }
 
-    private void singlePass(final BufferedDataTable probe, final HashIndex partialIndex, final RowHandlerCancelable unmatchedHashRows)
-        throws CanceledExecutionException {
+    private void singlePass(final BufferedDataTable probe, final HashIndex partialIndex, final JoinResult<?> results,
+        final RowHandlerCancelable unmatchedHashRows) throws CanceledExecutionException {
 
         getProgress().setMessage("Single pass over larger table.");
 
-        CancelChecker checkCanceled = CancelChecker.checkCanceledPeriodicallyWithProgress(m_exec, 100, probe.size());
-        JoinResult.enumerateWithResources(probe, extractOffsets(partialIndex::joinSingleRow), checkCanceled);
+        if (isParallelProbe(probe.size())) {
+            parallelPass(probe, partialIndex, results);
+        } else {
+            CancelChecker checkCanceled =
+                CancelChecker.checkCanceledPeriodicallyWithProgress(m_exec, 100, probe.size());
+            JoinResult.enumerateWithResources(probe, extractOffsets(partialIndex::joinSingleRow), checkCanceled);
+        }
 
         partialIndex.forUnmatchedHashRows(unmatchedHashRows);
     }
 
+    /**
+     * @param probeRows the number of rows in the probe input
+     * @return whether a pass over the probe input is split into row ranges that are processed concurrently, which is
+     *         the case if there are enough rows for at least two threads
+     */
+    boolean isParallelProbe(final long probeRows) {
+        return getNumProbeThreads() > 1 && probeRows >= 2L * m_minProbeRowsPerThread;
+    }
+
+    /**
+     * Splits the probe input into row ranges that are joined concurrently against the (read-only) hash index by
+     * workers of the {@link KNIMEConstants#GLOBAL_THREAD_POOL}. The workers hand their results over to the calling
+     * thread in batches, such that the {@link JoinResult} is only accessed by a single thread. The output order
+     * guarantees are unaffected, since the results are sorted by their row offsets afterwards, if required.
+     */
+    private void parallelPass(final BufferedDataTable probe, final HashIndex index, final JoinResult<?> results)
+        throws CanceledExecutionException {
+
+        final long size = probe.size();
+        final int numRanges = (int)Math.min(getNumProbeThreads(), size / m_minProbeRowsPerThread);
+        final long rangeSize = (size + numRanges - 1) / numRanges;
+
+        // bounded to apply back pressure to the workers in case adding results is slower than probing
+        final BlockingQueue<ProbeResults> queue = new ArrayBlockingQueue<>(2 * numRanges);
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numRanges);
+        final List<Future<BitSet>> futures = new ArrayList<>(numRanges);
+        for (int i = 0; i < numRanges; i++) {
+            final long from = i * rangeSize;
+            final long to = Math.min(size, from + rangeSize) - 1;
+            futures.add(pool.enqueue(() -> probeRange(probe, from, to, index, queue)));
+        }
+
+        final Callable<Void> collect = () -> {
+            collectProbeResults(futures, queue, index, results, size);
+            return null;
+        };
+
+        try {
+            // don't block a slot of the thread pool while waiting for the workers
+            final ThreadPool currentPool = ThreadPool.currentPool();
+            if (currentPool != null) {
+                currentPool.runInvisible(collect);
+            } else {
+                collect.call();
+            }
+        } catch (Exception e) {
+            futures.forEach(f -> f.cancel(true));
+            Throwable cause = e;
+            while (cause instanceof ExecutionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new CanceledExecutionException("Interrupted while joining the larger table.");
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Joins a range of the probe input against the hash index. Runs in a worker thread.
+     *
+     * @param from index of the first row to process
+     * @param to index of the last row to process (inclusive)
+     * @param queue where to put the results
+     * @return the internal offsets of the hash rows that have been matched, see
+     *         {@link HashIndex#markMatched(BitSet)}
+     */
+    private BitSet probeRange(final BufferedDataTable probe, final long from, final long to, final HashIndex index,
+        final BlockingQueue<ProbeResults> queue) throws CanceledExecutionException, InterruptedException {
+
+        final BitSet matchedHashRows = new BitSet();
+        ProbeResults batch = new ProbeResults();
+        long offset = from;
+        try (CloseableRowIterator rows = probe.filter(TableFilter.filterRangeOfRows(from, to)).iterator()) {
+            while (rows.hasNext()) {
+                final DataRow probeRow = rows.next();
+                final long probeRowOffset = m_extractRowOffsets ? OrderedRow.getOffset(probeRow) : offset;
+                if (!index.matchSingleRow(probeRow, probeRowOffset, batch::addMatch, matchedHashRows)) {
+                    batch.addUnmatched(probeRow, probeRowOffset);
+                }
+                batch.m_numProbeRows++;
+                if (batch.size() >= PROBE_BATCH_SIZE) {
+                    queue.put(batch);
+                    batch = new ProbeResults();
+                }
+                offset++;
+            }
+        }
+        queue.put(batch);
+        return matchedHashRows;
+    }
+
+    /**
+     * Adds the results of the probe workers to the join results until all workers are done. Runs in the thread that
+     * executes the join.
+     */
+    private void collectProbeResults(final List<Future<BitSet>> futures, final BlockingQueue<ProbeResults> queue,
+        final HashIndex index, final JoinResult<?> results, final long size)
+        throws CanceledExecutionException, InterruptedException, ExecutionException {
+
+        final InputTable probeSide = HashIndex.smallerTable(m_joinSpecification).other();
+        final RowHandlerCancelable unmatchedProbeRows = results.unmatched(probeSide);
+        long processed = 0;
+        boolean done;
+        do {
+            done = futures.stream().allMatch(Future::isDone);
+            ProbeResults batch;
+            while ((batch = queue.poll(10, TimeUnit.MILLISECONDS)) != null) {
+                m_progress.getCancelChecker().checkCanceled();
+                batch.addTo(results, unmatchedProbeRows);
+                processed += batch.m_numProbeRows;
+                m_exec.setProgress(processed / (double)size);
+            }
+            m_progress.getCancelChecker().checkCanceled();
+        } while (!done);
+
+        for (Future<BitSet> future : futures) {
+            index.markMatched(future.get());
+        }
+    }
+
+    /**
+     * Join results of a probe worker that are waiting to be added to the {@link JoinResult}.
+     */
+    private static final class ProbeResults {
+
+        private final List<DataRow> m_matchLeft = new ArrayList<>();
+
+        private final TLongArrayList m_matchLeftOffsets = new TLongArrayList();
+
+        private final List<DataRow> m_matchRight = new ArrayList<>();
+
+        private final TLongArrayList m_matchRightOffsets = new TLongArrayList();
+
+        private final List<DataRow> m_unmatched = new ArrayList<>();
+
+        private final TLongArrayList m_unmatchedOffsets = new TLongArrayList();
+
+        /** The number of probe rows that have been processed to create these results, for progress reporting. */
+        private long m_numProbeRows;
+
+        void addMatch(final DataRow left, final long leftOrder, final DataRow right, final long rightOrder) {
+            m_matchLeft.add(left);
+            m_matchLeftOffsets.add(leftOrder);
+            m_matchRight.add(right);
+            m_matchRightOffsets.add(rightOrder);
+        }
+
+        void addUnmatched(final DataRow probeRow, final long probeRowOffset) {
+            m_unmatched.add(probeRow);
+            m_unmatchedOffsets.add(probeRowOffset);
+        }
+
+        int size() {
+            return m_matchLeft.size() + m_unmatched.size();
+        }
+
+        void addTo(final JoinResult<?> results, final RowHandlerCancelable unmatchedProbeRows)
+            throws CanceledExecutionException {
+            for (int i = 0; i < m_matchLeft.size(); i++) {
+                results.addMatch(m_matchLeft.get(i), m_matchLeftOffsets.get(i), m_matchRight.get(i),
+                    m_matchRightOffsets.get(i));
+            }
+            for (int i = 0; i < m_unmatched.size(); i++) {
+                unmatchedProbeRows.accept(m_unmatched.get(i), m_unmatchedOffsets.get(i));
+            }
+        }
+    }
+
     /**
      * Check that both input tables are present. If only one table is present, output the rows of the other table as
      * unmatched rows.
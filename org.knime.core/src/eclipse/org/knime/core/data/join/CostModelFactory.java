@@ -48,14 +48,33 @@
  */
 package org.knime.core.data.join;
 
+import org.knime.core.data.join.JoinSpecification.InputTable;
+import org.knime.core.data.join.JoinerFactory.JoinAlgorithm;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.RowFootprint;
+import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
 
 /**
  *
- * Selects a join implementation according to data distribution, size, join type, and other table specifications.
- * This implements a rudimentary cost model that estimates which join implementation is the fastest.
- * Could also take into account the available memory
+ * Selects a join implementation according to data size, join type, and available memory. This implements a
+ * rudimentary cost model that estimates the heap space needed to index the smaller table in memory and compares it to
+ * the current heap space headroom:
+ * <ul>
+ * <li>Disjunctive joins are only supported by the {@link BlockHashJoin}.</li>
+ * <li>If the index is expected to fit into memory, the {@link BlockHashJoin} joins the tables in a single pass.</li>
+ * <li>If a single partition of the index is expected to fit into memory, the {@link HybridHashJoin} partitions the
+ * tables to disk to avoid multiple passes over the larger table.</li>
+ * <li>Otherwise, both tables are far larger than memory and the {@link SortMergeJoin} sorts them externally and merges
+ * them in a single pass.</li>
+ * </ul>
+ * The join type (which matches and unmatched rows are output) does not influence the choice: all implementations
+ * support every join type, and the indexed rows are the same for each join type, namely the materialized columns
+ * (join and include columns) of the smaller table. Outputting unmatched rows only adds little bookkeeping, e.g., a
+ * bit per indexed row to remember the matched hash rows, which is negligible compared to
+ * {@link #INDEX_OVERHEAD_BYTES}. The output itself goes to data containers, which write rows to disk themselves.
  *
  * @author Carl Witt, KNIME AG, Zurich, Switzerland
  * @since 4.2
@@ -63,12 +82,102 @@
  */
 final class CostModelFactory implements JoinerFactory {
 
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CostModelFactory.class);
+
+    /**
+     * Estimated bytes per indexed row in the {@link HashIndex}, i.e., hash map entry, join tuple, row list, internal
+     * offsets.
+     */
+    static final long INDEX_OVERHEAD_BYTES = 128;
+
+    /**
+     * Only join in memory if the estimated index size is below this fraction of the heap space headroom. The estimates
+     * are rough and the output containers need memory, too.
+     */
+    static final double HEADROOM_SAFETY_FRACTION = 0.5;
+
     private CostModelFactory() {}
 
     static final CostModelFactory INSTANCE = new CostModelFactory();
 
     @Override
     public JoinImplementation create(final JoinSpecification settings, final ExecutionContext exec) throws InvalidSettingsException {
-        return new BlockHashJoin(settings, exec);
+        return choose(settings).getFactory().create(settings, exec);
+    }
+
+    /**
+     * @param settings the join specification, including the input tables
+     * @return the join algorithm that is expected to be the fastest for the given join, never
+     *         {@link JoinAlgorithm#AUTO}
+     */
+    static JoinAlgorithm choose(final JoinSpecification settings) {
+        return choose(settings, getHeadroom());
+    }
+
+    /**
+     * @param settings the join specification, including the input tables
+     * @param headroom the number of bytes that can be allocated before memory is considered low
+     * @return the join algorithm that is expected to be the fastest for the given join and heap space headroom
+     */
+    static JoinAlgorithm choose(final JoinSpecification settings, final long headroom) {
+
+        if (!settings.isConjunctive()) {
+            LOGGER.debug("Using block hash join: disjunctive join conditions can not be hash partitioned.");
+            return JoinAlgorithm.NESTED_LOOP;
+        }
+
+        final InputTable hashSide = HashIndex.smallerTable(settings);
+        final JoinTableSettings hashSettings = settings.getSettings(hashSide);
+
+        // if the table sizes are unknown, just start in memory, the block hash join can deal with low memory
+        if (!hashSettings.getTable().isPresent()) {
+            LOGGER.debug("Using block hash join: input table sizes are unknown.");
+            return JoinAlgorithm.NESTED_LOOP;
+        }
+
+        final BufferedDataTable hashTable = hashSettings.getTable().get();
+        final long indexBytes = estimateIndexBytes(hashSettings);
+
+        if (indexBytes <= HEADROOM_SAFETY_FRACTION * headroom) {
+            LOGGER.debugWithFormat(
+                "Using block hash join: index for %s table (%d rows) is estimated at %d MB, %d MB heap space available.",
+                hashSide, hashTable.size(), indexBytes >> 20, headroom >> 20);
+            return JoinAlgorithm.NESTED_LOOP;
+        }
+
+        if (indexBytes <= HybridHashJoin.DEFAULT_NUM_PARTITIONS * HEADROOM_SAFETY_FRACTION * headroom) {
+            LOGGER.debugWithFormat(
+                "Using hybrid hash join: index for %s table (%d rows) is estimated at %d MB, "
+                    + "but only %d MB heap space are available.",
+                hashSide, hashTable.size(), indexBytes >> 20, headroom >> 20);
+            return JoinAlgorithm.HYBRID_HASH;
+        }
+
+        // the partitions of the hybrid hash join would have to be partitioned again
+        LOGGER.debugWithFormat(
+            "Using sort-merge join: index for %s table (%d rows) is estimated at %d MB, "
+                + "which is more than %d times the available %d MB heap space.",
+            hashSide, hashTable.size(), indexBytes >> 20, HybridHashJoin.DEFAULT_NUM_PARTITIONS, headroom >> 20);
+        return JoinAlgorithm.SORT_MERGE;
+    }
+
+    /**
+     * @return the number of bytes that can be allocated before the join implementations consider memory to be low, see
+     *         {@link JoinImplementation#DEFAULT_MEMORY_LIMIT_FRACTION}
+     */
+    static long getHeadroom() {
+        final long limit = (long)(MemoryAlertSystem.getMaximumMemory() * JoinImplementation.DEFAULT_MEMORY_LIMIT_FRACTION);
+        return Math.max(0, limit - MemoryAlertSystem.getUsedMemory());
+    }
+
+    /**
+     * @param settings the settings of the table to index, the table must be present
+     * @return the estimated heap space needed to index all rows of the table in a {@link HashIndex}, based on the
+     *         {@link RowFootprint} of the materialized columns of a sample of its rows
+     */
+    static long estimateIndexBytes(final JoinTableSettings settings) {
+        final BufferedDataTable table = settings.getTable().get();
+        return RowFootprint.estimate(table, settings.m_materializeColumnIndices)
+            + table.size() * INDEX_OVERHEAD_BYTES;
     }
 }
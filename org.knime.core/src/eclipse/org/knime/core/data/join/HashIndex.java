@@ -79,6 +79,20 @@
  */
 class HashIndex {
 
+    /**
+     * Receives a pair of matching rows.
+     */
+    @FunctionalInterface
+    interface MatchHandler {
+        /**
+         * @param left a row from the left input table
+         * @param leftOrder sort order of the left row, e.g., row offset in the left table
+         * @param right a row from the right input table
+         * @param rightOrder analogous
+         */
+        void accept(DataRow left, long leftOrder, DataRow right, long rightOrder);
+    }
+
     /**
      * Creates a new list of rows in case there's none already associated to a certain combination of join column values
      * in {@link #addHashRow(JoinTuple, DataRow, long)}. Must produce a new instance of the type the {@link #m_indexes}
@@ -92,19 +106,21 @@ class HashIndex {
     /**
      * The hash rows in order of their addition to the index (which is hash input row order). <br/>
      * This is used to flush hash rows to disk in the row order of the hash input, which allows us to do an n-way merge
-     * later on. This is also used to access unmatched hash rows via their offset in {@link #m_matched}.
+     * later on. This is also used to access unmatched hash rows via their offset in {@link #m_matched}. Null if a
+     * subclass stores the rows itself, see {@link #getRow(int)}.
      */
-    private final List<DataRow> m_rows = new ArrayList<>();
+    private final List<DataRow> m_rows;
 
     /**
      * The offset of the i-th data row in {@link #m_rows}.
      */
-    private final TLongArrayList m_rowOffsets = new TLongArrayList();
+    final TLongArrayList m_rowOffsets = new TLongArrayList();
 
     /**
      * Makes hash input rows accessible via join column value combinations. For each disjunctive clause, a separate
      * index is needed. The number of indexes is 1 if the join is conjunctive {@link JoinSpecification#isConjunctive()},
      * or disjunctive with a single conjunctive clause (i.e., user selects match any with a single column pair A=X).
+     * Null if a subclass provides its own lookup structures.
      */
     private final List<TCustomHashMap<DataCell[], List<DataRow>>> m_indexes;
 
@@ -112,7 +128,7 @@ class HashIndex {
      * Whether to remember which hash rows have had join partners in the probe table to be able to output unmatched hash
      * rows.
      */
-    private final boolean m_trackMatchedHashRows;
+    final boolean m_trackMatchedHashRows;
 
     /**
      * The i-th bit stores whether the i-th entry of m_rows has had a join partner in the probe table so far, as found
@@ -125,11 +141,12 @@ class HashIndex {
      * been matched to a probe row, by setting the corresponding bit in {@link #m_matched}.
      * This avoids wrapping DataRows in another object that holds the data row's offset in its source table.
      * Alternatively, one could also introduce another map from DataRow to long but these internal offsets are also
-     * convenient for addressing in {@link #m_matched} as they are more compact.
+     * convenient for addressing in {@link #m_matched} as they are more compact. Null if a subclass provides its own
+     * lookup structures.
      */
     private final TObjectIntCustomHashMap<DataRow> m_hashrowInternalOffsets;
 
-    private final JoinTableSettings m_probeSettings;
+    final JoinTableSettings m_probeSettings;
 
     private final JoinSpecification m_joinSpecification;
 
@@ -137,11 +154,11 @@ class HashIndex {
      * Evaluated to check whether the execution was canceled. The supplier might ignore every n-th evaluation for
      * performance reasons.
      */
-    private final CancelChecker m_checkCanceled;
+    final CancelChecker m_checkCanceled;
 
     private final Comparator<DataRow> m_compareByRowOffset;
 
-    private InputTable m_hashSide;
+    final InputTable m_hashSide;
 
     /**
      *
@@ -165,9 +182,21 @@ class HashIndex {
      *            {@link #forUnmatchedHashRows(RowHandlerCancelable)} and (in extreme cases)
      *            {@link #joinSingleRow(DataRow, long)}
      */
-    @SuppressWarnings("serial")
     HashIndex(final JoinSpecification joinSpecification, final JoinResult joinContainer,
         final JoinSpecification.InputTable hashSide, final CancelChecker checkCanceled) {
+        this(joinSpecification, joinContainer, hashSide, checkCanceled, true);
+    }
+
+    /**
+     * @param lookupStructures whether to allocate the row storage and the {@link DataCell} array based lookup
+     *            structures. If false, the subclass has to store the rows and look them up itself, by overriding the
+     *            methods that add, match, and retrieve rows, see {@link SingleColumnHashIndex}. Only row offsets and
+     *            matched rows are then tracked by this class.
+     */
+    @SuppressWarnings("serial")
+    HashIndex(final JoinSpecification joinSpecification, final JoinResult joinContainer,
+        final JoinSpecification.InputTable hashSide, final CancelChecker checkCanceled,
+        final boolean lookupStructures) {
 
         m_joinSpecification = joinSpecification;
         m_hashSide = hashSide;
@@ -179,12 +208,23 @@ class HashIndex {
         m_trackMatchedHashRows = m_joinSpecification.getSettings(hashSide).m_retainUnmatched;
         m_probeSettings = m_joinSpecification.getSettings(probeSide);
 
-        // row offsets and unmatched rows
+        // unmatched rows
+        m_matched = m_trackMatchedHashRows ? new BitSet() : null;
+
+        if (!lookupStructures) {
+            m_rows = null;
+            m_hashrowInternalOffsets = null;
+            m_indexes = null;
+            m_compareByRowOffset = null;
+            return;
+        }
+
+        // row offsets
+        m_rows = new ArrayList<>();
         m_hashrowInternalOffsets = new TObjectIntCustomHashMap<>(new HashingStrategy<DataRow>() {
             @Override public int computeHashCode(final DataRow object) { return object.getKey().hashCode(); }
             @Override public boolean equals(final DataRow o1, final DataRow o2) { return o1 == o2; }
         });
-        m_matched = m_trackMatchedHashRows ? new BitSet() : null;
 
         // index building
         int numIndexes = m_joinSpecification.numConjunctiveGroups();
@@ -209,6 +249,25 @@ class HashIndex {
 
     }
 
+    /**
+     * Creates the index that fits the join best. If the join is conjunctive and uses a single pair of join columns that
+     * both hold int, long, or string values (or the row keys), a {@link SingleColumnHashIndex} is used that keys rows
+     * by primitive values instead of {@link DataCell} arrays. Otherwise, a generic {@link HashIndex} is returned.
+     *
+     * @param joinSpecification see {@link #HashIndex(JoinSpecification, JoinResult, InputTable, CancelChecker)}
+     * @param joinContainer see {@link #HashIndex(JoinSpecification, JoinResult, InputTable, CancelChecker)}
+     * @param hashSide see {@link #HashIndex(JoinSpecification, JoinResult, InputTable, CancelChecker)}
+     * @param checkCanceled see {@link #HashIndex(JoinSpecification, JoinResult, InputTable, CancelChecker)}
+     * @return an empty index
+     */
+    static HashIndex create(final JoinSpecification joinSpecification, final JoinResult joinContainer,
+        final InputTable hashSide, final CancelChecker checkCanceled) {
+        return SingleColumnHashIndex.keyType(joinSpecification)
+            .<HashIndex> map(
+                keyType -> new SingleColumnHashIndex(joinSpecification, joinContainer, hashSide, checkCanceled, keyType))
+            .orElseGet(() -> new HashIndex(joinSpecification, joinContainer, hashSide, checkCanceled));
+    }
+
 //    /**
 //     * Provides a default parameter for the unmatchedProbeRows parameter. Typically, the unmatched rows from the probe
 //     * input are handled by {@link JoinResults#addLeftOuter(DataRow, long)} or
@@ -256,27 +315,88 @@ public void addHashRow(final DataCell[] joinTuple, final DataRow row, final long
                 }
             }
             // add to index structure
-            m_hashrowInternalOffsets.put(row, m_rows.size());
-            m_rows.add(row);
-            m_rowOffsets.add(offset);
+            m_hashrowInternalOffsets.put(row, append(row, offset));
         }
 
     }
 
+    /**
+     * Same as {@link #addHashRow(DataCell[], DataRow, long)} but extracts the join column values from the row.
+     *
+     * @param row a row from the hash input table
+     * @param offset the offset of the row in the hash input table
+     */
+    void addHashRow(final DataRow row, final long offset) {
+        addHashRow(JoinTuple.get(m_joinSpecification.getSettings(m_hashSide), row), row, offset);
+    }
+
+    /**
+     * Stores a hash row and its offset.
+     *
+     * @return the internal offset of the row, i.e., its position in {@link #m_rows}
+     */
+    int append(final DataRow row, final long offset) {
+        m_rows.add(row);
+        m_rowOffsets.add(offset);
+        return m_rows.size() - 1;
+    }
+
+    /**
+     * @param internalOffset the value returned by {@link #append(DataRow, long)} when the row was added
+     * @return the hash row
+     */
+    DataRow getRow(final int internalOffset) {
+        return m_rows.get(internalOffset);
+    }
+
     /**
      * @param probeRow the row that provides the join column values for which we search join partners
      * @param probeRowOffset the offset of the probe row in its source table (for sorting)
      * @return true iff the execution was canceled
      */
     public void joinSingleRow(final DataRow probeRow, final long probeRowOffset) throws CanceledExecutionException {
+        if (!matchSingleRow(probeRow, probeRowOffset)) {
+            // the probe row is potentially unmatched (depends on whether the index is comprehensive)
+            m_joinContainer.unmatched(m_probeSettings.getSide()).accept(probeRow, probeRowOffset);
+        }
+    }
+
+    /**
+     * Same as {@link #joinSingleRow(DataRow, long)} but leaves the handling of an unmatched probe row to the caller.
+     * This is used when the probe row is joined against several partial indexes, e.g., in the nested loop fallback of
+     * the {@link HybridHashJoin}, where a probe row is only unmatched if it has no partner in any of the indexes.
+     *
+     * @param probeRow the row that provides the join column values for which we search join partners
+     * @param probeRowOffset the offset of the probe row in its source table (for sorting)
+     * @return whether at least one indexed row matched the probe row
+     * @throws CanceledExecutionException
+     */
+    boolean matchSingleRow(final DataRow probeRow, final long probeRowOffset) throws CanceledExecutionException {
+        return matchSingleRow(probeRow, probeRowOffset, m_joinContainer::addMatch, m_matched);
+    }
+
+    /**
+     * Looks up the join partners of a probe row without modifying this index. This can be called concurrently from
+     * several threads, as long as no rows are added to the index, see {@link BlockHashJoin}'s parallel probe mode.
+     *
+     * @param probeRow the row that provides the join column values for which we search join partners
+     * @param probeRowOffset the offset of the probe row in its source table (for sorting)
+     * @param matches receives the matching row pairs
+     * @param matchedHashRows if this index keeps track of matched hash rows, the internal offsets of the hash rows that
+     *            matched the probe row are set in this bit set. Merge it into the index using
+     *            {@link #markMatched(BitSet)}.
+     * @return whether at least one indexed row matched the probe row
+     * @throws CanceledExecutionException
+     */
+    boolean matchSingleRow(final DataRow probeRow, final long probeRowOffset, final MatchHandler matches,
+        final BitSet matchedHashRows) throws CanceledExecutionException {
 
         List<DataRow> matching =
             m_joinSpecification.isConjunctive() ? matchConjunctive(probeRow) : matchDisjunctive(probeRow);
 
         // no indexed row has the same values in the join columns as the probe row
         if (matching == null) {
-            // the probe row is potentially unmatched (depends on whether the index is comprehensive)
-            m_joinContainer.unmatched(m_probeSettings.getSide()).accept(probeRow, probeRowOffset);
+            return false;
         } else {
             // these rows have the same values in the join columns as the probe row
             for (DataRow hashRow : matching) {
@@ -284,26 +404,39 @@ public void joinSingleRow(final DataRow probeRow, final long probeRowOffset) thr
                 // could be quite a few rows that match
                 m_checkCanceled.checkCanceled();
 
-                // mark hash row as matched if keeping track
-                int internalOffset = m_hashrowInternalOffsets.get(hashRow);
-                if (m_trackMatchedHashRows) {
-                    m_matched.set(internalOffset);
-                }
+                reportMatch(probeRow, probeRowOffset, m_hashrowInternalOffsets.get(hashRow), matches, matchedHashRows);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Passes a probe row and a matching hash row to the given handler in left/right order.
+     *
+     * @param internalOffset the position of the hash row, see {@link #getRow(int)}
+     */
+    void reportMatch(final DataRow probeRow, final long probeRowOffset, final int internalOffset,
+        final MatchHandler matches, final BitSet matchedHashRows) {
+
+        // mark hash row as matched if keeping track
+        if (m_trackMatchedHashRows) {
+            matchedHashRows.set(internalOffset);
+        }
 
-                // retrieve the offset of the hash row in the hash input table
-                long hashRowOrder = m_rowOffsets.get(internalOffset);
+        final DataRow hashRow = getRow(internalOffset);
+        // retrieve the offset of the hash row in the hash input table
+        final long hashRowOrder = m_rowOffsets.get(internalOffset);
 
-                // even if we don't retain matches, we can't skip this since the join container may needs to cancel
-                // the unmatched status of a probe row
-                DataRow left = m_probeSettings.getSide().isLeft() ? probeRow : hashRow;
-                DataRow right = m_probeSettings.getSide().isLeft() ? hashRow : probeRow;
+        // even if we don't retain matches, we can't skip this since the join container may needs to cancel
+        // the unmatched status of a probe row
+        final boolean probeIsLeft = m_probeSettings.getSide().isLeft();
+        DataRow left = probeIsLeft ? probeRow : hashRow;
+        DataRow right = probeIsLeft ? hashRow : probeRow;
 
-                long leftOrder = m_probeSettings.getSide().isLeft() ? probeRowOffset : hashRowOrder;
-                long rightOrder = m_probeSettings.getSide().isLeft() ? hashRowOrder : probeRowOffset;
+        long leftOrder = probeIsLeft ? probeRowOffset : hashRowOrder;
+        long rightOrder = probeIsLeft ? hashRowOrder : probeRowOffset;
 
-                m_joinContainer.addMatch(left, leftOrder, right, rightOrder);
-            }
-        }
+        matches.accept(left, leftOrder, right, rightOrder);
     }
 
     /**
@@ -359,14 +492,42 @@ public void forUnmatchedHashRows(final RowHandlerCancelable handler)
 
         int nextUnmatchedOffset = m_matched.nextClearBit(0);
 
-        while (nextUnmatchedOffset < m_rows.size()) {
+        final int numRows = numAddedRows();
+        while (nextUnmatchedOffset < numRows) {
             m_checkCanceled.checkCanceled();
-            handler.accept(m_rows.get(nextUnmatchedOffset), m_rowOffsets.get(nextUnmatchedOffset));
+            handler.accept(getRow(nextUnmatchedOffset), m_rowOffsets.get(nextUnmatchedOffset));
             nextUnmatchedOffset = m_matched.nextClearBit(nextUnmatchedOffset + 1);
         }
 
     }
 
+    /**
+     * Marks hash rows as matched, e.g., after a concurrent probe phase.
+     *
+     * @param matchedHashRows internal offsets of the hash rows that have been matched, as collected by
+     *            {@link #matchSingleRow(DataRow, long, MatchHandler, BitSet)}
+     */
+    void markMatched(final BitSet matchedHashRows) {
+        if (m_trackMatchedHashRows) {
+            m_matched.or(matchedHashRows);
+        }
+    }
+
+    /**
+     * Process all rows that have been added to the index via {@link #addHashRow(DataCell[], DataRow, long)} in the
+     * order of their addition. This is used to flush the contents of the index to disk.
+     *
+     * @param handler processes the hash row and its row offset
+     * @throws CanceledExecutionException
+     */
+    void forEachRow(final RowHandlerCancelable handler) throws CanceledExecutionException {
+        final int numRows = numAddedRows();
+        for (int i = 0; i < numRows; i++) {
+            m_checkCanceled.checkCanceled();
+            handler.accept(getRow(i), m_rowOffsets.get(i));
+        }
+    }
+
 //    /**
 //     * Only hash buckets are migrated to disk, probe rows are put into DiskBuckets directly. This does not serialize the
 //     * index structure, it just flushes to disk the rows stored in the index using a {@link BufferedDataTable}.
@@ -388,7 +549,7 @@ public void forUnmatchedHashRows(final RowHandlerCancelable handler)
 //    }
 
     public int numAddedRows() {
-        return m_rows.size();
+        return m_rowOffsets.size();
     }
 
     /**
@@ -0,0 +1,616 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.join;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.join.JoinSpecification.InputTable;
+import org.knime.core.data.join.JoinSpecification.OutputRowOrder;
+import org.knime.core.data.join.results.JoinResult;
+import org.knime.core.data.join.results.JoinResult.Output;
+import org.knime.core.data.join.results.JoinResult.OutputCombined;
+import org.knime.core.data.join.results.JoinResult.OutputSplit;
+import org.knime.core.data.join.results.LeftRightSorted;
+import org.knime.core.data.join.results.Unsorted;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+
+/**
+ * Implements a hybrid hash join (also known as grace hash join) that keeps the I/O close to linear when the smaller
+ * input table does not fit into main memory.
+ *
+ * <h1>Usage</h1>
+ *
+ * Select {@link JoinerFactory.JoinAlgorithm#HYBRID_HASH} or create the implementation directly and call
+ * {@link #joinOutputCombined()} or {@link #joinOutputSplit()}. Disjunctive joins can not be partitioned by hashing the
+ * join tuple and are delegated to the {@link BlockHashJoin}.
+ *
+ * <h1>Internals</h1>
+ *
+ * The smaller table is considered the hash input, the other table becomes the probe input. Both inputs are partitioned
+ * by the hash code of their join tuples, such that matching rows end up in partitions with the same number.
+ * <ol>
+ * <li>Phase 1: The rows of the hash input are indexed in one {@link HashIndex} per partition. If memory is running
+ * low, the largest in-memory partition is flushed to a {@link DiskBucket} and all subsequent hash rows of that
+ * partition go directly to disk.</li>
+ * <li>Phase 2: A single pass over the probe input joins probe rows of in-memory partitions directly. Probe rows of
+ * partitions on disk are written to the partition's probe {@link DiskBucket}.</li>
+ * <li>Phase 3: Each pair of {@link DiskBucket}s is joined in memory. If a hash bucket is still too large, the bucket
+ * pair is partitioned again with a different hash function. If that does not help (e.g., because all rows have the
+ * same join tuple), the bucket pair is joined in several passes over the probe bucket.</li>
+ * </ol>
+ *
+ * Rows in {@link DiskBucket}s are annotated with their offset in the original input table using
+ * {@link OrderedRow#withOffset(JoinTableSettings, DataRow, long)}, such that the output row order can be restored by
+ * {@link LeftRightSorted} and unmatched rows are reported with their original offsets. Since partitions are complete
+ * (a row can only match rows in the partition with the same number), unmatched rows can be output directly.
+ *
+ * Partitioning does not preserve the order of the probe input, so {@link OutputRowOrder#DETERMINISTIC} output is
+ * produced in {@link OutputRowOrder#LEFT_RIGHT} order, which is deterministic as well.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ */
+@SuppressWarnings("javadoc")
+class HybridHashJoin extends JoinImplementation {
+
+    /** The default number of partitions each input table is split into. */
+    static final int DEFAULT_NUM_PARTITIONS = 64;
+
+    /**
+     * The maximum number of times a bucket pair is partitioned again before falling back to multiple passes over the
+     * probe bucket.
+     */
+    static final int MAX_RECURSION_DEPTH = 3;
+
+    /**
+     * Number of partitions per level, limited by {@link #getMaxOpenFiles()} since every partition on disk may need a
+     * bucket for the hash and one for the probe input.
+     */
+    private int m_numPartitions;
+
+    private InputTable m_hashSide;
+
+    private InputTable m_probeSide;
+
+    private JoinTableSettings m_hashSettings;
+
+    private JoinTableSettings m_probeSettings;
+
+    /**
+     * @param joinSpecification
+     * @param exec
+     */
+    HybridHashJoin(final JoinSpecification joinSpecification, final ExecutionContext exec) {
+        super(joinSpecification, exec);
+    }
+
+    @Override
+    public JoinResult<OutputCombined> joinOutputCombined() throws CanceledExecutionException, InvalidSettingsException {
+        if (!m_joinSpecification.isConjunctive()) {
+            return delegate().joinOutputCombined();
+        }
+        // partitions are complete, a row can't be matched in more than one partition
+        final boolean deduplicateResults = false;
+        // unmatched rows are final as soon as their partition has been joined
+        final boolean deferUnmatchedRows = false;
+
+        final JoinResult<OutputCombined> results = m_joinSpecification.getOutputRowOrder() == OutputRowOrder.ARBITRARY
+            ? Unsorted.createCombined(this, deduplicateResults, deferUnmatchedRows)
+            : LeftRightSorted.createCombined(this, deduplicateResults, deferUnmatchedRows);
+
+        return join(results);
+    }
+
+    @Override
+    public JoinResult<OutputSplit> joinOutputSplit() throws CanceledExecutionException, InvalidSettingsException {
+        if (!m_joinSpecification.isConjunctive()) {
+            return delegate().joinOutputSplit();
+        }
+        // partitions are complete, a row can't be matched in more than one partition
+        final boolean deduplicateResults = false;
+        // unmatched rows are final as soon as their partition has been joined
+        final boolean deferUnmatchedRows = false;
+
+        final JoinResult<OutputSplit> results = m_joinSpecification.getOutputRowOrder() == OutputRowOrder.ARBITRARY
+            ? Unsorted.createSplit(this, deduplicateResults, deferUnmatchedRows)
+            : LeftRightSorted.createSplit(this, deduplicateResults, deferUnmatchedRows);
+
+        return join(results);
+    }
+
+    /**
+     * @return a block hash join with the same configuration as this join, used for disjunctive join specifications
+     */
+    private BlockHashJoin delegate() {
+        BlockHashJoin blockHashJoin = new BlockHashJoin(m_joinSpecification, m_exec);
+        blockHashJoin.setEnableHiliting(isEnableHiliting());
+        blockHashJoin.setMaxOpenFiles(getMaxOpenFiles());
+        blockHashJoin.setMemoryLimitFraction(getMemoryLimitFraction());
+        blockHashJoin.setNumProbeThreads(getNumProbeThreads());
+        blockHashJoin.setProgress(getProgress());
+        return blockHashJoin;
+    }
+
+    /**
+     * @param results where to put join results (matches and unmatched rows)
+     * @throws CanceledExecutionException
+     */
+    <T extends Output> JoinResult<T> join(final JoinResult<T> results) throws CanceledExecutionException {
+
+        // if only one of the input tables is present, its rows are output as unmatched rows, nothing to partition
+        if (!m_joinSpecification.getSettings(InputTable.LEFT).hasTable()
+            || !m_joinSpecification.getSettings(InputTable.RIGHT).hasTable()) {
+            return delegate().join(results);
+        }
+
+        m_hashSide = HashIndex.smallerTable(m_joinSpecification);
+        m_probeSide = m_hashSide.other();
+        m_hashSettings = m_joinSpecification.getSettings(m_hashSide);
+        m_probeSettings = m_joinSpecification.getSettings(m_probeSide);
+        m_numPartitions = Math.max(2, Math.min(DEFAULT_NUM_PARTITIONS, getMaxOpenFiles() / 2));
+
+        final BufferedDataTable hash = m_hashSettings.getTable().orElseThrow(IllegalStateException::new);
+        final BufferedDataTable probe = m_probeSettings.getTable().orElseThrow(IllegalStateException::new);
+
+        m_progress.reset();
+        m_progress.m_numBuckets = m_numPartitions;
+
+        final HashIndex[] indexes = new HashIndex[m_numPartitions];
+        for (int i = 0; i < m_numPartitions; i++) {
+            indexes[i] = newHashIndex(results);
+        }
+        final DiskBucket[] hashBuckets = new DiskBucket[m_numPartitions];
+        final DiskBucket[] probeBuckets = new DiskBucket[m_numPartitions];
+
+        phase1(hash, results, indexes, hashBuckets);
+        phase2(probe, results, indexes, probeBuckets);
+        phase3(results, hashBuckets, probeBuckets);
+
+        return results;
+    }
+
+    /**
+     * Index the hash input, flushing partitions to disk if memory is running low.
+     */
+    private void phase1(final BufferedDataTable hash, final JoinResult<?> results, final HashIndex[] indexes,
+        final DiskBucket[] hashBuckets) throws CanceledExecutionException {
+
+        m_progress.setMessage("Indexing smaller table.");
+
+        long rowOffset = 0;
+        try (CloseableRowIterator hashRows = hash.iterator()) {
+            while (hashRows.hasNext()) {
+                final DataRow hashRow = hashRows.next();
+                final DataCell[] joinTuple = JoinTuple.get(m_hashSettings, hashRow);
+
+                if (joinTuple == null) {
+                    // missing values in the join columns can't be matched by anything
+                    results.unmatched(m_hashSide).accept(hashRow, rowOffset);
+                } else {
+                    final int partition = partition(joinTuple, 0);
+                    if (indexes[partition] != null) {
+                        indexes[partition].addHashRow(joinTuple, hashRow, rowOffset);
+                    } else {
+                        hashBuckets[partition].add(m_hashSettings, hashRow, rowOffset);
+                    }
+                }
+
+                if (m_progress.isMemoryLow(100)) {
+                    flushLargestPartition(indexes, hashBuckets);
+                }
+
+                m_progress.setProgressAndCheckCanceled(0.5 * rowOffset / hash.size());
+                rowOffset++;
+            }
+        }
+    }
+
+    /**
+     * Move the in-memory partition with the most rows to disk to free up heap space.
+     */
+    private void flushLargestPartition(final HashIndex[] indexes, final DiskBucket[] hashBuckets)
+        throws CanceledExecutionException {
+        int largest = -1;
+        for (int i = 0; i < indexes.length; i++) {
+            if (indexes[i] != null && (largest == -1 || indexes[i].numAddedRows() > indexes[largest].numAddedRows())) {
+                largest = i;
+            }
+        }
+        // all partitions are already on disk
+        if (largest == -1) {
+            return;
+        }
+
+        final DiskBucket bucket = new DiskBucket(m_hashSettings);
+        indexes[largest].forEachRow((row, offset) -> bucket.add(m_hashSettings, row, offset));
+        hashBuckets[largest] = bucket;
+        // release memory
+        indexes[largest] = null;
+
+        m_progress.setNumPartitionsOnDisk(m_progress.getNumPartitionsOnDisk() + 1);
+    }
+
+    /**
+     * Join the probe rows of in-memory partitions, send the probe rows of the other partitions to disk.
+     */
+    private void phase2(final BufferedDataTable probe, final JoinResult<?> results, final HashIndex[] indexes,
+        final DiskBucket[] probeBuckets) throws CanceledExecutionException {
+
+        m_progress.setMessage("Single pass over larger table.");
+
+        for (int i = 0; i < m_numPartitions; i++) {
+            if (indexes[i] == null) {
+                probeBuckets[i] = new DiskBucket(m_probeSettings);
+            }
+        }
+
+        long rowOffset = 0;
+        try (CloseableRowIterator probeRows = probe.iterator()) {
+            while (probeRows.hasNext()) {
+                final DataRow probeRow = probeRows.next();
+                final DataCell[] joinTuple = JoinTuple.get(m_probeSettings, probeRow);
+
+                if (joinTuple == null) {
+                    // missing values in the join columns can't be matched by anything
+                    results.unmatched(m_probeSide).accept(probeRow, rowOffset);
+                } else {
+                    final int partition = partition(joinTuple, 0);
+                    if (indexes[partition] != null) {
+                        indexes[partition].joinSingleRow(probeRow, rowOffset);
+                        m_progress.incProbeRowsProcessedInMemory();
+                    } else {
+                        probeBuckets[partition].add(m_probeSettings, probeRow, rowOffset);
+                        m_progress.incProbeRowsProcessedFromDisk();
+                    }
+                }
+
+                m_progress.setProgressAndCheckCanceled(0.5 + 0.25 * rowOffset / probe.size());
+                rowOffset++;
+            }
+        }
+
+        // the in-memory partitions are complete now
+        for (int i = 0; i < m_numPartitions; i++) {
+            if (indexes[i] != null) {
+                indexes[i].forUnmatchedHashRows(results.unmatched(m_hashSide));
+                indexes[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Join the bucket pairs on disk.
+     */
+    private void phase3(final JoinResult<?> results, final DiskBucket[] hashBuckets, final DiskBucket[] probeBuckets)
+        throws CanceledExecutionException {
+
+        m_progress.setMessage("Joining partitions on disk.");
+
+        for (int i = 0; i < m_numPartitions; i++) {
+            if (hashBuckets[i] != null) {
+                joinBuckets(results, hashBuckets[i].getTable(), probeBuckets[i].getTable(), 1);
+                hashBuckets[i].clear();
+                probeBuckets[i].clear();
+            }
+            m_progress.setProgressAndCheckCanceled(0.75 + 0.25 * (i + 1) / m_numPartitions);
+        }
+    }
+
+    /**
+     * Join the rows of two buckets. Tries to index the entire hash bucket. If memory runs low, the partial index is
+     * discarded and the buckets are partitioned again using a hash function that depends on the given level. If the
+     * maximum recursion depth is reached or the hash bucket can not be split, joins the buckets in several passes over
+     * the probe bucket.
+     *
+     * @param hashBucket rows from the hash input, annotated with their original offsets
+     * @param probeBucket rows from the probe input, annotated with their original offsets
+     * @param level recursion depth, used to select a hash function for partitioning
+     */
+    private void joinBuckets(final JoinResult<?> results, final BufferedDataTable hashBucket,
+        final BufferedDataTable probeBucket, final int level) throws CanceledExecutionException {
+
+        if (level <= MAX_RECURSION_DEPTH) {
+            final HashIndex index = indexBucket(results, hashBucket);
+            if (index != null) {
+                probeBucket(results, probeBucket, index, new LongBitSet(), true);
+                return;
+            }
+            // the partial index is no longer referenced, its memory is available to join the smaller buckets
+            if (repartition(results, hashBucket, probeBucket, level)) {
+                return;
+            }
+        }
+        joinInPasses(results, hashBucket, probeBucket);
+    }
+
+    /**
+     * Index the entire hash bucket.
+     *
+     * @return the index or null if memory ran low before all rows were indexed
+     */
+    private HashIndex indexBucket(final JoinResult<?> results, final BufferedDataTable hashBucket) {
+        final HashIndex index = newHashIndex(results);
+        try (CloseableRowIterator hashRows = hashBucket.iterator()) {
+            while (hashRows.hasNext()) {
+                final DataRow row = hashRows.next();
+                index.addHashRow(OrderedRow.removeOffset(row), OrderedRow.getOffset(row));
+                if (hashRows.hasNext() && m_progress.isMemoryLow(100)) {
+                    return null;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Index as many hash rows as fit into memory, join them with a pass over the probe bucket, and continue with the
+     * next hash rows until the hash bucket is exhausted.
+     */
+    private void joinInPasses(final JoinResult<?> results, final BufferedDataTable hashBucket,
+        final BufferedDataTable probeBucket) throws CanceledExecutionException {
+
+        // the i-th bit is set if the i-th row of the probe bucket was matched in a previous pass
+        final LongBitSet matchedProbeRows = new LongBitSet();
+
+        HashIndex index = newHashIndex(results);
+
+        try (CloseableRowIterator hashRows = hashBucket.iterator()) {
+            while (hashRows.hasNext()) {
+                final DataRow row = hashRows.next();
+                final long rowOffset = OrderedRow.getOffset(row);
+                final DataRow hashRow = OrderedRow.removeOffset(row);
+                index.addHashRow(hashRow, rowOffset);
+
+                if (hashRows.hasNext() && m_progress.isMemoryLow(100)) {
+                    // join the rows indexed so far and continue with an empty index
+                    probeBucket(results, probeBucket, index, matchedProbeRows, false);
+                    index = newHashIndex(results);
+                }
+            }
+        }
+
+        probeBucket(results, probeBucket, index, matchedProbeRows, true);
+    }
+
+    /**
+     * Do a single pass over the probe bucket, joining each probe row against the given (partial) index.
+     *
+     * @param matchedProbeRows records the probe rows that have been matched in a previous pass
+     * @param lastPass whether this is the last pass over the probe bucket, in which case probe rows that have not been
+     *            matched in any pass are output as unmatched rows
+     */
+    private void probeBucket(final JoinResult<?> results, final BufferedDataTable probeBucket, final HashIndex index,
+        final LongBitSet matchedProbeRows, final boolean lastPass) throws CanceledExecutionException {
+
+        long position = 0;
+        try (CloseableRowIterator probeRows = probeBucket.iterator()) {
+            while (probeRows.hasNext()) {
+                m_progress.getCancelChecker().checkCanceled();
+                final DataRow row = probeRows.next();
+                final long rowOffset = OrderedRow.getOffset(row);
+                final DataRow probeRow = OrderedRow.removeOffset(row);
+
+                final boolean matched = index.matchSingleRow(probeRow, rowOffset);
+                if (matched && !lastPass) {
+                    matchedProbeRows.set(position);
+                } else if (!matched && lastPass && !matchedProbeRows.get(position)) {
+                    results.unmatched(m_probeSide).accept(probeRow, rowOffset);
+                }
+                position++;
+            }
+        }
+
+        index.forUnmatchedHashRows(results.unmatched(m_hashSide));
+    }
+
+    /**
+     * Split the given bucket pair into smaller bucket pairs and join those.
+     *
+     * @return false if partitioning didn't split the hash bucket (all rows ended up in the same partition), in which
+     *         case nothing was joined
+     */
+    private boolean repartition(final JoinResult<?> results, final BufferedDataTable hashBucket,
+        final BufferedDataTable probeBucket, final int level) throws CanceledExecutionException {
+
+        final DiskBucket[] hashBuckets = split(hashBucket, m_hashSettings, level);
+
+        int nonEmpty = 0;
+        for (DiskBucket bucket : hashBuckets) {
+            nonEmpty += bucket == null ? 0 : 1;
+        }
+        if (nonEmpty < 2) {
+            for (DiskBucket bucket : hashBuckets) {
+                if (bucket != null) {
+                    bucket.clear();
+                }
+            }
+            return false;
+        }
+
+        final DiskBucket[] probeBuckets = split(probeBucket, m_probeSettings, level);
+
+        for (int i = 0; i < m_numPartitions; i++) {
+            if (hashBuckets[i] == null && probeBuckets[i] == null) {
+                continue;
+            }
+            if (hashBuckets[i] == null) {
+                // no join partners for these probe rows
+                hashBuckets[i] = new DiskBucket(m_hashSettings);
+            }
+            if (probeBuckets[i] == null) {
+                // no join partners for these hash rows
+                probeBuckets[i] = new DiskBucket(m_probeSettings);
+            }
+            joinBuckets(results, hashBuckets[i].getTable(), probeBuckets[i].getTable(), level + 1);
+            hashBuckets[i].clear();
+            probeBuckets[i].clear();
+        }
+        return true;
+    }
+
+    /**
+     * @param bucket rows annotated with their offsets
+     * @param settings to extract the join tuple of a row
+     * @param level the recursion depth, to select the hash function
+     * @return for each partition a bucket containing the rows of the given bucket that fall into the partition or null
+     *         if no row falls into the partition
+     */
+    private DiskBucket[] split(final BufferedDataTable bucket, final JoinTableSettings settings, final int level)
+        throws CanceledExecutionException {
+        final DiskBucket[] result = new DiskBucket[m_numPartitions];
+        try (CloseableRowIterator rows = bucket.iterator()) {
+            while (rows.hasNext()) {
+                m_progress.getCancelChecker().checkCanceled();
+                final DataRow row = rows.next();
+                // skip the offset column to extract the join tuple
+                final int partition = partition(JoinTuple.get(settings, OrderedRow.removeOffset(row)), level);
+                if (result[partition] == null) {
+                    result[partition] = new DiskBucket(settings);
+                }
+                result[partition].addWithOffset(row);
+            }
+        }
+        return result;
+    }
+
+    private HashIndex newHashIndex(final JoinResult<?> results) {
+        return HashIndex.create(m_joinSpecification, results, m_hashSide, m_progress::isCanceled);
+    }
+
+    /**
+     * @param joinTuple the join column values of a row
+     * @param level selects a hash function, such that rows that end up in the same partition on one level are
+     *            distributed across partitions on the next level
+     * @return the partition of the row, between 0 (inclusive) and {@link #m_numPartitions} (exclusive)
+     */
+    private int partition(final DataCell[] joinTuple, final int level) {
+        // murmur3 finalizer, seeded with the level
+        int h = JoinTuple.conjunctiveHashCode(joinTuple) ^ (level * 0x9E3779B9);
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, m_numPartitions);
+    }
+
+    /**
+     * A bit set with long indices, since a probe bucket can have more than {@link Integer#MAX_VALUE} rows. Consists of
+     * {@link BitSet}s of 2^30 bits each, which are allocated when a bit in their range is set.
+     */
+    static final class LongBitSet {
+
+        private static final int CHUNK_BITS = 30;
+
+        private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+        private final List<BitSet> m_chunks = new ArrayList<>();
+
+        void set(final long index) {
+            final int chunk = (int)(index >>> CHUNK_BITS);
+            while (m_chunks.size() <= chunk) {
+                m_chunks.add(new BitSet());
+            }
+            m_chunks.get(chunk).set((int)(index & CHUNK_MASK));
+        }
+
+        boolean get(final long index) {
+            final int chunk = (int)(index >>> CHUNK_BITS);
+            return chunk < m_chunks.size() && m_chunks.get(chunk).get((int)(index & CHUNK_MASK));
+        }
+    }
+
+    /**
+     * Rows of one partition of an input table, stored on disk. The rows keep the layout of the original table (with
+     * unused columns replaced by missing values) and are annotated with their offsets in the original table.
+     */
+    private final class DiskBucket {
+
+        private final BufferedDataContainer m_container;
+
+        private BufferedDataTable m_table;
+
+        DiskBucket(final JoinTableSettings settings) {
+            final DataTableSpec workingSpec = OrderedRow.withOffset(settings.getTableSpec());
+            // we're potentially creating a lot of containers and memory is scarce, write to disk immediately
+            m_container = m_exec.createDataContainer(workingSpec, false, 0);
+        }
+
+        void add(final JoinTableSettings settings, final DataRow row, final long offset) {
+            m_container.addRowToTable(OrderedRow.withOffset(settings, row, offset));
+        }
+
+        void addWithOffset(final DataRow rowWithOffset) {
+            m_container.addRowToTable(rowWithOffset);
+        }
+
+        BufferedDataTable getTable() {
+            if (m_table == null) {
+                m_container.close();
+                m_table = m_container.getTable();
+            }
+            return m_table;
+        }
+
+        void clear() {
+            m_exec.clearTable(getTable());
+        }
+    }
+
+}
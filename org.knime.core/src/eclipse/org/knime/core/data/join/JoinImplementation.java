@@ -65,6 +65,7 @@
 import org.knime.core.node.CanceledExecutionException.CancelChecker;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeProgressMonitor;
 
@@ -94,7 +95,13 @@ public abstract class JoinImplementation {
 
     int m_maxOpenFiles = 300;
 
-    double m_memoryLimitFraction = 0.9;
+    /** Default for {@link #getMemoryLimitFraction()}. */
+    static final double DEFAULT_MEMORY_LIMIT_FRACTION = 0.9;
+
+    double m_memoryLimitFraction = DEFAULT_MEMORY_LIMIT_FRACTION;
+
+    /** See {@link #setNumProbeThreads(int)}, defaults to the size of the {@link KNIMEConstants#GLOBAL_THREAD_POOL}. */
+    int m_numProbeThreads = Math.max(1, KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads());
 
     BufferedDataTable m_left;
 
@@ -154,6 +161,25 @@ public JoinImplementation setMaxOpenFiles(final int maxOpenFiles) {
         return this;
     }
 
+    /**
+     * @return the number of threads used to probe the hash index
+     */
+    int getNumProbeThreads() {
+        return m_numProbeThreads;
+    }
+
+    /**
+     * @param numProbeThreads the number of threads to use for joining the rows of the larger table against the index of
+     *            the smaller table. Values larger than one enable the parallel probe mode, in which the larger table is
+     *            split into row ranges that are processed concurrently. The parallel probe mode is only used if the
+     *            larger table is large enough to give each thread a substantial amount of rows. Defaults to the
+     *            maximum number of threads of the {@link KNIMEConstants#GLOBAL_THREAD_POOL}.
+     */
+    public JoinImplementation setNumProbeThreads(final int numProbeThreads) {
+        m_numProbeThreads = Math.max(1, numProbeThreads);
+        return this;
+    }
+
     /**
      * @param memoryLimitFraction the memoryLimitFraction to set
      */
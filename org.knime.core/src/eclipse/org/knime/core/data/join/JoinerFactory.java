@@ -64,9 +64,10 @@
 public interface JoinerFactory {
 
     enum JoinAlgorithm {
-//        HYBRID_HASH("Hybrid Hash Join", HybridHashJoin::new),
         AUTO("Automatic", CostModelFactory.INSTANCE),
-        NESTED_LOOP("Block hash join", BlockHashJoin::new);
+        NESTED_LOOP("Block hash join", BlockHashJoin::new),
+        HYBRID_HASH("Hybrid hash join", HybridHashJoin::new),
+        SORT_MERGE("Sort-merge join", SortMergeJoin::new);
 
         private final String m_text;
         private final JoinerFactory m_factory;
@@ -54,6 +54,7 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataTableSpecCreator;
+import org.knime.core.data.DataType;
 import org.knime.core.data.container.ColumnRearranger;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.LongCell;
@@ -132,6 +133,34 @@ public static DataRow withOffset(final DataRow row, final long rowOffset) {
         return new DefaultRow(row.getKey(), cells);
     }
 
+    /**
+     * Same as {@link #withOffset(DataRow, long)} but replaces the cells of columns that are neither join nor include
+     * columns with missing values. The resulting row has the layout of {@link #withOffset(DataTableSpec)} applied to
+     * the original table spec, such that the row can be joined with the original {@link JoinSpecification} after
+     * {@link #removeOffset(DataRow)}, while the unused columns take up almost no space on disk.
+     *
+     * @param joinTable provides the join and include columns
+     * @param row a row from the table that joinTable describes
+     * @param rowOffset the offset of the row in its source table
+     * @return a data row with the offset prepended and only the materialized columns retained
+     */
+    static DataRow withOffset(final JoinTableSettings joinTable, final DataRow row, final long rowOffset) {
+        int[] materialize = joinTable.m_materializeColumnIndices;
+        DataCell[] cells = new DataCell[row.getNumCells() + 1];
+        cells[0] = new LongCell(rowOffset);
+        // materialized columns are sorted in order of appearance in the original table
+        int next = 0;
+        for (int i = 0; i < row.getNumCells(); i++) {
+            if (next < materialize.length && materialize[next] == i) {
+                cells[i + 1] = row.getCell(i);
+                next++;
+            } else {
+                cells[i + 1] = DataType.getMissingCell();
+            }
+        }
+        return new DefaultRow(row.getKey(), cells);
+    }
+
     /**
      * Revert the {@link #withOffset(DataTableSpec)} operation
      *
@@ -0,0 +1,414 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.join;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.container.BlobSupportDataRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.join.JoinSpecification.InputTable;
+import org.knime.core.data.join.JoinTableSettings.SpecialJoinColumn;
+import org.knime.core.data.join.results.JoinResult;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.CanceledExecutionException.CancelChecker;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+/**
+ * Hash index for conjunctive joins on a single pair of int, long, or string columns (including row keys). Instead of
+ * mapping {@link DataCell} arrays to lists of rows, the join column value is mapped to a dense key id, either by an
+ * open addressing table on long values or by a dictionary for strings. The rows with the same key id are chained via
+ * their internal offsets in primitive arrays. This avoids allocating a join tuple, a row list, and a row to offset map
+ * entry per indexed row and keeps lookups free of {@link DataCell#equals(Object)} calls. Instead of the indexed rows,
+ * only their keys and the cells of the join and include columns are retained. The rows handed out to the join results
+ * have missing cells in all other columns, like the rows of a {@link DiskBucket}.
+ *
+ * Use {@link HashIndex#create(JoinSpecification, JoinResult, InputTable, CancelChecker)} to get an instance of this
+ * class whenever the join columns permit.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+final class SingleColumnHashIndex extends HashIndex {
+
+    /**
+     * The kinds of join column values supported by this index. Two cells of different types are never equal (see
+     * {@link DataCell#equals(Object)}), hence both join columns must have the same type.
+     */
+    enum KeyType {
+            /** Both join columns hold {@link IntCell}s. */
+            INT(IntCell.TYPE),
+            /** Both join columns hold {@link LongCell}s. */
+            LONG(LongCell.TYPE),
+            /** Both join columns hold {@link StringCell}s or row keys. */
+            STRING(StringCell.TYPE);
+
+        private final DataType m_type;
+
+        KeyType(final DataType type) {
+            m_type = type;
+        }
+    }
+
+    /** Marks the end of a chain of rows with the same key in {@link #m_next}. */
+    private static final int END = -1;
+
+    private final KeyType m_keyType;
+
+    /** Column index of the join column in hash rows, or the row key indicator. */
+    private final int m_hashColumn;
+
+    /** Column index of the join column in probe rows, or the row key indicator. */
+    private final int m_probeColumn;
+
+    /** Key ids for int and long join column values. Null for {@link KeyType#STRING}. */
+    private final LongKeys m_longKeys;
+
+    /** Key ids for string join column values. Null for {@link KeyType#INT} and {@link KeyType#LONG}. */
+    private final TObjectIntHashMap<String> m_stringKeys;
+
+    /** The internal offset of the first row with the i-th key id. */
+    private final TIntArrayList m_heads = new TIntArrayList();
+
+    /** The internal offset of the last row with the i-th key id. */
+    private final TIntArrayList m_tails = new TIntArrayList();
+
+    /** The internal offset of the next row with the same key as the row with the i-th internal offset. */
+    private final TIntArrayList m_next = new TIntArrayList();
+
+    /** Which columns of the hash rows to retain, see {@link JoinTableSettings#m_materializeColumnIndices}. */
+    private final int[] m_materializeColumns;
+
+    /** Number of columns in the hash table. */
+    private final int m_numColumns;
+
+    /** The row key of the row with the i-th internal offset. */
+    private final List<RowKey> m_keys = new ArrayList<>();
+
+    /**
+     * The cells of the materialized columns of all indexed rows, one row after the other. The cell of the j-th
+     * materialized column of the row with the i-th internal offset is at position i * m_materializeColumns.length + j.
+     */
+    private final List<DataCell> m_cells = new ArrayList<>();
+
+    SingleColumnHashIndex(final JoinSpecification joinSpecification, final JoinResult joinContainer,
+        final InputTable hashSide, final CancelChecker checkCanceled, final KeyType keyType) {
+        super(joinSpecification, joinContainer, hashSide, checkCanceled, false);
+        final JoinTableSettings hashSettings = joinSpecification.getSettings(hashSide);
+        m_keyType = keyType;
+        m_hashColumn = hashSettings.getJoinClauseColumns()[0];
+        m_materializeColumns = hashSettings.m_materializeColumnIndices;
+        m_numColumns = hashSettings.getTableSpec().getNumColumns();
+        m_probeColumn = m_probeSettings.getJoinClauseColumns()[0];
+        if (keyType == KeyType.STRING) {
+            m_longKeys = null;
+            m_stringKeys = new TObjectIntHashMap<>(Constants.DEFAULT_CAPACITY, Constants.DEFAULT_LOAD_FACTOR, END);
+        } else {
+            m_longKeys = new LongKeys();
+            m_stringKeys = null;
+        }
+    }
+
+    /**
+     * @param joinSpecification the join to index rows for
+     * @return the key type that both join columns share if the join is conjunctive and has a single join clause whose
+     *         columns are supported by this index, empty otherwise
+     */
+    static Optional<KeyType> keyType(final JoinSpecification joinSpecification) {
+        if (!joinSpecification.isConjunctive()) {
+            return Optional.empty();
+        }
+        final JoinTableSettings left = joinSpecification.getSettings(InputTable.LEFT);
+        final JoinTableSettings right = joinSpecification.getSettings(InputTable.RIGHT);
+        if (left.getJoinClauseColumns().length != 1 || right.getJoinClauseColumns().length != 1) {
+            return Optional.empty();
+        }
+        final DataType leftType = columnType(left);
+        final DataType rightType = columnType(right);
+        if (leftType == null || !leftType.equals(rightType)) {
+            return Optional.empty();
+        }
+        for (KeyType keyType : KeyType.values()) {
+            if (keyType.m_type.equals(leftType)) {
+                return Optional.of(keyType);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the type of the single join column of the table, {@link StringCell#TYPE} for row keys, null if unknown
+     */
+    private static DataType columnType(final JoinTableSettings settings) {
+        final int column = settings.getJoinClauseColumns()[0];
+        if (column == SpecialJoinColumn.ROW_KEY.getColumnIndexIndicator()) {
+            return StringCell.TYPE;
+        }
+        return settings.getTableSpec() == null ? null : settings.getTableSpec().getColumnSpec(column).getType();
+    }
+
+    @Override
+    public void addHashRow(final DataCell[] joinTuple, final DataRow row, final long offset) {
+        if (joinTuple == null) {
+            m_joinContainer.unmatched(m_hashSide).accept(row, offset);
+        } else {
+            add(joinTuple[0], row, offset);
+        }
+    }
+
+    @Override
+    void addHashRow(final DataRow row, final long offset) {
+        final DataCell cell = m_hashColumn == SpecialJoinColumn.ROW_KEY.getColumnIndexIndicator() ? null
+            : row.getCell(m_hashColumn);
+        if (cell != null && cell.isMissing()) {
+            // do not add to index structure. can't be matched by anything
+            m_joinContainer.unmatched(m_hashSide).accept(row, offset);
+        } else if (cell == null) {
+            addString(row.getKey().getString(), row, offset);
+        } else {
+            add(cell, row, offset);
+        }
+    }
+
+    private void add(final DataCell cell, final DataRow row, final long offset) {
+        if (m_keyType == KeyType.STRING) {
+            addString(((StringValue)cell).getStringValue(), row, offset);
+        } else {
+            chain(m_longKeys.idOrAdd(toLong(cell)), row, offset);
+        }
+    }
+
+    private void addString(final String value, final DataRow row, final long offset) {
+        int keyId = m_stringKeys.get(value);
+        if (keyId == END) {
+            keyId = m_heads.size();
+            m_stringKeys.put(value, keyId);
+        }
+        chain(keyId, row, offset);
+    }
+
+    /**
+     * Appends the row to the end of the chain of rows with the given key id.
+     */
+    private void chain(final int keyId, final DataRow row, final long offset) {
+        final int internalOffset = append(row, offset);
+        m_next.add(END);
+        if (keyId == m_heads.size()) {
+            // new key
+            m_heads.add(internalOffset);
+            m_tails.add(internalOffset);
+        } else {
+            m_next.set(m_tails.get(keyId), internalOffset);
+            m_tails.set(keyId, internalOffset);
+        }
+    }
+
+    /**
+     * Retains only the row key and the cells of the materialized columns of the row.
+     */
+    @Override
+    int append(final DataRow row, final long offset) {
+        final boolean blobSupport = row instanceof BlobSupportDataRow;
+        m_keys.add(row.getKey());
+        for (int column : m_materializeColumns) {
+            // keep blobs wrapped, they are unwrapped again in getRow
+            m_cells.add(blobSupport ? ((BlobSupportDataRow)row).getRawCell(column) : row.getCell(column));
+        }
+        m_rowOffsets.add(offset);
+        return m_keys.size() - 1;
+    }
+
+    /**
+     * @return a row with the layout of the hash table that has the retained cells of the indexed row and missing cells
+     *         in all other columns
+     */
+    @Override
+    DataRow getRow(final int internalOffset) {
+        final DataCell[] cells = new DataCell[m_numColumns];
+        final int start = internalOffset * m_materializeColumns.length;
+        int next = 0;
+        for (int column = 0; column < m_numColumns; column++) {
+            if (next < m_materializeColumns.length && m_materializeColumns[next] == column) {
+                cells[column] = m_cells.get(start + next);
+                next++;
+            } else {
+                cells[column] = DataType.getMissingCell();
+            }
+        }
+        return new BlobSupportDataRow(m_keys.get(internalOffset), cells);
+    }
+
+    @Override
+    boolean matchSingleRow(final DataRow probeRow, final long probeRowOffset, final MatchHandler matches,
+        final BitSet matchedHashRows) throws CanceledExecutionException {
+
+        final int keyId = lookup(probeRow);
+        if (keyId == END) {
+            return false;
+        }
+        for (int internalOffset = m_heads.get(keyId); internalOffset != END; internalOffset =
+            m_next.get(internalOffset)) {
+            // could be quite a few rows that match
+            m_checkCanceled.checkCanceled();
+            reportMatch(probeRow, probeRowOffset, internalOffset, matches, matchedHashRows);
+        }
+        return true;
+    }
+
+    /**
+     * @return the key id of the probe row's join column value or {@link #END} if the value is missing or not indexed
+     */
+    private int lookup(final DataRow probeRow) {
+        if (m_probeColumn == SpecialJoinColumn.ROW_KEY.getColumnIndexIndicator()) {
+            return m_stringKeys.get(probeRow.getKey().getString());
+        }
+        final DataCell cell = probeRow.getCell(m_probeColumn);
+        if (cell.isMissing()) {
+            return END;
+        }
+        return m_keyType == KeyType.STRING ? m_stringKeys.get(((StringValue)cell).getStringValue())
+            : m_longKeys.id(toLong(cell));
+    }
+
+    private long toLong(final DataCell cell) {
+        return m_keyType == KeyType.INT ? ((IntValue)cell).getIntValue() : ((LongValue)cell).getLongValue();
+    }
+
+    /**
+     * Open addressing hash table with linear probing that assigns dense ids to long values in order of their first
+     * addition.
+     */
+    private static final class LongKeys {
+
+        /** Grow the table when more than this fraction of slots is occupied. */
+        private static final double MAX_LOAD = 0.5;
+
+        private long[] m_values = new long[16];
+
+        /** Key id plus one of the value in the same slot of {@link #m_values}; zero marks an empty slot. */
+        private int[] m_ids = new int[16];
+
+        private int m_size;
+
+        /**
+         * @return the id of the value or {@link SingleColumnHashIndex#END} if the value has not been added
+         */
+        int id(final long value) {
+            final int mask = m_ids.length - 1;
+            for (int slot = slot(value, mask); m_ids[slot] != 0; slot = (slot + 1) & mask) {
+                if (m_values[slot] == value) {
+                    return m_ids[slot] - 1;
+                }
+            }
+            return END;
+        }
+
+        /**
+         * @return the id of the value, a new id (the number of previously added values) if it has not been added yet
+         */
+        int idOrAdd(final long value) {
+            final int mask = m_ids.length - 1;
+            int slot = slot(value, mask);
+            for (; m_ids[slot] != 0; slot = (slot + 1) & mask) {
+                if (m_values[slot] == value) {
+                    return m_ids[slot] - 1;
+                }
+            }
+            m_values[slot] = value;
+            m_ids[slot] = ++m_size;
+            if (m_size > MAX_LOAD * m_ids.length) {
+                grow();
+            }
+            return m_size - 1;
+        }
+
+        private void grow() {
+            final long[] values = m_values;
+            final int[] ids = m_ids;
+            m_values = new long[values.length * 2];
+            m_ids = new int[ids.length * 2];
+            final int mask = m_ids.length - 1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != 0) {
+                    int slot = slot(values[i], mask);
+                    while (m_ids[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    m_values[slot] = values[i];
+                    m_ids[slot] = ids[i];
+                }
+            }
+        }
+
+        /** Spreads consecutive values over the table (finalizer of MurmurHash3). */
+        private static int slot(final long value, final int mask) {
+            long h = value;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb3f99e2d8a6bL;
+            h ^= h >>> 33;
+            return (int)h & mask;
+        }
+    }
+
+}
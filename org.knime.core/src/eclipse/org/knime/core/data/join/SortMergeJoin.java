@@ -0,0 +1,481 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.join;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.join.JoinSpecification.InputTable;
+import org.knime.core.data.join.JoinSpecification.OutputRowOrder;
+import org.knime.core.data.join.JoinTableSettings.SpecialJoinColumn;
+import org.knime.core.data.join.results.JoinResult;
+import org.knime.core.data.join.results.JoinResult.Output;
+import org.knime.core.data.join.results.JoinResult.OutputCombined;
+import org.knime.core.data.join.results.JoinResult.OutputSplit;
+import org.knime.core.data.join.results.LeftRightSorted;
+import org.knime.core.data.join.results.Unsorted;
+import org.knime.core.data.sort.BufferedDataTableSorter;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+
+import gnu.trove.list.array.TLongArrayList;
+
+/**
+ * Implements a sort-merge join that streams both input tables once after sorting them on their join columns. This is
+ * the method of choice if both inputs are already sorted on the join columns or if both inputs are far larger than
+ * main memory, since only the rows of one input that share the same join column values are held in memory.
+ *
+ * <h1>Usage</h1>
+ *
+ * Select {@link JoinerFactory.JoinAlgorithm#SORT_MERGE} or create the implementation directly and call
+ * {@link #joinOutputCombined()} or {@link #joinOutputSplit()}. Disjunctive joins can not be evaluated by merging
+ * sorted inputs and are delegated to the {@link BlockHashJoin}, as are joins where an input table is absent.
+ * {@link OutputRowOrder#DETERMINISTIC} output is produced in {@link OutputRowOrder#LEFT_RIGHT} order.
+ *
+ * <h1>Internals</h1>
+ *
+ * <ol>
+ * <li>The rows of each input table are copied to a working table, annotated with their offset in the input table
+ * using {@link OrderedRow#withOffset(JoinTableSettings, DataRow, long)}. Rows with missing values in their join
+ * columns can not be matched and are output as unmatched rows right away. While copying, the rows are checked to be
+ * in ascending order of their join column values. Only if they are not, the working table is sorted externally with a
+ * {@link BufferedDataTableSorter}.</li>
+ * <li>The sorted inputs are merged. For every group of left rows with the same join column values, the right rows
+ * with these values are matched against the group.</li>
+ * </ol>
+ *
+ * The i-th join columns of both tables are compared using the comparator of their common super type. Since this may
+ * consider cells equal that are not equal according to {@link DataCell#equals(Object)} (e.g., an int and a long cell),
+ * rows within a group are matched only if their join column values are equal. Each row is visited exactly once during
+ * the merge, hence unmatched rows can be output directly and the output row order is restored by
+ * {@link LeftRightSorted} if needed.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ */
+@SuppressWarnings("javadoc")
+class SortMergeJoin extends JoinImplementation {
+
+    /** Fraction of the progress spent on sorting the input tables (if necessary). */
+    private static final double SORT_PROGRESS = 0.5;
+
+    /**
+     * The comparator for the i-th join clause, i.e., for the values in the i-th join column of the left and the right
+     * table.
+     */
+    private DataValueComparator[] m_comparators;
+
+    /**
+     * @param joinSpecification
+     * @param exec
+     */
+    SortMergeJoin(final JoinSpecification joinSpecification, final ExecutionContext exec) {
+        super(joinSpecification, exec);
+    }
+
+    @Override
+    public JoinResult<OutputCombined> joinOutputCombined() throws CanceledExecutionException, InvalidSettingsException {
+        if (!m_joinSpecification.isConjunctive() || !m_joinSpecification.getSettings(InputTable.LEFT).hasTable()
+            || !m_joinSpecification.getSettings(InputTable.RIGHT).hasTable()) {
+            return delegate().joinOutputCombined();
+        }
+        // every row is visited once, hence matches are not reported twice
+        final boolean deduplicateResults = false;
+        // and unmatched rows are final as soon as they have been merged
+        final boolean deferUnmatchedRows = false;
+
+        final JoinResult<OutputCombined> results = m_joinSpecification.getOutputRowOrder() == OutputRowOrder.ARBITRARY
+            ? Unsorted.createCombined(this, deduplicateResults, deferUnmatchedRows)
+            : LeftRightSorted.createCombined(this, deduplicateResults, deferUnmatchedRows);
+
+        return join(results);
+    }
+
+    @Override
+    public JoinResult<OutputSplit> joinOutputSplit() throws CanceledExecutionException, InvalidSettingsException {
+        if (!m_joinSpecification.isConjunctive() || !m_joinSpecification.getSettings(InputTable.LEFT).hasTable()
+            || !m_joinSpecification.getSettings(InputTable.RIGHT).hasTable()) {
+            return delegate().joinOutputSplit();
+        }
+        // every row is visited once, hence matches are not reported twice
+        final boolean deduplicateResults = false;
+        // and unmatched rows are final as soon as they have been merged
+        final boolean deferUnmatchedRows = false;
+
+        final JoinResult<OutputSplit> results = m_joinSpecification.getOutputRowOrder() == OutputRowOrder.ARBITRARY
+            ? Unsorted.createSplit(this, deduplicateResults, deferUnmatchedRows)
+            : LeftRightSorted.createSplit(this, deduplicateResults, deferUnmatchedRows);
+
+        return join(results);
+    }
+
+    /**
+     * @return a block hash join with the same configuration as this join, used for disjunctive join specifications and
+     *         if only one input table is present
+     */
+    private BlockHashJoin delegate() {
+        BlockHashJoin blockHashJoin = new BlockHashJoin(m_joinSpecification, m_exec);
+        blockHashJoin.setEnableHiliting(isEnableHiliting());
+        blockHashJoin.setMaxOpenFiles(getMaxOpenFiles());
+        blockHashJoin.setMemoryLimitFraction(getMemoryLimitFraction());
+        blockHashJoin.setNumProbeThreads(getNumProbeThreads());
+        blockHashJoin.setProgress(getProgress());
+        return blockHashJoin;
+    }
+
+    /**
+     * @param results where to put join results (matches and unmatched rows)
+     * @throws CanceledExecutionException
+     */
+    <T extends Output> JoinResult<T> join(final JoinResult<T> results) throws CanceledExecutionException {
+
+        final JoinTableSettings leftSettings = m_joinSpecification.getSettings(InputTable.LEFT);
+        final JoinTableSettings rightSettings = m_joinSpecification.getSettings(InputTable.RIGHT);
+
+        m_progress.reset();
+        m_comparators = comparators(leftSettings, rightSettings);
+
+        m_progress.setMessage("Sorting left table.");
+        final SortedInput left =
+            new SortedInput(leftSettings, results, m_exec.createSubExecutionContext(SORT_PROGRESS / 2));
+        m_progress.setMessage("Sorting right table.");
+        final SortedInput right =
+            new SortedInput(rightSettings, results, m_exec.createSubExecutionContext(SORT_PROGRESS / 2));
+
+        m_progress.setMessage("Merging sorted tables.");
+        try {
+            merge(left, right, results);
+        } finally {
+            left.close();
+            right.close();
+        }
+        return results;
+    }
+
+    /**
+     * Merges the sorted inputs, matching the right rows of a group against the buffered left rows of the group.
+     */
+    private void merge(final SortedInput left, final SortedInput right, final JoinResult<?> results)
+        throws CanceledExecutionException {
+
+        final long totalRows = Math.max(1, left.m_table.size() + right.m_table.size());
+
+        // the left rows (and their offsets and join tuples) that have the same join column values
+        final List<DataRow> groupRows = new ArrayList<>();
+        final TLongArrayList groupOffsets = new TLongArrayList();
+        final List<DataCell[]> groupTuples = new ArrayList<>();
+        final BitSet groupMatched = new BitSet();
+
+        while (left.hasRow() && right.hasRow()) {
+            m_progress.setProgressAndCheckCanceled(
+                SORT_PROGRESS + (1 - SORT_PROGRESS) * (left.m_consumed + right.m_consumed) / totalRows);
+
+            final int cmp = compare(left.m_tuple, right.m_tuple);
+            if (cmp < 0) {
+                results.unmatched(InputTable.LEFT).accept(left.m_row, left.m_offset);
+                left.advance();
+            } else if (cmp > 0) {
+                results.unmatched(InputTable.RIGHT).accept(right.m_row, right.m_offset);
+                right.advance();
+            } else {
+                // buffer the left rows of the group
+                final DataCell[] groupKey = left.m_tuple;
+                do {
+                    groupRows.add(left.m_row);
+                    groupOffsets.add(left.m_offset);
+                    groupTuples.add(left.m_tuple);
+                    left.advance();
+                } while (left.hasRow() && compare(left.m_tuple, groupKey) == 0);
+
+                // stream the right rows of the group
+                while (right.hasRow() && compare(right.m_tuple, groupKey) == 0) {
+                    boolean matched = false;
+                    for (int i = 0; i < groupRows.size(); i++) {
+                        m_progress.getCancelChecker().checkCanceled();
+                        if (Arrays.equals(groupTuples.get(i), right.m_tuple)) {
+                            results.addMatch(groupRows.get(i), groupOffsets.get(i), right.m_row, right.m_offset);
+                            groupMatched.set(i);
+                            matched = true;
+                        }
+                    }
+                    if (!matched) {
+                        results.unmatched(InputTable.RIGHT).accept(right.m_row, right.m_offset);
+                    }
+                    right.advance();
+                }
+
+                for (int i = groupMatched.nextClearBit(0); i < groupRows.size(); i = groupMatched.nextClearBit(i + 1)) {
+                    results.unmatched(InputTable.LEFT).accept(groupRows.get(i), groupOffsets.get(i));
+                }
+                groupRows.clear();
+                groupOffsets.clear();
+                groupTuples.clear();
+                groupMatched.clear();
+            }
+        }
+
+        // the rest of the longer input has no join partners
+        for (; left.hasRow(); left.advance()) {
+            m_progress.getCancelChecker().checkCanceled();
+            results.unmatched(InputTable.LEFT).accept(left.m_row, left.m_offset);
+        }
+        for (; right.hasRow(); right.advance()) {
+            m_progress.getCancelChecker().checkCanceled();
+            results.unmatched(InputTable.RIGHT).accept(right.m_row, right.m_offset);
+        }
+    }
+
+    /**
+     * @return the comparators for the join clauses, each using the common super type of the left and right join column
+     */
+    private static DataValueComparator[] comparators(final JoinTableSettings left, final JoinTableSettings right) {
+        final int[] leftColumns = left.getJoinClauseColumns();
+        final int[] rightColumns = right.getJoinClauseColumns();
+        final DataValueComparator[] comparators = new DataValueComparator[leftColumns.length];
+        for (int i = 0; i < comparators.length; i++) {
+            comparators[i] =
+                DataType.getCommonSuperType(columnType(left, leftColumns[i]), columnType(right, rightColumns[i]))
+                    .getComparator();
+        }
+        return comparators;
+    }
+
+    private static DataType columnType(final JoinTableSettings settings, final int column) {
+        return column == SpecialJoinColumn.ROW_KEY.getColumnIndexIndicator() ? StringCell.TYPE
+            : settings.getTableSpec().getColumnSpec(column).getType();
+    }
+
+    /**
+     * Compares the join column values of two rows from the same table clause by clause, without extracting them into
+     * join tuples. Neither row may contain missing join column values.
+     *
+     * @param shift 1 if the rows are prefixed with an offset column, 0 otherwise
+     */
+    private int compare(final JoinTableSettings settings, final DataRow row1, final DataRow row2, final int shift) {
+        final int[] joinClauseColumns = settings.getJoinClauseColumns();
+        for (int i = 0; i < m_comparators.length; i++) {
+            final int cmp = m_comparators[i].compare(cell(row1, joinClauseColumns[i], shift),
+                cell(row2, joinClauseColumns[i], shift));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compares two join tuples clause by clause. Neither tuple may contain missing values.
+     */
+    private int compare(final DataCell[] tuple1, final DataCell[] tuple2) {
+        for (int i = 0; i < m_comparators.length; i++) {
+            final int cmp = m_comparators[i].compare(tuple1[i], tuple2[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param settings the input table the rows belong to
+     * @param row a row, possibly prefixed with an offset column
+     * @param shift 1 if the row is prefixed with an offset column, 0 otherwise
+     * @return the join column values of the row, null if any is missing, see
+     *         {@link JoinTuple#get(JoinTableSettings, DataRow)}
+     */
+    private static DataCell[] tuple(final JoinTableSettings settings, final DataRow row, final int shift) {
+        final int[] joinClauseColumns = settings.getJoinClauseColumns();
+        final DataCell[] cells = new DataCell[joinClauseColumns.length];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = cell(row, joinClauseColumns[i], shift);
+            if (cells[i].isMissing()) {
+                return null;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * @return whether any of the join column values of the row is missing
+     */
+    private static boolean hasMissing(final JoinTableSettings settings, final DataRow row) {
+        for (int column : settings.getJoinClauseColumns()) {
+            if (column != SpecialJoinColumn.ROW_KEY.getColumnIndexIndicator() && row.getCell(column).isMissing()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the value of the join column in the row, the row key as a string cell for the row key join column
+     */
+    private static DataCell cell(final DataRow row, final int column, final int shift) {
+        return column == SpecialJoinColumn.ROW_KEY.getColumnIndexIndicator() ? new StringCell(row.getKey().getString())
+            : row.getCell(column + shift);
+    }
+
+    /**
+     * Provides the rows of an input table in the order of their join column values, along with their offsets in the
+     * input table. Rows with missing join column values are reported as unmatched while copying the input table.
+     */
+    private final class SortedInput {
+
+        private final JoinTableSettings m_settings;
+
+        private final InputTable m_side;
+
+        private final JoinResult<?> m_results;
+
+        /** A sorted copy of the input table with row offsets, cleared after use. */
+        private final BufferedDataTable m_table;
+
+        private final CloseableRowIterator m_iterator;
+
+        /** The current row in input table format, null if there are no more rows. */
+        private DataRow m_row;
+
+        /** The join column values of the current row. */
+        private DataCell[] m_tuple;
+
+        /** The offset of the current row in the input table. */
+        private long m_offset;
+
+        /** Number of rows taken from {@link #m_iterator} so far. */
+        private long m_consumed;
+
+        SortedInput(final JoinTableSettings settings, final JoinResult<?> results, final ExecutionContext exec)
+            throws CanceledExecutionException {
+            m_settings = settings;
+            m_side = settings.getSide();
+            m_results = results;
+            m_table = sort(settings.getTable().orElseThrow(IllegalStateException::new), exec);
+            exec.setProgress(1);
+            m_iterator = m_table.iterator();
+            advance();
+        }
+
+        boolean hasRow() {
+            return m_row != null;
+        }
+
+        /**
+         * Moves to the next row.
+         */
+        void advance() {
+            m_row = null;
+            if (m_iterator.hasNext()) {
+                final DataRow row = m_iterator.next();
+                m_consumed++;
+                m_offset = OrderedRow.getOffset(row);
+                m_tuple = tuple(m_settings, row, 1);
+                m_row = OrderedRow.removeOffset(row);
+            }
+        }
+
+        /**
+         * Copies the rows of the input table to a working table, annotated with their offsets, and sorts it unless the
+         * rows are already in order. Rows with missing join column values are reported as unmatched instead.
+         */
+        private BufferedDataTable sort(final BufferedDataTable input, final ExecutionContext exec)
+            throws CanceledExecutionException {
+            final BufferedDataContainer container =
+                m_exec.createDataContainer(OrderedRow.withOffset(m_settings.getTableSpec()), false);
+            long offset = 0;
+            // the previous row with join column values, to check whether the input is sorted already
+            DataRow previous = null;
+            boolean isSorted = true;
+            try (CloseableRowIterator rows = input.iterator()) {
+                while (rows.hasNext()) {
+                    m_progress.getCancelChecker().checkCanceled();
+                    final DataRow row = rows.next();
+                    if (hasMissing(m_settings, row)) {
+                        m_results.unmatched(m_side).accept(row, offset);
+                    } else {
+                        isSorted = isSorted && (previous == null || compare(m_settings, previous, row, 0) <= 0);
+                        previous = row;
+                        container.addRowToTable(OrderedRow.withOffset(m_settings, row, offset));
+                    }
+                    offset++;
+                }
+            } finally {
+                container.close();
+            }
+            final BufferedDataTable unsorted = container.getTable();
+            if (isSorted) {
+                return unsorted;
+            }
+
+            final Comparator<DataRow> byJoinColumns = (r1, r2) -> compare(m_settings, r1, r2, 1);
+            final BufferedDataTableSorter sorter = new BufferedDataTableSorter(unsorted, byJoinColumns);
+            sorter.setMaxOpenContainers(Math.max(3, getMaxOpenFiles()));
+            final BufferedDataTable sorted = sorter.sort(exec);
+            m_exec.clearTable(unsorted);
+            return sorted;
+        }
+
+        void close() {
+            m_iterator.close();
+            m_exec.clearTable(m_table);
+        }
+    }
+
+}
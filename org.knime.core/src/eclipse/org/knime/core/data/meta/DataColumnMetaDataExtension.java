@@ -69,7 +69,8 @@
      * consume in order to create a {@link DataColumnMetaData} object.
      *
      * @return the type of {@link DataValue} the {@link DataColumnMetaData} associated with this factory is concerned
-     *         with
+     *         with, or null if the meta data is only created on request and not for columns of a certain type (the
+     *         meta data can still be stored with the column specs)
      */
     Class<? extends DataValue> getDataValueClass();
 
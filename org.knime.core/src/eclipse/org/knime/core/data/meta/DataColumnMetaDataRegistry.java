@@ -61,6 +61,7 @@
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
 import org.knime.core.data.DataType;
+import org.knime.core.data.DataValue;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
 
@@ -203,7 +204,7 @@ private static <M extends DataColumnMetaData, F extends DataColumnMetaDataFramew
     public Collection<DataColumnMetaDataCreator<?>> getCreators(final DataType type) {
         CheckUtils.checkNotNull(type);
         return type.getValueClasses().stream()
-            .flatMap(d -> m_creatorFactories.values().stream().filter(m -> m.getDataValueClass().isAssignableFrom(d)))
+            .flatMap(d -> m_creatorFactories.values().stream().filter(m -> isCreatedFor(m, d)))
             .map(DataColumnMetaDataExtension::create).collect(Collectors.toList());
     }
 
@@ -216,8 +217,15 @@ public Collection<DataColumnMetaDataCreator<?>> getCreators(final DataType type)
      *         {@link DataColumnMetaData} for {@link DataType type}
      */
     boolean hasMetaData(final DataType type) {
-        return type.getValueClasses().stream().anyMatch(
-            d -> m_creatorFactories.values().stream().anyMatch(m -> m.getDataValueClass().isAssignableFrom(d)));
+        return type.getValueClasses().stream()
+            .anyMatch(d -> m_creatorFactories.values().stream().anyMatch(m -> isCreatedFor(m, d)));
+    }
+
+    /** Extensions without a value class are only created on request, e.g., column sketches. */
+    private static boolean isCreatedFor(final DataColumnMetaDataExtension<?> extension,
+        final Class<? extends DataValue> valueClass) {
+        final Class<? extends DataValue> extensionValueClass = extension.getDataValueClass();
+        return extensionValueClass != null && extensionValueClass.isAssignableFrom(valueClass);
     }
 
     /**
@@ -0,0 +1,235 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.sketch;
+
+import java.util.Base64;
+import java.util.Objects;
+
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataTableDomainCreator;
+import org.knime.core.data.meta.DataColumnMetaData;
+import org.knime.core.data.meta.DataColumnMetaDataSerializer;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.config.ConfigRO;
+import org.knime.core.node.config.ConfigWO;
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Approximate statistics of a column that are computed while the table is written, if enabled (see
+ * {@link DataTableDomainCreator#setCreateColumnSketches(boolean)}): the number of missing and non-missing values, the
+ * estimated number of distinct values ({@link HyperLogLog}) and, for numeric columns, the approximate distribution of
+ * the values ({@link QuantileSketch}). Allows to plan operations, e.g., choose bin boundaries or a join strategy,
+ * without scanning the table.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ */
+public final class ColumnSketchMetaData implements DataColumnMetaData {
+
+    private static final String CFG_MISSING_COUNT = "missingCount";
+
+    private static final String CFG_NON_MISSING_COUNT = "nonMissingCount";
+
+    private static final String CFG_DISTINCT_VALUES = "distinctValues";
+
+    private static final String CFG_QUANTILES = "quantiles";
+
+    private final long m_missingCount;
+
+    private final long m_nonMissingCount;
+
+    private final HyperLogLog m_distinctValues;
+
+    private final QuantileSketch m_quantiles;
+
+    /**
+     * @param missingCount the number of missing values
+     * @param nonMissingCount the number of non-missing values
+     * @param distinctValues the sketch of the non-missing values, is not copied
+     * @param quantiles the sketch of the numeric values, is not copied
+     */
+    ColumnSketchMetaData(final long missingCount, final long nonMissingCount, final HyperLogLog distinctValues,
+        final QuantileSketch quantiles) {
+        m_missingCount = missingCount;
+        m_nonMissingCount = nonMissingCount;
+        m_distinctValues = distinctValues;
+        m_quantiles = quantiles;
+    }
+
+    /**
+     * Extracts the sketches from the given column spec.
+     *
+     * @param columnSpec the spec of the column
+     * @return the sketches of the column, null if they have not been computed
+     */
+    public static ColumnSketchMetaData extractFromSpec(final DataColumnSpec columnSpec) {
+        return columnSpec.getMetaDataOfType(ColumnSketchMetaData.class).orElse(null);
+    }
+
+    /** @return the number of missing values in the column */
+    public long getMissingCount() {
+        return m_missingCount;
+    }
+
+    /** @return the number of non-missing values in the column */
+    public long getNonMissingCount() {
+        return m_nonMissingCount;
+    }
+
+    /**
+     * Note that the values of cells that are stored as blobs are not included in the estimate.
+     *
+     * @return the estimated number of distinct non-missing values in the column
+     */
+    public long getDistinctCountEstimate() {
+        // the estimate may exceed the exact number of values for small counts
+        return Math.min(m_distinctValues.estimate(), m_nonMissingCount);
+    }
+
+    /** @return whether the column contains numeric values, i.e., quantiles can be estimated */
+    public boolean hasQuantiles() {
+        return m_quantiles.getCount() > 0;
+    }
+
+    /**
+     * @param quantile in [0, 1]
+     * @return the estimated value at the given quantile of the numeric (non-NaN) values, NaN if there are none
+     * @see QuantileSketch#getQuantile(double)
+     */
+    public double getQuantile(final double quantile) {
+        return m_quantiles.getQuantile(quantile);
+    }
+
+    /**
+     * @param value the value
+     * @return the estimated fraction of numeric (non-NaN) values smaller than or equal to the value, NaN if there are
+     *         none
+     * @see QuantileSketch#getRank(double)
+     */
+    public double getRank(final double value) {
+        return m_quantiles.getRank(value);
+    }
+
+    /** @return a copy of the distinct value sketch, e.g., to merge it with the sketch of another column */
+    public HyperLogLog getDistinctValuesSketch() {
+        return m_distinctValues.copy();
+    }
+
+    /** @return a copy of the quantile sketch, e.g., to merge it with the sketch of another column */
+    public QuantileSketch getQuantileSketch() {
+        return m_quantiles.copy();
+    }
+
+    HyperLogLog distinctValues() {
+        return m_distinctValues;
+    }
+
+    QuantileSketch quantiles() {
+        return m_quantiles;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!(obj instanceof ColumnSketchMetaData)) {
+            return false;
+        }
+        final ColumnSketchMetaData other = (ColumnSketchMetaData)obj;
+        return m_missingCount == other.m_missingCount && m_nonMissingCount == other.m_nonMissingCount
+            && m_distinctValues.equals(other.m_distinctValues) && m_quantiles.equals(other.m_quantiles);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(m_missingCount, m_nonMissingCount, m_distinctValues, m_quantiles);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("missing: %d, non-missing: %d, distinct: ~%d", m_missingCount, m_nonMissingCount,
+            getDistinctCountEstimate());
+    }
+
+    /**
+     * Serializer for {@link ColumnSketchMetaData} objects. The sketches are stored as Base64 strings.
+     *
+     * @author Carl Witt, KNIME AG, Zurich, Switzerland
+     */
+    public static final class ColumnSketchMetaDataSerializer
+        implements DataColumnMetaDataSerializer<ColumnSketchMetaData> {
+
+        @Override
+        public void save(final ColumnSketchMetaData metaData, final ConfigWO config) {
+            CheckUtils.checkNotNull(metaData, "The meta data provided to the serializer was null.");
+            config.addLong(CFG_MISSING_COUNT, metaData.m_missingCount);
+            config.addLong(CFG_NON_MISSING_COUNT, metaData.m_nonMissingCount);
+            config.addString(CFG_DISTINCT_VALUES,
+                Base64.getEncoder().encodeToString(metaData.m_distinctValues.toByteArray()));
+            config.addString(CFG_QUANTILES, Base64.getEncoder().encodeToString(metaData.m_quantiles.toByteArray()));
+        }
+
+        @Override
+        public ColumnSketchMetaData load(final ConfigRO config) throws InvalidSettingsException {
+            try {
+                return new ColumnSketchMetaData(config.getLong(CFG_MISSING_COUNT),
+                    config.getLong(CFG_NON_MISSING_COUNT),
+                    HyperLogLog.fromByteArray(Base64.getDecoder().decode(config.getString(CFG_DISTINCT_VALUES))),
+                    QuantileSketch.fromByteArray(Base64.getDecoder().decode(config.getString(CFG_QUANTILES))));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidSettingsException("Invalid column sketch: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public Class<ColumnSketchMetaData> getMetaDataClass() {
+            return ColumnSketchMetaData.class;
+        }
+
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.sketch;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.container.BlobWrapperDataCell;
+import org.knime.core.data.meta.DataColumnMetaDataCreator;
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * {@link DataColumnMetaDataCreator} for {@link ColumnSketchMetaData}. Creators of different partitions of a column can
+ * be merged into the creator of the whole column.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ */
+public final class ColumnSketchMetaDataCreator implements DataColumnMetaDataCreator<ColumnSketchMetaData> {
+
+    private long m_missingCount;
+
+    private long m_nonMissingCount;
+
+    private final HyperLogLog m_distinctValues;
+
+    private final QuantileSketch m_quantiles;
+
+    /** Creates a creator for an empty column. */
+    public ColumnSketchMetaDataCreator() {
+        this(0, 0, new HyperLogLog(), new QuantileSketch());
+    }
+
+    private ColumnSketchMetaDataCreator(final long missingCount, final long nonMissingCount,
+        final HyperLogLog distinctValues, final QuantileSketch quantiles) {
+        m_missingCount = missingCount;
+        m_nonMissingCount = nonMissingCount;
+        m_distinctValues = distinctValues;
+        m_quantiles = quantiles;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The values of blob cells are not added to the distinct value sketch, since this would require to read them.
+     */
+    @Override
+    public void update(final DataCell cell) {
+        if (cell.isMissing()) {
+            m_missingCount++;
+            return;
+        }
+        m_nonMissingCount++;
+        if (cell instanceof BlobWrapperDataCell) {
+            return;
+        }
+        m_distinctValues.add(cell.hashCode());
+        if (cell instanceof DoubleValue) {
+            m_quantiles.update(((DoubleValue)cell).getDoubleValue());
+        }
+    }
+
+    @Override
+    public ColumnSketchMetaData create() {
+        return new ColumnSketchMetaData(m_missingCount, m_nonMissingCount, m_distinctValues.copy(),
+            m_quantiles.copy());
+    }
+
+    @Override
+    public ColumnSketchMetaDataCreator copy() {
+        return new ColumnSketchMetaDataCreator(m_missingCount, m_nonMissingCount, m_distinctValues.copy(),
+            m_quantiles.copy());
+    }
+
+    @Override
+    public ColumnSketchMetaDataCreator merge(final DataColumnMetaDataCreator<ColumnSketchMetaData> other) {
+        CheckUtils.checkArgument(other instanceof ColumnSketchMetaDataCreator,
+            "Can only merge with ColumnSketchMetaDataCreator but received object of type %s.",
+            other.getClass().getName());
+        final ColumnSketchMetaDataCreator otherCreator = (ColumnSketchMetaDataCreator)other;
+        m_missingCount += otherCreator.m_missingCount;
+        m_nonMissingCount += otherCreator.m_nonMissingCount;
+        m_distinctValues.merge(otherCreator.m_distinctValues);
+        m_quantiles.merge(otherCreator.m_quantiles);
+        return this;
+    }
+
+    @Override
+    public ColumnSketchMetaDataCreator merge(final ColumnSketchMetaData other) {
+        m_missingCount += other.getMissingCount();
+        m_nonMissingCount += other.getNonMissingCount();
+        m_distinctValues.merge(other.distinctValues());
+        m_quantiles.merge(other.quantiles());
+        return this;
+    }
+
+    @Override
+    public Class<ColumnSketchMetaData> getMetaDataClass() {
+        return ColumnSketchMetaData.class;
+    }
+
+}
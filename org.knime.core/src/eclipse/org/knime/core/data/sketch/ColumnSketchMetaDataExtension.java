@@ -0,0 +1,92 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.sketch;
+
+import org.knime.core.data.DataTableDomainCreator;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.meta.DataColumnMetaDataCreator;
+import org.knime.core.data.meta.DataColumnMetaDataExtension;
+import org.knime.core.data.meta.DataColumnMetaDataSerializer;
+
+/**
+ * Registers {@link ColumnSketchMetaData} such that it can be stored with table specs. The sketches apply to columns
+ * of any type but are only computed on request (see {@link DataTableDomainCreator#setCreateColumnSketches(boolean)}),
+ * hence they are not associated with a {@link DataValue} class.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ */
+public final class ColumnSketchMetaDataExtension implements DataColumnMetaDataExtension<ColumnSketchMetaData> {
+
+    @Override
+    public DataColumnMetaDataCreator<ColumnSketchMetaData> create() {
+        return new ColumnSketchMetaDataCreator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return null since the sketches are not created for a specific type of values
+     */
+    @Override
+    public Class<? extends DataValue> getDataValueClass() {
+        return null;
+    }
+
+    @Override
+    public Class<ColumnSketchMetaData> getMetaDataClass() {
+        return ColumnSketchMetaData.class;
+    }
+
+    @Override
+    public DataColumnMetaDataSerializer<ColumnSketchMetaData> createSerializer() {
+        return new ColumnSketchMetaData.ColumnSketchMetaDataSerializer();
+    }
+
+}
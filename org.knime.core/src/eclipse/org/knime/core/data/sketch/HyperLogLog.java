@@ -0,0 +1,188 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.sketch;
+
+import java.util.Arrays;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * A HyperLogLog sketch that estimates the number of distinct values added to it in a fixed amount of memory (2048
+ * registers of one byte each, i.e., a standard error of about 2.3%). Two sketches can be merged into a sketch that is
+ * identical to the sketch of the union of their values, which allows to compute the sketch of a table from the
+ * sketches of its partitions.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ */
+public final class HyperLogLog {
+
+    /** The number of bits of the hash that select the register. */
+    private static final int PRECISION = 11;
+
+    private static final int NUM_REGISTERS = 1 << PRECISION;
+
+    /** The bias correction constant for {@link #NUM_REGISTERS} registers. */
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / NUM_REGISTERS);
+
+    /** The maximum number of leading zeros plus one of the bits of a hash that are not used to select a register. */
+    private final byte[] m_registers;
+
+    /** Creates an empty sketch. */
+    public HyperLogLog() {
+        m_registers = new byte[NUM_REGISTERS];
+    }
+
+    private HyperLogLog(final byte[] registers) {
+        m_registers = registers;
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param hashCode the hash code of the value, e.g., {@link Object#hashCode()}, which is mixed before use
+     */
+    public void add(final int hashCode) {
+        addHash(mix(hashCode));
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param hash a uniformly distributed 64 bit hash of the value
+     */
+    public void addHash(final long hash) {
+        final int register = (int)(hash >>> (Long.SIZE - PRECISION));
+        // the marker bit bounds the number of leading zeros if the remaining bits are all zero
+        final long remaining = (hash << PRECISION) | (1L << (PRECISION - 1));
+        final byte rank = (byte)(Long.numberOfLeadingZeros(remaining) + 1);
+        if (m_registers[register] < rank) {
+            m_registers[register] = rank;
+        }
+    }
+
+    /**
+     * Adds the values of the other sketch to this sketch.
+     *
+     * @param other the sketch to merge into this sketch
+     * @return this sketch
+     */
+    public HyperLogLog merge(final HyperLogLog other) {
+        for (int i = 0; i < NUM_REGISTERS; i++) {
+            if (m_registers[i] < other.m_registers[i]) {
+                m_registers[i] = other.m_registers[i];
+            }
+        }
+        return this;
+    }
+
+    /** @return the estimated number of distinct values added to the sketch */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (final byte r : m_registers) {
+            sum += Double.longBitsToDouble((long)(Double.MAX_EXPONENT - r) << 52); // 2^-r
+            if (r == 0) {
+                zeros++;
+            }
+        }
+        final double estimate = ALPHA * NUM_REGISTERS * NUM_REGISTERS / sum;
+        if (estimate <= 2.5 * NUM_REGISTERS && zeros > 0) {
+            // linear counting is more accurate for small cardinalities
+            return Math.round(NUM_REGISTERS * Math.log((double)NUM_REGISTERS / zeros));
+        }
+        return Math.round(estimate);
+    }
+
+    /** @return an independent copy of this sketch */
+    public HyperLogLog copy() {
+        return new HyperLogLog(m_registers.clone());
+    }
+
+    /** @return the serialized sketch, see {@link #fromByteArray(byte[])} */
+    public byte[] toByteArray() {
+        return m_registers.clone();
+    }
+
+    /**
+     * @param bytes a sketch serialized with {@link #toByteArray()}
+     * @return the deserialized sketch
+     * @throws IllegalArgumentException if the bytes don't represent a sketch
+     */
+    public static HyperLogLog fromByteArray(final byte[] bytes) {
+        CheckUtils.checkArgument(bytes.length == NUM_REGISTERS, "Expected %d registers but got %d.", NUM_REGISTERS,
+            bytes.length);
+        return new HyperLogLog(bytes.clone());
+    }
+
+    /**
+     * The finalization step of MurmurHash3, which distributes the bits of a (possibly poorly distributed) hash code
+     * over a 64 bit hash.
+     */
+    private static long mix(final int hashCode) {
+        long h = hashCode * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof HyperLogLog && Arrays.equals(m_registers, ((HyperLogLog)obj).m_registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(m_registers);
+    }
+
+}
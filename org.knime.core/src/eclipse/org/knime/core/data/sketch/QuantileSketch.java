@@ -0,0 +1,405 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.sketch;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * A mergeable sketch of the distribution of double values that answers quantile and rank queries approximately in a
+ * bounded amount of memory (a few thousand values). The sketch follows the compactor hierarchy of KLL (Karnin, Lang,
+ * Liberty, "Optimal Quantile Approximation in Streams", 2016): values are collected in level 0; a full level is sorted
+ * and every other value is promoted to the next level, where each value represents twice as many values. The rank
+ * error is about 1% of the number of values; the minimum and maximum are exact.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ */
+public final class QuantileSketch {
+
+    /** The capacity of the highest level; lower levels have smaller capacities. */
+    private static final int K = 200;
+
+    /** The minimum capacity of a level. */
+    private static final int MIN_CAPACITY = 8;
+
+    private static final int SERIAL_VERSION = 1;
+
+    /** The values of each level; a value on level h represents 2^h values. */
+    private double[][] m_levels;
+
+    /** The number of values on each level. */
+    private int[] m_sizes;
+
+    /** The number of values added to the sketch. */
+    private long m_count;
+
+    private double m_min = Double.NaN;
+
+    private double m_max = Double.NaN;
+
+    /** State of the random number generator that selects which half of the values of a level is promoted. */
+    private long m_random = 0x2545F4914F6CDD1DL;
+
+    /** Creates an empty sketch. */
+    public QuantileSketch() {
+        m_levels = new double[][]{new double[MIN_CAPACITY]};
+        m_sizes = new int[1];
+    }
+
+    private QuantileSketch(final QuantileSketch toCopy) {
+        m_levels = new double[toCopy.m_levels.length][];
+        for (int h = 0; h < m_levels.length; h++) {
+            m_levels[h] = Arrays.copyOf(toCopy.m_levels[h], Math.max(toCopy.m_sizes[h], MIN_CAPACITY));
+        }
+        m_sizes = toCopy.m_sizes.clone();
+        m_count = toCopy.m_count;
+        m_min = toCopy.m_min;
+        m_max = toCopy.m_max;
+        m_random = toCopy.m_random;
+    }
+
+    /**
+     * Adds a value to the sketch. NaN values are ignored.
+     *
+     * @param value the value to add
+     */
+    public void update(final double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (m_count == 0 || value < m_min) {
+            m_min = value;
+        }
+        if (m_count == 0 || value > m_max) {
+            m_max = value;
+        }
+        m_count++;
+        append(0, value);
+        if (m_sizes[0] >= capacity(0)) {
+            compress();
+        }
+    }
+
+    /**
+     * Adds the values of the other sketch to this sketch.
+     *
+     * @param other the sketch to merge into this sketch
+     * @return this sketch
+     */
+    public QuantileSketch merge(final QuantileSketch other) {
+        if (other.m_count == 0) {
+            return this;
+        }
+        for (int h = 0; h < other.m_levels.length; h++) {
+            for (int i = 0; i < other.m_sizes[h]; i++) {
+                append(h, other.m_levels[h][i]);
+            }
+        }
+        m_min = m_count == 0 ? other.m_min : Math.min(m_min, other.m_min);
+        m_max = m_count == 0 ? other.m_max : Math.max(m_max, other.m_max);
+        m_count += other.m_count;
+        compress();
+        return this;
+    }
+
+    /** @return the number of values added to the sketch */
+    public long getCount() {
+        return m_count;
+    }
+
+    /** @return the smallest value added to the sketch, NaN if the sketch is empty */
+    public double getMin() {
+        return m_min;
+    }
+
+    /** @return the largest value added to the sketch, NaN if the sketch is empty */
+    public double getMax() {
+        return m_max;
+    }
+
+    /**
+     * Estimates the value at the given quantile, e.g., the median for 0.5.
+     *
+     * @param quantile in [0, 1]
+     * @return the estimated value at the quantile, NaN if the sketch is empty
+     */
+    public double getQuantile(final double quantile) {
+        CheckUtils.checkArgument(quantile >= 0 && quantile <= 1, "Quantile must be in [0, 1] but is %s.", quantile);
+        if (m_count == 0) {
+            return Double.NaN;
+        } else if (quantile == 0) {
+            return m_min;
+        } else if (quantile == 1) {
+            return m_max;
+        }
+        final double[] values = new double[getRetainedValues()];
+        final long[] weights = new long[values.length];
+        sortedValuesAndWeights(values, weights);
+        final double targetWeight = quantile * m_count;
+        long cumulativeWeight = 0;
+        for (int i = 0; i < values.length; i++) {
+            cumulativeWeight += weights[i];
+            if (cumulativeWeight >= targetWeight) {
+                return values[i];
+            }
+        }
+        return m_max;
+    }
+
+    /**
+     * Estimates the fraction of values that are smaller than or equal to the given value.
+     *
+     * @param value the value
+     * @return the estimated fraction in [0, 1], NaN if the sketch is empty
+     */
+    public double getRank(final double value) {
+        if (m_count == 0) {
+            return Double.NaN;
+        }
+        long weight = 0;
+        for (int h = 0; h < m_levels.length; h++) {
+            for (int i = 0; i < m_sizes[h]; i++) {
+                if (m_levels[h][i] <= value) {
+                    weight += 1L << h;
+                }
+            }
+        }
+        // the weights of the retained values need not sum up to the count exactly
+        return Math.min(1.0, weight / (double)getRetainedWeight());
+    }
+
+    /** @return an independent copy of this sketch */
+    public QuantileSketch copy() {
+        return new QuantileSketch(this);
+    }
+
+    /** @return the serialized sketch, see {@link #fromByteArray(byte[])} */
+    public byte[] toByteArray() {
+        final ByteBuffer buffer = ByteBuffer.allocate(
+            Integer.BYTES * (2 + m_levels.length) + Long.BYTES * 2 + Double.BYTES * (2 + getRetainedValues()));
+        buffer.putInt(SERIAL_VERSION).putLong(m_count).putDouble(m_min).putDouble(m_max).putLong(m_random);
+        buffer.putInt(m_levels.length);
+        for (int h = 0; h < m_levels.length; h++) {
+            buffer.putInt(m_sizes[h]);
+            for (int i = 0; i < m_sizes[h]; i++) {
+                buffer.putDouble(m_levels[h][i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @param bytes a sketch serialized with {@link #toByteArray()}
+     * @return the deserialized sketch
+     * @throws IllegalArgumentException if the bytes don't represent a sketch
+     */
+    public static QuantileSketch fromByteArray(final byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            final int version = buffer.getInt();
+            CheckUtils.checkArgument(version == SERIAL_VERSION, "Unsupported quantile sketch version %d.", version);
+            final QuantileSketch sketch = new QuantileSketch();
+            sketch.m_count = buffer.getLong();
+            sketch.m_min = buffer.getDouble();
+            sketch.m_max = buffer.getDouble();
+            sketch.m_random = buffer.getLong();
+            final int numLevels = buffer.getInt();
+            CheckUtils.checkArgument(numLevels > 0 && numLevels <= Long.SIZE, "Invalid number of levels %d.",
+                numLevels);
+            sketch.m_levels = new double[numLevels][];
+            sketch.m_sizes = new int[numLevels];
+            for (int h = 0; h < numLevels; h++) {
+                final int size = buffer.getInt();
+                CheckUtils.checkArgument(size >= 0 && size <= buffer.remaining() / Double.BYTES,
+                    "Invalid size %d of level %d.", size, h);
+                sketch.m_levels[h] = new double[Math.max(size, MIN_CAPACITY)];
+                for (int i = 0; i < size; i++) {
+                    sketch.m_levels[h][i] = buffer.getDouble();
+                }
+                sketch.m_sizes[h] = size;
+            }
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated quantile sketch", e);
+        }
+    }
+
+    /** The capacity of a level shrinks by a factor of 2/3 per level below the highest level. */
+    private int capacity(final int level) {
+        final int depth = m_levels.length - 1 - level;
+        return Math.max(MIN_CAPACITY, (int)Math.ceil(K * Math.pow(2.0 / 3, depth)));
+    }
+
+    private void append(final int level, final double value) {
+        while (level >= m_levels.length) {
+            m_levels = Arrays.copyOf(m_levels, m_levels.length + 1);
+            m_levels[m_levels.length - 1] = new double[MIN_CAPACITY];
+            m_sizes = Arrays.copyOf(m_sizes, m_sizes.length + 1);
+        }
+        if (m_sizes[level] == m_levels[level].length) {
+            m_levels[level] = Arrays.copyOf(m_levels[level], 2 * m_levels[level].length);
+        }
+        m_levels[level][m_sizes[level]++] = value;
+    }
+
+    /** Compacts the levels until each level is within its capacity. */
+    private void compress() {
+        boolean compacted;
+        do {
+            compacted = false;
+            for (int h = 0; h < m_levels.length; h++) {
+                if (m_sizes[h] >= capacity(h)) {
+                    compact(h);
+                    compacted = true;
+                }
+            }
+        } while (compacted);
+    }
+
+    /**
+     * Sorts the values of the level and promotes either the values at even or at odd positions to the next level. If
+     * the number of values is odd, the largest value stays on the level.
+     */
+    private void compact(final int level) {
+        final double[] values = m_levels[level];
+        final int size = m_sizes[level];
+        Arrays.sort(values, 0, size);
+        final int pairs = size / 2;
+        final int offset = nextRandomBit();
+        final double leftOver = values[size - 1];
+        for (int i = 0; i < pairs; i++) {
+            // may reallocate m_levels but not the values array of this level
+            append(level + 1, values[2 * i + offset]);
+        }
+        if (size % 2 == 1) {
+            values[0] = leftOver;
+            m_sizes[level] = 1;
+        } else {
+            m_sizes[level] = 0;
+        }
+    }
+
+    /** xorshift64 */
+    private int nextRandomBit() {
+        m_random ^= m_random << 13;
+        m_random ^= m_random >>> 7;
+        m_random ^= m_random << 17;
+        return (int)(m_random >>> 63);
+    }
+
+    private int getRetainedValues() {
+        int retained = 0;
+        for (final int size : m_sizes) {
+            retained += size;
+        }
+        return retained;
+    }
+
+    private long getRetainedWeight() {
+        long weight = 0;
+        for (int h = 0; h < m_sizes.length; h++) {
+            weight += (long)m_sizes[h] << h;
+        }
+        return weight;
+    }
+
+    /** Fills the arrays with the retained values in ascending order and their weights. */
+    private void sortedValuesAndWeights(final double[] values, final long[] weights) {
+        final double[] unsortedValues = new double[values.length];
+        final long[] unsortedWeights = new long[values.length];
+        int n = 0;
+        for (int h = 0; h < m_levels.length; h++) {
+            for (int i = 0; i < m_sizes[h]; i++) {
+                unsortedValues[n] = m_levels[h][i];
+                unsortedWeights[n] = 1L << h;
+                n++;
+            }
+        }
+        final Integer[] order = IntStream.range(0, n).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, (i, j) -> Double.compare(unsortedValues[i], unsortedValues[j]));
+        for (int i = 0; i < n; i++) {
+            values[i] = unsortedValues[order[i]];
+            weights[i] = unsortedWeights[order[i]];
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!(obj instanceof QuantileSketch)) {
+            return false;
+        }
+        final QuantileSketch other = (QuantileSketch)obj;
+        if (m_count != other.m_count || m_levels.length != other.m_levels.length) {
+            return false;
+        }
+        for (int h = 0; h < m_levels.length; h++) {
+            if (m_sizes[h] != other.m_sizes[h] || !Arrays.equals(Arrays.copyOf(m_levels[h], m_sizes[h]),
+                Arrays.copyOf(other.m_levels[h], other.m_sizes[h]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(m_count);
+        for (int h = 0; h < m_levels.length; h++) {
+            for (int i = 0; i < m_sizes[h]; i++) {
+                hash = 31 * hash + Double.hashCode(m_levels[h][i]);
+            }
+        }
+        return hash;
+    }
+}
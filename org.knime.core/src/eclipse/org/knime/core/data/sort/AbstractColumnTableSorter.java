@@ -375,12 +375,19 @@ private static SortingDescription[] toSortDescriptions(final DataTableSpec dataT
             DataColumnSpec columnSpec = checkSettingNotNull(//
                 dataTableSpec.getColumnSpec(so), "Column: '%s' does not exist in input table.", so);
             final DataValueComparator comparator = columnSpec.getType().getComparator();
+            final RowComparator rowComparator =
+                new RowComparator(new int[]{0}, new boolean[]{true}, false, new DataTableSpec(columnSpec));
             toReturn[index++] = new SortingDescription(so) {
 
                 @Override
                 public int compare(final DataRow o1, final DataRow o2) {
                     return comparator.compare(o1.getCell(0), o2.getCell(0));
                 }
+
+                @Override
+                RowComparator getRowComparator() {
+                    return rowComparator;
+                }
             };
         }
         return toReturn;
@@ -425,7 +432,7 @@ private void sortBufferInParallel() {
                 futures.add(m_executor.enqueue(new Runnable() {
                     @Override
                     public void run() {
-                        Collections.sort(descr.getValue(), descr.getKey());
+                        NormalizedSortKey.sort(descr.getValue(), descr.getKey());
                     }
                 }));
             }
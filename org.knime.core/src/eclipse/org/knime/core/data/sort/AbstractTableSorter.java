@@ -54,14 +54,17 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -76,7 +79,9 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.util.ThreadPool;
 
 /**
  * Class to sort a table. See <a href="package.html">package description</a> for details.
@@ -116,6 +121,12 @@ abstract class AbstractTableSorter {
 
     private boolean m_sortInMemory = false;
 
+    /** Number of threads used to sort and write chunks and to merge them, see {@link #setParallelism(int)}. */
+    private int m_parallelism = 1;
+
+    /** Whether to sort by {@link NormalizedSortKey} if the comparator allows, see {@link #setUseNormalizedSortKeys}. */
+    private boolean m_useNormalizedSortKeys = true;
+
     /** The RowComparator to compare two DataRows (inner class). */
     private Comparator<DataRow> m_rowComparator;
 
@@ -407,6 +418,73 @@ public void setSortInMemory(final boolean sortInMemory) {
         m_sortInMemory = sortInMemory;
     }
 
+    /**
+     * @return the number of threads used for sorting on disk, see {@link #setParallelism(int)} for details.
+     * @since 4.3
+     */
+    public int getParallelism() {
+        return m_parallelism;
+    }
+
+    /**
+     * Sets the number of threads used when sorting on disk. If larger than one, chunks of the input table are sorted
+     * and written to disk by workers of the {@link KNIMEConstants#GLOBAL_THREAD_POOL} while the next chunk is read,
+     * and the merge steps that are needed in addition to the final merge run concurrently. The concurrent merge steps
+     * share the number of open containers (see {@link #setMaxOpenContainers(int)}), hence each of them merges fewer
+     * containers at once.
+     *
+     * <p>
+     * The default is 1, i.e., everything happens on the calling thread.
+     *
+     * @param parallelism the number of threads, values smaller than one are treated as one
+     * @since 4.3
+     */
+    public void setParallelism(final int parallelism) {
+        m_parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * @return whether rows are compared by normalized sort keys, see {@link #setUseNormalizedSortKeys(boolean)}
+     * @since 4.3
+     */
+    public boolean isUseNormalizedSortKeys() {
+        return m_useNormalizedSortKeys;
+    }
+
+    /**
+     * If set, the sort columns of each row are encoded once into a byte array whose unsigned lexicographical order
+     * equals the order of the row comparator. Sorting the chunks and merging them then compares these keys instead of
+     * calling the comparator. This is only possible for a {@link RowComparator} whose sort columns are the row key or
+     * of int, long, double or string type; for all other comparators the option has no effect. The result is the same
+     * in either case.
+     *
+     * <p>
+     * The default value for this option is <b>true</b>.
+     *
+     * @param useNormalizedSortKeys whether to compare rows by normalized sort keys if possible
+     * @since 4.3
+     */
+    public void setUseNormalizedSortKeys(final boolean useNormalizedSortKeys) {
+        m_useNormalizedSortKeys = useNormalizedSortKeys;
+    }
+
+    /**
+     * @return the key encoder for the current comparator or <code>null</code> if rows are to be compared with the
+     *         comparator
+     */
+    private NormalizedSortKey getNormalizedSortKey() {
+        return m_useNormalizedSortKeys ? NormalizedSortKey.forComparator(m_rowComparator) : null;
+    }
+
+    /** Sorts the rows (stable), using normalized sort keys if possible. */
+    private void sortRows(final List<DataRow> rows) {
+        if (m_useNormalizedSortKeys) {
+            NormalizedSortKey.sort(rows, m_rowComparator);
+        } else {
+            Collections.sort(rows, m_rowComparator);
+        }
+    }
+
     /**
      * Sorts the table passed in the constructor according to the settings and returns the sorted output table.
      *
@@ -453,7 +531,7 @@ private DataTable sortInMemory(final ExecutionMonitor exec) throws CanceledExecu
         }
 
         exec.setMessage("Sorting");
-        Collections.sort(rowList, m_rowComparator);
+        sortRows(rowList);
 
         exec.setMessage("Creating sorted table");
 
@@ -503,7 +581,8 @@ private DataTable sortOnDisk(final ExecutionMonitor exec) throws CanceledExecuti
 
         m_progress = 0.0;
         m_incProgress = m_rowsInInputTable <= 0 ? -1.0 : 1.0 / (2.0 * m_rowsInInputTable);
-        long counter = createInitialChunks(exec, dataTable);
+        long counter = m_parallelism > 1 ? runInvisible(() -> createInitialChunksConcurrently(exec, dataTable))
+            : createInitialChunks(exec, dataTable);
         // no or one row only in input table, can exit immediately
         // (can't rely on global rowCount - might not be set)
         if (counter <= 1) {
@@ -535,6 +614,13 @@ private DataTable sortOnDisk(final ExecutionMonitor exec) throws CanceledExecuti
      */
     Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCompletely)
         throws CanceledExecutionException {
+        if (m_parallelism > 1 && m_chunksContainer.size() > m_maxOpenContainers) {
+            runInvisible(() -> {
+                mergeLevelsConcurrently(exec);
+                return null;
+            });
+        }
+        final NormalizedSortKey sortKey = getNormalizedSortKey();
         while (!m_chunksContainer.isEmpty()) {
             exec.setMessage("Merging temporary tables, " + m_chunksContainer.size() + " remaining");
             if (m_chunksContainer.size() < m_maxOpenContainers) {
@@ -549,10 +635,10 @@ Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCo
                 }
             }
 
-            Queue<MergeEntry> containersToMerge = new ArrayDeque<>();
+            List<MergeEntry> containersToMerge = new ArrayList<>();
 
             for (int i = 0; !m_chunksContainer.isEmpty() && i < m_maxOpenContainers; i++) {
-                containersToMerge.add(new MergeEntry(m_chunksContainer.poll(), i, m_rowComparator));
+                containersToMerge.add(new MergeEntry(m_chunksContainer.poll(), i, m_rowComparator, sortKey));
             }
 
             MergingIterator mergingIterator = new MergingIterator(containersToMerge);
@@ -613,7 +699,7 @@ private long createInitialChunks(final ExecutionMonitor exec, final DataTable da
                 }
                 exec.setMessage("Sorting temporary buffer");
                 // sort buffer
-                Collections.sort(buffer, m_rowComparator);
+                sortRows(buffer);
                 // write buffer to disk
                 openChunk();
                 final int totalBufferSize = buffer.size();
@@ -640,13 +726,216 @@ private long createInitialChunks(final ExecutionMonitor exec, final DataTable da
         // Add buffer to the chunks
         if (!buffer.isEmpty()) {
             // sort buffer
-            Collections.sort(buffer, m_rowComparator);
+            sortRows(buffer);
             m_chunksContainer.add(buffer);
         }
         outerCounter = counter;
         return outerCounter;
     }
 
+    /**
+     * Same as {@link #createInitialChunks(ExecutionMonitor, DataTable)} but sorts and writes the chunks in worker
+     * threads while reading the next chunk. At most {@link #m_parallelism} chunks are held in memory at once. If
+     * memory is running low, the reader waits for all pending chunks to be written.
+     */
+    private long createInitialChunksConcurrently(final ExecutionMonitor exec, final DataTable dataTable)
+        throws CanceledExecutionException, InterruptedException, ExecutionException {
+        long counter = 0;
+        List<DataRow> buffer = new ArrayList<DataRow>();
+        long chunkStartRow = 0;
+        int rowsInCurrentChunk = 0;
+
+        final MemoryActionIndicator memObservable = m_memService.newIndicator();
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_parallelism);
+        // chunks are added to m_chunksContainer in the order of the input to keep the sort stable
+        final Deque<Future<DataTable>> pendingChunks = new ArrayDeque<>();
+
+        exec.setMessage("Reading table");
+        try {
+            for (Iterator<DataRow> iter = dataTable.iterator(); iter.hasNext();) {
+                counter++;
+                rowsInCurrentChunk++;
+                exec.checkCanceled();
+                String message = "Reading table, " + counter + " rows read";
+                if (m_rowsInInputTable > 0) {
+                    m_progress += m_incProgress;
+                    exec.setProgress(m_progress, message);
+                } else {
+                    exec.setMessage(message);
+                }
+                buffer.add(iter.next());
+                final boolean lowMemory =
+                    memObservable.lowMemoryActionRequired() && (rowsInCurrentChunk >= m_maxOpenContainers);
+                if (lowMemory || (counter % m_maxRowsPerChunk == 0)) {
+                    LOGGER.debug("Sorting chunk [" + chunkStartRow + ":" + counter + "] in the background - mem usage: "
+                        + getMemUsage());
+                    final List<DataRow> chunk = buffer;
+                    pendingChunks.add(pool.enqueue(() -> sortAndWriteChunk(chunk, exec)));
+                    buffer = new ArrayList<DataRow>();
+
+                    // release memory if necessary, otherwise keep the workers busy
+                    final int maxPending = lowMemory ? 0 : (m_parallelism - 1);
+                    while (pendingChunks.size() > maxPending) {
+                        addChunk(pendingChunks.poll().get());
+                    }
+                    chunkStartRow = counter + 1;
+                    rowsInCurrentChunk = 0;
+                }
+            }
+            while (!pendingChunks.isEmpty()) {
+                addChunk(pendingChunks.poll().get());
+            }
+        } finally {
+            pendingChunks.forEach(f -> f.cancel(true));
+        }
+        // Add buffer to the chunks
+        if (!buffer.isEmpty()) {
+            // sort buffer
+            sortRows(buffer);
+            m_chunksContainer.add(buffer);
+        }
+        return counter;
+    }
+
+    /**
+     * Sorts the rows and writes them to a new chunk. Runs in a worker thread.
+     *
+     * @param chunk the rows to sort, the list elements are released while writing
+     * @return the chunk
+     */
+    private DataTable sortAndWriteChunk(final List<DataRow> chunk, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        sortRows(chunk);
+        return writeChunk(new Iterator<DataRow>() {
+            private int m_next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return m_next < chunk.size();
+            }
+
+            @Override
+            public DataRow next() {
+                // must not use Iterator#remove as it causes array copies
+                return chunk.set(m_next++, null);
+            }
+        }, exec);
+    }
+
+    /**
+     * Merges chunks concurrently until at most {@link #m_maxOpenContainers} chunks are left. Each level merges
+     * consecutive groups of chunks; the number of concurrent merges times their fan-in does not exceed
+     * {@link #m_maxOpenContainers}.
+     */
+    private void mergeLevelsConcurrently(final ExecutionMonitor exec)
+        throws CanceledExecutionException, InterruptedException, ExecutionException {
+        final NormalizedSortKey sortKey = getNormalizedSortKey();
+        while (m_chunksContainer.size() > m_maxOpenContainers) {
+            final int numChunks = m_chunksContainer.size();
+            final int numMerges =
+                Math.min(m_parallelism, (numChunks + m_maxOpenContainers - 1) / m_maxOpenContainers);
+            final int fanIn = Math.max(2, m_maxOpenContainers / numMerges);
+            exec.setMessage("Merging temporary tables, " + numChunks + " remaining");
+            if (m_rowsInInputTable > 0) {
+                // assume this level takes half of the remaining time
+                m_incProgress = (1.0 - m_progress) / (2 * Math.ceil(numChunks / (double)fanIn));
+            }
+
+            final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numMerges);
+            final List<Future<DataTable>> mergedChunks = new ArrayList<>();
+            final List<Iterable<DataRow>> nextLevel = new ArrayList<>();
+            try {
+                while (!m_chunksContainer.isEmpty()) {
+                    final List<MergeEntry> group = new ArrayList<>(fanIn);
+                    for (int i = 0; !m_chunksContainer.isEmpty() && i < fanIn; i++) {
+                        group.add(new MergeEntry(m_chunksContainer.poll(), i, m_rowComparator, sortKey));
+                    }
+                    if (group.size() == 1) {
+                        // nothing to merge
+                        final Iterable<DataRow> chunk = group.get(0).m_iterable;
+                        mergedChunks.add(null);
+                        nextLevel.add(chunk);
+                    } else {
+                        mergedChunks.add(pool.enqueue(() -> writeChunk(new MergingIterator(group), exec)));
+                        nextLevel.add(null);
+                    }
+                }
+                for (int i = 0; i < mergedChunks.size(); i++) {
+                    if (mergedChunks.get(i) != null) {
+                        nextLevel.set(i, mergedChunks.get(i).get());
+                        if (m_rowsInInputTable > 0) {
+                            m_progress += m_incProgress;
+                            exec.setProgress(m_progress);
+                        }
+                    }
+                }
+            } finally {
+                mergedChunks.stream().filter(f -> f != null).forEach(f -> f.cancel(true));
+            }
+            nextLevel.stream().filter(chunk -> chunk != null).forEach(m_chunksContainer::add);
+        }
+    }
+
+    /**
+     * Writes the rows to a new temporary container. Other than {@link #openChunk()}, {@link #addRowToChunk(DataRow)},
+     * and {@link #closeChunk()}, this can be called from several threads at once.
+     *
+     * @return the table holding the rows, null if there are no rows
+     */
+    private DataTable writeChunk(final Iterator<DataRow> rows, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final DataContainer container = createDataContainer(m_dataTableSpec, true);
+        container.setMaxPossibleValues(0);
+        long count = 0;
+        try {
+            while (rows.hasNext()) {
+                container.addRowToTable(rows.next());
+                count++;
+                exec.checkCanceled();
+            }
+        } finally {
+            container.close();
+        }
+        if (count == 0) {
+            clearTable(container.getTable());
+            return null;
+        }
+        return container.getTable();
+    }
+
+    private void addChunk(final DataTable chunk) {
+        if (chunk != null) {
+            m_chunksContainer.add(chunk);
+        }
+    }
+
+    /**
+     * Runs the callable such that it does not occupy a slot of the thread pool it is called from (if any), since it
+     * waits for workers of the {@link KNIMEConstants#GLOBAL_THREAD_POOL}.
+     */
+    private static <T> T runInvisible(final Callable<T> callable) throws CanceledExecutionException {
+        try {
+            final ThreadPool currentPool = ThreadPool.currentPool();
+            return currentPool != null ? currentPool.runInvisible(callable) : callable.call();
+        } catch (Exception e) {
+            Throwable cause = e;
+            while (cause instanceof ExecutionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new CanceledExecutionException("Interrupted while sorting.");
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
     /**
      * Opens a chunk data container to accept rows using {@link #addRowToChunk(DataRow)}, {@link #closeChunk()} closes
      * the current container and adds it to the chunk list.
@@ -706,26 +995,43 @@ private final class MergeEntry implements Comparable<MergeEntry>, Iterator<DataR
 
         private Comparator<DataRow> m_comparator;
 
+        /** Encodes the current row, <code>null</code> if rows are compared with {@link #m_comparator}. */
+        private final NormalizedSortKey m_sortKey;
+
+        /** The normalized key of {@link #m_row}, only used if {@link #m_sortKey} is not <code>null</code>. */
+        private byte[] m_key;
+
         /**
          * @param iterator
          * @param index
          * @param comparator
+         * @param sortKey the key encoder equivalent to the comparator or <code>null</code>
          */
-        MergeEntry(final Iterable<DataRow> iterable, final int index, final Comparator<DataRow> comparator) {
+        MergeEntry(final Iterable<DataRow> iterable, final int index, final Comparator<DataRow> comparator,
+            final NormalizedSortKey sortKey) {
             m_iterable = iterable;
             m_index = index;
             m_comparator = comparator;
+            m_sortKey = sortKey;
         }
 
         private void open() {
             if (m_iterator == null) {
                 m_iterator = m_iterable.iterator();
-                if (m_iterator.hasNext()) {
-                    m_row = m_iterator.next();
-                }
+                setRow(m_iterator.hasNext() ? m_iterator.next() : null);
             }
         }
 
+        private void setRow(final DataRow row) {
+            m_row = row;
+            m_key = (m_sortKey == null || row == null) ? null : m_sortKey.encode(row);
+        }
+
+        /** @return whether all rows have been returned, other than {@link #hasNext()} this has no side effects */
+        private boolean isExhausted() {
+            return m_row == null;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -751,7 +1057,7 @@ public DataRow next() {
                 throw new NoSuchElementException();
             }
             DataRow toReturn = m_row;
-            m_row = m_iterator.hasNext() ? m_iterator.next() : null;
+            setRow(m_iterator.hasNext() ? m_iterator.next() : null);
             return toReturn;
         }
 
@@ -768,7 +1074,12 @@ public void remove() {
          */
         @Override
         public int compareTo(final MergeEntry that) {
-            int value = m_comparator.compare(this.m_row, that.m_row);
+            final int value;
+            if (this.m_key != null && that.m_key != null) {
+                value = NormalizedSortKey.KEY_COMPARATOR.compare(this.m_key, that.m_key);
+            } else {
+                value = m_comparator.compare(this.m_row, that.m_row);
+            }
             if (value == 0) {
                 return this.m_index - that.m_index;
             } else {
@@ -808,21 +1119,29 @@ public boolean equals(final Object obj) {
     }
 
     /**
-     * Lazily opens the given MergeEntry's (The runs of this merging step) and returns the rows.
+     * Lazily opens the given MergeEntry's (The runs of this merging step) and returns the rows. The entries are merged
+     * using a tree of losers, which needs log(k) comparisons to replace the smallest of k rows, compared to about
+     * 2 log(k) in a binary heap.
      *
      * @author Marcel Hanser
      */
     private static final class MergingIterator implements Iterator<DataRow> {
-        private Queue<MergeEntry> m_containerToMerge;
+        private final MergeEntry[] m_entries;
+
+        /**
+         * Entry 0 holds the index of the entry with the smallest row, the inner nodes 1 to k-1 hold the index of the
+         * entry that lost the comparison at that node. Leaf i (the i-th entry) is at position k + i.
+         */
+        private int[] m_tree;
 
         private boolean m_opened = false;
 
         /**
          * @param containerToMerge
          */
-        private MergingIterator(final Queue<MergeEntry> containerToMerge) {
+        private MergingIterator(final List<MergeEntry> containerToMerge) {
             super();
-            m_containerToMerge = containerToMerge;
+            m_entries = containerToMerge.toArray(new MergeEntry[0]);
         }
 
         /**
@@ -831,15 +1150,18 @@ private MergingIterator(final Queue<MergeEntry> containerToMerge) {
         @Override
         public boolean hasNext() {
             if (!m_opened) {
-                Queue<MergeEntry> sortedEntries = new PriorityQueue<>();
-                for (MergeEntry entry : m_containerToMerge) {
+                for (MergeEntry entry : m_entries) {
                     entry.open();
-                    sortedEntries.add(entry);
+                    // clears empty tables
+                    entry.hasNext();
+                }
+                m_tree = new int[Math.max(1, m_entries.length)];
+                if (m_entries.length > 0) {
+                    m_tree[0] = build(1);
                 }
-                m_containerToMerge = sortedEntries;
                 m_opened = true;
             }
-            return !m_containerToMerge.isEmpty();
+            return m_entries.length > 0 && !m_entries[m_tree[0]].isExhausted();
         }
 
         /**
@@ -848,17 +1170,56 @@ public boolean hasNext() {
         @Override
         public DataRow next() {
             if (hasNext()) {
-                MergeEntry first = m_containerToMerge.poll();
+                int winner = m_tree[0];
+                MergeEntry first = m_entries[winner];
                 DataRow currentCell = first.next();
-                if (first.hasNext()) {
-                    m_containerToMerge.offer(first);
+                // clears the table if this was the last row
+                first.hasNext();
+                // replay the matches on the path from the winner's leaf to the root
+                for (int node = (winner + m_entries.length) / 2; node > 0; node /= 2) {
+                    if (isSmaller(m_tree[node], winner)) {
+                        int loser = winner;
+                        winner = m_tree[node];
+                        m_tree[node] = loser;
+                    }
                 }
+                m_tree[0] = winner;
                 return currentCell;
             } else {
                 throw new NoSuchElementException();
             }
         }
 
+        /**
+         * Stores the losers of the subtree rooted at the given node.
+         *
+         * @return the index of the winning entry of the subtree
+         */
+        private int build(final int node) {
+            if (node >= m_entries.length) {
+                return node - m_entries.length;
+            }
+            int left = build(2 * node);
+            int right = build(2 * node + 1);
+            if (isSmaller(left, right)) {
+                m_tree[node] = right;
+                return left;
+            } else {
+                m_tree[node] = left;
+                return right;
+            }
+        }
+
+        /** Exhausted entries are larger than all others, ties are broken by the entries' indices. */
+        private boolean isSmaller(final int entry1, final int entry2) {
+            MergeEntry e1 = m_entries[entry1];
+            MergeEntry e2 = m_entries[entry2];
+            if (e1.isExhausted() || e2.isExhausted()) {
+                return e1.isExhausted() == e2.isExhausted() ? entry1 < entry2 : e2.isExhausted();
+            }
+            return e1.compareTo(e2) < 0;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -0,0 +1,332 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.sort;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.DoubleValueComparator;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.IntValueComparator;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.LongValueComparator;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.StringValueComparator;
+
+import com.google.common.primitives.UnsignedBytes;
+
+/**
+ * Encodes the sort columns of a row into a byte array such that comparing two arrays byte by byte (unsigned,
+ * lexicographically) yields the same order as the {@link RowComparator} the key was derived from. The key is computed
+ * once per row, which replaces the virtual calls, casts and missing value checks of the comparator by a plain array
+ * comparison during sorting and merging.
+ *
+ * <p>
+ * Only columns whose comparator is one of {@link IntValueComparator}, {@link LongValueComparator},
+ * {@link DoubleValueComparator} or {@link StringValueComparator} and the row key can be encoded. For all other
+ * comparators {@link #forComparator(Comparator)} returns <code>null</code> and the rows are sorted with the comparator.
+ *
+ * <p>
+ * Each column is encoded as follows:
+ * <ul>
+ * <li>a marker byte that distinguishes missing from non-missing cells (not written for the row key),</li>
+ * <li>ints and longs in big endian order with flipped sign bit,</li>
+ * <li>doubles as their bits (see {@link Double#doubleToLongBits(double)}) with flipped sign bit for positive values
+ * and all bits flipped for negative values, which matches {@link Double#compare(double, double)},</li>
+ * <li>strings as 16 bit words per char (char + 1, with an escape for the two largest chars), terminated by a zero
+ * word, which matches {@link String#compareTo(String)}.</li>
+ * </ul>
+ * For descending columns all bytes of the column are flipped (except the marker if missing values are sorted to the
+ * end). Keys that are equal correspond to rows that the comparator considers equal, hence a stable sort on the keys
+ * produces exactly the same result as a stable sort with the comparator.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+final class NormalizedSortKey {
+
+    /** Compares two keys, see {@link UnsignedBytes#lexicographicalComparator()}. */
+    static final Comparator<byte[]> KEY_COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
+    private enum Encoding {
+            INT, LONG, DOUBLE, STRING, ROW_KEY
+    }
+
+    private static final int ESCAPE = 0xFFFF;
+
+    private final int[] m_indices;
+
+    private final Encoding[] m_encodings;
+
+    private final boolean[] m_sortAscending;
+
+    private final boolean m_sortMissingsToEnd;
+
+    private NormalizedSortKey(final int[] indices, final Encoding[] encodings, final boolean[] sortAscending,
+        final boolean sortMissingsToEnd) {
+        m_indices = indices;
+        m_encodings = encodings;
+        m_sortAscending = sortAscending;
+        m_sortMissingsToEnd = sortMissingsToEnd;
+    }
+
+    /**
+     * @param comparator the comparator to derive the key from
+     * @return the key encoder that is equivalent to the comparator or <code>null</code> if the comparator is not a
+     *         {@link RowComparator} (or a {@link SortingDescription} backed by one) or if one of its columns can't be
+     *         encoded
+     */
+    static NormalizedSortKey forComparator(final Comparator<DataRow> comparator) {
+        if (comparator instanceof RowComparator) {
+            return ((RowComparator)comparator).createNormalizedSortKey();
+        }
+        if (comparator instanceof SortingDescription) {
+            final RowComparator rowComparator = ((SortingDescription)comparator).getRowComparator();
+            return rowComparator == null ? null : rowComparator.createNormalizedSortKey();
+        }
+        return null;
+    }
+
+    /**
+     * @param indices the sort column indices, -1 denotes the row key
+     * @param comparators the comparators of the sort columns (<code>null</code> for the row key)
+     * @param sortAscending the sort order per column
+     * @param sortMissingsToEnd whether missing values are always sorted to the end
+     * @return the key encoder or <code>null</code> if one of the columns can't be encoded
+     */
+    static NormalizedSortKey create(final int[] indices, final DataValueComparator[] comparators,
+        final boolean[] sortAscending, final boolean sortMissingsToEnd) {
+        final Encoding[] encodings = new Encoding[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] == -1) {
+                encodings[i] = Encoding.ROW_KEY;
+            } else {
+                // exact class match, subclasses may define a different order
+                final Class<?> comparatorClass = comparators[i] == null ? null : comparators[i].getClass();
+                if (comparatorClass == IntValueComparator.class) {
+                    encodings[i] = Encoding.INT;
+                } else if (comparatorClass == LongValueComparator.class) {
+                    encodings[i] = Encoding.LONG;
+                } else if (comparatorClass == DoubleValueComparator.class) {
+                    encodings[i] = Encoding.DOUBLE;
+                } else if (comparatorClass == StringValueComparator.class) {
+                    encodings[i] = Encoding.STRING;
+                } else {
+                    return null;
+                }
+            }
+        }
+        return new NormalizedSortKey(indices, encodings, sortAscending, sortMissingsToEnd);
+    }
+
+    /**
+     * Sorts the list with the normalized keys if the comparator can be encoded, otherwise with the comparator. The
+     * sort is stable in both cases.
+     *
+     * @param rows the rows to sort
+     * @param comparator the order
+     */
+    static void sort(final List<DataRow> rows, final Comparator<DataRow> comparator) {
+        final NormalizedSortKey sortKey = forComparator(comparator);
+        if (sortKey == null || rows.size() <= 1) {
+            Collections.sort(rows, comparator);
+        } else {
+            sortKey.sort(rows);
+        }
+    }
+
+    /**
+     * Sorts the list with the normalized keys (stable).
+     *
+     * @param rows the rows to sort
+     */
+    void sort(final List<DataRow> rows) {
+        final KeyedRow[] keyed = new KeyedRow[rows.size()];
+        for (int i = 0; i < keyed.length; i++) {
+            final DataRow row = rows.get(i);
+            keyed[i] = new KeyedRow(encode(row), row);
+        }
+        Arrays.sort(keyed, (k1, k2) -> KEY_COMPARATOR.compare(k1.m_key, k2.m_key));
+        for (int i = 0; i < keyed.length; i++) {
+            rows.set(i, keyed[i].m_row);
+            keyed[i] = null;
+        }
+    }
+
+    /**
+     * @param row the row to encode
+     * @return the normalized key of the row
+     */
+    byte[] encode(final DataRow row) {
+        final byte[] key = new byte[length(row)];
+        int pos = 0;
+        for (int i = 0; i < m_indices.length; i++) {
+            final int start = pos;
+            if (m_encodings[i] == Encoding.ROW_KEY) {
+                pos = putString(key, pos, row.getKey().getString());
+            } else {
+                final DataCell cell = row.getCell(m_indices[i]);
+                if (cell.isMissing()) {
+                    key[pos++] = (byte)(m_sortMissingsToEnd ? 1 : 0);
+                } else {
+                    key[pos++] = (byte)(m_sortMissingsToEnd ? 0 : 1);
+                    pos = putValue(key, pos, m_encodings[i], cell);
+                }
+            }
+            if (!m_sortAscending[i]) {
+                // the marker keeps its meaning if missing values are always sorted to the end
+                final int from = m_sortMissingsToEnd && m_encodings[i] != Encoding.ROW_KEY ? start + 1 : start;
+                for (int b = from; b < pos; b++) {
+                    key[b] = (byte)~key[b];
+                }
+            }
+        }
+        assert pos == key.length;
+        return key;
+    }
+
+    private int length(final DataRow row) {
+        int length = 0;
+        for (int i = 0; i < m_indices.length; i++) {
+            if (m_encodings[i] == Encoding.ROW_KEY) {
+                length += stringLength(row.getKey().getString());
+            } else {
+                final DataCell cell = row.getCell(m_indices[i]);
+                length++;
+                if (!cell.isMissing()) {
+                    switch (m_encodings[i]) {
+                        case INT:
+                            length += Integer.BYTES;
+                            break;
+                        case LONG:
+                        case DOUBLE:
+                            length += Long.BYTES;
+                            break;
+                        default:
+                            length += stringLength(((StringValue)cell).getStringValue());
+                    }
+                }
+            }
+        }
+        return length;
+    }
+
+    private static int putValue(final byte[] key, final int pos, final Encoding encoding, final DataCell cell) {
+        switch (encoding) {
+            case INT:
+                return putInt(key, pos, ((IntValue)cell).getIntValue() ^ Integer.MIN_VALUE);
+            case LONG:
+                return putLong(key, pos, ((LongValue)cell).getLongValue() ^ Long.MIN_VALUE);
+            case DOUBLE:
+                final long bits = Double.doubleToLongBits(((DoubleValue)cell).getDoubleValue());
+                return putLong(key, pos, bits < 0 ? ~bits : (bits ^ Long.MIN_VALUE));
+            default:
+                return putString(key, pos, ((StringValue)cell).getStringValue());
+        }
+    }
+
+    private static int stringLength(final String s) {
+        int words = s.length() + 1;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= ESCAPE - 1) {
+                words++;
+            }
+        }
+        return 2 * words;
+    }
+
+    private static int putString(final byte[] key, final int pos, final String s) {
+        int p = pos;
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c >= ESCAPE - 1) {
+                p = putWord(key, p, ESCAPE);
+                p = putWord(key, p, c - (ESCAPE - 2));
+            } else {
+                p = putWord(key, p, c + 1);
+            }
+        }
+        return putWord(key, p, 0);
+    }
+
+    private static int putWord(final byte[] key, final int pos, final int word) {
+        key[pos] = (byte)(word >>> 8);
+        key[pos + 1] = (byte)word;
+        return pos + 2;
+    }
+
+    private static int putInt(final byte[] key, final int pos, final int value) {
+        key[pos] = (byte)(value >>> 24);
+        key[pos + 1] = (byte)(value >>> 16);
+        key[pos + 2] = (byte)(value >>> 8);
+        key[pos + 3] = (byte)value;
+        return pos + Integer.BYTES;
+    }
+
+    private static int putLong(final byte[] key, final int pos, final long value) {
+        putInt(key, pos, (int)(value >>> 32));
+        return putInt(key, pos + Integer.BYTES, (int)value);
+    }
+
+    private static final class KeyedRow {
+        private final byte[] m_key;
+
+        private final DataRow m_row;
+
+        KeyedRow(final byte[] key, final DataRow row) {
+            m_key = key;
+            m_row = row;
+        }
+    }
+}
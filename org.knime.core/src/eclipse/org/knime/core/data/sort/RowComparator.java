@@ -182,4 +182,12 @@ private static int compareRowKeys(final DataRow dr1, final DataRow dr2) {
     private static boolean isRowKey(final int index) {
         return index == -1;
     }
+
+    /**
+     * @return an encoder for keys that sort like this comparator or <code>null</code> if one of the sort columns
+     *         can't be encoded
+     */
+    NormalizedSortKey createNormalizedSortKey() {
+        return NormalizedSortKey.create(m_indices, m_colComparators, m_sortAscending, m_sortMissingsToEnd);
+    }
 }
\ No newline at end of file
@@ -85,6 +85,16 @@ final DataRow createSubRow(final DataRow originalRow) {
         return new MappedDataRow(originalRow, m_indexes);
     }
 
+    /**
+     * A row comparator on the sub rows (see {@link #createSubRow(DataRow)}) that orders them exactly like
+     * {@link #compare(Object, Object)}. If available, the sorter uses it to derive a {@link NormalizedSortKey}.
+     *
+     * @return the equivalent row comparator or <code>null</code> (default) if there is none
+     */
+    RowComparator getRowComparator() {
+        return null;
+    }
+
     /**
      * Wrapper for a DataRow which maps a certain subset of indices according to the given map.
      *
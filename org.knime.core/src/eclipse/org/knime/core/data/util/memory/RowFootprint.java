@@ -0,0 +1,162 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.data.util.memory;
+
+import java.util.function.ToLongFunction;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.collection.CollectionDataValue;
+import org.knime.core.data.container.BlobSupportDataRow;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataTable;
+
+/**
+ * Rough estimates of the heap space taken up by data rows, used to decide how many rows can be held in memory. Strings
+ * and collections are counted by their length, all other cells are counted with a fixed overhead. Cells that are
+ * shared between rows are counted for each occurrence.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class RowFootprint {
+
+    /** The number of rows to sample when estimating the size of a table. */
+    public static final int SAMPLE_ROWS = 64;
+
+    /** Estimated bytes of a row, its cell array, and its key, without the key's characters and the cells. */
+    private static final int ROW_OVERHEAD = 96;
+
+    /** Estimated bytes of a cell and the reference to it. */
+    private static final int CELL_OVERHEAD = 24;
+
+    /** Estimated bytes of a string and its character array, without the characters. */
+    private static final int STRING_OVERHEAD = 40;
+
+    private RowFootprint() {
+    }
+
+    /**
+     * @param row a row, blobs in a {@link BlobSupportDataRow} are not accessed
+     * @return the estimated size of the row in bytes
+     */
+    public static long estimate(final DataRow row) {
+        long bytes = estimateKey(row);
+        for (int i = 0; i < row.getNumCells(); i++) {
+            bytes += estimateCell(row, i);
+        }
+        return bytes;
+    }
+
+    /**
+     * @param row a row, blobs in a {@link BlobSupportDataRow} are not accessed
+     * @param columns the indices of the cells to count, e.g., the columns kept by a projection of the row
+     * @return the estimated size of a row with the key and the given cells of the row in bytes
+     */
+    public static long estimate(final DataRow row, final int[] columns) {
+        long bytes = estimateKey(row);
+        for (int i : columns) {
+            bytes += estimateCell(row, i);
+        }
+        return bytes;
+    }
+
+    private static long estimateKey(final DataRow row) {
+        return ROW_OVERHEAD + 2L * row.getKey().getString().length();
+    }
+
+    private static long estimateCell(final DataRow row, final int index) {
+        final DataCell cell =
+            row instanceof BlobSupportDataRow ? ((BlobSupportDataRow)row).getRawCell(index) : row.getCell(index);
+        long bytes = CELL_OVERHEAD;
+        if (cell instanceof StringCell) {
+            bytes += STRING_OVERHEAD + 2L * ((StringCell)cell).getStringValue().length();
+        } else if (cell instanceof CollectionDataValue) {
+            bytes += (long)CELL_OVERHEAD * ((CollectionDataValue)cell).size();
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the size of a table by extrapolating the size of its first {@link #SAMPLE_ROWS} rows.
+     *
+     * @param table a table
+     * @return the estimated size of all rows of the table in bytes
+     */
+    public static long estimate(final BufferedDataTable table) {
+        return estimate(table, RowFootprint::estimate);
+    }
+
+    /**
+     * Estimates the size of a projection of a table by extrapolating the size of the given columns in its first
+     * {@link #SAMPLE_ROWS} rows.
+     *
+     * @param table a table
+     * @param columns the indices of the columns to count
+     * @return the estimated size of the row keys and the given columns of all rows of the table in bytes
+     */
+    public static long estimate(final BufferedDataTable table, final int[] columns) {
+        return estimate(table, row -> estimate(row, columns));
+    }
+
+    private static long estimate(final BufferedDataTable table, final ToLongFunction<DataRow> rowEstimate) {
+        final long size = table.size();
+        long sampleBytes = 0;
+        int sampleSize = 0;
+        try (CloseableRowIterator it = table.iterator()) {
+            while (sampleSize < SAMPLE_ROWS && it.hasNext()) {
+                sampleBytes += rowEstimate.applyAsLong(it.next());
+                sampleSize++;
+            }
+        }
+        return sampleSize == 0 ? 0 : sampleBytes * size / sampleSize;
+    }
+}
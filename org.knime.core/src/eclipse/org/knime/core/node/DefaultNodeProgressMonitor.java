@@ -52,6 +52,7 @@
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
@@ -68,6 +69,10 @@
  * <p>
  * This progress monitor uses a static timer task looking every 250 milliseconds if progress information has changed.
  * The <code>ProgressEvent</code> is fired if either the value or message has changed only.
+ * <p>
+ * Progress updates and cancellation checks don't acquire any locks as they are typically called for each processed
+ * row, possibly by many threads concurrently. The progress value is kept in an atomic, messages and flags in volatile
+ * fields.
  *
  * @author Thomas Gabriel, University of Konstanz
  */
@@ -77,17 +82,23 @@ public class DefaultNodeProgressMonitor implements NodeProgressMonitor {
 
     private static final Supplier<String> NULL_SUPPLIER = () -> null;
 
+    /** Bits of the progress value {@link Double#NaN} - representing progress <code>null</code>. */
+    private static final long NO_PROGRESS = Double.doubleToLongBits(Double.NaN);
+
     /** The cancel requested flag. */
-    private boolean m_cancelExecute;
+    private volatile boolean m_cancelExecute;
 
-    /** Progress of the execution between 0 and 1, or null if not available. */
-    private Double m_progress;
+    /**
+     * Progress of the execution between 0 and 1 as {@link Double#doubleToLongBits(double) long bits}, or
+     * {@link #NO_PROGRESS} if not available.
+     */
+    private final AtomicLong m_progress = new AtomicLong(NO_PROGRESS);
 
     /** Lazy setter of new message - generation may be skipped if new messages come in faster than processed. */
-    private Supplier<String> m_messageSupplier;
+    private volatile Supplier<String> m_messageSupplier;
 
     /** Lazy setter of new append message - used by SubNodeProgressMonitor. */
-    private Supplier<String> m_appendSupplier;
+    private volatile Supplier<String> m_appendSupplier;
 
     /** A set of progress listeners. */
     private final CopyOnWriteArrayList<NodeProgressListener> m_listeners;
@@ -101,8 +112,8 @@ public class DefaultNodeProgressMonitor implements NodeProgressMonitor {
      */
     private static final List<WeakReference<DefaultNodeProgressMonitor>> PROGMONS = new CopyOnWriteArrayList<>();
 
-    /** If progress has changed. */
-    private boolean m_changed = false;
+    /** If progress has changed, reset by the notification service. */
+    private volatile boolean m_changed = false;
 
     private static final ScheduledExecutorService NOTIFICATION_SERVICE =
             Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "KNIME Progress Updater"));
@@ -166,12 +177,11 @@ public DefaultNodeProgressMonitor(final NodeProgressListener l) {
      * NOTE: No notification is send to listeners! {@inheritDoc}
      */
     @Override
-    public synchronized void reset() {
-        if ((m_progress != null) || (m_messageSupplier.get() != null)) {
+    public void reset() {
+        if ((m_progress.getAndSet(NO_PROGRESS) != NO_PROGRESS) || (m_messageSupplier.get() != null)) {
             m_changed = true;
         }
         m_cancelExecute = false;
-        m_progress = null;
         m_appendSupplier = NULL_SUPPLIER;
         m_messageSupplier = NULL_SUPPLIER;
     }
@@ -213,19 +223,19 @@ public void setExecuteCanceled() {
      * @param message The text message shown in the progress monitor.
      */
     @Override
-    public synchronized void setProgress(final double progress, final String message) {
+    public void setProgress(final double progress, final String message) {
         setProgressIntern(progress);
         setMessageIntern(() -> message, NULL_SUPPLIER);
-        m_changed = true;
+        markChanged();
     }
 
     /** {@inheritDoc}
      * @since 3.2 */
     @Override
-    public synchronized void setProgress(final double progress, final Supplier<String> message) {
+    public void setProgress(final double progress, final Supplier<String> message) {
         setProgressIntern(progress);
         m_messageSupplier = CheckUtils.checkArgumentNotNull(message);
-        m_changed = true;
+        markChanged();
     }
 
     /**
@@ -234,24 +244,24 @@ public synchronized void setProgress(final double progress, final Supplier<Strin
      * @param progress The value between 0 and 1.
      */
     @Override
-    public synchronized void setProgress(final double progress) {
+    public void setProgress(final double progress) {
         if (setProgressIntern(progress)) {
-            m_changed = true;
+            markChanged();
         }
     }
 
     /** {@inheritDoc} */
     @Override
-    public synchronized void setMessage(final String message) {
+    public void setMessage(final String message) {
         setProgress(message);
     }
 
     /** {@inheritDoc}
      * @since 3.2 */
     @Override
-    public synchronized void setMessage(final Supplier<String> message) {
+    public void setMessage(final Supplier<String> message) {
         m_messageSupplier = CheckUtils.checkArgumentNotNull(message);
-        m_changed = true;
+        markChanged();
     }
 
     /**
@@ -260,48 +270,81 @@ public synchronized void setMessage(final Supplier<String> message) {
      * @param message The text message shown in the progress monitor.
      */
     @Override
-    public synchronized void setProgress(final String message) {
+    public void setProgress(final String message) {
         setMessageIntern(() -> message, NULL_SUPPLIER);
-        m_changed = true;
+        markChanged();
     }
 
-    private synchronized void appendMessage(final Supplier<String> appendSupplier) {
-        setMessageIntern(m_messageSupplier, appendSupplier);
-        m_changed = true;
+    private void appendMessage(final Supplier<String> appendSupplier) {
+        m_appendSupplier = appendSupplier;
+        markChanged();
+    }
+
+    /**
+     * Adds the argument to the current progress (<code>null</code> counting as 0), bounded to 1. Used by
+     * {@link SubNodeProgressMonitor}s to report their share of the progress without locking this monitor.
+     *
+     * @param progressIncrement non-negative increment
+     */
+    private void addProgress(final double progressIncrement) {
+        long oldBits;
+        long newBits;
+        do {
+            oldBits = m_progress.get();
+            double oldProgress = oldBits == NO_PROGRESS ? 0.0 : Double.longBitsToDouble(oldBits);
+            newBits = Double.doubleToLongBits(Math.min(1.0, oldProgress + progressIncrement));
+        } while (!m_progress.compareAndSet(oldBits, newBits));
+        if (oldBits != newBits) {
+            markChanged();
+        }
     }
 
     /**
      * Sets progress internally, returns <code>true</code> if old value has changed.
      */
     private boolean setProgressIntern(final double progress) {
-        final Double oldProgress = m_progress;
+        final long oldBits;
         if (progress >= 0.0 && progress <= 1.0) {
-            m_progress = progress;
+            final long newBits = Double.doubleToLongBits(progress);
+            // avoid the write (and invalidating the value in other cores' caches) if nothing changes
+            oldBits = m_progress.get();
+            if (oldBits != newBits) {
+                m_progress.set(newBits);
+            }
+        } else {
+            oldBits = m_progress.get();
         }
-        boolean changed = oldProgress == null || oldProgress.doubleValue() != progress;
-        return changed;
+        return oldBits == NO_PROGRESS || Double.longBitsToDouble(oldBits) != progress;
     }
 
     /** Sets message internally. */
     private void setMessageIntern(final Supplier<String> messageSupplier, final Supplier<String> appendSupplier) {
-        assert Thread.holdsLock(this);
         m_messageSupplier = messageSupplier;
         m_appendSupplier = appendSupplier;
     }
 
+    /** Flags the progress information as changed, to be picked up by the notification service. */
+    private void markChanged() {
+        // read before write - the flag is set by every update but only reset once per notification period
+        if (!m_changed) {
+            m_changed = true;
+        }
+    }
+
     /**
      * @return The current progress value, or <code>null</code> if not yet set.
      */
     @Override
-    public synchronized Double getProgress() {
-        return m_progress;
+    public Double getProgress() {
+        final long bits = m_progress.get();
+        return bits == NO_PROGRESS ? null : Double.longBitsToDouble(bits);
     }
 
     /**
      * @return The current progress message.
      */
     @Override
-    public synchronized String getMessage() {
+    public String getMessage() {
         return m_messageSupplier.get();
     }
 
@@ -364,7 +407,8 @@ private static String createMessage(final Supplier<String> messageSupplier, fina
 
     /**
      * Progress monitor that is used by "sub-progresses", it doesn't have the range [0, 1] but only [0, b] where b is
-     * user-defined.
+     * user-defined. Progress is reported to the parent as increments, which is lock-free if the parent is a
+     * {@link DefaultNodeProgressMonitor} or another sub progress monitor.
      */
     static class SubNodeProgressMonitor implements NodeProgressMonitor {
 
@@ -372,11 +416,12 @@ static class SubNodeProgressMonitor implements NodeProgressMonitor {
 
         private final double m_maxProg;
 
-        private double m_lastProg;
+        /** Last progress (in [0, 1]) reported to the parent, as {@link Double#doubleToLongBits(double) long bits}. */
+        private final AtomicLong m_lastProg = new AtomicLong(Double.doubleToLongBits(0.0));
 
-        private Supplier<String> m_innerMessageSupplier;
+        private volatile Supplier<String> m_innerMessageSupplier;
 
-        private Supplier<String> m_innerAppendSupplier;
+        private volatile Supplier<String> m_innerAppendSupplier;
 
         /**
          * Creates new sub progress monitor.
@@ -420,7 +465,7 @@ public String getMessage() {
          */
         @Override
         public Double getProgress() {
-            return m_lastProg;
+            return Double.longBitsToDouble(m_lastProg.get());
         }
 
         /** {@inheritDoc} */
@@ -493,10 +538,8 @@ public void setProgress(final double progress, final String message) {
         /** {@inheritDoc} */
         @Override
         public void setProgress(final double progress, final Supplier<String> messageSupplier) {
-            synchronized (m_parent) {
-                this.setProgress(progress);
-                this.setMessage(messageSupplier);
-            }
+            this.setProgress(progress);
+            this.setMessage(messageSupplier);
         }
 
         /**
@@ -506,19 +549,17 @@ public void setProgress(final double progress, final Supplier<String> messageSup
          * @param append whether to append
          */
         void setProgress(final Supplier<String> messageSupplier, final boolean append) {
-            synchronized (m_parent) {
-                m_innerMessageSupplier = CheckUtils.checkArgumentNotNull(messageSupplier);
-                if (append) {
-                    m_innerAppendSupplier = NULL_SUPPLIER;
-                }
-                Supplier<String> createSupplier = () -> createMessage(m_innerMessageSupplier, m_innerAppendSupplier);
-                if (m_parent instanceof DefaultNodeProgressMonitor) {
-                    ((DefaultNodeProgressMonitor)m_parent).appendMessage(createSupplier);
-                } else if (m_parent instanceof SubNodeProgressMonitor) {
-                    ((SubNodeProgressMonitor)m_parent).appendMessage(createSupplier);
-                } else {
-                    m_parent.setMessage(createSupplier);
-                }
+            m_innerMessageSupplier = CheckUtils.checkArgumentNotNull(messageSupplier);
+            if (append) {
+                m_innerAppendSupplier = NULL_SUPPLIER;
+            }
+            Supplier<String> createSupplier = () -> createMessage(m_innerMessageSupplier, m_innerAppendSupplier);
+            if (m_parent instanceof DefaultNodeProgressMonitor) {
+                ((DefaultNodeProgressMonitor)m_parent).appendMessage(createSupplier);
+            } else if (m_parent instanceof SubNodeProgressMonitor) {
+                ((SubNodeProgressMonitor)m_parent).appendMessage(createSupplier);
+            } else {
+                m_parent.setMessage(createSupplier);
             }
         }
 
@@ -534,42 +575,58 @@ public void setProgress(final double progress) {
             if (m_maxProg <= 0.0) { // don't report 0-progress ("unknown")
                 return;
             }
-            // synchronization is imported here: multiple sub progresses may
-            // report to the parent. "getOldProgress" and "setNewProgress" must
-            // be an atomic operation
-            synchronized (m_parent) {
-                Double progressOfParent = m_parent.getProgress();
-                double boundedProgress = Math.max(0.0, Math.min(progress, 1.0));
+            double boundedProgress = Math.max(0.0, Math.min(progress, 1.0));
+            long lastBits;
+            double diff;
+            do {
+                lastBits = m_lastProg.get();
                 // diff to the last progress update
-                double diff = Math.max(0.0, boundedProgress - m_lastProg);
-                double subProgress = Math.min(m_maxProg, diff * m_maxProg);
-                if (progressOfParent != null) {
-                    subProgress += progressOfParent;
+                diff = boundedProgress - Double.longBitsToDouble(lastBits);
+                // we silently swallow small progress updates here (they are reported once they sum up), which
+                // also keeps updates of the parent infrequent -- unless the parent has no progress so far: we
+                // still set that small progress, for the parent to show 0%
+                if (diff <= 0.0 || (diff < 0.001 && m_parent.getProgress() != null)) {
+                    return;
                 }
-                // we silently swallow small progress updates here as a sequence
-                // of updates (and all of which are scaled using m_maxProg) may
-                // lead to a high accumulated rounding error
-                if (diff < 0.001 && progressOfParent != null) {
-                    // if the parent has no progress so far, we still set
-                    // that small progress, for the parent to show 0%
+                // only the thread that advances the last progress reports the difference to the parent
+            } while (!m_lastProg.compareAndSet(lastBits, Double.doubleToLongBits(boundedProgress)));
+            addProgressToParent(Math.min(m_maxProg, diff * m_maxProg));
+        }
+
+        /**
+         * Adds the argument to the progress of this monitor (bounded to 1), used by nested sub progress monitors.
+         *
+         * @param progressIncrement non-negative increment
+         */
+        private void addProgress(final double progressIncrement) {
+            if (m_maxProg <= 0.0) {
+                return;
+            }
+            long lastBits;
+            double newProgress;
+            double diff;
+            do {
+                lastBits = m_lastProg.get();
+                double lastProgress = Double.longBitsToDouble(lastBits);
+                newProgress = Math.min(1.0, lastProgress + progressIncrement);
+                diff = newProgress - lastProgress;
+                if (diff <= 0.0) {
                     return;
                 }
-                // the following is sort of a workaround: we know our parent's
-                // old progress value, then try(!) to set an updated new value
-                // and if the parent's new progress has indeed changed (this
-                // object is the only one, which can set the parent's progress),
-                // we can also update our internal progress. If
-                // m_parent.setProgress did not result in a change of the
-                // parent's progress, this object's update was too little to get
-                // propagated, that means we stick with the previous propagated
-                // progress
-                m_parent.setProgress(subProgress);
-                Double newProgressOfParent = m_parent.getProgress();
-                if (newProgressOfParent != null) {
-                    if (progressOfParent == null
-                        || progressOfParent.doubleValue() != newProgressOfParent.doubleValue()) {
-                        m_lastProg = boundedProgress;
-                    }
+            } while (!m_lastProg.compareAndSet(lastBits, Double.doubleToLongBits(newProgress)));
+            addProgressToParent(Math.min(m_maxProg, diff * m_maxProg));
+        }
+
+        private void addProgressToParent(final double progressIncrement) {
+            if (m_parent instanceof DefaultNodeProgressMonitor) {
+                ((DefaultNodeProgressMonitor)m_parent).addProgress(progressIncrement);
+            } else if (m_parent instanceof SubNodeProgressMonitor) {
+                ((SubNodeProgressMonitor)m_parent).addProgress(progressIncrement);
+            } else {
+                // "getOldProgress" and "setNewProgress" must be an atomic operation for other implementations
+                synchronized (m_parent) {
+                    Double progressOfParent = m_parent.getProgress();
+                    m_parent.setProgress((progressOfParent == null ? 0.0 : progressOfParent) + progressIncrement);
                 }
             }
         }
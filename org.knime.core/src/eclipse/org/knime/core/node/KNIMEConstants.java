@@ -144,6 +144,15 @@ public final class KNIMEConstants {
      */
     public static final String PROPERTY_DOMAIN_MAX_POSSIBLE_VALUES = "knime.domain.valuecount";
 
+    /**
+     * Java property to enable the computation of approximate column statistics (distinct value counts, quantiles and
+     * missing value counts) while tables are written. The statistics are stored with the table spec as
+     * {@code ColumnSketchMetaData}. Disabled by default.
+     *
+     * @since 4.3
+     */
+    public static final String PROPERTY_DOMAIN_COLUMN_SKETCHES = "knime.domain.sketches";
+
     /**
      * Java property name to set a different threshold for the number of cells to be held in main memory (if memory
      * setting is "Keep only small tables in memory"). If not specified the default is obtained from
@@ -196,6 +205,25 @@ public final class KNIMEConstants {
      */
     public static final String PROPERTY_TABLE_CACHE = "knime.table.cache";
 
+    /**
+     * Java property name to specify the number of bytes that tables in the {@code LRU} table cache (see
+     * {@link #PROPERTY_TABLE_CACHE}) may take up in memory, as estimated from their contents. If the budget is
+     * exceeded, large tables that have not been used recently are dropped from the cache first. Only tables that have
+     * already been written to disk are subject to this limit. The default is a quarter of the maximum heap size.
+     *
+     * @since 4.3
+     */
+    public static final String PROPERTY_TABLE_CACHE_BYTES = "knime.table.cache.bytes";
+
+    /**
+     * Java property name to specify the number of threads that asynchronously write tables held in memory to the same
+     * device (i.e., the file system holding the temp directory). Writes to different devices are handled by separate
+     * threads. The default is one thread per eight available processors, but at least one and at most four threads.
+     *
+     * @since 4.3
+     */
+    public static final String PROPERTY_TABLE_WRITER_THREADS = "knime.table.writer.threads";
+
     /**
      * Java property to discourage KNIME from triggering a full stop-the-world garbage collection. Note that (a)
      * individual nodes are allowed to disregard this setting and (b) the garbage collector may independently decide
@@ -222,6 +250,14 @@ public final class KNIMEConstants {
     @Deprecated
     public static final String PROPERTY_TABLE_GZIP_COMPRESSION = PROPERTY_TABLE_COMPRESSION;
 
+    /**
+     * Java property to set the level of the table stream compression (see {@link #PROPERTY_TABLE_COMPRESSION}). Only
+     * used by the {@code Zstd} and {@code Lz4} compression formats. If not specified, the default level of the
+     * compression format is used.
+     * @since 4.3
+     */
+    public static final String PROPERTY_TABLE_COMPRESSION_LEVEL = "knime.compress.io.level";
+
     /** Java property to enable/disable row ID duplicate checks on tables.
      * Tables in KNIME are supposed to have unique IDs, whereby the uniqueness
      * is asserted using a duplicate checker. This property will disable this
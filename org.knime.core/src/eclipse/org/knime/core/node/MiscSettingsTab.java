@@ -50,10 +50,12 @@
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.GridLayout;
+import java.util.Arrays;
 import java.util.Enumeration;
 
 import javax.swing.AbstractButton;
 import javax.swing.ButtonGroup;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JRadioButton;
@@ -62,6 +64,7 @@
 
 import org.knime.core.data.container.BufferSettings;
 import org.knime.core.data.container.DataContainerSettings;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.node.workflow.SingleNodeContainer.MemoryPolicy;
 
 /**
@@ -82,6 +85,12 @@ class MiscSettingsTab extends JPanel {
      */
 	private MemoryPolicy m_memoryPolicy;
 
+    /** Label of the table compression entry that selects the default compression. */
+    private static final String DEFAULT_COMPRESSION = "Default";
+
+    /** Selects the table compression, either {@link #DEFAULT_COMPRESSION} or a {@link CompressionFormat}. */
+    private final JComboBox<Object> m_compression;
+
     /** Inits GUI. */
     public MiscSettingsTab() {
         super(new BorderLayout());
@@ -139,6 +148,16 @@ public void stateChanged(final ChangeEvent e) {
             new JPanel(new FlowLayout(FlowLayout.LEFT, s, s));
         bigCenter.add(center);
         add(bigCenter, BorderLayout.CENTER);
+
+        m_compression = new JComboBox<>(new Object[]{DEFAULT_COMPRESSION});
+        Arrays.stream(CompressionFormat.values()).filter(CompressionFormat::isAvailable)
+            .forEach(m_compression::addItem);
+        m_compression.setToolTipText("Compression of the output tables written to disc; \""
+            + DEFAULT_COMPRESSION + "\" uses the compression of the workflow or the installation.");
+        JPanel south = new JPanel(new FlowLayout(FlowLayout.LEFT, s, s));
+        south.add(new JLabel("Table compression"));
+        south.add(m_compression);
+        add(south, BorderLayout.SOUTH);
     }
 
     /** Get the memory policy for the currently selected radio button.
@@ -163,6 +182,19 @@ void setStatus(final MemoryPolicy policy) {
         }
     }
 
+    /** @return The selected table compression, null for the default. */
+    CompressionFormat getTableCompression() {
+        final Object selected = m_compression.getSelectedItem();
+        return selected instanceof CompressionFormat ? (CompressionFormat)selected : null;
+    }
+
+    /** Select the table compression.
+     * @param compression The one to use, null for the default.
+     */
+    void setTableCompression(final CompressionFormat compression) {
+        m_compression.setSelectedItem(compression == null ? DEFAULT_COMPRESSION : compression);
+    }
+
     String getTabName() {
         return MEMORY_POLICY;
     }
@@ -89,6 +89,8 @@
 import org.knime.core.node.interactive.InteractiveView;
 import org.knime.core.node.interactive.ViewContent;
 import org.knime.core.node.interrupt.InterruptibleNodeModel;
+import org.knime.core.node.port.CopyOnWritePortObject;
+import org.knime.core.node.port.ImmutablePortObject;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectHolder;
 import org.knime.core.node.port.PortObjectSpec;
@@ -1393,12 +1395,16 @@ public void openFileStoreHandler(final ExecutionContext ec) {
 
     /** Copies the PortObject so that the copy can be given to the node model
      * implementation (and potentially modified). The copy is carried out by
-     * means of the respective serializer (via streams).
+     * means of the respective serializer (via streams). Objects implementing
+     * {@link ImmutablePortObject} (and that are not file store port objects)
+     * are not copied but returned as is, objects implementing
+     * {@link CopyOnWritePortObject} are copied lazily by the object itself.
      *
      * <p> Note that this method is meant to be used by the framework only.
      * @param portObject The object to be copied.
      * @param exec For progress/cancel
-     * @return The (deep) copy.
+     * @return The (deep or copy-on-write) copy or the argument if it is
+     * immutable.
      * @throws IOException In case of exceptions while accessing the stream or
      * if the argument is an instance of {@link BufferedDataTable}.
      * @throws CanceledExecutionException If canceled. */
@@ -1408,6 +1414,15 @@ public static PortObject copyPortObject(final PortObject portObject,
         if (portObject instanceof BufferedDataTable) {
             throw new IOException("Can't copy BufferedDataTable objects");
         }
+        if (isShareable(portObject)) {
+            // can't be modified by the consumer, share it
+            return portObject;
+        }
+        if (portObject instanceof CopyOnWritePortObject
+                && !(portObject instanceof FileStorePortObject)) {
+            // shares the content until the consumer modifies it
+            return ((CopyOnWritePortObject)portObject).copyOnWrite();
+        }
 
         // first copy the spec, then copy the object
         final PortObjectSpec s = portObject.getSpec();
@@ -1457,6 +1472,16 @@ public static PortObject copyPortObject(final PortObject portObject,
     }
 
 
+    /**
+     * @param portObject a port object
+     * @return whether {@link #copyPortObject(PortObject, ExecutionContext)}
+     * returns the argument instead of a copy
+     */
+    static boolean isShareable(final PortObject portObject) {
+        return portObject instanceof ImmutablePortObject
+            && !(portObject instanceof FileStorePortObject);
+    }
+
     /**
      * Creates a new {@link NodeMessage} object of type warning and notifies
      * registered {@link NodeMessageListener}s. Also logs a warning message.
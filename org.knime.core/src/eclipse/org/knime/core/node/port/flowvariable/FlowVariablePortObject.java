@@ -53,7 +53,7 @@
 
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
-import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.ImmutablePortObject;
 import org.knime.core.node.port.PortTypeRegistry;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortObjectZipInputStream;
@@ -69,7 +69,7 @@
  *
  * @author Bernd Wiswedel, University of Konstanz
  */
-public class FlowVariablePortObject implements PortObject {
+public final class FlowVariablePortObject implements ImmutablePortObject {
 
     /** Type representing this port object. */
     public static final PortType TYPE = PortTypeRegistry.getInstance().getPortType(FlowVariablePortObject.class);
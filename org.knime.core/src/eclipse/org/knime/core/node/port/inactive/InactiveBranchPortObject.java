@@ -53,7 +53,7 @@
 
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
-import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.ImmutablePortObject;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortObjectZipInputStream;
 import org.knime.core.node.port.PortObjectZipOutputStream;
@@ -64,7 +64,7 @@
  *
  * @author M. Berthold, University of Konstanz
  */
-public final class InactiveBranchPortObject implements PortObject {
+public final class InactiveBranchPortObject implements ImmutablePortObject {
 
     /** Singleton to be used. */
     public static final InactiveBranchPortObject INSTANCE = new InactiveBranchPortObject();
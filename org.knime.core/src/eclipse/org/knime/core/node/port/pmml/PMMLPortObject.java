@@ -97,7 +97,7 @@
 import org.knime.core.data.xml.PMMLCellFactory;
 import org.knime.core.data.xml.PMMLValue;
 import org.knime.core.node.NodeLogger;
-import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.CopyOnWritePortObject;
 import org.knime.core.node.port.PortType;
 import org.knime.core.node.port.PortTypeRegistry;
 import org.knime.core.node.port.pmml.preproc.DerivedFieldMapper;
@@ -115,7 +115,7 @@
  * @author Fabian Dill, University of Konstanz
  * @author Dominik Morent, KNIME AG, Zurich, Switzerland
  */
-public final class PMMLPortObject implements PortObject {
+public final class PMMLPortObject implements CopyOnWritePortObject {
 
     private static final NodeLogger LOGGER =
         NodeLogger.getLogger(PMMLPortObject.class);
@@ -204,6 +204,9 @@ public final class PMMLPortObject implements PortObject {
 
     private PMMLPortObjectSpec m_spec;
 
+    /** Whether {@link #m_pmmlDoc} is shared with another port object and has to be copied before it is modified. */
+    private boolean m_sharedDocument;
+
     /**
      * Default constructor necessary for loading. Derived classes also
      * <em>must</em> provide a default constructor, otherwise loading will fail.
@@ -278,6 +281,41 @@ public PMMLPortObject(final PMMLPortObjectSpec spec,
         }
     }
 
+    /**
+     * Creates a copy-on-write copy of the argument, see {@link #copyOnWrite()}.
+     *
+     * @param port the port object to share the PMML document with
+     */
+    private PMMLPortObject(final PMMLPortObject port) {
+        m_spec = port.m_spec;
+        m_pmmlDoc = port.m_pmmlDoc;
+        m_sharedDocument = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The PMML document is copied when it is first modified, or handed out to translators or as derived fields.
+     *
+     * @since 4.3
+     */
+    @Override
+    public PMMLPortObject copyOnWrite() {
+        return new PMMLPortObject(this);
+    }
+
+    /**
+     * @return the PMML document of this port object, which is copied first if it is still shared with the port object
+     *         this object has been copied from
+     */
+    private PMMLDocument getWritableDocument() {
+        if (m_sharedDocument) {
+            m_pmmlDoc = (PMMLDocument)m_pmmlDoc.copy();
+            m_sharedDocument = false;
+        }
+        return m_pmmlDoc;
+    }
+
     /**
      * @param doc
      */
@@ -331,7 +369,7 @@ public void addPMMLModelFromHandler(final PMMLContentHandler handler)
         } finally {
             current.setContextClassLoader(oldLoader);
         }
-        PMML pmmlXml = m_pmmlDoc.getPMML();
+        PMML pmmlXml = getWritableDocument().getPMML();
         XmlCursor pmmlCursor = pmmlXml.newCursor();
         pmmlCursor.toEndToken();
         XmlCursor modelCursor = model.newCursor();
@@ -373,7 +411,7 @@ private void initializePMMLDocument(final DataTableSpec inData) {
      * @param translator the model translator to be initialized
      */
     public void initializeModelTranslator(final PMMLTranslator translator) {
-        translator.initializeFrom(m_pmmlDoc);
+        translator.initializeFrom(getWritableDocument());
     }
 
     /**
@@ -382,7 +420,7 @@ public void initializeModelTranslator(final PMMLTranslator translator) {
      *      added
      */
     public void addModelTranslater(final PMMLTranslator modelTranslator) {
-        SchemaType type = modelTranslator.exportTo(m_pmmlDoc, m_spec);
+        SchemaType type = modelTranslator.exportTo(getWritableDocument(), m_spec);
         LocalTransformations localTransformations = moveDerivedFields(type);
 
         /* Remove mining fields from mining schema that where created as a
@@ -395,7 +433,7 @@ public void addModelTranslater(final PMMLTranslator modelTranslator) {
         for (DerivedField derivedField : getDerivedFields()) {
             derivedFields.add(derivedField.getName());
         }
-        MiningSchema miningSchema = PMMLUtils.getFirstMiningSchema(m_pmmlDoc,
+        MiningSchema miningSchema = PMMLUtils.getFirstMiningSchema(getWritableDocument(),
                 type);
         if (miningSchema == null) {
             LOGGER.info("No mining schema found.");
@@ -454,7 +492,7 @@ public void addModelTranslater(final PMMLTranslator modelTranslator) {
     /** Moves the content of the transformation dictionary to local
      * transformations of the model if a model exists. */
     public void moveGlobalTransformationsToModel() {
-        PMML pmml = m_pmmlDoc.getPMML();
+        PMML pmml = getWritableDocument().getPMML();
         TransformationDictionary transDict
                 = pmml.getTransformationDictionary();
         if (transDict == null || transDict.getDerivedFieldArray() == null
@@ -527,7 +565,7 @@ public void moveGlobalTransformationsToModel() {
      *      has to be moved
      */
     private LocalTransformations moveDerivedFields(final SchemaType type) {
-        PMML pmml = m_pmmlDoc.getPMML();
+        PMML pmml = getWritableDocument().getPMML();
 
         TransformationDictionary transDict
                 = pmml.getTransformationDictionary();
@@ -693,6 +731,7 @@ public void loadFrom(final PMMLPortObjectSpec spec, final InputStream is)
                         "Parsing of PMML v 3.x/4.0 document failed.");
             }
         }
+        m_sharedDocument = false;
         m_spec = spec;
     }
 
@@ -732,10 +771,10 @@ public void addGlobalTransformations(
         }
 
         TransformationDictionary dict
-            = m_pmmlDoc.getPMML().getTransformationDictionary();
+            = getWritableDocument().getPMML().getTransformationDictionary();
         if (dict == null) {
-            m_pmmlDoc.getPMML().setTransformationDictionary(dictionary);
-            dict = m_pmmlDoc.getPMML().getTransformationDictionary();
+            getWritableDocument().getPMML().setTransformationDictionary(dictionary);
+            dict = getWritableDocument().getPMML().getTransformationDictionary();
         } else {
             // append the transformations to the existing dictionary
             DerivedField[] existingFields = dict.getDerivedFieldArray();
@@ -765,7 +804,7 @@ public void addGlobalTransformations(
          * results in duplicate entries. Those columns should only appear once
          * as derived field in the transformation dictionary or local
          * transformations. */
-        DataDictionary dataDict = m_pmmlDoc.getPMML().getDataDictionary();
+        DataDictionary dataDict = getWritableDocument().getPMML().getDataDictionary();
         DataField[] dataFieldArray = dataDict.getDataFieldArray();
         List<DataField> dataFields = new ArrayList<DataField>(Arrays.asList(
                 dataFieldArray));
@@ -784,7 +823,7 @@ public void addGlobalTransformations(
         Map<String, String> derivedFieldMap = dfm.getDerivedFieldMap();
         /* Use XPATH to update field names in the model and move the derived
          * fields to local transformations. */
-        PMML pmml = m_pmmlDoc.getPMML();
+        PMML pmml = getWritableDocument().getPMML();
         if (pmml.getTreeModelArray().length > 0) {
             fixAttributeAtPath(pmml, TREE_PATH, FIELD, derivedFieldMap);
         } else if (pmml.getClusteringModelArray().length > 0) {
@@ -873,7 +912,7 @@ private void fixAttributeAtPath(final PMML pmml, final String xpath,
      *          are defined.
      */
     public DerivedField[] getDerivedFields() {
-        return DerivedFieldMapper.getDerivedFields(m_pmmlDoc.getPMML());
+        return DerivedFieldMapper.getDerivedFields(getWritableDocument().getPMML());
     }
 
     /**
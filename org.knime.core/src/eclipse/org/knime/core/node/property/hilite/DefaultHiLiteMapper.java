@@ -49,7 +49,9 @@
 package org.knime.core.node.property.hilite;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -65,16 +67,27 @@
 /**
  * A default mapper for hilite translation which holds a map from
  * {@link RowKey} to a set of {@link RowKey}s as value.
+ * <p>
+ * Since 4.3, the map passed to the constructor is copied, so that the
+ * inverse mapping used by {@link #getSourceKeys(Collection)}, which is indexed
+ * on the first call of that method, always matches {@link #getKeys(RowKey)}.
  *
  * @author Thomas Gabriel, University of Konstanz
  */
 public class DefaultHiLiteMapper implements HiLiteMapper {
 
-    /** Keep the mapping. */
+    /** Keep the mapping, values are unmodifiable. */
     private final Map<RowKey, Set<RowKey>> m_map;
 
+    /** Lazily created inverse of the mapping, values are either a single
+     * source {@link RowKey} or a set of source keys. */
+    private volatile Map<RowKey, Object> m_inverseMap;
+
     /**
-     * Creates a new default hilite mapper.
+     * Creates a new default hilite mapper. Since 4.3, the map and its value
+     * sets are copied, later modifications of the argument are not reflected
+     * by this mapper and the sets returned by {@link #getKeys(RowKey)} are
+     * unmodifiable.
      *
      * @param map keeps the <code>RowKey</code> to set of
      *      <code>RowKey</code>s mapping
@@ -83,7 +96,13 @@ public DefaultHiLiteMapper(final Map<RowKey, Set<RowKey>> map) {
         if (map == null) {
             m_map = Collections.emptyMap();
         } else {
-            m_map = map;
+            final Map<RowKey, Set<RowKey>> copy = new LinkedHashMap<RowKey, Set<RowKey>>(map.size() * 4 / 3 + 1);
+            for (Map.Entry<RowKey, Set<RowKey>> e : map.entrySet()) {
+                final Set<RowKey> mappedKeys = e.getValue();
+                copy.put(e.getKey(), mappedKeys == null ? null
+                    : Collections.unmodifiableSet(new LinkedHashSet<RowKey>(mappedKeys)));
+            }
+            m_map = copy;
         }
     }
 
@@ -104,6 +123,64 @@ public Set<RowKey> keySet() {
     }
 
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The lookup uses an inverse index which is created on the first call.
+     * @since 4.3
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<RowKey> getSourceKeys(final Collection<RowKey> mappedKeys) {
+        final Set<RowKey> result = new LinkedHashSet<RowKey>();
+        if (mappedKeys.isEmpty()) {
+            return result;
+        }
+        final Map<RowKey, Object> inverseMap = getInverseMap();
+        for (RowKey mappedKey : mappedKeys) {
+            final Object source = inverseMap.get(mappedKey);
+            if (source instanceof RowKey) {
+                result.add((RowKey)source);
+            } else if (source != null) {
+                result.addAll((Set<RowKey>)source);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<RowKey, Object> getInverseMap() {
+        Map<RowKey, Object> inverseMap = m_inverseMap;
+        if (inverseMap == null) {
+            synchronized (this) {
+                inverseMap = m_inverseMap;
+                if (inverseMap == null) {
+                    inverseMap = new HashMap<RowKey, Object>();
+                    for (Map.Entry<RowKey, Set<RowKey>> e : m_map.entrySet()) {
+                        final RowKey source = e.getKey();
+                        if (e.getValue() == null) {
+                            continue;
+                        }
+                        for (RowKey mappedKey : e.getValue()) {
+                            // most keys are mapped from a single source key only, don't create a set for those
+                            final Object previous = inverseMap.putIfAbsent(mappedKey, source);
+                            if (previous instanceof RowKey && !previous.equals(source)) {
+                                final Set<RowKey> sources = new LinkedHashSet<RowKey>();
+                                sources.add((RowKey)previous);
+                                sources.add(source);
+                                inverseMap.put(mappedKey, sources);
+                            } else if (previous instanceof Set) {
+                                ((Set<RowKey>)previous).add(source);
+                            }
+                        }
+                    }
+                    m_inverseMap = inverseMap;
+                }
+            }
+        }
+        return inverseMap;
+    }
+
     private static final String CFG_MAPPED_KEYS = "CFG_MAPPED_KEYS";
 
     /**
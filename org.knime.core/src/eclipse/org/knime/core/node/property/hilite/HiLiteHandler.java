@@ -44,11 +44,17 @@
  */
 package org.knime.core.node.property.hilite;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
 
 import org.knime.core.data.RowKey;
 import org.knime.core.node.NodeLogger;
@@ -101,9 +107,12 @@ public class HiLiteHandler {
     /** List of registered <code>HiLiteListener</code>s to fire event to. */
     private final CopyOnWriteArrayList<HiLiteListener> m_listenerList;
 
-    /** Set of non-<code>null</code> hilit items. */
+    /** Set of non-<code>null</code> hilit items, guarded by {@link #m_hiLitKeysLock}. */
     private Set<RowKey> m_hiLitKeys;
 
+    /** Guards {@link #m_hiLitKeys}, which is modified in place. Listeners are never notified while holding it. */
+    private final ReadWriteLock m_hiLitKeysLock = new ReentrantReadWriteLock();
+
     /** Not-null if this {@link HiLiteHandler} is associated with one or more {@link HiLiteTranslator}s */
     private Set<HiLiteTranslator> m_hiliteTranslators;
 
@@ -247,16 +256,21 @@ public boolean isHiLit(final RowKey... ids) {
         if (ids == null) {
             throw new IllegalArgumentException("Key array must not be null.");
         }
-        for (final RowKey c : ids) {
-            if (c == null) {
-                throw new IllegalArgumentException(
-                        "Key array must not contain null elements.");
-            }
-            if (!m_hiLitKeys.contains(c)) {
-                return false;
+        m_hiLitKeysLock.readLock().lock();
+        try {
+            for (final RowKey c : ids) {
+                if (c == null) {
+                    throw new IllegalArgumentException(
+                            "Key array must not contain null elements.");
+                }
+                if (!m_hiLitKeys.contains(c)) {
+                    return false;
+                }
             }
+            return true;
+        } finally {
+            m_hiLitKeysLock.readLock().unlock();
         }
-        return true;
     }
 
     /**
@@ -266,8 +280,8 @@ public boolean isHiLit(final RowKey... ids) {
      *
      * @param ids the row IDs to set hilited.
      */
-    public synchronized void fireHiLiteEvent(final RowKey... ids) {
-        this.fireHiLiteEvent(new LinkedHashSet<RowKey>(Arrays.asList(ids)));
+    public void fireHiLiteEvent(final RowKey... ids) {
+        fireHiLiteEvent(new KeyEvent(this, ids));
     }
 
     /**
@@ -277,8 +291,8 @@ public synchronized void fireHiLiteEvent(final RowKey... ids) {
      *
      * @param ids the row IDs to set unhilited
      */
-    public synchronized void fireUnHiLiteEvent(final RowKey... ids) {
-        this.fireUnHiLiteEvent(new LinkedHashSet<RowKey>(Arrays.asList(ids)));
+    public void fireUnHiLiteEvent(final RowKey... ids) {
+        fireUnHiLiteEvent(new KeyEvent(this, ids));
     }
 
     /**
@@ -290,7 +304,7 @@ public synchronized void fireUnHiLiteEvent(final RowKey... ids) {
      * @throws IllegalArgumentException if the set or one of its elements is
      *      <code>null</code>
      */
-    public synchronized void fireHiLiteEvent(final Set<RowKey> ids) {
+    public void fireHiLiteEvent(final Set<RowKey> ids) {
         if (ids == null) {
             throw new IllegalArgumentException("Key array must not be null.");
         }
@@ -306,7 +320,7 @@ public synchronized void fireHiLiteEvent(final Set<RowKey> ids) {
      * @throws IllegalArgumentException if the set or one of its elements is
      *      <code>null</code>
      */
-    public synchronized void fireUnHiLiteEvent(final Set<RowKey> ids) {
+    public void fireUnHiLiteEvent(final Set<RowKey> ids) {
         if (ids == null) {
             throw new IllegalArgumentException("Key array must not be null.");
         }
@@ -323,10 +337,8 @@ public synchronized void fireUnHiLiteEvent(final Set<RowKey> ids) {
      * with all previously hilit row IDs, if at least one key was effected
      * by this call.
      */
-    public synchronized void fireClearHiLiteEvent() {
-        if (!m_hiLitKeys.isEmpty()) {
-            fireClearHiLiteEvent(new KeyEvent(this));
-        }
+    public void fireClearHiLiteEvent() {
+        fireClearHiLiteEvent(new KeyEvent(this));
     }
 
     /**
@@ -347,13 +359,10 @@ protected void fireHiLiteEventInternal(final KeyEvent event) {
      *
      * @param event Contains all rows keys to hilite.
      */
-    public synchronized void fireHiLiteEvent(final KeyEvent event) {
+    public void fireHiLiteEvent(final KeyEvent event) {
         if (event == null) {
             throw new NullPointerException("KeyEvent must not be null");
         }
-
-        Set<RowKey> newHilitKeys = new LinkedHashSet<RowKey>(m_hiLitKeys);
-
         /*
          * Do not change this implementation, unless you are aware of the
          * following problem:
@@ -365,46 +374,43 @@ public synchronized void fireHiLiteEvent(final KeyEvent event) {
          * care about the current thread (e.g. EDT) to queue this event, since
          * the event must be queued in both cases to avoid nested events to be
          * waiting on each other.
+         * The hilite key set is modified in place under the write lock and the
+         * event is queued before the lock is released, such that listeners
+         * receive the events in the order of the modifications. Listeners are
+         * never called while the lock is held.
          */
         final Set<RowKey> ids = event.keys();
         // check if at least one id is present
         if (ids.isEmpty()) {
             return;
         }
-        // create list of row keys from input key array
-        final Set<RowKey> changedIDs = new LinkedHashSet<RowKey>();
-        // iterates over all keys and adds them to the changed set
-        for (final RowKey id : ids) {
-            if (id == null) {
-                throw new IllegalArgumentException(
-                        "Key array must not contains null elements.");
+        final Runnable notification;
+        m_hiLitKeysLock.writeLock().lock();
+        try {
+            // row keys from the event that were not hilit before
+            final List<RowKey> changedIDs = new ArrayList<RowKey>();
+            for (final RowKey id : ids) {
+                if (id == null) {
+                    throw new IllegalArgumentException(
+                            "Key array must not contains null elements.");
+                }
+                // if the key is already hilit, do not add it
+                if (m_hiLitKeys.add(id)) {
+                    changedIDs.add(id);
+                }
             }
-            // if the key is already hilit, do not add it
-            if (newHilitKeys.add(id)) {
-                changedIDs.add(id);
+            // if at least on key changed
+            if (changedIDs.isEmpty()) {
+                return;
             }
-        }
-
-        // if at least on key changed
-        if (!changedIDs.isEmpty()) {
-            m_hiLitKeys = newHilitKeys;
             final KeyEvent fireEvent =
-                new KeyEvent(event.getSource(), changedIDs);
-            final Runnable r = new Runnable() {
-                @Override
-                public void run() {
-                    for (final HiLiteListener l : m_listenerList) {
-                        try {
-                            l.hiLite(fireEvent);
-                        } catch (final Throwable t) {
-                            LOGGER.coding(
-                                    "Exception while notifying listeners, "
-                                        + "reason: " + t.getMessage(), t);
-                        }
-                    }
-                }
-            };
-            ViewUtils.runOrInvokeLaterInEDT(r);
+                new KeyEvent(event.getSource(), new LinkedHashSet<RowKey>(changedIDs));
+            notification = queueNotification(l -> l.hiLite(fireEvent));
+        } finally {
+            m_hiLitKeysLock.writeLock().unlock();
+        }
+        if (notification != null) {
+            notification.run();
         }
     }
 
@@ -426,7 +432,7 @@ protected void fireUnHiLiteEventInternal(final KeyEvent event) {
      *
      * @param event Contains all rows keys to unhilite.
      */
-    public synchronized void fireUnHiLiteEvent(final KeyEvent event) {
+    public void fireUnHiLiteEvent(final KeyEvent event) {
         if (event == null) {
             throw new NullPointerException("KeyEvent must not be null");
         }
@@ -439,42 +445,33 @@ public synchronized void fireUnHiLiteEvent(final KeyEvent event) {
         if (ids.isEmpty()) {
             return;
         }
-
-        Set<RowKey> newHilitKeys = new LinkedHashSet<RowKey>(m_hiLitKeys);
-
-        // create list of row keys from input key array
-        final Set<RowKey> changedIDs = new LinkedHashSet<RowKey>();
-        // iterate over all keys and removes all not hilit ones
-        for (final RowKey id : ids) {
-            if (id == null) {
-                throw new IllegalArgumentException(
-                        "Key array must not contains null elements.");
+        final Runnable notification;
+        m_hiLitKeysLock.writeLock().lock();
+        try {
+            // row keys from the event that were hilit before
+            final List<RowKey> changedIDs = new ArrayList<RowKey>();
+            for (final RowKey id : ids) {
+                if (id == null) {
+                    throw new IllegalArgumentException(
+                            "Key array must not contains null elements.");
+                }
+                if (m_hiLitKeys.remove(id)) {
+                    changedIDs.add(id);
+                }
             }
-            if (newHilitKeys.remove(id)) {
-                changedIDs.add(id);
+            // if at least on key changed
+            if (changedIDs.isEmpty()) {
+                return;
             }
-        }
-        // if at least on key changed
-        if (!changedIDs.isEmpty()) {
-            m_hiLitKeys = newHilitKeys;
             // throw unhilite event
-            final KeyEvent fireEvent = new KeyEvent(
-                    event.getSource(), changedIDs);
-            final Runnable r = new Runnable() {
-                @Override
-                public void run() {
-                    for (final HiLiteListener l : m_listenerList) {
-                        try {
-                            l.unHiLite(fireEvent);
-                        } catch (final Throwable t) {
-                            LOGGER.coding(
-                                 "Exception while notifying listeners, reason: "
-                                        + t.getMessage(), t);
-                        }
-                    }
-                }
-            };
-            ViewUtils.runOrInvokeLaterInEDT(r);
+            final KeyEvent fireEvent =
+                new KeyEvent(event.getSource(), new LinkedHashSet<RowKey>(changedIDs));
+            notification = queueNotification(l -> l.unHiLite(fireEvent));
+        } finally {
+            m_hiLitKeysLock.writeLock().unlock();
+        }
+        if (notification != null) {
+            notification.run();
         }
     }
 
@@ -492,7 +489,7 @@ protected void fireClearHiLiteEventInternal(final KeyEvent event) {
      * Informs all registered hilite listener to reset all hilit rows.
      * @param event the event fired for clear hilite
      */
-    public synchronized void fireClearHiLiteEvent(final KeyEvent event) {
+    public void fireClearHiLiteEvent(final KeyEvent event) {
         if (event == null) {
             throw new NullPointerException("KeyEvent must not be null");
         }
@@ -500,24 +497,49 @@ public synchronized void fireClearHiLiteEvent(final KeyEvent event) {
          * Do not change this implementation, see #fireHiLiteEvent for
          * more details.
          */
-        if (!m_hiLitKeys.isEmpty()) {
+        final Runnable notification;
+        m_hiLitKeysLock.writeLock().lock();
+        try {
+            if (m_hiLitKeys.isEmpty()) {
+                return;
+            }
+            // replace instead of clear, which would iterate all buckets
             m_hiLitKeys = new LinkedHashSet<RowKey>();
-            final Runnable r = new Runnable() {
-                @Override
-                public void run() {
-                    for (final HiLiteListener l : m_listenerList) {
-                        try {
-                            l.unHiLiteAll(event);
-                        } catch (final Throwable t) {
-                            LOGGER.coding(
-                                "Exception while notifying listeners, reason: "
-                                    + t.getMessage(), t);
-                        }
-                    }
+            notification = queueNotification(l -> l.unHiLiteAll(event));
+        } finally {
+            m_hiLitKeysLock.writeLock().unlock();
+        }
+        if (notification != null) {
+            notification.run();
+        }
+    }
+
+    /**
+     * Creates the notification of all registered listeners. If the current
+     * thread is not the EDT, the notification is queued into the EDT and
+     * <code>null</code> is returned. Otherwise, the notification is returned
+     * to be run by the caller once the lock on the hilite keys is released.
+     * Must be called while holding the write lock.
+     *
+     * @param call the method to invoke on each listener
+     * @return the notification to run or <code>null</code> if it was queued
+     */
+    private Runnable queueNotification(final Consumer<HiLiteListener> call) {
+        final Runnable r = () -> {
+            for (final HiLiteListener l : m_listenerList) {
+                try {
+                    call.accept(l);
+                } catch (final Throwable t) {
+                    LOGGER.coding("Exception while notifying listeners, "
+                        + "reason: " + t.getMessage(), t);
                 }
-            };
-            ViewUtils.runOrInvokeLaterInEDT(r);
+            }
+        };
+        if (SwingUtilities.isEventDispatchThread()) {
+            return r;
         }
+        ViewUtils.invokeLaterInEDT(r);
+        return null;
     }
 
     /**
@@ -526,6 +548,26 @@ public void run() {
      * @see HiLiteHandler#getHiLitKeys()
      */
     public Set<RowKey> getHiLitKeys() {
-        return new LinkedHashSet<RowKey>(m_hiLitKeys);
+        m_hiLitKeysLock.readLock().lock();
+        try {
+            return new LinkedHashSet<RowKey>(m_hiLitKeys);
+        } finally {
+            m_hiLitKeysLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of hilit keys, without copying them as
+     * {@link #getHiLitKeys()} does.
+     * @return the number of hilit row keys
+     * @since 4.3
+     */
+    public int getNumHiLitKeys() {
+        m_hiLitKeysLock.readLock().lock();
+        try {
+            return m_hiLitKeys.size();
+        } finally {
+            m_hiLitKeysLock.readLock().unlock();
+        }
     }
 }
@@ -46,6 +46,9 @@
  */
 package org.knime.core.node.property.hilite;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.knime.core.data.RowKey;
@@ -75,4 +78,61 @@ public interface HiLiteMapper {
      * @return A set of keys to hilite.
      */
     Set<RowKey> keySet();
+
+    /**
+     * Returns the union of the <code>RowKey</code> elements associated by
+     * the specified keys, see {@link #getKeys(RowKey)}. Keys without mapping
+     * are ignored.
+     *
+     * @param keys the keys to get the mapping for
+     * @return a new set of mapped <code>RowKey</code> elements, never
+     *         <code>null</code>
+     * @since 4.3
+     */
+    default Set<RowKey> getMappedKeys(final Collection<RowKey> keys) {
+        final Set<RowKey> result = new LinkedHashSet<RowKey>();
+        for (final RowKey key : keys) {
+            final Set<RowKey> mapped = getKeys(key);
+            if (mapped != null) {
+                result.addAll(mapped);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns all keys (source) from the {@link #keySet()} whose mapping
+     * contains at least one of the specified mapped keys. This is the inverse
+     * of {@link #getMappedKeys(Collection)}. The default implementation scans
+     * all mappings once, implementations should override it if they can
+     * answer the query with an index.
+     *
+     * @param mappedKeys the mapped keys to get the source keys for
+     * @return a new set of source keys, never <code>null</code>
+     * @since 4.3
+     */
+    default Set<RowKey> getSourceKeys(final Collection<RowKey> mappedKeys) {
+        final Set<RowKey> result = new LinkedHashSet<RowKey>();
+        if (mappedKeys.isEmpty()) {
+            return result;
+        }
+        final Set<RowKey> lookup = mappedKeys instanceof Set
+            ? (Set<RowKey>)mappedKeys : new HashSet<RowKey>(mappedKeys);
+        for (final RowKey key : keySet()) {
+            final Set<RowKey> mapped = getKeys(key);
+            if (mapped == null) {
+                continue;
+            }
+            // iterate the smaller of both sets
+            final Set<RowKey> small = mapped.size() <= lookup.size() ? mapped : lookup;
+            final Set<RowKey> large = small == mapped ? lookup : mapped;
+            for (final RowKey m : small) {
+                if (large.contains(m)) {
+                    result.add(key);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
 }
@@ -99,13 +99,7 @@ public void hiLite(final KeyEvent event) {
                 return;
             }
             if (m_mapper != null && m_targetHandlers.size() > 0) {
-                Set<RowKey> fireSet = new LinkedHashSet<RowKey>();
-                for (RowKey key : event.keys()) {
-                    Set<RowKey> s = m_mapper.getKeys(key);
-                    if (s != null && !s.isEmpty()) {
-                        fireSet.addAll(s);
-                    }
-                }
+                final Set<RowKey> fireSet = m_mapper.getMappedKeys(event.keys());
                 if (!fireSet.isEmpty()) {
                     for (HiLiteHandler h : m_targetHandlers) {
                         h.fireHiLiteEvent(new KeyEvent(m_eventSource, fireSet));
@@ -123,13 +117,7 @@ public void unHiLite(final KeyEvent event) {
                 return;
             }
             if (m_mapper != null && m_targetHandlers.size() > 0) {
-                Set<RowKey> fireSet = new LinkedHashSet<RowKey>();
-                for (RowKey key : event.keys()) {
-                    Set<RowKey> s = m_mapper.getKeys(key);
-                    if (s != null && !s.isEmpty()) {
-                        fireSet.addAll(s);
-                    }
-                }
+                final Set<RowKey> fireSet = m_mapper.getMappedKeys(event.keys());
                 if (!fireSet.isEmpty()) {
                     for (HiLiteHandler h : m_targetHandlers) {
                         h.fireUnHiLiteEvent(
@@ -167,22 +155,19 @@ public void hiLite(final KeyEvent event) {
                 return;
             }
             if (m_mapper != null) {
-                // add all hilite keys from the event and all hilite keys
-                // from the target hilite handlers
-                final Set<RowKey> all = new LinkedHashSet<RowKey>(
-                        event.keys());
-                for (HiLiteHandler hdl : m_targetHandlers) {
-                    all.addAll(hdl.getHiLitKeys());
-                }
-                // check overlap with all mappings
-                for (RowKey key : m_mapper.keySet()) {
-                    final Set<RowKey> keys = m_mapper.getKeys(key);
+                // only the mappings that contain one of the event's keys can
+                // become completely hilit
+                final Set<RowKey> fireSet = new LinkedHashSet<RowKey>();
+                for (RowKey key : m_mapper.getSourceKeys(event.keys())) {
                     // if all mapped keys are hilite then fire event
-                    if (all.containsAll(keys)) {
-                        m_sourceHandler.fireHiLiteEvent(
-                            new KeyEvent(m_eventSource, key));
+                    if (isHiLit(m_mapper.getKeys(key), event.keys())) {
+                        fireSet.add(key);
                     }
                 }
+                if (!fireSet.isEmpty()) {
+                    m_sourceHandler.fireHiLiteEvent(
+                        new KeyEvent(m_eventSource, fireSet));
+                }
             }
         }
         /**
@@ -194,17 +179,12 @@ public void unHiLite(final KeyEvent event) {
                 return;
             }
             if (m_mapper != null) {
-                // check all mappings
-                for (RowKey key : m_mapper.keySet()) {
-                    final Set<RowKey> keys = m_mapper.getKeys(key);
-                    // if at least one item is unhilite then fire event
-                    for (RowKey hilite : event.keys()) {
-                        if (keys.contains(hilite)) {
-                            m_sourceHandler.fireUnHiLiteEvent(
-                                new KeyEvent(m_eventSource, key));
-                            break;
-                        }
-                    }
+                // if at least one mapped item is unhilite then fire event
+                final Set<RowKey> fireSet =
+                    m_mapper.getSourceKeys(event.keys());
+                if (!fireSet.isEmpty()) {
+                    m_sourceHandler.fireUnHiLiteEvent(
+                        new KeyEvent(m_eventSource, fireSet));
                 }
             }
         }
@@ -220,6 +200,29 @@ public void unHiLiteAll(final KeyEvent event) {
         }
     };
 
+    /**
+     * Checks whether all given keys are either contained in the event keys
+     * or hilit in one of the target handlers.
+     */
+    private boolean isHiLit(final Set<RowKey> keys,
+            final Set<RowKey> eventKeys) {
+        for (RowKey key : keys) {
+            if (!eventKeys.contains(key) && !isHiLitInTargets(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isHiLitInTargets(final RowKey key) {
+        for (HiLiteHandler hdl : m_targetHandlers) {
+            if (hdl.isHiLit(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Creates a translator with an empty mapping and a default hilite
      * handler.
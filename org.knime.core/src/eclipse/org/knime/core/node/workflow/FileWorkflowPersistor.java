@@ -114,7 +114,7 @@ public String toString() {
         }
     }
 
-    static final LoadVersion VERSION_LATEST = LoadVersion.V4010;
+    static final LoadVersion VERSION_LATEST = LoadVersion.V4030;
 
     /** Format used to save author/edit infos. */
     static final DateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss Z");
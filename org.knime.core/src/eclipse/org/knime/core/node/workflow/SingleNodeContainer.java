@@ -51,6 +51,7 @@
 import java.util.Map;
 import java.util.function.Supplier;
 
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -105,6 +106,8 @@ public static enum MemoryPolicy {
 
     /** Config key: What memory policy to use for a node outport. */
     static final String CFG_MEMORY_POLICY = "memory_policy";
+    /** Config key: What compression format to use for the tables of a node outport, absent if the default. */
+    static final String CFG_TABLE_COMPRESSION = "table_compression";
     /** The sub settings entry where the model can save its setup. */
     static final String CFG_MODEL = "model";
     /** The sub settings entry containing the flow variable settings. These
@@ -1108,6 +1111,8 @@ protected final boolean isLocalWFM() {
     public static final class SingleNodeContainerSettings implements Cloneable {
 
         private MemoryPolicy m_memoryPolicy = MemoryPolicy.CacheSmallInMemory;
+        /** Compression format of the output tables or null to use the default. */
+        private CompressionFormat m_tableCompression;
         private NodeSettingsRO m_modelSettings;
         private NodeSettingsRO m_variablesSettings;
 
@@ -1136,6 +1141,15 @@ public SingleNodeContainerSettings(final NodeSettingsRO settings) throws Invalid
                     throw new InvalidSettingsException("Invalid memory policy: " + memPolStr);
                 }
             }
+            // added in 4.3
+            if (sncSettings.containsKey(CFG_TABLE_COMPRESSION)) {
+                String compressionStr = sncSettings.getString(CFG_TABLE_COMPRESSION);
+                try {
+                    m_tableCompression = CompressionFormat.valueOf(compressionStr);
+                } catch (IllegalArgumentException iae) {
+                    throw new InvalidSettingsException("Invalid table compression: " + compressionStr);
+                }
+            }
             // in versions before KNIME 1.2.0, there were no misc settings
             // in the dialog, we must use caution here: if they are not present
             // we use the default.
@@ -1155,6 +1169,9 @@ public SingleNodeContainerSettings(final NodeSettingsRO settings) throws Invalid
         public void save(final NodeSettingsWO settings) {
             NodeSettingsWO sncSettings = settings.addNodeSettings(Node.CFG_MISC_SETTINGS);
             sncSettings.addString(CFG_MEMORY_POLICY, m_memoryPolicy.name());
+            if (m_tableCompression != null) {
+                sncSettings.addString(CFG_TABLE_COMPRESSION, m_tableCompression.name());
+            }
             if (m_modelSettings != null) {
                 NodeSettingsWO model = settings.addNodeSettings(CFG_MODEL);
                 m_modelSettings.copyTo(model);
@@ -1184,6 +1201,26 @@ public MemoryPolicy getMemoryPolicy() {
             return m_memoryPolicy;
         }
 
+        /**
+         * Store a new compression format for the output tables in this settings object.
+         *
+         * @param tableCompression the compression format or null to use the default
+         * @since 4.3
+         */
+        public void setTableCompression(final CompressionFormat tableCompression) {
+            m_tableCompression = tableCompression;
+        }
+
+        /**
+         * Returns the compression format for the output tables currently stored in this settings object.
+         *
+         * @return the compression format or null if the default is used
+         * @since 4.3
+         */
+        public CompressionFormat getTableCompression() {
+            return m_tableCompression;
+        }
+
         /**
          * @return the modelSettings
          */
@@ -1248,6 +1285,19 @@ public final MemoryPolicy getOutDataMemoryPolicy() {
         return m_settings.getMemoryPolicy();
     }
 
+    /**
+     * Get the compression format for the tables of the data outports, null if the default compression format (as
+     * defined by the workflow or the JVM) is to be used. Only applies if tables are written in the default table
+     * format.
+     *
+     * @return The compression format or null.
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 4.3
+     */
+    public final CompressionFormat getOutDataCompressionFormat() {
+        return m_settings.getTableCompression();
+    }
+
     /* ------------------ Port Information ------------------- */
 
     /**
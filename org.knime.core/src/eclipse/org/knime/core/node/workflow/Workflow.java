@@ -49,16 +49,19 @@
 
 import static java.util.Arrays.asList;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.function.Predicate;
@@ -95,6 +98,18 @@ class Workflow {
     private final Map<NodeID, Set<ConnectionContainer>> m_connectionsByDest
                                   = new TreeMap<NodeID, Set<ConnectionContainer>>();
 
+    /**
+     * Topological rank of each node w.r.t. the connections within this workflow (connections from or to the workflow
+     * itself are ignored): the source of each connection has a smaller rank than its destination, unless the nodes
+     * form a cycle (see {@link #recomputeTopologicalRanks()}). Maintained incrementally on structural changes, see
+     * {@link #updateTopologicalRanks(NodeID, NodeID)}.
+     */
+    private final Map<NodeID, Integer> m_topologicalRanks = new HashMap<NodeID, Integer>();
+    /** Rank for the next node added to the workflow, larger than all existing ranks. */
+    private int m_nextTopologicalRank;
+    /** False if the ranks need to be recomputed (see {@link #getTopologicalRank(NodeID)}). */
+    private boolean m_topologicalRanksValid = true;
+
     private WorkflowManager m_wfm;
     private NodeID m_id;
 
@@ -160,6 +175,8 @@ void putNode(final NodeID id, final NodeContainer nc) {
         m_connectionsByDest.put(id, new LinkedHashSet<ConnectionContainer>());
         // and then add node (avoid inconsistent node - connection setup)
         m_nodes.put(id, nc);
+        // a node without connections can be put anywhere in the order, e.g., at the end
+        m_topologicalRanks.put(id, m_nextTopologicalRank++);
         clearGraphAnnotationCache();
     }
 
@@ -174,6 +191,8 @@ NodeContainer removeNode(final NodeID id) {
         // and then clean up the connection lists  (avoid inconsistent node - connection setup)
         m_connectionsBySource.remove(id);
         m_connectionsByDest.remove(id);
+        // removing nodes (or connections) keeps the remaining nodes in topological order
+        m_topologicalRanks.remove(id);
         clearGraphAnnotationCache();
         // and return removed node container
         return node;
@@ -271,6 +290,148 @@ void addConnection(final ConnectionContainer cc) throws IllegalArgumentException
         if (!m_connectionsByDest.get(cc.getDest()).add(cc)) {
             throw new IllegalArgumentException("Connection already exists (oddly enough only as incoming)!");
         }
+        updateTopologicalRanks(cc.getSource(), cc.getDest());
+    }
+
+    /**
+     * Restores the topological order after a connection from source to dest has been added, following Pearce and
+     * Kelly ("A Dynamic Topological Sort Algorithm for Directed Acyclic Graphs", 2006): if dest is ranked before
+     * source, only the nodes ranked in between that are reachable from dest or reach source are reordered.
+     */
+    private void updateTopologicalRanks(final NodeID source, final NodeID dest) {
+        if (!m_topologicalRanksValid || source.equals(getID()) || dest.equals(getID())) {
+            return;
+        }
+        final Integer sourceRank = m_topologicalRanks.get(source);
+        final Integer destRank = m_topologicalRanks.get(dest);
+        if (sourceRank == null || destRank == null) {
+            m_topologicalRanksValid = false;
+            return;
+        }
+        if (sourceRank < destRank) {
+            return;
+        }
+        if (sourceRank.equals(destRank)) {
+            // self-loop, e.g. through a metanode - the order is recomputed on demand
+            m_topologicalRanksValid = false;
+            return;
+        }
+        // nodes ranked in [destRank, sourceRank] that are reachable from dest...
+        final List<NodeID> forward = new ArrayList<NodeID>();
+        if (!collectAffectedNodes(dest, sourceRank, true, forward)) {
+            // the connection closes a cycle of nodes, which is valid if it passes independent port paths of a
+            // metanode - the order is recomputed on demand
+            m_topologicalRanksValid = false;
+            return;
+        }
+        // ... and nodes in that range from which source is reachable
+        final List<NodeID> backward = new ArrayList<NodeID>();
+        collectAffectedNodes(source, destRank, false, backward);
+        final Comparator<NodeID> byRank = Comparator.comparing(m_topologicalRanks::get);
+        forward.sort(byRank);
+        backward.sort(byRank);
+        // reassign the ranks of the affected nodes: predecessors of source first, then successors of dest
+        final List<Integer> ranks = new ArrayList<Integer>(forward.size() + backward.size());
+        backward.forEach(id -> ranks.add(m_topologicalRanks.get(id)));
+        forward.forEach(id -> ranks.add(m_topologicalRanks.get(id)));
+        Collections.sort(ranks);
+        int i = 0;
+        for (NodeID id : backward) {
+            m_topologicalRanks.put(id, ranks.get(i++));
+        }
+        for (NodeID id : forward) {
+            m_topologicalRanks.put(id, ranks.get(i++));
+        }
+    }
+
+    /**
+     * Depth-first search for the nodes affected by a new connection, see
+     * {@link #updateTopologicalRanks(NodeID, NodeID)}.
+     *
+     * @param id the node to continue the search from
+     * @param boundRank the upper (forward) or lower (backward) bound of the ranks of the nodes to visit
+     * @param forward whether to follow outgoing or incoming connections
+     * @param result to add the visited nodes to
+     * @return false if the search forward reached a node ranked at the bound, i.e., the new connection closes a cycle
+     */
+    private boolean collectAffectedNodes(final NodeID id, final int boundRank, final boolean forward,
+        final List<NodeID> result) {
+        final Set<NodeID> visited = new HashSet<NodeID>();
+        final ArrayDeque<NodeID> stack = new ArrayDeque<NodeID>();
+        stack.push(id);
+        visited.add(id);
+        while (!stack.isEmpty()) {
+            final NodeID curr = stack.pop();
+            result.add(curr);
+            final Set<ConnectionContainer> conns =
+                forward ? m_connectionsBySource.get(curr) : m_connectionsByDest.get(curr);
+            for (ConnectionContainer cc : conns) {
+                final NodeID next = forward ? cc.getDest() : cc.getSource();
+                if (next.equals(getID()) || visited.contains(next)) {
+                    continue;
+                }
+                final int nextRank = m_topologicalRanks.get(next);
+                if (forward && nextRank == boundRank) {
+                    return false;
+                }
+                if (forward ? nextRank < boundRank : nextRank > boundRank) {
+                    visited.add(next);
+                    stack.push(next);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param id of a node of this workflow or the workflow itself
+     * @return the rank of the node in a topological order of the nodes, -1 for the workflow itself
+     */
+    private int getTopologicalRank(final NodeID id) {
+        if (id.equals(getID())) {
+            return -1;
+        }
+        if (!m_topologicalRanksValid) {
+            recomputeTopologicalRanks();
+        }
+        final Integer rank = m_topologicalRanks.get(id);
+        return rank == null ? Integer.MAX_VALUE : rank;
+    }
+
+    /**
+     * Recomputes the topological ranks from scratch (Kahn's algorithm). Nodes on cycles are ranked last; such cycles
+     * are valid if they pass through metanodes whose ports are connected independently of each other (e.g., in1 to
+     * out1 and in2 to out2, with out1 connected back to in2).
+     */
+    private void recomputeTopologicalRanks() {
+        final Map<NodeID, Integer> inDegrees = new HashMap<NodeID, Integer>();
+        final ArrayDeque<NodeID> queue = new ArrayDeque<NodeID>();
+        for (NodeID id : m_nodes.keySet()) {
+            final int inDegree = (int)m_connectionsByDest.get(id).stream()
+                .filter(cc -> !cc.getSource().equals(getID())).count();
+            inDegrees.put(id, inDegree);
+            if (inDegree == 0) {
+                queue.add(id);
+            }
+        }
+        m_topologicalRanks.clear();
+        m_nextTopologicalRank = 0;
+        while (!queue.isEmpty()) {
+            final NodeID curr = queue.poll();
+            m_topologicalRanks.put(curr, m_nextTopologicalRank++);
+            for (ConnectionContainer cc : m_connectionsBySource.get(curr)) {
+                final NodeID dest = cc.getDest();
+                if (!dest.equals(getID()) && inDegrees.merge(dest, -1, Integer::sum) == 0) {
+                    queue.add(dest);
+                }
+            }
+        }
+        for (NodeID id : m_nodes.keySet()) {
+            if (!m_topologicalRanks.containsKey(id)) {
+                m_topologicalRanks.put(id, m_nextTopologicalRank++);
+            }
+        }
+        m_topologicalRanksValid = true;
     }
 
     /** Return map of node ids connected to the given node sorted in breadth
@@ -478,12 +639,11 @@ private void expandListBreadthFirst(
         // infinite loops (i.e. starting with incoming connections again
         // but if encountered remember to node&ports at the end of the search:
         Set<Integer> parentOutgoingPorts = new HashSet<Integer>();
+        // the keys of the map in insertion order, which allows to iterate over them while adding to the map
+        List<NodeID> sortedIDs = new ArrayList<NodeID>(bfsSortedNodes.keySet());
         // keep adding nodes until we can't find new ones anymore
-        for (int i = 0; i < bfsSortedNodes.size(); i++) {
-            // Not a very nice way to iterate over the keys of a map...
-            //   (but since we constantly add to it in this loop?!)
-            Object[] ani = bfsSortedNodes.keySet().toArray();
-            NodeID currNode = (NodeID)(ani[i]);
+        for (int i = 0; i < sortedIDs.size(); i++) {
+            NodeID currNode = sortedIDs.get(i);
             Set<Integer> currInPorts = bfsSortedNodes.get(currNode);
             Set<Integer> currOutPorts = new HashSet<Integer>();
             NodeContainer currNC = getNode(currNode);
@@ -531,6 +691,7 @@ private void expandListBreadthFirst(
                                 // if all predecessors are already in the BFS list
                                 // (or not to be considered): add it!
                                 bfsSortedNodes.put(succNode, incomingPorts);
+                                sortedIDs.add(succNode);
                             }
                         }
                     }
@@ -619,21 +780,19 @@ Set<Integer> connectedOutPorts(final int inPortIx) {
                     assert ConnectionContainer.ConnectionType.WFMTHROUGH.equals(cc.getType());
                     outSet.add(cc.getDestPort());
                 } else {
-                    for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-                        if (nga.getID().equals(cc.getDest())) {
-                            if (nga.getOutportIndex() == -1) {
-                                // the simple one, just add all metanode outports this node connects to:
+                    for (NodeGraphAnnotation nga : getCachedGraphAnnotations(cc.getDest())) {
+                        if (nga.getOutportIndex() == -1) {
+                            // the simple one, just add all metanode outports this node connects to:
+                            outSet.addAll(nga.getConnectedOutportIndices());
+                        } else {
+                            // more complex, a metanode. We need to first figure out which ports we
+                            // are connected to before potentially adding the outport lists.
+                            NodeContainer nc = getNode(nga.getID());
+                            assert nc instanceof WorkflowManager;
+                            Set<Integer> outPorts
+                                        = ((WorkflowManager)nc).getWorkflow().connectedOutPorts(cc.getDestPort());
+                            if (outPorts.contains(nga.getOutportIndex())) {
                                 outSet.addAll(nga.getConnectedOutportIndices());
-                            } else {
-                                // more complex, a metanode. We need to first figure out which ports we
-                                // are connected to before potentially adding the outport lists.
-                                NodeContainer nc = getNode(nga.getID());
-                                assert nc instanceof WorkflowManager;
-                                Set<Integer> outPorts
-                                            = ((WorkflowManager)nc).getWorkflow().connectedOutPorts(cc.getDestPort());
-                                if (outPorts.contains(nga.getOutportIndex())) {
-                                    outSet.addAll(nga.getConnectedOutportIndices());
-                                }
                             }
                         }
                     }
@@ -872,11 +1031,9 @@ Set<Integer> connectedInPorts(final int outPortIx) {
                     assert ConnectionContainer.ConnectionType.WFMTHROUGH.equals(cc.getType());
                     inSet.add(cc.getSourcePort());
                 } else {
-                    for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-                        if (nga.getID().equals(cc.getSource())) {
-                            if ((nga.getOutportIndex() == -1) || (nga.getOutportIndex() == cc.getSourcePort())) {
-                                inSet.addAll(nga.getConnectedInportIndices());
-                            }
+                    for (NodeGraphAnnotation nga : getCachedGraphAnnotations(cc.getSource())) {
+                        if ((nga.getOutportIndex() == -1) || (nga.getOutportIndex() == cc.getSourcePort())) {
+                            inSet.addAll(nga.getConnectedInportIndices());
                         }
                     }
                 }
@@ -1121,12 +1278,11 @@ LinkedHashMap<NodeID, Set<Integer>> createBackwardsBreadthFirstSortedList(final
     private void expandListBackwardsBreadthFirst(
             final LinkedHashMap<NodeID, Set<Integer>> sortedNodes,
             final Set<NodeID> inclusionList) {
+        // the keys of the map in insertion order, which allows to iterate over them while adding to the map
+        List<NodeID> sortedIDs = new ArrayList<NodeID>(sortedNodes.keySet());
         // keep adding nodes until we can't find new ones anymore
-        for (int i = 0; i < sortedNodes.size(); i++) {
-            // Not a very nice way to iterate over the keys of a map...
-            //   (but since we constantly add to it in this loop?!)
-            Object[] ani = sortedNodes.keySet().toArray();
-            NodeID currNode = (NodeID)(ani[i]);
+        for (int i = 0; i < sortedIDs.size(); i++) {
+            NodeID currNode = sortedIDs.get(i);
             // avoid to close loop and start with WFM again:
             if (currNode.equals(this.getID())) {
                 continue;
@@ -1165,6 +1321,7 @@ private void expandListBackwardsBreadthFirst(
                         // if all successors are already in the BFS list (or
                         // not to be considered): add it!
                         sortedNodes.put(prevNode, outgoingPorts);
+                        sortedIDs.add(prevNode);
                     }
                 }
             }
@@ -1407,19 +1564,14 @@ public int hashCode() {
     NodeID getMatchingScopeEnd(final NodeID id, final Class<?> startNodeType, final Class<?> endNodeType)
         throws IllegalScopeException {
         assertNodeType(id, startNodeType);
-        if (m_nodeAnnotationCache == null) {
-            this.updateGraphAnnotationCache();
-        }
-        for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-            if (nga.getID().equals(id)) {
-                assert nga.getOutportIndex() == -1; // must be SingleNodeContainer, ports don't matter.
-                NodeID end = nga.peekEndNodeStack();
-                if (end != null) {
-                    return end;
-                } else {
-                    throw new IllegalScopeException(
-                        "Could not find matching " + splitCamelCase(endNodeType.getSimpleName()) + "!");
-                }
+        for (NodeGraphAnnotation nga : getCachedGraphAnnotations(id)) {
+            assert nga.getOutportIndex() == -1; // must be SingleNodeContainer, ports don't matter.
+            NodeID end = nga.peekEndNodeStack();
+            if (end != null) {
+                return end;
+            } else {
+                throw new IllegalScopeException(
+                    "Could not find matching " + splitCamelCase(endNodeType.getSimpleName()) + "!");
             }
         }
         assert false : "Failed to find NodeGraphAnnotation for node from this very workflow.";
@@ -1468,30 +1620,24 @@ NodeID getMatchingLoopEnd(final NodeID id) throws IllegalLoopException {
     NodeID getMatchingScopeStart(final NodeID id, final Class<?> startNodeType, final Class<?> endNodeType)
         throws IllegalScopeException {
         assertNodeType(id, endNodeType);
-        if (m_nodeAnnotationCache == null) {
-            this.updateGraphAnnotationCache();
-        }
-
-        for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-            if (nga.getID().equals(id)) {
-                assert nga.getOutportIndex() == -1; // must be SingleNodeContainer, ports don't matter.
-                NodeID start = nga.peekStartNodeStack();
-                if (start != null) {
-                    NodeContainer ncls = getNode(start);
-                    if (!(ncls instanceof SingleNodeContainer)) {
-                        throw new IllegalScopeException(
-                            id + " is not connected to a SNC / " + startNodeType.getSimpleName() + " but " + start);
-                    }
-                    SingleNodeContainer sncls = (SingleNodeContainer)ncls;
-                    if (!sncls.isModelCompatibleTo(startNodeType)) {
-                        throw new IllegalScopeException(
-                            id + " is not connected to a " + startNodeType.getSimpleName() + " but " + start);
-                    }
-                    return start;
-                } else {
+        for (NodeGraphAnnotation nga : getCachedGraphAnnotations(id)) {
+            assert nga.getOutportIndex() == -1; // must be SingleNodeContainer, ports don't matter.
+            NodeID start = nga.peekStartNodeStack();
+            if (start != null) {
+                NodeContainer ncls = getNode(start);
+                if (!(ncls instanceof SingleNodeContainer)) {
                     throw new IllegalScopeException(
-                        "Could not find matching " + splitCamelCase(startNodeType.getSimpleName()) + "!");
+                        id + " is not connected to a SNC / " + startNodeType.getSimpleName() + " but " + start);
                 }
+                SingleNodeContainer sncls = (SingleNodeContainer)ncls;
+                if (!sncls.isModelCompatibleTo(startNodeType)) {
+                    throw new IllegalScopeException(
+                        id + " is not connected to a " + startNodeType.getSimpleName() + " but " + start);
+                }
+                return start;
+            } else {
+                throw new IllegalScopeException(
+                    "Could not find matching " + splitCamelCase(startNodeType.getSimpleName()) + "!");
             }
         }
         assert false : "Failed to find NodeGraphAnnotation for node from this very workflow.";
@@ -1567,13 +1713,8 @@ public List<NodeContainer> getNodesInScope(final SingleNodeContainer anchor) {
         if (m_nodeAnnotationCache == null) {
             updateGraphAnnotationCache();
         }
-        NodeID scope = null;
-        for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-            if (nga.getID().equals(anchor.getID())) {
-                scope = nga.peekStartNodeStack();
-                break;
-            }
-        }
+        List<NodeGraphAnnotation> anchorNGAs = getCachedGraphAnnotations(anchor.getID());
+        NodeID scope = anchorNGAs.isEmpty() ? null : anchorNGAs.get(0).peekStartNodeStack();
         if (scope == null) {
             // no scope - return anchor only
             return asList(anchor);
@@ -1603,13 +1744,7 @@ public Set<NodeGraphAnnotation> getNodeGraphAnnotations(final NodeID id) {
         if (m_nodeAnnotationCache == null) {
             updateGraphAnnotationCache();
         }
-        HashSet<NodeGraphAnnotation> output = new HashSet<NodeGraphAnnotation>();
-        for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-            if (nga.getID().equals(id)) {
-                output.add(nga);
-            }
-        }
-        return output;
+        return new HashSet<NodeGraphAnnotation>(getCachedGraphAnnotations(id));
     }
 
     /**
@@ -1623,23 +1758,34 @@ public NodeGraphAnnotation getSingleNodeGraphAnnotation(final NodeID id)
         if (!(m_nodes.get(id) instanceof SingleNodeContainer)) {
             throw new IllegalArgumentException(id + " is not a SingleNodeContainer!");
         }
+        List<NodeGraphAnnotation> ngas = getCachedGraphAnnotations(id);
+        if (ngas.isEmpty()) {
+            throw new IllegalArgumentException("No NodeGraphAnnotation found for " + id);
+        }
+        return ngas.get(0);
+    }
+
+    /**
+     * @param id of a node or the workflow itself
+     * @return the graph annotations of the node (more than one for metanodes), updates the cache if necessary
+     */
+    private List<NodeGraphAnnotation> getCachedGraphAnnotations(final NodeID id) {
         if (m_nodeAnnotationCache == null) {
             updateGraphAnnotationCache();
         }
-        for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-            if (nga.getID().equals(id)) {
-                return nga;
-            }
-        }
-        throw new IllegalArgumentException("No NodeGraphAnnotation found for " + id);
+        return m_nodeAnnotationIndex.getOrDefault(id, Collections.emptyList());
     }
 
     /** hold graph based annotations for all nodes. */
     private ArrayList<NodeGraphAnnotation> m_nodeAnnotationCache = null;
 
+    /** the elements of {@link #m_nodeAnnotationCache} by node id, null iff the cache is null. */
+    private Map<NodeID, List<NodeGraphAnnotation>> m_nodeAnnotationIndex = null;
+
     /** clean cache - called internally whenever the structure (connections/nodes) are altered. */
     private void clearGraphAnnotationCache() {
         m_nodeAnnotationCache = null;
+        m_nodeAnnotationIndex = null;
         // also clear cache in parent - changes here may affect the connectivity outside as well.
         if (m_wfm != null && m_wfm.getParent() != null && m_wfm.getParent().getWorkflow() != null) {
             m_wfm.getParent().getWorkflow().clearGraphAnnotationCache();
@@ -1655,26 +1801,32 @@ private void updateGraphAnnotationCache() {
         LOGGER.debug("Triggering graph analysis on " + getID());
         assert m_nodeAnnotationCache == null;
         m_nodeAnnotationCache = new ArrayList<NodeGraphAnnotation>();
+        m_nodeAnnotationIndex = new HashMap<NodeID, List<NodeGraphAnnotation>>();
+        // nodes are processed in topological order, such that usually all predecessors of a node/port are complete
+        // before its own annotation is used to update its successors. Node/port pairs are not ordered if nodes form
+        // a cycle through independent port paths of a metanode; their annotations are processed again if changed.
+        PriorityQueue<NodeGraphAnnotation> queue = new PriorityQueue<NodeGraphAnnotation>(
+            Math.max(1, m_nodes.size()), Comparator.comparingInt(nga -> getTopologicalRank(nga.getID())));
         // 1) add start nodes.
         // insert metanode itself with all connected inports as "outport" indices
+        Set<Integer> connectedInports = new HashSet<Integer>();
         for (ConnectionContainer cc : getConnectionsBySource(getID())) {
-            NodeGraphAnnotation nls = new NodeGraphAnnotation(getID(), cc.getSourcePort());
-            if (!m_nodeAnnotationCache.contains(nls)) {
-                m_nodeAnnotationCache.add(nls);
+            if (connectedInports.add(cc.getSourcePort())) {
+                addGraphAnnotation(new NodeGraphAnnotation(getID(), cc.getSourcePort()), queue);
             }
         }
         // also add source nodes with all of their outports (SNC or WFM doesn't matter here!)
         for (NodeID id : m_nodes.keySet()) {
             if (m_connectionsByDest.get(id).size() == 0) {
                 NodeContainer nc = m_nodes.get(id);
-                NodeGraphAnnotation nls = new NodeGraphAnnotation(nc);
-                m_nodeAnnotationCache.add(nls);
+                addGraphAnnotation(new NodeGraphAnnotation(nc), queue);
             }
         }
         // 2) follow chain of nodes and keep adding until we reach an end or a metanode outport.
-        int currIndex = 0;
-        while (currIndex < m_nodeAnnotationCache.size()) {
-            NodeGraphAnnotation currNGA = m_nodeAnnotationCache.get(currIndex);
+        Set<NodeGraphAnnotation> processed = new HashSet<NodeGraphAnnotation>();
+        while (!queue.isEmpty()) {
+            NodeGraphAnnotation currNGA = queue.poll();
+            processed.add(currNGA);
             NodeID currID = currNGA.getID();
             int currOutport = currNGA.getOutportIndex();
             // find all nodes that are connected to this node/outport pair
@@ -1696,46 +1848,27 @@ private void updateGraphAnnotationCache() {
                             // retrieve outports of this node that are (internally) connected to given inport
                             connectedOutports = ((WorkflowManager)destNC).getWorkflow().connectedOutPorts(destInPort);
                         }
-                        int ix = 0;
-                        while (ix < m_nodeAnnotationCache.size()) {
-                            NodeGraphAnnotation nga = m_nodeAnnotationCache.get(ix);
+                        for (NodeGraphAnnotation nga : m_nodeAnnotationIndex.getOrDefault(destID,
+                            Collections.emptyList())) {
                             int outportIndex = nga.getOutportIndex();
-                            if ((nga.getID().equals(destID)) && (connectedOutports.contains(outportIndex))) {
-                                assert ix != currIndex;
-                                // node is already in list, merge stacks with "new" element
-                                // and check if we made any adjustments:
-                                if (nga.mergeForward(new NodeGraphAnnotation(destNC, outportIndex, currNGA))) {
-                                    // changes were made, let's check if we need to move the node.
-                                    if (ix < currIndex) {
-                                        // move node to end of list if it was already "touched" so that depth,
-                                        // stacks, and other info of its successors will also be adjusted!
-                                        NodeGraphAnnotation ngaOrg = m_nodeAnnotationCache.remove(ix);
-                                        assert ngaOrg.getID().equals(nga.getID());
-                                        m_nodeAnnotationCache.add(nga);
-                                        // critical: we removed an element in our list which resided before our
-                                        // pointer. Make sure we still point to current node.
-                                        currIndex--;
-                                        ix--;
-                                    }
+                            if (connectedOutports.remove(outportIndex)) {
+                                // node is already in list, merge stacks with "new" element and check if we made
+                                // any adjustments:
+                                if (nga.mergeForward(new NodeGraphAnnotation(destNC, outportIndex, currNGA))
+                                    && processed.remove(nga)) {
+                                    // process it again if it was already "touched" so that depth, stacks, and
+                                    // other info of its successors will also be adjusted!
+                                    queue.add(nga);
                                 }
-                                // remove this port from our list - no need to add it "as new" later.
-                                connectedOutports.remove(outportIndex);
-                            }
-                            if (connectedOutports.size() == 0) {
-                                // skip the rest of the list...
-                                ix = m_nodeAnnotationCache.size();
                             }
-                            ix++;
                         }
                         for (int o : connectedOutports) {
                             // ...it's a node/port combo not yet in our list: add it
-                            NodeGraphAnnotation nga = new NodeGraphAnnotation(destNC, o, currNGA);
-                            m_nodeAnnotationCache.add(nga);
+                            addGraphAnnotation(new NodeGraphAnnotation(destNC, o, currNGA), queue);
                         }
                     }
                 }
             }
-            currIndex++;
         }
         // make sure nodes are inversely sorted by their final depth!
         Collections.sort(m_nodeAnnotationCache);
@@ -1754,20 +1887,18 @@ private void updateGraphAnnotationCache() {
                         nga.addConnectedOutport(cc.getDestPort());
                     } else {
                         NodeContainer destNC = getNode(destID);
+                        List<NodeGraphAnnotation> destNGAs =
+                            m_nodeAnnotationIndex.getOrDefault(destID, Collections.emptyList());
                         if (destNC instanceof SingleNodeContainer) {
                             // just add the NGA of the successor
-                            for (NodeGraphAnnotation nga2 : m_nodeAnnotationCache) {
-                                if (nga2.getID().equals(destID)) {
-                                    connectedNGAs.add(nga2);
-                                }
-                            }
+                            connectedNGAs.addAll(destNGAs);
                         } else {
                             assert destNC instanceof WorkflowManager;
                             // add only NGAs that are available on outports which are connected this inport
                             Set<Integer> connectedOutPorts
                                     = ((WorkflowManager)destNC).getWorkflow().connectedOutPorts(cc.getDestPort());
-                            for (NodeGraphAnnotation nga2 : m_nodeAnnotationCache) {
-                                if (nga2.getID().equals(destID) && connectedOutPorts.contains(nga2.getOutportIndex())) {
+                            for (NodeGraphAnnotation nga2 : destNGAs) {
+                                if (connectedOutPorts.contains(nga2.getOutportIndex())) {
                                     connectedNGAs.add(nga2);
                                 }
                             }
@@ -1780,4 +1911,11 @@ private void updateGraphAnnotationCache() {
         // and finally sort node again:
         Collections.reverse(m_nodeAnnotationCache);
     }
+
+    /** Adds a new annotation to the cache, its index, and the queue of annotations to process. */
+    private void addGraphAnnotation(final NodeGraphAnnotation nga, final PriorityQueue<NodeGraphAnnotation> queue) {
+        m_nodeAnnotationCache.add(nga);
+        m_nodeAnnotationIndex.computeIfAbsent(nga.getID(), id -> new ArrayList<NodeGraphAnnotation>(1)).add(nga);
+        queue.add(nga);
+    }
 }
@@ -188,7 +188,7 @@ public boolean dispose() {
 
     private List<Chunk> m_storedChunks = new ArrayList<Chunk>();
 
-    private static final boolean DISABLE_DUPLICATE_CHECK =
+    static final boolean DISABLE_DUPLICATE_CHECK =
         Boolean.getBoolean(KNIMEConstants.PROPERTY_DISABLE_ROWID_DUPLICATE_CHECK);
 
     /**
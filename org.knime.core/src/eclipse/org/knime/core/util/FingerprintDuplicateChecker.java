@@ -0,0 +1,237 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.util;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link DuplicateChecker} that finds duplicates already when a key is added, i.e. {@link #checkForDuplicates()}
+ * has nothing left to do and no keys are ever written to disk.
+ *
+ * <p>
+ * The keys are stored along with a 64-bit fingerprint in primitive open-addressing hash tables. Keys are distributed
+ * over a number of independently locked segments by their fingerprint, so that concurrent threads (like the ones of a
+ * {@link org.knime.core.data.container.DataContainer}) rarely wait for each other. Keys are only compared if their
+ * fingerprints are equal, which for distinct keys is rare; a key is reported as duplicate only if it is equal to a
+ * key added before. As all keys are kept in memory, the memory use grows with the number of keys (though less than a
+ * {@link DuplicateChecker} that never writes to disk, as a fingerprint and a reference per key replace the entries of
+ * a {@link java.util.HashSet}).
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ * @since 4.3
+ */
+public class FingerprintDuplicateChecker extends DuplicateChecker {
+
+    /** The number of bits of the fingerprint that select a segment. */
+    private static final int SEGMENT_BITS = 6;
+
+    /** The initial number of slots of a segment's table, a power of two. */
+    private static final int INITIAL_SLOTS = 16;
+
+    private final Segment[] m_segments = new Segment[1 << SEGMENT_BITS];
+
+    private final ToLongFunction<String> m_fingerprint;
+
+    /**
+     * Creates a new, empty duplicate checker.
+     */
+    public FingerprintDuplicateChecker() {
+        this(FingerprintDuplicateChecker::fingerprint);
+    }
+
+    /**
+     * Creates a new, empty duplicate checker with the given fingerprint function, used by tests to force collisions.
+     *
+     * @param fingerprint computes the fingerprint of a key
+     */
+    FingerprintDuplicateChecker(final ToLongFunction<String> fingerprint) {
+        m_fingerprint = fingerprint;
+        for (int i = 0; i < m_segments.length; i++) {
+            m_segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Adds a new key to the duplicate checker. Can be called concurrently.
+     *
+     * @param s the key
+     * @throws DuplicateKeyException if the key has been added before
+     */
+    @Override
+    public void addKey(final String s) throws DuplicateKeyException {
+        if (DISABLE_DUPLICATE_CHECK) {
+            return;
+        }
+        final long h = m_fingerprint.applyAsLong(s);
+        if (!m_segments[(int)(h >>> (Long.SIZE - SEGMENT_BITS))].add(h, s)) {
+            throw new DuplicateKeyException(s);
+        }
+    }
+
+    /**
+     * Does nothing, all duplicates are detected in {@link #addKey(String)}.
+     */
+    @Override
+    public void checkForDuplicates() {
+        // duplicates are detected when adding the keys
+    }
+
+    /**
+     * Does nothing, the keys are never written to disk.
+     */
+    @Override
+    public void flushIfNecessary() {
+        // nothing to flush
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : m_segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return the number of keys added so far
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : m_segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Computes the 64-bit fingerprint of the characters of the string. The final mixing step is the one of
+     * MurmurHash3.
+     */
+    private static long fingerprint(final String s) {
+        long h = 0x9E3779B97F4A7C15L;
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            h = Long.rotateLeft((h ^ s.charAt(i)) * 0xC2B2AE3D27D4EB4FL, 31);
+        }
+        h ^= length;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * An open-addressing hash set of keys and their fingerprints with linear probing. A slot without key is empty.
+     */
+    private static final class Segment {
+
+        private long[] m_fingerprints;
+
+        private String[] m_keys;
+
+        private int m_size;
+
+        /**
+         * @return false if the key is contained already
+         */
+        synchronized boolean add(final long h, final String key) {
+            if (m_keys == null) {
+                m_fingerprints = new long[INITIAL_SLOTS];
+                m_keys = new String[INITIAL_SLOTS];
+            }
+            final int mask = m_keys.length - 1;
+            // the high bits of the fingerprint select the segment, the low bits the slot
+            int slot = (int)h & mask;
+            while (m_keys[slot] != null) {
+                // only keys with equal fingerprints are compared
+                if (m_fingerprints[slot] == h && m_keys[slot].equals(key)) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            m_fingerprints[slot] = h;
+            m_keys[slot] = key;
+            m_size++;
+            // keep the load factor below 3/4
+            if (4L * m_size > 3L * m_keys.length) {
+                grow();
+            }
+            return true;
+        }
+
+        private void grow() {
+            final long[] oldFingerprints = m_fingerprints;
+            final String[] oldKeys = m_keys;
+            m_fingerprints = new long[2 * oldKeys.length];
+            m_keys = new String[2 * oldKeys.length];
+            final int mask = m_keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = (int)oldFingerprints[i] & mask;
+                    while (m_keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    m_fingerprints[slot] = oldFingerprints[i];
+                    m_keys[slot] = oldKeys[i];
+                }
+            }
+        }
+
+        synchronized int size() {
+            return m_size;
+        }
+
+        synchronized void clear() {
+            m_fingerprints = null;
+            m_keys = null;
+            m_size = 0;
+        }
+    }
+}
@@ -44,10 +44,13 @@
  */
 package org.knime.core.util.tokenizer;
 
+import java.io.CharArrayReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.Vector;
 
+import org.knime.core.node.KNIMEConstants;
+
 /**
  * This class reads tokens from a stream and returns them as strings. <br>
  * You can specify token delimiters, comments and quotes. <br>
@@ -76,6 +79,15 @@
  * inside a token or quoted string.
  * <p>
  * You can push back one (the last) token.
+ * <p>
+ * If all delimiter and quote patterns are single characters and neither
+ * comments, line continuations nor the combination of different delimiters
+ * are used (which is the common CSV case), the tokenizer reads the source in
+ * large blocks and classifies characters with a table lookup instead of
+ * matching patterns character by character. The tokens returned are the same.
+ * <p>
+ * Optionally, the input can be tokenized in parallel, see
+ * {@link #setParallelParsing(boolean)}.
  *
  * @author Peter Ohl, University of Konstanz
  */
@@ -164,11 +176,56 @@ public class Tokenizer {
     /* end-of-buffer: the last index in the read (ring) buffer */
     private int m_eobIdx;
 
+    /*
+     * the number of characters read from the source at once if the block
+     * engine is used
+     */
+    private static final int BLOCK_LENGTH = 1 << 16;
+
+    /* true if the block engine is used, decided when reading starts */
+    private boolean m_useBlockEngine;
+
+    /* the block read from the source (block engine only) */
+    private char[] m_block;
+
+    /* the index of the next character to return from the block */
+    private int m_blockPos;
+
+    /* the number of valid characters in the block */
+    private int m_blockEnd;
+
+    /* set once the source returned EOF (block engine only) */
+    private boolean m_blockEOF;
+
+    /* a character pushed back into the block stream, or EOF if there is none */
+    private int m_blockPushBack;
+
+    /* single character delimiters indexed by that character */
+    private Delimiter[] m_delimByChar;
+
+    /* single character quotes indexed by the left quote character */
+    private Quote[] m_quoteByChar;
+
+    /* true if parallel parsing was requested */
+    private boolean m_parallelParsing;
+
+    /* the number of chars in a chunk for parallel parsing */
+    private int m_chunkLength;
+
+    /* splits and tokenizes the input if it is parsed in parallel, or null */
+    private TokenizerChunker m_chunker;
+
+    /* the chunk the next tokens are taken from (parallel parsing only) */
+    private TokenizerChunker.Chunk m_chunk;
+
+    /* the index of the next token in the chunk */
+    private int m_chunkIdx;
+
     /* we build the token in here */
-    private StringBuffer m_newToken;
+    private StringBuilder m_newToken;
 
     /* the token returned by the last call to next() */
-    private String m_lastToken;
+    private CharSequence m_lastToken;
 
     /* flag to remember which quotes we've seen with the last token */
     private Quote m_lastQuotes;
@@ -235,12 +292,13 @@ public Tokenizer(final Reader source) {
         m_linesSkipped = 0;
         m_allowLFinQuotes = false;
 
-        m_newToken = new StringBuffer();
+        m_newToken = new StringBuilder();
         m_lastToken = null;
         m_pushedBack = false;
         m_lastQuotes = null;
         m_lastDelimiter = null;
         m_settingsLocked = false;
+        m_blockPushBack = EOF;
 
         resetToDefault();
     }
@@ -301,14 +359,45 @@ public boolean lastTokenWasDelimited() {
      * @throws TokenizerException if something goes wrong during tokenizing.
      */
     public String nextToken() throws TokenizerException {
+        CharSequence token = nextTokenAsCharSequence();
+        if ((token == null) || (token instanceof String)) {
+            return (String)token;
+        }
+        m_lastToken = token.toString();
+        return (String)m_lastToken;
+    } // nextToken()
 
-        m_settingsLocked = true;
+    /**
+     * Reads the next token from the stream like {@link #nextToken()}, but
+     * without creating a new string for each token. The returned character
+     * sequence is only valid until the next call to one of the
+     * <code>nextToken</code> methods - the tokenizer reuses it for the next
+     * token. Call <code>toString()</code> on it if the token needs to be kept.
+     *
+     * @return The next token from the stream or null at the EOF.
+     * @throws TokenizerException if something goes wrong during tokenizing.
+     * @since 4.3
+     */
+    public CharSequence nextTokenAsCharSequence() throws TokenizerException {
+
+        if (!m_settingsLocked) {
+            m_settingsLocked = true;
+            m_useBlockEngine = initBlockEngine();
+            if (m_parallelParsing && canParseInParallel()) {
+                m_chunker = new TokenizerChunker(m_source, getSettings(),
+                        m_chunkLength, Math.max(2,
+                                KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads()));
+            }
+        }
 
         if (m_pushedBack) {
             // if the last token got pushed back just return it again.
             m_pushedBack = false;
             return m_lastToken;
         }
+        if (m_chunker != null) {
+            return nextTokenFromChunks();
+        }
         if (m_lastDelimiter != null) {
             // if the last delmiter we read must be returned as token, we do so.
             String tmp = m_lastDelimiter;
@@ -322,7 +411,7 @@ public String nextToken() throws TokenizerException {
         while (m_linesSkipped < m_linesToSkip) {
             // burn all characters within the first few lines - in disregard of
             // any delimiters, quotes, etc.
-            int c = getNextChar();
+            int c = m_useBlockEngine ? nextBlockChar() : getNextChar();
             if (c == EOF) {
                 break;
             }
@@ -336,6 +425,115 @@ public String nextToken() throws TokenizerException {
         m_tokenWasDelimiter = false;
         m_lastTokenWasDelimited = false;
 
+        boolean eof = m_useBlockEngine ? readTokenFromBlocks() : readToken();
+        if (eof && (m_newToken.length() == 0)) {
+            m_lastToken = null;
+        } else {
+            m_lastToken = m_newToken;
+        }
+        return m_lastToken;
+    } // nextTokenAsCharSequence()
+
+    /*
+     * Returns the next token of the chunks tokenized in parallel and restores
+     * the state (quotes, line number, etc.) the tokenizer had after reading it.
+     */
+    private String nextTokenFromChunks() throws TokenizerException {
+        m_lastQuotes = null;
+        m_tokenWasDelimiter = false;
+        m_lastTokenWasDelimited = false;
+        m_lastToken = null;
+        while (true) {
+            if ((m_chunk == null) || (m_chunkIdx == m_chunk.size())) {
+                m_chunk = m_chunker.next();
+                m_chunkIdx = 0;
+                if (m_chunk == null) {
+                    // the end of the input
+                    m_lineNo = m_chunker.getLineNumber();
+                    m_readBytes = m_chunker.getReadBytes();
+                    return null;
+                }
+                continue;
+            }
+            int i = m_chunkIdx++;
+            TokenizerException error = m_chunk.getError(i);
+            String token = m_chunk.getToken(i);
+            if ((token == null) && (error == null) && !m_chunk.isLast()) {
+                // the end of a chunk, but not of the input
+                continue;
+            }
+            m_lineNo = m_chunk.getLineNumber(i);
+            m_readBytes = m_chunk.getReadBytes(i);
+            if (error != null) {
+                throw error;
+            }
+            m_lastQuotes = m_chunk.getQuote(i);
+            m_tokenWasDelimiter =
+                m_chunk.hasFlag(i, TokenizerChunker.Chunk.DELIMITER);
+            m_lastTokenWasDelimited =
+                m_chunk.hasFlag(i, TokenizerChunker.Chunk.DELIMITED);
+            m_lastToken = token;
+            return token;
+        }
+    }
+
+    /*
+     * Tokenizes a chunk of the input for the parallel parsing and records the
+     * tokens in the chunk. Called concurrently for different chunks.
+     */
+    static void tokenizeChunk(final TokenizerChunker.Chunk chunk,
+            final TokenizerSettings settings) {
+        Tokenizer tokenizer = new Tokenizer(new CharArrayReader(
+                chunk.getChars(), 0, chunk.getLength()));
+        tokenizer.setSettings(settings);
+        tokenizer.m_lineNo = chunk.getFirstLine();
+        while (true) {
+            String token;
+            TokenizerException error = null;
+            try {
+                token = tokenizer.nextToken();
+            } catch (TokenizerException fte) {
+                token = null;
+                error = fte;
+            }
+            int flags = (tokenizer.m_tokenWasDelimiter
+                            ? TokenizerChunker.Chunk.DELIMITER : 0)
+                    | (tokenizer.m_lastTokenWasDelimited
+                            ? TokenizerChunker.Chunk.DELIMITED : 0);
+            chunk.add(token, tokenizer.m_lastQuotes, flags,
+                    tokenizer.m_lineNo, tokenizer.m_readBytes, error);
+            if ((token == null) && (error == null)) {
+                // the end of the chunk
+                return;
+            }
+        }
+    }
+
+    /*
+     * Parallel parsing splits the input after line feeds. This is only correct
+     * if no token can span a line end: the LF must be a single, not combined
+     * delimiter and there must be no LF in quotes, no comments, no line
+     * continuation and no combination of different delimiters.
+     */
+    private boolean canParseInParallel() {
+        if (m_allowLFinQuotes || !m_commentPatterns.isEmpty()
+                || (getLineContChar() >= 0) || m_combineMultipleDelimiters) {
+            return false;
+        }
+        for (Delimiter delim : m_delimPatterns) {
+            if (delim.getDelimiter().equals(LF_STR)) {
+                return !delim.combineConsecutiveDelims();
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Reads the next token into m_newToken, matching the patterns character by
+     * character. Supports all settings. @return true if the token ended with
+     * the EOF.
+     */
+    private boolean readToken() throws TokenizerException {
         int lastEndQuoteIdx = -1; // the idx of the end quote last seen or added
         int c = getNextChar();
         while (c != EOF) {
@@ -463,13 +661,285 @@ public String nextToken() throws TokenizerException {
             // also strip off whitespaces if the last token ended through EOF
             cutOffWhiteSpaces(m_newToken, lastEndQuoteIdx);
         }
-        if ((c == EOF) && (m_newToken.length() == 0)) {
-            m_lastToken = null;
+        return c == EOF;
+    } // readToken()
+
+    /*
+     * Decides whether the current settings can be handled by the block engine
+     * and sets up its lookup tables if so. That is the case if all delimiters
+     * and quotes are single characters, and if there are no comments, no line
+     * continuation character and no combination of different delimiters.
+     * @return true if the block engine is to be used.
+     */
+    private boolean initBlockEngine() {
+        if (!m_commentPatterns.isEmpty() || (getLineContChar() >= 0)
+                || m_combineMultipleDelimiters) {
+            return false;
+        }
+        Delimiter[] delimByChar = new Delimiter[MAX_CHAR + 1];
+        Quote[] quoteByChar = new Quote[MAX_CHAR + 1];
+        // if patterns share the first char the first one in the list wins,
+        // which is what the pattern matching does, too.
+        for (Delimiter delim : m_delimPatterns) {
+            if (delim.getDelimiter().length() != 1) {
+                return false;
+            }
+            char c = delim.getFirstChar();
+            if (delimByChar[c] == null) {
+                delimByChar[c] = delim;
+            }
+        }
+        for (Quote quote : m_quotePatterns) {
+            if ((quote.getLeft().length() != 1)
+                    || (quote.getRight().length() != 1)) {
+                return false;
+            }
+            char c = quote.getFirstCharOfLeft();
+            if (quoteByChar[c] == null) {
+                quoteByChar[c] = quote;
+            }
+        }
+        m_delimByChar = delimByChar;
+        m_quoteByChar = quoteByChar;
+        m_block = new char[BLOCK_LENGTH];
+        m_blockPos = 0;
+        m_blockEnd = 0;
+        m_blockEOF = false;
+        m_blockPushBack = EOF;
+        return true;
+    }
+
+    /*
+     * Reads the next token into m_newToken using the block engine. Runs of
+     * ordinary characters are copied from the block in one go, special
+     * characters are looked up in the tables set up by initBlockEngine. The
+     * order in which a character is checked (delimiter, quote, whitespace) is
+     * the same as in readToken. @return true if the token ended with the EOF.
+     */
+    private boolean readTokenFromBlocks() throws TokenizerException {
+        final StringBuilder token = m_newToken;
+        int lastEndQuoteIdx = -1; // the idx of the end quote last seen or added
+        while (true) {
+            if (m_blockPushBack == EOF) {
+                int pos = m_blockPos;
+                while (pos < m_blockEnd) {
+                    char ch = m_block[pos];
+                    if ((ch == CR) || (ch == LF)
+                            || ((ch <= MAX_CHAR) && (m_charType[ch] != 0))) {
+                        break;
+                    }
+                    pos++;
+                }
+                if (pos > m_blockPos) {
+                    token.append(m_block, m_blockPos, pos - m_blockPos);
+                    m_readBytes += pos - m_blockPos;
+                    m_blockPos = pos;
+                }
+            }
+            int c = nextBlockChar();
+            if (c == EOF) {
+                // strip off whitespaces if the last token ended through EOF
+                cutOffWhiteSpaces(token, lastEndQuoteIdx);
+                return true;
+            }
+            if (c > MAX_CHAR) {
+                token.append((char)c);
+                continue;
+            }
+            Delimiter delimPattern = m_delimByChar[c];
+            if (delimPattern != null) {
+                String delim = readBlockDelimiter(delimPattern);
+                cutOffWhiteSpaces(token, lastEndQuoteIdx);
+                token.append(delim);
+                m_lastTokenWasDelimited = delim.isEmpty() && m_lastDelimiter == null; // swallowed delimiter
+                // the token is complete after reading a delimiter.
+                return false;
+            }
+            Quote quotePattern = m_quoteByChar[c];
+            if (quotePattern != null) {
+                try {
+                    readBlockQuotedString(quotePattern);
+                } catch (TokenizerException fte) {
+                    // seems we are missing the closing quotes...
+                    m_lastDelimiter = null;
+                    m_lastQuotes = null;
+                    throw fte;
+                }
+                lastEndQuoteIdx = token.length() - 1;
+                m_lastQuotes = quotePattern;
+                continue;
+            }
+            if (((m_charType[c] & WSCHAR) != 0) && (token.length() == 0)) {
+                // leading whitespaces are ignored
+                continue;
+            }
+            token.append((char)c);
+        }
+    }
+
+    /*
+     * Block engine version of readDelimiter. The delimiter character itself was
+     * already read. @see #readDelimiter
+     */
+    private String readBlockDelimiter(final Delimiter delim) {
+        if (delim.combineConsecutiveDelims()) {
+            char d = delim.getFirstChar();
+            int c;
+            do {
+                c = nextBlockChar();
+            } while (c == d);
+            if (c != EOF) {
+                pushBackBlockChar(c);
+            }
+        }
+
+        assert m_lastDelimiter == null;
+
+        if (delim.returnAsToken()) {
+            // store it to return it with the next call to 'nextToken()'
+            m_lastDelimiter = delim.getDelimiter();
+            return "";
+        } else if (delim.includeInToken()) {
+            return delim.getDelimiter();
         } else {
-            m_lastToken = m_newToken.toString();
+            return "";
         }
-        return m_lastToken;
-    } // nextToken()
+    }
+
+    /*
+     * Block engine version of readQuotedString, which appends the quoted string
+     * directly to m_newToken. The left quote was already read. @see
+     * #readQuotedString
+     */
+    private void readBlockQuotedString(final Quote quote)
+            throws TokenizerException {
+        final StringBuilder token = m_newToken;
+        final char endChar = quote.getRight().charAt(0);
+        final int escChar = quote.hasEscapeChar() ? quote.getEscape() : EOF;
+
+        if (quote.getDontRemoveFlag()) {
+            token.append(quote.getLeft());
+        }
+        while (true) {
+            if (m_blockPushBack == EOF) {
+                int pos = m_blockPos;
+                while (pos < m_blockEnd) {
+                    char ch = m_block[pos];
+                    if ((ch == endChar) || (ch == escChar) || (ch == CR)
+                            || (ch == LF)) {
+                        break;
+                    }
+                    pos++;
+                }
+                if (pos > m_blockPos) {
+                    token.append(m_block, m_blockPos, pos - m_blockPos);
+                    m_readBytes += pos - m_blockPos;
+                    m_blockPos = pos;
+                }
+            }
+            int c = nextBlockChar();
+            if (c == EOF) {
+                // an EOF ends a quoted string
+                return;
+            }
+            if (c == LF && !m_allowLFinQuotes) {
+                // read a LF within quotes: only legal if permitted by user!
+                throw new TokenizerException("New line in quoted string"
+                         + " (or closing quote missing). In line " + (getLineNumber() - 1) + ".");
+            }
+            if (c == escChar) {
+                token.append((char)translateEscChar(escChar, nextBlockChar()));
+                continue;
+            }
+            if (c == endChar) {
+                if (quote.getDontRemoveFlag()) {
+                    token.append(quote.getRight());
+                }
+                return;
+            }
+            token.append((char)c);
+        }
+    }
+
+    /*
+     * Returns the next character from the block (reading a new block from the
+     * source if necessary), with the same CR+LF handling and line and byte
+     * counting as getNextChar. @return The next character. Or -1 if EOF was
+     * seen.
+     */
+    private int nextBlockChar() {
+        if (m_blockPushBack != EOF) {
+            int c = m_blockPushBack;
+            m_blockPushBack = EOF;
+            if (c == LF) {
+                m_lineNo++;
+            }
+            return c;
+        }
+        if ((m_blockPos == m_blockEnd) && !fillBlock()) {
+            return EOF;
+        }
+        int c = m_block[m_blockPos++];
+        m_readBytes++;
+        if (c == CR) {
+            // swallow the CR if a LF follows - even in the next block
+            if (((m_blockPos < m_blockEnd) || fillBlock())
+                    && (m_block[m_blockPos] == LF)) {
+                m_blockPos++;
+                m_readBytes++;
+                c = LF;
+            }
+        }
+        if (c == LF) {
+            m_lineNo++;
+        }
+        return c;
+    }
+
+    /*
+     * Pushes back one character. The next call to nextBlockChar will return
+     * it.
+     */
+    private void pushBackBlockChar(final int c) {
+        assert m_blockPushBack == EOF : "Tokenizer: only one char can be pushed back";
+        m_blockPushBack = c;
+        if (c == LF) {
+            m_lineNo--;
+        }
+    }
+
+    /*
+     * Reads the next block from the source. Closes the source when it sees the
+     * EOF. @return false if there are no more characters to read.
+     */
+    private boolean fillBlock() {
+        if (m_blockEOF) {
+            return false;
+        }
+        int read;
+        try {
+            do {
+                read = m_source.read(m_block, 0, m_block.length);
+            } while (read == 0);
+        } catch (IOException ioe) {
+            read = EOF;
+        }
+        if (read < 0) {
+            m_blockEOF = true;
+            m_blockPos = 0;
+            m_blockEnd = 0;
+            m_readBytes++; // the EOF counts as byte, as in getNextChar
+            try {
+                m_source.close();
+            } catch (IOException ioe) {
+                // empty.
+            }
+            return false;
+        }
+        m_blockPos = 0;
+        m_blockEnd = read;
+        return true;
+    }
 
     /*
      * Reads the next character either from the readBuffer or the stream. <p> A
@@ -569,12 +1039,8 @@ private int readWhiteSpaces() {
      *         of whitespaces.
      */
     public boolean isWhiteSpace(final char c) {
-        for (int w = 0; w < m_whiteSpaces.size(); w++) {
-            if (m_whiteSpaces.get(w).charAt(0) == c) {
-                return true;
-            }
-        }
-        return false;
+        // the char type is set for all (single char) whitespaces
+        return (c <= MAX_CHAR) && ((m_charType[c] & WSCHAR) != 0);
     }
 
     /**
@@ -585,7 +1051,7 @@ public boolean isWhiteSpace(final char c) {
      * @param str the stringbuffer to modify
      * @param index the lowest index we may modify
      */
-    private void cutOffWhiteSpaces(final StringBuffer str, final int index) {
+    private void cutOffWhiteSpaces(final StringBuilder str, final int index) {
 
         if (str.length() == 0) {
             return;
@@ -991,7 +1457,7 @@ private String readQuotedString(final Quote quote)
                          + " (or closing quote missing). In line " + (getLineNumber() - 1) + ".");
             }
             if ((nextChar == escChar) && quote.hasEscapeChar()) {
-                nextChar = translateEscChar(nextChar);
+                nextChar = translateEscChar(nextChar, getNextChar());
                 // the escaped char could be the end pattern. Start searching
                 // for the endpattern at the end of the current result now.
                 searchIdx = result.length() + 1;
@@ -1019,16 +1485,15 @@ private String readQuotedString(final Quote quote)
     } // readQuotedString(Quote)
 
     /*
-     * It assumes that the last character read from the stream is the escape
-     * character. It will read the next character(s), translate them into the
-     * intended character and return it. The following translations are
+     * Translates the character following the escape character into the
+     * intended character and returns it. The following translations are
      * supported: <ul><li> n -> '\n' <li> t -> '\t' <li> any -> any (i.e. any
      * other character will translated into itself) <li> EOF -> escChar @param
-     * escChar The character switching into the escape mode. @return The
-     * character that is supposed to replace the escape sequence.
+     * escChar The character switching into the escape mode. @param nextChar
+     * The character read after the escape character. @return The character
+     * that is supposed to replace the escape sequence.
      */
-    private int translateEscChar(final int escChar) {
-        int nextChar = getNextChar();
+    private static int translateEscChar(final int escChar, final int nextChar) {
         if (nextChar == EOF) {
             return escChar;
         } else if (nextChar == 't') {
@@ -1132,8 +1597,14 @@ public long getReadBytes() {
      * <code>null</code> (indicating the end of the file).
      */
     public void closeSourceStream() {
+        if (m_chunker != null) {
+            m_chunker.close();
+        }
         // discard any characters pushed back.
         clearReadBuffer();
+        m_blockPushBack = EOF;
+        m_blockPos = m_blockEnd;
+        m_blockEOF = true;
         try {
             m_source.close();
         } catch (IOException ioe) {
@@ -1141,6 +1612,38 @@ public void closeSourceStream() {
         }
     }
 
+    /**
+     * Lets the tokenizer split the input after line feeds and tokenize the
+     * parts concurrently in the {@link KNIMEConstants#GLOBAL_THREAD_POOL global
+     * thread pool}. The tokens are still returned in their original order and
+     * the line number and number of read bytes are the ones the tokenizer
+     * reports when reading sequentially. This only takes effect if the
+     * settings guarantee that no token spans a line end, i.e. the line feed is
+     * a delimiter that is not combined with consecutive ones, line feeds in
+     * quotes are not allowed and there are no comments, no line continuation
+     * character and no combination of different delimiters. Otherwise the
+     * input is read sequentially.
+     *
+     * @param parallel true to tokenize in parallel if the settings allow it
+     * @throws IllegalStateException if called after reading from the tokenizer
+     * @since 4.3
+     */
+    public void setParallelParsing(final boolean parallel) {
+        setParallelParsing(parallel, TokenizerChunker.CHUNK_LENGTH);
+    }
+
+    /*
+     * @see #setParallelParsing(boolean), with a custom chunk length for tests.
+     */
+    void setParallelParsing(final boolean parallel, final int chunkLength) {
+        if (m_settingsLocked) {
+            throw new IllegalStateException("Don't change tokenizer settings"
+                    + " after reading from it.");
+        }
+        m_parallelParsing = parallel;
+        m_chunkLength = chunkLength;
+    }
+
     /**
      * Set new user settings in this tokenizer. The only way to configure this
      * tokenizer is to create an instance of the
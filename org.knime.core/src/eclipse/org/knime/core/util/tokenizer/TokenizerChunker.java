@@ -0,0 +1,433 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (carlwitt): created
+ */
+package org.knime.core.util.tokenizer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.knime.core.node.KNIMEConstants;
+
+/**
+ * Splits the input of a {@link Tokenizer} at line ends into chunks and tokenizes the chunks concurrently in the
+ * {@link KNIMEConstants#GLOBAL_THREAD_POOL global thread pool}. The chunks are returned in their original order. Only
+ * used for settings where no token can span a line end, see {@link Tokenizer#setParallelParsing(boolean)}.
+ *
+ * <p>
+ * The source is read by the thread consuming the tokens. If the next chunk to consume has not been started by the
+ * thread pool yet (e.g. because all pool threads are busy), the consuming thread tokenizes it itself.
+ *
+ * @author Carl Witt, KNIME AG, Zurich, Switzerland
+ */
+final class TokenizerChunker {
+
+    /** Number of characters in a chunk, unless a longer chunk is needed to end it at a line end. */
+    static final int CHUNK_LENGTH = 1 << 20;
+
+    private static final char CR = '\r';
+
+    private static final char LF = '\n';
+
+    private final Reader m_source;
+
+    /** The settings to tokenize each chunk with (no lines to skip). */
+    private final TokenizerSettings m_settings;
+
+    /** The escape characters of all quotes. A line end right after one of them could be part of a quoted string. */
+    private final char[] m_escapeChars;
+
+    private final int m_chunkLength;
+
+    private final int m_maxChunksInFlight;
+
+    /** Chunks submitted to the thread pool, in input order. */
+    private final ArrayDeque<FutureTask<Chunk>> m_inFlight = new ArrayDeque<>();
+
+    /** Characters read after the last line end of the previous chunk. */
+    private char[] m_carry = new char[0];
+
+    private int m_carryLength;
+
+    private long m_linesToSkip;
+
+    /** The line number of the first line in the next chunk. */
+    private int m_nextLine = 1;
+
+    /** The number of characters read before the next chunk. */
+    private long m_nextByte;
+
+    private boolean m_sourceEOF;
+
+    /**
+     * @param source the source to read from
+     * @param settings the tokenizer settings
+     * @param chunkLength the number of characters in a chunk
+     * @param maxChunksInFlight the maximum number of chunks tokenized ahead of the consumer
+     */
+    TokenizerChunker(final Reader source, final TokenizerSettings settings, final int chunkLength,
+        final int maxChunksInFlight) {
+        m_source = source;
+        m_settings = new TokenizerSettings(settings);
+        m_settings.setSkipFirstLines(0);
+        m_linesToSkip = settings.getSkipFirstLines();
+        m_escapeChars = settings.getAllQuotes().stream().filter(Quote::hasEscapeChar)
+            .map(q -> String.valueOf(q.getEscape())).reduce("", String::concat).toCharArray();
+        m_chunkLength = chunkLength;
+        m_maxChunksInFlight = maxChunksInFlight;
+    }
+
+    /**
+     * Returns the next tokenized chunk, waiting for it if necessary.
+     *
+     * @return the next chunk or <code>null</code> if the entire input has been returned
+     * @throws TokenizerException if tokenizing failed for another reason than the input
+     */
+    Chunk next() throws TokenizerException {
+        while (m_inFlight.size() < m_maxChunksInFlight) {
+            Chunk chunk = readChunk();
+            if (chunk == null) {
+                break;
+            }
+            FutureTask<Chunk> task = new FutureTask<>(() -> {
+                Tokenizer.tokenizeChunk(chunk, m_settings);
+                return chunk;
+            });
+            m_inFlight.add(task);
+            KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(task);
+        }
+        FutureTask<Chunk> head = m_inFlight.poll();
+        if (head == null) {
+            return null;
+        }
+        // does nothing if a pool thread started the task already
+        head.run();
+        try {
+            return head.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new TokenizerException("Interrupted while waiting for the input to be tokenized.");
+        } catch (ExecutionException ee) {
+            close();
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new TokenizerException("Tokenizing the input failed: " + cause.getMessage());
+        }
+    }
+
+    /**
+     * @return the line number after the last chunk
+     */
+    int getLineNumber() {
+        return m_nextLine;
+    }
+
+    /**
+     * @return the number of characters read from the source, including the EOF once it has been read
+     */
+    long getReadBytes() {
+        return m_sourceEOF && m_carryLength == 0 ? m_nextByte + 1 : m_nextByte;
+    }
+
+    /** Cancels all pending chunks and closes the source. */
+    void close() {
+        for (FutureTask<Chunk> task : m_inFlight) {
+            task.cancel(true);
+        }
+        m_inFlight.clear();
+        m_carryLength = 0;
+        m_sourceEOF = true;
+        try {
+            m_source.close();
+        } catch (IOException ioe) {
+            // then don't close it.
+        }
+    }
+
+    /**
+     * Reads the next chunk from the source. A chunk ends with a line end that can't be escaped in a quoted string or
+     * with the end of the input.
+     */
+    private Chunk readChunk() {
+        if (m_linesToSkip > 0) {
+            skipLines();
+        }
+        char[] buf = Arrays.copyOf(m_carry, Math.max(m_chunkLength, m_carryLength));
+        int length = m_carryLength;
+        int searchFrom = length;
+        int end = -1;
+        while (end < 0) {
+            if (length == buf.length) {
+                buf = Arrays.copyOf(buf, 2 * buf.length);
+            }
+            int read = m_sourceEOF ? -1 : read(buf, length);
+            if (read < 0) {
+                end = length;
+            } else {
+                length += read;
+                if (length == buf.length) {
+                    end = findChunkEnd(buf, searchFrom, length);
+                    searchFrom = length;
+                }
+            }
+        }
+        if (end == 0) {
+            m_carryLength = 0;
+            return null;
+        }
+        Chunk chunk = new Chunk(buf, end, m_nextLine, m_nextByte, end == length && m_sourceEOF);
+        for (int i = 0; i < end; i++) {
+            if (buf[i] == LF) {
+                m_nextLine++;
+            }
+        }
+        m_nextByte += end;
+        m_carryLength = length - end;
+        m_carry = Arrays.copyOfRange(buf, end, Math.max(end, length));
+        return chunk;
+    }
+
+    /*
+     * Returns the index after the last line end in buf[from, to) that is not preceded by an escape char, or -1.
+     */
+    private int findChunkEnd(final char[] buf, final int from, final int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (buf[i] == LF) {
+                int prev = i - 1;
+                if (prev >= 0 && buf[prev] == CR) {
+                    prev--;
+                }
+                if (prev < 0 || !isEscapeChar(buf[prev])) {
+                    return i + 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private boolean isEscapeChar(final char c) {
+        for (char e : m_escapeChars) {
+            if (e == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* Reads into buf from the offset, returns the number of chars read or -1 at the EOF. */
+    private int read(final char[] buf, final int offset) {
+        try {
+            int read;
+            do {
+                read = m_source.read(buf, offset, buf.length - offset);
+            } while (read == 0);
+            if (read < 0) {
+                m_sourceEOF = true;
+                m_source.close();
+            }
+            return read;
+        } catch (IOException ioe) {
+            // like the tokenizer, treat it like the end of the input
+            m_sourceEOF = true;
+            return -1;
+        }
+    }
+
+    /* Discards the lines to skip at the beginning of the input. */
+    private void skipLines() {
+        char[] buf = new char[Math.max(m_chunkLength, m_carryLength)];
+        System.arraycopy(m_carry, 0, buf, 0, m_carryLength);
+        int length = m_carryLength;
+        int pos = 0;
+        while (m_linesToSkip > 0) {
+            if (pos == length) {
+                m_nextByte += length;
+                pos = 0;
+                length = m_sourceEOF ? -1 : read(buf, 0);
+                if (length < 0) {
+                    length = 0;
+                    break;
+                }
+            }
+            if (buf[pos++] == LF) {
+                m_nextLine++;
+                m_linesToSkip--;
+            }
+        }
+        m_nextByte += pos;
+        m_linesToSkip = 0;
+        m_carry = Arrays.copyOfRange(buf, pos, Math.max(pos, length));
+        m_carryLength = length - pos;
+    }
+
+    /**
+     * A chunk of the input and the tokens read from it. The token properties are stored in arrays, the consumer reads
+     * them in the order the tokenizer returned them.
+     */
+    static final class Chunk {
+
+        static final int DELIMITER = 1;
+
+        static final int DELIMITED = 2;
+
+        private final char[] m_chars;
+
+        private final int m_length;
+
+        private final int m_firstLine;
+
+        private final long m_firstByte;
+
+        /** If the chunk ends with the input, its EOF counts as read byte. */
+        private final boolean m_last;
+
+        private int m_size;
+
+        private String[] m_tokens = new String[16];
+
+        private Quote[] m_quotes = new Quote[16];
+
+        private byte[] m_flags = new byte[16];
+
+        private int[] m_lineNos = new int[16];
+
+        private int[] m_readBytes = new int[16];
+
+        private TokenizerException[] m_errors;
+
+        private Chunk(final char[] chars, final int length, final int firstLine, final long firstByte,
+            final boolean last) {
+            m_chars = chars;
+            m_length = length;
+            m_firstLine = firstLine;
+            m_firstByte = firstByte;
+            m_last = last;
+        }
+
+        char[] getChars() {
+            return m_chars;
+        }
+
+        int getLength() {
+            return m_length;
+        }
+
+        int getFirstLine() {
+            return m_firstLine;
+        }
+
+        boolean isLast() {
+            return m_last;
+        }
+
+        /**
+         * Adds the properties of a token. Called by the thread tokenizing the chunk.
+         */
+        void add(final String token, final Quote quote, final int flags, final int lineNo, final long readBytes,
+            final TokenizerException error) {
+            if (m_size == m_tokens.length) {
+                int newLength = 2 * m_size;
+                m_tokens = Arrays.copyOf(m_tokens, newLength);
+                m_quotes = Arrays.copyOf(m_quotes, newLength);
+                m_flags = Arrays.copyOf(m_flags, newLength);
+                m_lineNos = Arrays.copyOf(m_lineNos, newLength);
+                m_readBytes = Arrays.copyOf(m_readBytes, newLength);
+                if (m_errors != null) {
+                    m_errors = Arrays.copyOf(m_errors, newLength);
+                }
+            }
+            if (error != null) {
+                if (m_errors == null) {
+                    m_errors = new TokenizerException[m_tokens.length];
+                }
+                m_errors[m_size] = error;
+            }
+            m_tokens[m_size] = token;
+            m_quotes[m_size] = quote;
+            m_flags[m_size] = (byte)flags;
+            m_lineNos[m_size] = lineNo;
+            // the EOF of the chunk is not the EOF of the input, unless it is the last chunk
+            m_readBytes[m_size] = m_last ? (int)readBytes : (int)Math.min(readBytes, m_length);
+            m_size++;
+        }
+
+        int size() {
+            return m_size;
+        }
+
+        String getToken(final int i) {
+            return m_tokens[i];
+        }
+
+        Quote getQuote(final int i) {
+            return m_quotes[i];
+        }
+
+        boolean hasFlag(final int i, final int flag) {
+            return (m_flags[i] & flag) != 0;
+        }
+
+        int getLineNumber(final int i) {
+            return m_lineNos[i];
+        }
+
+        long getReadBytes(final int i) {
+            return m_firstByte + m_readBytes[i];
+        }
+
+        TokenizerException getError(final int i) {
+            return m_errors == null ? null : m_errors[i];
+        }
+    }
+}